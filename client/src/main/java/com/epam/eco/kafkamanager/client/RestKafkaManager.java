@@ -41,6 +41,7 @@ import com.epam.eco.kafkamanager.BrokerMetadataUpdateParams;
 import com.epam.eco.kafkamanager.BrokerSearchCriteria;
 import com.epam.eco.kafkamanager.ConsumerGroupDeleteTopicParams;
 import com.epam.eco.kafkamanager.ConsumerGroupInfo;
+import com.epam.eco.kafkamanager.ConsumerGroupLag;
 import com.epam.eco.kafkamanager.ConsumerGroupMetadataDeleteParams;
 import com.epam.eco.kafkamanager.ConsumerGroupMetadataUpdateParams;
 import com.epam.eco.kafkamanager.ConsumerGroupOffsetResetterTaskExecutor;
@@ -60,6 +61,7 @@ import com.epam.eco.kafkamanager.SearchCriteria;
 import com.epam.eco.kafkamanager.TopicConfigUpdateParams;
 import com.epam.eco.kafkamanager.TopicCreateParams;
 import com.epam.eco.kafkamanager.TopicInfo;
+import com.epam.eco.kafkamanager.TopicKeyLocation;
 import com.epam.eco.kafkamanager.TopicMetadataDeleteParams;
 import com.epam.eco.kafkamanager.TopicMetadataUpdateParams;
 import com.epam.eco.kafkamanager.TopicOffsetFetcherTaskExecutor;
@@ -458,6 +460,25 @@ public class RestKafkaManager implements KafkaManager {
         return (TopicRecordFetcherTaskExecutor<K, V>) topicRecordFetcherTaskExecutor;
     }
 
+    @Override
+    public List<TopicKeyLocation> getTopicKeyLocations(String topicName, String key) {
+        Validate.notBlank(topicName, "Topic name can't be blank");
+        Validate.notNull(key, "Key can't be null");
+
+        Map<String, Object> uriVariables = new HashMap<>();
+        uriVariables.put("name", topicName);
+        uriVariables.put("key", key);
+
+        ResponseEntity<List<TopicKeyLocation>> responseEntity = restTemplate.exchange(
+                "/api/topics/{name}/key-locations?key={key}",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<List<TopicKeyLocation>>() {},
+                uriVariables);
+
+        return responseEntity.getBody();
+    }
+
     @Override
     public int getConsumerGroupCount() {
         return (int) getConsumerGroupPage(PageRequest.of(0, 1)).getTotalElements();
@@ -554,6 +575,51 @@ public class RestKafkaManager implements KafkaManager {
         return responseEntity.getBody();
     }
 
+    @Override
+    public List<String> getConsumerGroupNamesForTopic(String topicName) {
+        Validate.notBlank(topicName, "Topic name can't be blank");
+
+        Map<String, Object> uriVariables = Collections.singletonMap("topicName", topicName);
+
+        ResponseEntity<List<String>> responseEntity = restTemplate.exchange(
+                "/api/topics/{topicName}/consumer-group-names",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<List<String>>() {},
+                uriVariables);
+
+        return responseEntity.getBody();
+    }
+
+    @Override
+    public int getConsumerGroupCountForTopic(String topicName) {
+        List<String> groupNames = getConsumerGroupNamesForTopic(topicName);
+        return groupNames != null ? groupNames.size() : 0;
+    }
+
+    @Override
+    public ConsumerGroupLag getConsumerGroupLag(String groupName) {
+        Validate.notBlank(groupName, "Group name can't be blank");
+
+        Map<String, Object> uriVariables = Collections.singletonMap("name", groupName);
+
+        return restTemplate.getForObject(
+                "/api/consumer-groups/{name}/lag",
+                ConsumerGroupLag.class,
+                uriVariables);
+    }
+
+    @Override
+    public Map<String, Long> getConsumerGroupTotalLags() {
+        ResponseEntity<Map<String, Long>> responseEntity = restTemplate.exchange(
+                "/api/consumer-groups/lag/totals",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<Map<String, Long>>() {});
+
+        return responseEntity.getBody();
+    }
+
     @Override
     public ConsumerGroupInfo updateConsumerGroup(ConsumerGroupDeleteTopicParams params) {
         Validate.notNull(params, "ConsumerGroupDeleteTopicParams object can't be null");
@@ -15,8 +15,13 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.apache.commons.lang3.StringUtils;
@@ -52,9 +57,64 @@ public abstract class AbstractSearchCriteria<D> implements SearchCriteria<D> {
     }
 
     protected static boolean like(String value, String regexp) {
-        return value.toLowerCase()
-                    .matches(regexp.toLowerCase().replace("?", ".")
-                                   .replaceAll("%", ".*"));
+        return likePattern(regexp).matcher(value.toLowerCase()).matches();
+    }
+
+    protected static Pattern likePattern(String regexp) {
+        return Pattern.compile(regexp.toLowerCase().replace("?", ".").replace("%", ".*"));
+    }
+
+    /**
+     * Compiles the clause into a predicate, so LIKE patterns are compiled once
+     * instead of on each comparison.
+     */
+    protected static Predicate<String> compileStringClause(SingleClause<String> clause) {
+        String filterValue = clause.filterValue();
+        Operation operation = clause.operation();
+        if (operation != Operation.LIKE || isNull(filterValue)) {
+            return value -> compareStringValues(filterValue, value, operation);
+        }
+
+        Pattern pattern;
+        try {
+            pattern = likePattern(filterValue);
+        } catch (PatternSyntaxException exception) {
+            return value -> false;
+        }
+        return value -> !isNull(value) && pattern.matcher(value.toLowerCase()).matches();
+    }
+
+    protected static List<Predicate<String>> compileStringClauses(Set<SingleClause<String>> clauses) {
+        List<Predicate<String>> predicates = new ArrayList<>(clauses.size());
+        clauses.forEach(clause -> predicates.add(compileStringClause(clause)));
+        return predicates;
+    }
+
+    /**
+     * @return handler bound to the given clauses, compiled once
+     */
+    protected static BiPredicate<Set<SingleClause<String>>, String> compiledStringClausesHandler(
+            Set<SingleClause<String>> clauses) {
+        List<Predicate<String>> predicates = compileStringClauses(clauses);
+        return (ignored, value) -> allMatch(predicates, value);
+    }
+
+    protected static <T> boolean allMatch(List<? extends Predicate<T>> predicates, T value) {
+        for (Predicate<T> predicate : predicates) {
+            if (!predicate.test(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected static <T> boolean anyMatch(Predicate<String> predicate, Iterable<T> values, Function<T, String> mapper) {
+        for (T value : values) {
+            if (predicate.test(mapper.apply(value))) {
+                return true;
+            }
+        }
+        return false;
     }
 
     protected record SingleClause<T>(T filterValue, Operation operation) {}
@@ -12,6 +12,6 @@ record ClausesWithHandler<T, C, R>(Set<AbstractSearchCriteria.SingleClause<T>> c
                                              BiPredicate<Set<AbstractSearchCriteria.SingleClause<T>>, C> clausesHandler,
                                              Function<R, C> valueExtractor) {
     boolean match(R obj) {
-        return clausesHandler().test(clauses(), valueExtractor().apply(obj));
+        return clauses().isEmpty() || clausesHandler().test(clauses(), valueExtractor().apply(obj));
     }
 }
\ No newline at end of file
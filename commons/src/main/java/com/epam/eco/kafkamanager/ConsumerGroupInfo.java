@@ -24,6 +24,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -36,6 +38,7 @@ import org.apache.kafka.common.TopicPartition;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import com.epam.eco.commons.kafka.KafkaUtils;
+import com.epam.eco.commons.kafka.TopicPartitionComparator;
 
 /**
  * @author Andrei_Tytsik
@@ -101,13 +104,12 @@ public class ConsumerGroupInfo implements MetadataAware, Comparable<ConsumerGrou
                 Collections.emptyList();
         this.offsetsAndMetadata =
                 !MapUtils.isEmpty(offsetsAndMetadata) ?
-                Collections.unmodifiableMap(
-                        KafkaUtils.sortedByTopicPartitionKeyMap(offsetsAndMetadata)) :
+                Collections.unmodifiableSortedMap(sortedByTopicPartition(offsetsAndMetadata)) :
                 Collections.emptyMap();
         this.offsets =
                 !MapUtils.isEmpty(offsetsAndMetadata) ?
-                Collections.unmodifiableMap(
-                        KafkaUtils.sortedByTopicPartitionKeyMap(
+                Collections.unmodifiableSortedMap(
+                        sortedByTopicPartition(
                                 offsetsAndMetadata.entrySet().stream().
                                     collect(
                                             Collectors.toMap(
@@ -125,6 +127,26 @@ public class ConsumerGroupInfo implements MetadataAware, Comparable<ConsumerGrou
         this.metadata = metadata;
     }
 
+    private ConsumerGroupInfo(
+            ConsumerGroupInfo origin,
+            Map<TopicPartition, OffsetAndMetadataInfo> offsetsAndMetadata,
+            Map<TopicPartition, Long> offsets,
+            Map<TopicPartition, OffsetTimeSeries> offsetTimeSeries,
+            List<String> topicNames) {
+        this.name = origin.name;
+        this.coordinator = origin.coordinator;
+        this.state = origin.state;
+        this.protocolType = origin.protocolType;
+        this.partitionAssignor = origin.partitionAssignor;
+        this.members = origin.members;
+        this.offsetsAndMetadata = offsetsAndMetadata;
+        this.offsets = offsets;
+        this.offsetTimeSeries = offsetTimeSeries;
+        this.topicNames = topicNames;
+        this.storageType = origin.storageType;
+        this.metadata = origin.metadata;
+    }
+
     public String getName() {
         return name;
     }
@@ -237,6 +259,79 @@ public class ConsumerGroupInfo implements MetadataAware, Comparable<ConsumerGrou
         return result;
     }
 
+    /**
+     * Patches offsets and offset time series of the given partitions only, everything
+     * else is shared with this instance. A {@code null} value removes the partition.
+     *
+     * @return patched instance or this instance if both patches are empty
+     */
+    public ConsumerGroupInfo withOffsets(
+            Map<TopicPartition, OffsetAndMetadataInfo> offsetsAndMetadataPatch,
+            Map<TopicPartition, OffsetTimeSeries> offsetTimeSeriesPatch) {
+        if (MapUtils.isEmpty(offsetsAndMetadataPatch) && MapUtils.isEmpty(offsetTimeSeriesPatch)) {
+            return this;
+        }
+
+        Map<TopicPartition, OffsetAndMetadataInfo> patchedOffsetsAndMetadata = offsetsAndMetadata;
+        Map<TopicPartition, Long> patchedOffsets = offsets;
+        List<String> patchedTopicNames = topicNames;
+        if (!MapUtils.isEmpty(offsetsAndMetadataPatch)) {
+            SortedMap<TopicPartition, OffsetAndMetadataInfo> offsetsAndMetadataCopy = sortedCopyOf(offsetsAndMetadata);
+            SortedMap<TopicPartition, Long> offsetsCopy = sortedCopyOf(offsets);
+            offsetsAndMetadataPatch.forEach((partition, offsetAndMetadata) -> {
+                Validate.notNull(partition, "Map of offsets contains null keys");
+                if (offsetAndMetadata != null) {
+                    offsetsAndMetadataCopy.put(partition, offsetAndMetadata);
+                    offsetsCopy.put(partition, offsetAndMetadata.getOffset());
+                } else {
+                    offsetsAndMetadataCopy.remove(partition);
+                    offsetsCopy.remove(partition);
+                }
+            });
+            if (!offsetsCopy.keySet().equals(offsets.keySet())) {
+                patchedTopicNames = Collections.unmodifiableList(
+                        KafkaUtils.extractTopicNamesAsSortedList(offsetsCopy.keySet()));
+            }
+            patchedOffsetsAndMetadata = Collections.unmodifiableSortedMap(offsetsAndMetadataCopy);
+            patchedOffsets = Collections.unmodifiableSortedMap(offsetsCopy);
+        }
+
+        Map<TopicPartition, OffsetTimeSeries> patchedOffsetTimeSeries = offsetTimeSeries;
+        if (!MapUtils.isEmpty(offsetTimeSeriesPatch)) {
+            Map<TopicPartition, OffsetTimeSeries> offsetTimeSeriesCopy = new HashMap<>(offsetTimeSeries);
+            offsetTimeSeriesPatch.forEach((partition, timeSeries) -> {
+                Validate.notNull(partition, "Map of offset timeseries contains null keys");
+                if (timeSeries != null) {
+                    offsetTimeSeriesCopy.put(partition, timeSeries);
+                } else {
+                    offsetTimeSeriesCopy.remove(partition);
+                }
+            });
+            patchedOffsetTimeSeries = Collections.unmodifiableMap(offsetTimeSeriesCopy);
+        }
+
+        return new ConsumerGroupInfo(
+                this,
+                patchedOffsetsAndMetadata,
+                patchedOffsets,
+                patchedOffsetTimeSeries,
+                patchedTopicNames);
+    }
+
+    private static <V> SortedMap<TopicPartition, V> sortedByTopicPartition(Map<TopicPartition, V> map) {
+        SortedMap<TopicPartition, V> sorted = new TreeMap<>(TopicPartitionComparator.INSTANCE);
+        sorted.putAll(map);
+        return sorted;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> SortedMap<TopicPartition, V> sortedCopyOf(Map<TopicPartition, V> map) {
+        return
+                map instanceof SortedMap ?
+                new TreeMap<>((SortedMap<TopicPartition, V>)map) :
+                sortedByTopicPartition(map);
+    }
+
     public Builder toBuilder() {
         return new Builder(this);
     }
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.common.TopicPartition;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonProperty.Access;
+
+import com.epam.eco.commons.kafka.TopicPartitionComparator;
+
+/**
+ * Lag of a consumer group calculated at some point in time: number of records between
+ * committed offset and log end offset of each partition the group has offsets for.
+ *
+ * @author Andrei_Tytsik
+ */
+public class ConsumerGroupLag {
+
+    private final String groupName;
+    private final Map<TopicPartition, Long> partitionLags;
+    private final long totalLag;
+    private final LocalDateTime calculatedAt;
+
+    @JsonCreator
+    public ConsumerGroupLag(
+            @JsonProperty("groupName") String groupName,
+            @JsonProperty("partitionLags") Map<TopicPartition, Long> partitionLags,
+            @JsonProperty("calculatedAt") LocalDateTime calculatedAt) {
+        Validate.notBlank(groupName, "Group name is blank");
+        Validate.notNull(calculatedAt, "Calculation date is null");
+        if (partitionLags != null) {
+            Validate.noNullElements(partitionLags.keySet(), "Map of partition lags contains null keys");
+            Validate.noNullElements(partitionLags.values(), "Map of partition lags contains null values");
+        }
+
+        this.groupName = groupName;
+        this.partitionLags =
+                !MapUtils.isEmpty(partitionLags) ?
+                Collections.unmodifiableSortedMap(sortedByTopicPartition(partitionLags)) :
+                Collections.emptyMap();
+        this.totalLag = this.partitionLags.values().stream().mapToLong(Long::longValue).sum();
+        this.calculatedAt = calculatedAt;
+    }
+
+    public String getGroupName() {
+        return groupName;
+    }
+    public Map<TopicPartition, Long> getPartitionLags() {
+        return partitionLags;
+    }
+    public Long getPartitionLag(TopicPartition partition) {
+        return partitionLags.get(partition);
+    }
+    @JsonProperty(access = Access.READ_ONLY)
+    public long getTotalLag() {
+        return totalLag;
+    }
+    public LocalDateTime getCalculatedAt() {
+        return calculatedAt;
+    }
+
+    /**
+     * @return total lag of each topic the group has offsets for
+     */
+    public Map<String, Long> getTopicLags() {
+        Map<String, Long> topicLags = new TreeMap<>();
+        partitionLags.forEach((partition, lag) -> topicLags.merge(partition.topic(), lag, Long::sum));
+        return topicLags;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupName, partitionLags, calculatedAt);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || obj.getClass() != this.getClass()) {
+            return false;
+        }
+        ConsumerGroupLag that = (ConsumerGroupLag)obj;
+        return
+                Objects.equals(this.groupName, that.groupName) &&
+                Objects.equals(this.partitionLags, that.partitionLags) &&
+                Objects.equals(this.calculatedAt, that.calculatedAt);
+    }
+
+    @Override
+    public String toString() {
+        return
+                "{groupName: " + groupName +
+                ", partitionLags: " + partitionLags +
+                ", totalLag: " + totalLag +
+                ", calculatedAt: " + calculatedAt +
+                "}";
+    }
+
+    private static SortedMap<TopicPartition, Long> sortedByTopicPartition(Map<TopicPartition, Long> map) {
+        SortedMap<TopicPartition, Long> sorted = new TreeMap<>(TopicPartitionComparator.INSTANCE);
+        sorted.putAll(map);
+        return sorted;
+    }
+
+}
@@ -17,9 +17,11 @@ package com.epam.eco.kafkamanager;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 import org.apache.kafka.common.ConsumerGroupState;
 
@@ -89,15 +91,15 @@ public class ConsumerGroupListSearchCriteria extends AbstractSearchCriteria<Cons
         }
 
         return new ConsumerGroupListSearchCriteria(
-                Set.of(new ClausesWithHandler<>(groupNameClauses, stringClausesHandler, ConsumerGroupInfo::getName),
+                Set.of(new ClausesWithHandler<>(groupNameClauses, compiledStringClausesHandler(groupNameClauses), ConsumerGroupInfo::getName),
                        new ClausesWithHandler<ConsumerGroupInfo.StorageType, ConsumerGroupInfo, ConsumerGroupInfo>(storageClauses, storageClausesHandler,
                                                                                                         consumerGroupInfo -> consumerGroupInfo),
                        new ClausesWithHandler<ConsumerGroupState,ConsumerGroupInfo,ConsumerGroupInfo>(stateClauses, stateClausesHandler, consumerGroupInfo -> consumerGroupInfo),
-                       new ClausesWithHandler<String,ConsumerGroupInfo,ConsumerGroupInfo>(topicsClauses, topicsClausesHandler, consumerGroupInfo -> consumerGroupInfo),
+                       new ClausesWithHandler<String,ConsumerGroupInfo,ConsumerGroupInfo>(topicsClauses, topicsClausesHandler(topicsClauses), consumerGroupInfo -> consumerGroupInfo),
                        new ClausesWithHandler<Integer,Integer,ConsumerGroupInfo>(topicsCountClauses, numericClausesHandler, consumerInfo->consumerInfo.getTopicNames().size()),
-                       new ClausesWithHandler<String,ConsumerGroupInfo,ConsumerGroupInfo>(membersClauses, membersClausesHandler, groupInfo -> groupInfo),
+                       new ClausesWithHandler<String,ConsumerGroupInfo,ConsumerGroupInfo>(membersClauses, membersClausesHandler(membersClauses), groupInfo -> groupInfo),
                        new ClausesWithHandler<Integer,Integer,ConsumerGroupInfo>(membersCountClauses, numericClausesHandler, consumerInfo->consumerInfo.getMembers().size()),
-                       new ClausesWithHandler<String,String,ConsumerGroupInfo>(descriptionClauses, stringClausesHandler,
+                       new ClausesWithHandler<String,String,ConsumerGroupInfo>(descriptionClauses, compiledStringClausesHandler(descriptionClauses),
                                                                                groupInfo -> groupInfo.getMetadata().map(Metadata::getDescription).orElse(null))
         ));
     }
@@ -108,13 +110,16 @@ public class ConsumerGroupListSearchCriteria extends AbstractSearchCriteria<Cons
     private static final BiPredicate<Set<SingleClause<ConsumerGroupState>>, ConsumerGroupInfo> stateClausesHandler = (Set<SingleClause<ConsumerGroupState>> clauses, ConsumerGroupInfo groupInfo) -> clauses.stream().allMatch(
             clause -> groupInfo.getState() == clause.filterValue());
 
-    private static final BiPredicate<Set<SingleClause<String>>, ConsumerGroupInfo> topicsClausesHandler = (Set<SingleClause<String>> clauses, ConsumerGroupInfo groupInfo) -> clauses.stream().allMatch(
-            clause -> groupInfo.getTopicNames().stream().map(topic->compareStringValues(clause.filterValue(), topic, clause.operation())).reduce((x, y) -> x||y).orElse(false));
-
-    private static final BiPredicate<Set<SingleClause<String>>, ConsumerGroupInfo> membersClausesHandler = (Set<SingleClause<String>> clauses, ConsumerGroupInfo groupInfo) -> clauses.stream().allMatch(
-            clause -> groupInfo.getMembers().stream().map(member->compareStringValues(clause.filterValue(),
-                                                                                      member.getMemberId() + member.getClientHost(), clause.operation())).reduce((x, y) -> x||y).orElse(false));
-
+    private static BiPredicate<Set<SingleClause<String>>, ConsumerGroupInfo> topicsClausesHandler(Set<SingleClause<String>> clauses) {
+        List<Predicate<String>> predicates = compileStringClauses(clauses);
+        return (ignored, groupInfo) -> predicates.stream().allMatch(
+                predicate -> anyMatch(predicate, groupInfo.getTopicNames(), topic -> topic));
+    }
 
+    private static BiPredicate<Set<SingleClause<String>>, ConsumerGroupInfo> membersClausesHandler(Set<SingleClause<String>> clauses) {
+        List<Predicate<String>> predicates = compileStringClauses(clauses);
+        return (ignored, groupInfo) -> predicates.stream().allMatch(
+                predicate -> anyMatch(predicate, groupInfo.getMembers(), member -> member.getMemberId() + member.getClientHost()));
+    }
 
 }
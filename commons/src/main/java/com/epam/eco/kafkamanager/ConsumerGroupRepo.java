@@ -28,6 +28,13 @@ public interface ConsumerGroupRepo extends KeyValueRepo<String, ConsumerGroupInf
 
     List<ConsumerGroupInfo> groupsForTopic(String topicName);
 
+    /**
+     * @return sorted names of groups consuming the topic, no group info is resolved
+     */
+    List<String> groupNamesForTopic(String topicName);
+
+    int groupCountForTopic(String topicName);
+
     @PreAuthorize("@authorizer.isPermitted('CONSUMER_GROUP', #groupName, 'READ')")
     ConsumerGroupInfo unassignGroupFromTopic(String groupName, String topicName);
 
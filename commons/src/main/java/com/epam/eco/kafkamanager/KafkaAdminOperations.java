@@ -17,10 +17,14 @@ package com.epam.eco.kafkamanager;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.OffsetSpec;
 import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.TopicDescription;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.Node;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.acl.AclBinding;
 import org.apache.kafka.common.acl.AclBindingFilter;
@@ -30,10 +34,33 @@ import org.apache.kafka.common.acl.AclBindingFilter;
  */
 public interface KafkaAdminOperations {
 
+    Collection<Node> describeCluster();
     Config describeBrokerConfig(int brokerId);
     Map<Integer, Config> describeBrokerConfigs(Collection<Integer> brokerIds);
     Config describeTopicConfig(String topicName);
     Map<String, Config> describeTopicConfigs(Collection<String> topicNames);
+    Set<String> listTopicNames();
+
+    /**
+     * Topics that don't exist (e.g. deleted concurrently) are skipped rather than
+     * failing the whole call.
+     */
+    Map<String, TopicDescription> describeTopics(Collection<String> topicNames);
+
+    /**
+     * Looks up log end offsets of all given partitions in a single request. Partitions
+     * that don't exist are skipped rather than failing the whole call.
+     */
+    Map<TopicPartition, Long> listEndOffsets(Collection<TopicPartition> partitions);
+
+    /**
+     * Looks up offsets of all given partitions in a single request, AdminClient groups
+     * them into one request per partition leader. Partitions that don't exist are
+     * skipped rather than failing the whole call. Timestamp specs that no record
+     * matches result in {@code -1}.
+     */
+    Map<TopicPartition, Long> listOffsets(Map<TopicPartition, OffsetSpec> offsetSpecs);
+    Collection<AclBinding> describeAcls(AclBindingFilter aclBindingFilter);
     void createAcl(AclBinding aclBinding);
     void deleteAcl(AclBindingFilter aclBindingFilter);
     void createTopic(
@@ -16,7 +16,6 @@
 package com.epam.eco.kafkamanager;
 
 import java.nio.ByteBuffer;
-import java.util.Arrays;
 import java.util.Map;
 
 import org.apache.avro.Schema;
@@ -77,18 +76,22 @@ public class KafkaExtendedAvroDeserializer extends KafkaAvroDeserializer {
     protected int getSchemaId(byte[] bytes) {
         Validate.isTrue(bytes[0] == 0x0, "Deserialization exception: not avro record!");
         Validate.isTrue(bytes.length > END_SCHEMA_ID_POSITION, "Serialized message too short! (bytes length<=" + END_SCHEMA_ID_POSITION + ")");
-        return ByteBuffer.wrap(Arrays.copyOfRange(bytes, START_SCHEMA_ID_POSITION, END_SCHEMA_ID_POSITION)).getInt();
+        return ByteBuffer.wrap(bytes).getInt(START_SCHEMA_ID_POSITION);
     }
 
+    /**
+     * Record along with its schema id. Logical type conversion of the record into map
+     * is deferred until the map is requested, so records rejected by filters never pay
+     * for it.
+     */
     public static class GenericRecordWrapper {
         private final GenericRecord value;
         private final long schemaId;
-        private final Map<String, Object> valuesAsMap;
+        private volatile Map<String, Object> valuesAsMap;
 
         public GenericRecordWrapper(GenericRecord value, long schemaId) {
             this.value = value;
             this.schemaId = schemaId;
-            this.valuesAsMap = LogicalTypeSchemaConverter.convert(value);
         }
 
         public GenericRecord getValue() {
@@ -100,6 +103,11 @@ public class KafkaExtendedAvroDeserializer extends KafkaAvroDeserializer {
         }
 
         public Map<String, Object> getValuesAsMap() {
+            Map<String, Object> valuesAsMap = this.valuesAsMap;
+            if (valuesAsMap == null) {
+                valuesAsMap = LogicalTypeSchemaConverter.convert(value);
+                this.valuesAsMap = valuesAsMap;
+            }
             return valuesAsMap;
         }
     }
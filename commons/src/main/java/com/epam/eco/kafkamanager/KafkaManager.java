@@ -16,6 +16,7 @@
 package com.epam.eco.kafkamanager;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -57,6 +58,12 @@ public interface KafkaManager {
     TopicPurgerTaskExecutor getTopicPurgerTaskExecutor();
     <K, V> TopicRecordFetcherTaskExecutor<K, V> getTopicRecordFetcherTaskExecutor();
 
+    /**
+     * @return locations of the latest records having the key in each partition as looked
+     * up in the key index of the topic; empty list if the topic isn't indexed
+     */
+    List<TopicKeyLocation> getTopicKeyLocations(String topicName, String key);
+
     int getConsumerGroupCount();
     boolean consumerGroupExists(String groupName);
     ConsumerGroupInfo getConsumerGroup(String groupName);
@@ -65,6 +72,19 @@ public interface KafkaManager {
     Page<ConsumerGroupInfo> getConsumerGroupPage(Pageable pageable);
     Page<ConsumerGroupInfo> getConsumerGroupPage(SearchCriteria<ConsumerGroupInfo> criteria, Pageable pageable);
     List<ConsumerGroupInfo> getConsumerGroupsForTopic(String topicName);
+    List<String> getConsumerGroupNamesForTopic(String topicName);
+    int getConsumerGroupCountForTopic(String topicName);
+
+    /**
+     * @return lag of the group as of the latest background calculation cycle;
+     * {@code null} if it hasn't been calculated yet
+     */
+    ConsumerGroupLag getConsumerGroupLag(String groupName);
+
+    /**
+     * @return total lag of each group as of the latest background calculation cycle
+     */
+    Map<String, Long> getConsumerGroupTotalLags();
     ConsumerGroupInfo updateConsumerGroup(ConsumerGroupDeleteTopicParams params);
     ConsumerGroupInfo updateConsumerGroup(ConsumerGroupMetadataUpdateParams params);
     ConsumerGroupInfo updateConsumerGroup(ConsumerGroupMetadataDeleteParams params);
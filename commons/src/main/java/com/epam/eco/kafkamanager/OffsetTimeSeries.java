@@ -15,12 +15,12 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalUnit;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.math.NumberUtils;
@@ -30,22 +30,21 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-import com.epam.eco.commons.series.MergeFunction;
-import com.epam.eco.commons.series.TimeSeries;
-
 /**
  * @author Andrei_Tytsik
  */
-public class OffsetTimeSeries extends TimeSeries<Long> {
+public class OffsetTimeSeries extends RingTimeSeries<Long> {
 
     private static final int MAX_SIZE = 10;
-    private static final TemporalUnit GRANULARITY = ChronoUnit.MINUTES;
-    private static final MergeFunction<Long> MERGE_FUNCTION = MergeFunction.replace();
 
     private final TopicPartition topicPartition;
 
     public OffsetTimeSeries(TopicPartition topicPartition) {
-        this(true, topicPartition, null);
+        super(MAX_SIZE);
+
+        Validate.notNull(topicPartition, "TopicPartition is null");
+
+        this.topicPartition = topicPartition;
     }
 
     @JsonCreator
@@ -53,38 +52,32 @@ public class OffsetTimeSeries extends TimeSeries<Long> {
             @JsonProperty("topic") String topic,
             @JsonProperty("partition") int partition,
             @JsonProperty("data") Map<LocalDateTime, Long> data) {
-        this(
-                true,
-                topic != null && partition >= 0 ? new TopicPartition(topic, partition) : null,
-                data);
-    }
+        this(topic != null && partition >= 0 ? new TopicPartition(topic, partition) : null);
 
-    private OffsetTimeSeries(
-            boolean modifiable,
-            TopicPartition topicPartition,
-            Map<LocalDateTime, Long> data) {
-        super(modifiable, MAX_SIZE, GRANULARITY, MERGE_FUNCTION, data);
+        if (data != null) {
+            new TreeMap<>(data).forEach(this::append);
+        }
+    }
 
-        Validate.notNull(topicPartition, "TopicPartition is null");
+    private OffsetTimeSeries(OffsetTimeSeries origin, boolean modifiable) {
+        super(origin, modifiable);
 
-        this.topicPartition = topicPartition;
+        this.topicPartition = origin.topicPartition;
     }
 
-    @JsonIgnore
-    @Override
-    public TemporalUnit getGranularity() {
-        return super.getGranularity();
-    }
     @JsonIgnore
     public TopicPartition getTopicPartition() {
         return topicPartition;
     }
+
     public String getTopic() {
         return topicPartition.topic();
     }
+
     public int getPartition() {
         return topicPartition.partition();
     }
+
     public Map<LocalDateTime, Long> getData() {
         return toMap();
     }
@@ -104,25 +97,19 @@ public class OffsetTimeSeries extends TimeSeries<Long> {
     public Long currentRatePer(TemporalUnit unit) {
         Validate.notNull(unit, "Temporal unit is null");
 
-        LocalDateTime now = LocalDateTime.now();
+        long nowSec = toEpochSecond(LocalDateTime.now());
 
-        Long currentOffset = value(now);
-        Long previousOffset = previousValue(now);
-        if (currentOffset == null || previousOffset == null) {
+        int index = indexOfMinute(Math.floorDiv(nowSec, 60L));
+        if (index <= 0) {
             return null;
         }
 
-        LocalDateTime previousKey = previousKey(now);
-
-        Duration duration = Duration.between(
-                previousKey.plus(1, getGranularity()),
-                now);
-        long durationSec = duration.getSeconds();
+        long durationSec = nowSec - (minuteAt(index - 1) + 1) * 60L;
         if (durationSec == 0) {
             return NumberUtils.LONG_ZERO;
         }
 
-        long delta = currentOffset - previousOffset;
+        long delta = valueAt(index) - valueAt(index - 1);
         long unitSec = unit.getDuration().getSeconds();
         return Math.round((double)unitSec * delta / durationSec);
     }
@@ -132,22 +119,30 @@ public class OffsetTimeSeries extends TimeSeries<Long> {
     }
 
     public Long deltaAtDate(LocalDateTime dateTime) {
-        Long offset = value(dateTime);
-        Long previousOffset = previousValue(dateTime);
-        return
-                offset != null && previousOffset != null ?
-                offset - previousOffset :
-                null;
+        Validate.notNull(dateTime, "Date is null");
+
+        int index = indexOfMinute(toMinute(dateTime));
+        return index > 0 ? valueAt(index) - valueAt(index - 1) : null;
+    }
+
+    @Override
+    protected long merge(long current, long value) {
+        return value;
+    }
+
+    @Override
+    protected Long toValue(long value) {
+        return value;
     }
 
     @Override
     public OffsetTimeSeries copy() {
-        return new OffsetTimeSeries(true, topicPartition, getData());
+        return new OffsetTimeSeries(this, true);
     }
 
     @Override
     public OffsetTimeSeries unmodifiableCopy() {
-        return new OffsetTimeSeries(false, topicPartition, getData());
+        return isModifiable() ? new OffsetTimeSeries(this, false) : this;
     }
 
     @Override
@@ -160,7 +155,7 @@ public class OffsetTimeSeries extends TimeSeries<Long> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(topicPartition, getData());
+        return 31 * topicPartition.hashCode() + dataHashCode();
     }
 
     @Override
@@ -174,7 +169,7 @@ public class OffsetTimeSeries extends TimeSeries<Long> {
         OffsetTimeSeries that = (OffsetTimeSeries)obj;
         return
                 Objects.equals(this.topicPartition, that.topicPartition) &&
-                Objects.equals(this.getData(), that.getData());
+                dataEquals(that);
     }
 
 }
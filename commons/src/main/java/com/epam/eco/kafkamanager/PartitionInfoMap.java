@@ -0,0 +1,153 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Immutable map of partitions of a single topic, ordered by partition id and backed by
+ * an array. Replacing partitions creates a new map that shares all untouched
+ * {@link PartitionInfo} instances with the origin.
+ *
+ * @author Andrei_Tytsik
+ */
+final class PartitionInfoMap extends AbstractMap<TopicPartition, PartitionInfo> {
+
+    private static final Comparator<PartitionInfo> BY_PARTITION =
+            Comparator.comparingInt(PartitionInfo::getPartition);
+
+    private final PartitionInfo[] partitions;
+
+    private PartitionInfoMap(PartitionInfo[] partitions) {
+        this.partitions = partitions;
+    }
+
+    public static PartitionInfoMap of(Map<TopicPartition, PartitionInfo> partitions) {
+        if (partitions instanceof PartitionInfoMap) {
+            return (PartitionInfoMap)partitions;
+        }
+
+        PartitionInfo[] array = partitions.values().toArray(new PartitionInfo[0]);
+        Arrays.sort(array, BY_PARTITION);
+        return new PartitionInfoMap(array);
+    }
+
+    /**
+     * @return new map with the given partitions replaced, or this map if none of them differ
+     */
+    public PartitionInfoMap with(Collection<PartitionInfo> replacements) {
+        PartitionInfo[] copy = null;
+        for (PartitionInfo replacement : replacements) {
+            int index = indexOf(replacement.getId());
+            Validate.isTrue(index >= 0, "Partition '%s' doesn't exist", replacement.getId());
+
+            if (replacement.equals(partitions[index])) {
+                continue;
+            }
+            if (copy == null) {
+                copy = partitions.clone();
+            }
+            copy[index] = replacement;
+        }
+        return copy != null ? new PartitionInfoMap(copy) : this;
+    }
+
+    @Override
+    public int size() {
+        return partitions.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public PartitionInfo get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? partitions[index] : null;
+    }
+
+    @Override
+    public Set<Entry<TopicPartition, PartitionInfo>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<TopicPartition, PartitionInfo>> iterator() {
+                return new Iterator<>() {
+                    private int index = 0;
+                    @Override
+                    public boolean hasNext() {
+                        return index < partitions.length;
+                    }
+                    @Override
+                    public Entry<TopicPartition, PartitionInfo> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        PartitionInfo partition = partitions[index++];
+                        return new SimpleImmutableEntry<>(partition.getId(), partition);
+                    }
+                };
+            }
+            @Override
+            public int size() {
+                return partitions.length;
+            }
+        };
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof TopicPartition topicPartition) || partitions.length == 0) {
+            return -1;
+        }
+
+        int partition = topicPartition.partition();
+        // partition ids are normally dense, so the id is the index
+        int index = partition >= 0 && partition < partitions.length && partitions[partition].getPartition() == partition ?
+                partition :
+                binarySearch(partition);
+        return index >= 0 && partitions[index].getId().equals(topicPartition) ? index : -1;
+    }
+
+    private int binarySearch(int partition) {
+        int low = 0;
+        int high = partitions.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midPartition = partitions[mid].getPartition();
+            if (midPartition < partition) {
+                low = mid + 1;
+            } else if (midPartition > partition) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,310 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalUnit;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.apache.commons.lang3.Validate;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Time series of minute granularity stored in a single primitive ring buffer of
+ * (epoch minute, value) pairs. Minutes are counted in local time, the same way
+ * {@link LocalDateTime} keys are. At most a fixed number of the latest minutes is
+ * kept, appending a value for a new minute evicts the oldest one once the buffer is
+ * full, appending for the last minute merges values.
+ *
+ * <p>Copies share the buffer with their origin until either of them is written to,
+ * so {@link #unmodifiableCopy()} is a zero-copy read view. Series are not thread-safe,
+ * copies have to be taken under the same guard as writes.
+ *
+ * @author Andrei_Tytsik
+ */
+public abstract class RingTimeSeries<V extends Number> implements Iterable<Map.Entry<LocalDateTime, V>> {
+
+    private static final TemporalUnit GRANULARITY = ChronoUnit.MINUTES;
+
+    private final boolean modifiable;
+
+    private long[] entries;
+    private int head;
+    private int size;
+    private boolean shared;
+
+    protected RingTimeSeries(int maxSize) {
+        Validate.isTrue(maxSize > 0, "Max size is invalid");
+
+        this.modifiable = true;
+        this.entries = new long[maxSize * 2];
+    }
+
+    protected RingTimeSeries(RingTimeSeries<V> origin, boolean modifiable) {
+        Validate.notNull(origin, "Origin is null");
+
+        this.modifiable = modifiable;
+        this.entries = origin.entries;
+        this.head = origin.head;
+        this.size = origin.size;
+        this.shared = true;
+        origin.shared = true;
+    }
+
+    /**
+     * Merges value appended for the last minute into the current one.
+     */
+    protected abstract long merge(long current, long value);
+
+    protected abstract V toValue(long value);
+
+    public abstract RingTimeSeries<V> copy();
+
+    public abstract RingTimeSeries<V> unmodifiableCopy();
+
+    public void append(long value) {
+        append(LocalDateTime.now(), value);
+    }
+
+    public void append(long epochMillis, long value) {
+        long localMillis = epochMillis + TimeZone.getDefault().getOffset(epochMillis);
+        appendAt(Math.floorDiv(localMillis, 60_000L), value);
+    }
+
+    public void append(LocalDateTime date, long value) {
+        Validate.notNull(date, "Date is null");
+
+        appendAt(toMinute(date), value);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @JsonIgnore
+    public TemporalUnit getGranularity() {
+        return GRANULARITY;
+    }
+
+    public Map<LocalDateTime, V> toMap() {
+        Map<LocalDateTime, V> map = new LinkedHashMap<>((int)(size / 0.75f) + 1);
+        for (int i = 0; i < size; i++) {
+            map.put(toDateTime(minuteAt(i)), toValue(valueAt(i)));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public Iterator<Map.Entry<LocalDateTime, V>> iterator() {
+        return toMap().entrySet().iterator();
+    }
+
+    public LocalDateTime key(LocalDateTime date) {
+        return keyAt(indexOf(date));
+    }
+
+    public LocalDateTime lastKey() {
+        return keyAt(size - 1);
+    }
+
+    public LocalDateTime firstKey() {
+        return keyAt(size > 0 ? 0 : -1);
+    }
+
+    public LocalDateTime previousKey(LocalDateTime date) {
+        return keyAt(previousIndex(indexOf(date)));
+    }
+
+    public LocalDateTime nextKey(LocalDateTime date) {
+        return keyAt(nextIndex(indexOf(date)));
+    }
+
+    public LocalDateTime previousSerialKey(LocalDateTime date) {
+        return keyAt(serialIndex(date, -1));
+    }
+
+    public LocalDateTime nextSerialKey(LocalDateTime date) {
+        return keyAt(serialIndex(date, 1));
+    }
+
+    public V value(LocalDateTime date) {
+        return valueOf(indexOf(date));
+    }
+
+    public V lastValue() {
+        return valueOf(size - 1);
+    }
+
+    public V firstValue() {
+        return valueOf(size > 0 ? 0 : -1);
+    }
+
+    public V previousValue(LocalDateTime date) {
+        return valueOf(previousIndex(indexOf(date)));
+    }
+
+    public V nextValue(LocalDateTime date) {
+        return valueOf(nextIndex(indexOf(date)));
+    }
+
+    public V previousSerialValue(LocalDateTime date) {
+        return valueOf(serialIndex(date, -1));
+    }
+
+    public V nextSerialValue(LocalDateTime date) {
+        return valueOf(serialIndex(date, 1));
+    }
+
+    @JsonIgnore
+    public boolean isModifiable() {
+        return modifiable;
+    }
+
+    /**
+     * @return position of the given minute, oldest minute is at 0; {@code -1} if
+     * there is no value for the minute
+     */
+    protected final int indexOfMinute(long minute) {
+        for (int i = size - 1; i >= 0; i--) {
+            long current = minuteAt(i);
+            if (current == minute) {
+                return i;
+            } else if (current < minute) {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    protected final long minuteAt(int index) {
+        return entries[slotOf(index)];
+    }
+
+    protected final long valueAt(int index) {
+        return entries[slotOf(index) + 1];
+    }
+
+    protected final boolean dataEquals(RingTimeSeries<?> that) {
+        if (this.size != that.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (this.minuteAt(i) != that.minuteAt(i) || this.valueAt(i) != that.valueAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected final int dataHashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + Long.hashCode(minuteAt(i));
+            result = 31 * result + Long.hashCode(valueAt(i));
+        }
+        return result;
+    }
+
+    protected static long toMinute(LocalDateTime date) {
+        return Math.floorDiv(toEpochSecond(date), 60L);
+    }
+
+    protected static long toEpochSecond(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    protected static LocalDateTime toDateTime(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60L, 0, ZoneOffset.UTC);
+    }
+
+    private void appendAt(long minute, long value) {
+        if (!modifiable) {
+            throw new UnsupportedOperationException();
+        }
+
+        if (size > 0) {
+            long lastMinute = minuteAt(size - 1);
+            if (minute < lastMinute) {
+                throw new IllegalArgumentException(String.format(
+                        "Date %s is lower than last timeseries' date %s",
+                        toDateTime(minute), toDateTime(lastMinute)));
+            }
+            if (minute == lastMinute) {
+                copyIfShared();
+                entries[slotOf(size - 1) + 1] = merge(valueAt(size - 1), value);
+                return;
+            }
+        }
+
+        copyIfShared();
+        int capacity = entries.length / 2;
+        if (size == capacity) {
+            head = (head + 1) % capacity;
+            size--;
+        }
+        int slot = slotOf(size);
+        entries[slot] = minute;
+        entries[slot + 1] = value;
+        size++;
+    }
+
+    private void copyIfShared() {
+        if (shared) {
+            entries = entries.clone();
+            shared = false;
+        }
+    }
+
+    private int slotOf(int index) {
+        return ((head + index) % (entries.length / 2)) * 2;
+    }
+
+    private int indexOf(LocalDateTime date) {
+        Validate.notNull(date, "Date is null");
+
+        return indexOfMinute(toMinute(date));
+    }
+
+    private int serialIndex(LocalDateTime date, int shift) {
+        Validate.notNull(date, "Date is null");
+
+        return indexOfMinute(toMinute(date) + shift);
+    }
+
+    private int previousIndex(int index) {
+        return index > 0 ? index - 1 : -1;
+    }
+
+    private int nextIndex(int index) {
+        return index >= 0 && index < size - 1 ? index + 1 : -1;
+    }
+
+    private LocalDateTime keyAt(int index) {
+        return index >= 0 ? toDateTime(minuteAt(index)) : null;
+    }
+
+    private V valueOf(int index) {
+        return index >= 0 ? toValue(valueAt(index)) : null;
+    }
+
+}
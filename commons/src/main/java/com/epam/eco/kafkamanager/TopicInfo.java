@@ -15,6 +15,7 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -31,15 +32,13 @@ import org.apache.kafka.common.TopicPartition;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-import com.epam.eco.commons.kafka.KafkaUtils;
-
 /**
  * @author Andrei_Tytsik
  */
 public class TopicInfo implements MetadataAware, Comparable<TopicInfo> {
 
     private final String name;
-    private final Map<TopicPartition, PartitionInfo> partitions;
+    private final PartitionInfoMap partitions;
     private final Map<String, String> config;
     private final Metadata metadata;
 
@@ -62,12 +61,8 @@ public class TopicInfo implements MetadataAware, Comparable<TopicInfo> {
         }
 
         this.name = name;
-        this.partitions = Collections.unmodifiableMap(
-                KafkaUtils.sortedByTopicPartitionKeyMap(partitions));
-        this.config =
-                !MapUtils.isEmpty(config) ?
-                Collections.unmodifiableMap(new TreeMap<>(config)) :
-                Collections.emptyMap();
+        this.partitions = PartitionInfoMap.of(partitions);
+        this.config = toSortedConfig(config);
         this.metadata = metadata;
 
         underReplicatedPartitions = calculateUnderReplicatedPartitions();
@@ -75,6 +70,27 @@ public class TopicInfo implements MetadataAware, Comparable<TopicInfo> {
         replicationFactor = calculateReplicationFactor();
     }
 
+    private TopicInfo(
+            TopicInfo origin,
+            PartitionInfoMap partitions,
+            Map<String, String> config,
+            Metadata metadata) {
+        this.name = origin.name;
+        this.partitions = partitions;
+        this.config = config;
+        this.metadata = metadata;
+
+        underReplicatedPartitions =
+                partitions != origin.partitions ?
+                calculateUnderReplicatedPartitions() :
+                origin.underReplicatedPartitions;
+        partitionCount = origin.partitionCount;
+        replicationFactor =
+                partitions != origin.partitions ?
+                calculateReplicationFactor() :
+                origin.replicationFactor;
+    }
+
     public String getName() {
         return name;
     }
@@ -157,6 +173,47 @@ public class TopicInfo implements MetadataAware, Comparable<TopicInfo> {
         return partitions.values().iterator().next().getReplicas().size();
     }
 
+    /**
+     * Returns a copy with the given (existing) partitions replaced. All other state,
+     * including untouched {@link PartitionInfo} instances, is shared with this topic.
+     */
+    public TopicInfo withPartitions(Collection<PartitionInfo> partitions) {
+        Validate.notNull(partitions, "Collection of partitions is null");
+        Validate.noNullElements(partitions, "Collection of partitions contains null elements");
+
+        PartitionInfoMap patched = this.partitions.with(partitions);
+        if (patched == this.partitions) {
+            return this;
+        }
+        return new TopicInfo(this, patched, config, metadata);
+    }
+
+    public TopicInfo withPartition(PartitionInfo partition) {
+        Validate.notNull(partition, "Partition is null");
+
+        return withPartitions(Collections.singletonList(partition));
+    }
+
+    public TopicInfo withConfig(Map<String, String> config) {
+        if (!MapUtils.isEmpty(config)) {
+            Validate.noNullElements(config.keySet(), "Collection of config keys contains null elements");
+            Validate.noNullElements(config.values(), "Collection of config values contains null elements");
+        }
+
+        return new TopicInfo(this, partitions, toSortedConfig(config), metadata);
+    }
+
+    public TopicInfo withMetadata(Metadata metadata) {
+        return new TopicInfo(this, partitions, config, metadata);
+    }
+
+    private static Map<String, String> toSortedConfig(Map<String, String> config) {
+        return
+                !MapUtils.isEmpty(config) ?
+                Collections.unmodifiableMap(new TreeMap<>(config)) :
+                Collections.emptyMap();
+    }
+
     public Builder toBuilder() {
         return new Builder(this);
     }
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager;
+
+import java.util.List;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.parameters.P;
+
+/**
+ * Index of record keys of selected topics. Keys are expected to be strings serialized
+ * as UTF-8, the same way {@link PartitionByKeyResolver} expects them.
+ *
+ * @author Andrei_Tytsik
+ */
+public interface TopicKeyIndex {
+
+    boolean isIndexed(String topicName);
+
+    /**
+     * Looks the key up in the index of each partition, since records having the key may
+     * be in any partition (custom partitioners, partitions added later).
+     *
+     * @return location of the key in each indexed partition of the topic; empty list if
+     * the topic isn't indexed (yet)
+     */
+    @PreAuthorize("@authorizer.isPermitted('TOPIC', #topicName, 'READ')")
+    List<TopicKeyLocation> locate(@P("topicName") String topicName, String key);
+
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager;
+
+import java.util.Objects;
+
+import org.apache.commons.lang3.Validate;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Location of the latest record having a key in a partition, as looked up in the key
+ * index of the partition. Only records before the indexed offset are sure to be
+ * indexed, records from it on have to be scanned. Indexing may be ahead of the indexed
+ * offset, so the record found may lie at or after it.
+ *
+ * @author Andrei_Tytsik
+ */
+public class TopicKeyLocation {
+
+    private final String topicName;
+    private final String key;
+    private final int partition;
+    private final Long offset;
+    private final Long timestamp;
+    private final long indexedOffset;
+    private final boolean complete;
+
+    @JsonCreator
+    public TopicKeyLocation(
+            @JsonProperty("topicName") String topicName,
+            @JsonProperty("key") String key,
+            @JsonProperty("partition") int partition,
+            @JsonProperty("offset") Long offset,
+            @JsonProperty("timestamp") Long timestamp,
+            @JsonProperty("indexedOffset") long indexedOffset,
+            @JsonProperty("complete") boolean complete) {
+        Validate.notBlank(topicName, "Topic name is blank");
+        Validate.notNull(key, "Key is null");
+        Validate.isTrue(partition >= 0, "Partition is invalid");
+        Validate.isTrue(indexedOffset >= 0, "Indexed offset is invalid");
+
+        this.topicName = topicName;
+        this.key = key;
+        this.partition = partition;
+        this.offset = offset;
+        this.timestamp = timestamp;
+        this.indexedOffset = indexedOffset;
+        this.complete = complete;
+    }
+
+    public String getTopicName() {
+        return topicName;
+    }
+    public String getKey() {
+        return key;
+    }
+    /**
+     * @return partition the location is of
+     */
+    public int getPartition() {
+        return partition;
+    }
+    /**
+     * @return offset of the latest indexed record having the key; {@code null} if there
+     * is no such record (or the index is not complete)
+     */
+    public Long getOffset() {
+        return offset;
+    }
+    public Long getTimestamp() {
+        return timestamp;
+    }
+    /**
+     * @return offset the partition is indexed up to (exclusive)
+     */
+    public long getIndexedOffset() {
+        return indexedOffset;
+    }
+    /**
+     * @return {@code false} if the index of the partition reached its max size and keys
+     * of some records are not indexed
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(topicName, key, partition, offset, timestamp, indexedOffset, complete);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || obj.getClass() != this.getClass()) {
+            return false;
+        }
+        TopicKeyLocation that = (TopicKeyLocation)obj;
+        return
+                Objects.equals(this.topicName, that.topicName) &&
+                Objects.equals(this.key, that.key) &&
+                this.partition == that.partition &&
+                Objects.equals(this.offset, that.offset) &&
+                Objects.equals(this.timestamp, that.timestamp) &&
+                this.indexedOffset == that.indexedOffset &&
+                this.complete == that.complete;
+    }
+
+    @Override
+    public String toString() {
+        return
+                "{topicName: " + topicName +
+                ", key: " + key +
+                ", partition: " + partition +
+                ", offset: " + offset +
+                ", timestamp: " + timestamp +
+                ", indexedOffset: " + indexedOffset +
+                ", complete: " + complete +
+                "}";
+    }
+
+}
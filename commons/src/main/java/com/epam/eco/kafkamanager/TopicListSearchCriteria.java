@@ -15,23 +15,26 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
-
-import static java.util.Objects.isNull;
+import org.apache.commons.lang3.Validate;
 
 /**
  * @author Mikhail_Vershkov
  */
-public class TopicListSearchCriteria extends AbstractSearchCriteria<TopicInfo> {
+public class TopicListSearchCriteria extends AbstractSearchCriteria<TopicInfo> implements TopicSearchCriteria {
 
     private static final String TOPIC_NAME_ATTR = "topicName";
     private static final String PARTITION_COUNT_ATTR = "partitionCount";
@@ -40,12 +43,89 @@ public class TopicListSearchCriteria extends AbstractSearchCriteria<TopicInfo> {
     private static final String REPLICATION_STATE_ATTR = "replicationState";
     private static final String CONFIG_STRING_ATTR = "configString";
     private static final String DESCRIPTION_ATTR = "description";
-    private static final String REGEX_CONFIG_STRING_PATTERN = "((.)+:(.)+(;|))+";
+    private static final Pattern CONFIG_STRING_PATTERN = Pattern.compile("((.)+:(.)+(;|))+");
     private static final String[] ARRAY_ATTRS = {TOPIC_NAME_ATTR, PARTITION_COUNT_ATTR, REPLICATION_COUNT_ATTR, CONSUMER_COUNT_ATTR, REPLICATION_STATE_ATTR, CONFIG_STRING_ATTR, DESCRIPTION_ATTR};
 
 
-    private TopicListSearchCriteria(Set<ClausesWithHandler> clauses) {
+    private final Set<SingleClause<Integer>> partitionCountClauses;
+    private final Set<SingleClause<Integer>> replicationFactorClauses;
+    private final ReplicationState replicationStateClause;
+    private final Set<SingleClause<String>> configStringClauses;
+    private final Set<SingleClause<String>> descriptionClauses;
+
+    private TopicListSearchCriteria(
+            Set<ClausesWithHandler> clauses,
+            Set<SingleClause<Integer>> partitionCountClauses,
+            Set<SingleClause<Integer>> replicationFactorClauses,
+            ReplicationState replicationStateClause,
+            Set<SingleClause<String>> configStringClauses,
+            Set<SingleClause<String>> descriptionClauses) {
         super(clauses);
+        this.partitionCountClauses = partitionCountClauses;
+        this.replicationFactorClauses = replicationFactorClauses;
+        this.replicationStateClause = replicationStateClause;
+        this.configStringClauses = configStringClauses;
+        this.descriptionClauses = descriptionClauses;
+    }
+
+    @Override
+    public Set<String> candidates(TopicSearchIndex index) {
+        Validate.notNull(index, "Index is null");
+
+        List<Set<String>> candidateSets = new ArrayList<>();
+        partitionCountClauses.forEach(
+                clause -> candidateSets.add(numericCandidates(clause, index::topicsWithPartitionCount)));
+        replicationFactorClauses.forEach(
+                clause -> candidateSets.add(numericCandidates(clause, index::topicsWithReplicationFactor)));
+        if (ReplicationState.UNDER_REPLICATED == replicationStateClause) {
+            candidateSets.add(index.underReplicatedTopics());
+        }
+        configStringClauses.forEach(clause -> candidateSets.add(configCandidates(clause, index)));
+        descriptionClauses.forEach(clause -> candidateSets.add(descriptionCandidates(clause, index)));
+        return TopicSearchIndex.intersect(candidateSets);
+    }
+
+    private static Set<String> numericCandidates(
+            SingleClause<Integer> clause,
+            BiFunction<Integer, Integer, Set<String>> rangeLookup) {
+        Integer value = clause.filterValue();
+        if (value == null) {
+            return null;
+        }
+        return switch (clause.operation()) {
+            case EQUALS -> rangeLookup.apply(value, value);
+            case GREATER -> value < Integer.MAX_VALUE ? rangeLookup.apply(value + 1, null) : Collections.emptySet();
+            case LESS -> value > Integer.MIN_VALUE ? rangeLookup.apply(null, value - 1) : Collections.emptySet();
+            default -> null;
+        };
+    }
+
+    private static Set<String> configCandidates(SingleClause<String> clause, TopicSearchIndex index) {
+        if (clause.operation() != Operation.EQUALS || StringUtils.isEmpty(clause.filterValue())) {
+            return null;
+        }
+        if (!CONFIG_STRING_PATTERN.matcher(clause.filterValue()).matches()) {
+            return index.topicsWithConfigKeyOrValue(clause.filterValue());
+        }
+
+        List<Set<String>> candidateSets = new ArrayList<>();
+        parseConfigString(clause.filterValue()).forEach((key, value) -> {
+            if (key == null || value == null) {
+                candidateSets.add(Collections.emptySet());
+            } else {
+                candidateSets.add(index.topicsWithConfig(key, value));
+            }
+        });
+        return TopicSearchIndex.intersect(candidateSets);
+    }
+
+    private static Set<String> descriptionCandidates(SingleClause<String> clause, TopicSearchIndex index) {
+        if (
+                (clause.operation() != Operation.EQUALS && clause.operation() != Operation.CONTAINS) ||
+                clause.filterValue() == null) {
+            return null;
+        }
+        return index.topicsWithDescriptionContaining(clause.filterValue());
     }
 
     public static TopicListSearchCriteria fromJsonWith(Map<String, ?> map, KafkaManager kafkaManager) {
@@ -94,17 +174,21 @@ public class TopicListSearchCriteria extends AbstractSearchCriteria<TopicInfo> {
         }
 
         return new TopicListSearchCriteria(
-                Set.of(new ClausesWithHandler<>(topicClauses, stringClausesHandler, TopicInfo::getName),
+                Set.of(new ClausesWithHandler<>(topicClauses, compiledStringClausesHandler(topicClauses), TopicInfo::getName),
                        new ClausesWithHandler<>(partitionCountClauses, numericClausesHandler, TopicInfo::getPartitionCount),
                        new ClausesWithHandler<>(replicationFactorClauses, numericClausesHandler, TopicInfo::getReplicationFactor),
                        new ClausesWithHandler<Integer,Integer,TopicInfo>(consumerCountClauses, numericClausesHandler,
-                                                topicInfo -> kafkaManager.getConsumerGroupsForTopic(
-                                                        topicInfo.getName()).size()),
+                                                topicInfo -> kafkaManager.getConsumerGroupCountForTopic(topicInfo.getName())),
                        new ClausesWithHandler<ReplicationState,TopicInfo,TopicInfo>(Set.of(new SingleClause<>(replicationStateClause, Operation.EQUALS)),
                                                 replicationStateClausesHandler, topicInfo -> topicInfo),
-                       new ClausesWithHandler<String,TopicInfo,TopicInfo>(configStringClauses, configMapClausesHandler, topicInfo -> topicInfo),
-                       new ClausesWithHandler<String,String,TopicInfo>(descriptionClauses, stringClausesHandler,
-                                                topicInfo -> topicInfo.getMetadata().map(Metadata::getDescription).orElse(null))));
+                       new ClausesWithHandler<String,TopicInfo,TopicInfo>(configStringClauses, configMapClausesHandler(configStringClauses), topicInfo -> topicInfo),
+                       new ClausesWithHandler<String,String,TopicInfo>(descriptionClauses, compiledStringClausesHandler(descriptionClauses),
+                                                topicInfo -> topicInfo.getMetadata().map(Metadata::getDescription).orElse(null))),
+                partitionCountClauses,
+                replicationFactorClauses,
+                replicationStateClause,
+                configStringClauses,
+                descriptionClauses);
     }
 
     private static final BiPredicate<Set<SingleClause<ReplicationState>>, TopicInfo> replicationStateClausesHandler = (Set<SingleClause<ReplicationState>> clauses, TopicInfo topicInfo) -> clauses.stream().allMatch(
@@ -118,21 +202,81 @@ public class TopicListSearchCriteria extends AbstractSearchCriteria<TopicInfo> {
                 return (underReplicated == null || topicInfo.hasUnderReplicatedPartitions() == underReplicated);
             });
 
-    private static final BiPredicate<Set<SingleClause<String>>, TopicInfo> configMapClausesHandler =
-            (Set<SingleClause<String>> clauses, TopicInfo topicInfo) ->
-                    clauses.stream().allMatch(clause -> configMapSingleClauseHandler(clause, topicInfo));
+    private static BiPredicate<Set<SingleClause<String>>, TopicInfo> configMapClausesHandler(Set<SingleClause<String>> clauses) {
+        List<Predicate<TopicInfo>> predicates = new ArrayList<>(clauses.size());
+        clauses.forEach(clause -> predicates.add(compileConfigClause(clause)));
+        return (ignored, topicInfo) -> allMatch(predicates, topicInfo);
+    }
+
+    /**
+     * Compiles the clause against the topic config. Matching is done on config entries,
+     * the config string (as rendered by {@code stripJsonString(config.toString())}) is
+     * only built for LIKE and for CONTAINS values that may span several entries.
+     */
+    static Predicate<TopicInfo> compileConfigClause(SingleClause<String> clause) {
+        String filterValue = clause.filterValue();
+        Operation operation = clause.operation();
+        if (StringUtils.isEmpty(filterValue)) {
+            return operation == Operation.NOT_EMPTY ?
+                   topicInfo -> !topicInfo.getConfig().isEmpty() :
+                   topicInfo -> false;
+        }
 
-    private static boolean configMapSingleClauseHandler(SingleClause<String> clause, TopicInfo topicInfo) {
-        if((isNull(clause.filterValue()) || clause.filterValue().isEmpty()) && clause.operation()!=Operation.NOT_EMPTY) {
-            return false;
+        boolean configString = CONFIG_STRING_PATTERN.matcher(filterValue).matches();
+        switch (operation) {
+            case EQUALS: {
+                if (configString) {
+                    Map<String, String> parsed = parseConfigString(filterValue);
+                    return topicInfo -> containsAllConfig(topicInfo.getConfig(), parsed);
+                }
+                return topicInfo -> topicInfo.getConfig().entrySet().stream().anyMatch(
+                        entry -> entry.getKey().equals(filterValue) || entry.getValue().equals(filterValue));
+            }
+            case CONTAINS: {
+                if (filterValue.indexOf(',') >= 0 || filterValue.charAt(0) == ' ') {
+                    return topicInfo -> StringUtils.containsIgnoreCase(
+                            toConfigString(topicInfo.getConfig()), filterValue);
+                }
+                if (filterValue.indexOf('{') >= 0 || filterValue.indexOf('}') >= 0) {
+                    return topicInfo -> false;
+                }
+                boolean spansKeyAndValue = filterValue.indexOf('=') >= 0;
+                return topicInfo -> topicInfo.getConfig().entrySet().stream().anyMatch(entry -> spansKeyAndValue ?
+                        StringUtils.containsIgnoreCase(
+                                stripJsonString(entry.getKey()) + "=" + stripJsonString(entry.getValue()),
+                                filterValue) :
+                        StringUtils.containsIgnoreCase(stripJsonString(entry.getKey()), filterValue) ||
+                        StringUtils.containsIgnoreCase(stripJsonString(entry.getValue()), filterValue));
+            }
+            case NOT_EMPTY:
+                return topicInfo -> !topicInfo.getConfig().isEmpty();
+            case LIKE: {
+                Predicate<String> like = compileStringClause(clause);
+                return topicInfo -> like.test(toConfigString(topicInfo.getConfig()));
+            }
+            default:
+                return topicInfo -> false;
         }
-        if(Pattern.matches(REGEX_CONFIG_STRING_PATTERN, clause.filterValue()) && clause.operation()==Operation.EQUALS) {
-            return topicInfo.getConfig().entrySet().containsAll(parseConfigString(clause.filterValue()).entrySet());
-        } else if(!Pattern.matches(REGEX_CONFIG_STRING_PATTERN, clause.filterValue()) && clause.operation()==Operation.EQUALS) {
-            return topicInfo.getConfig().entrySet().stream().anyMatch(entry->entry.getKey().equals(clause.filterValue())
-                    || entry.getValue().equals(clause.filterValue()));
+    }
+
+    private static boolean containsAllConfig(Map<String, String> config, Map<String, String> expected) {
+        for (Map.Entry<String, String> entry : expected.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null || !entry.getValue().equals(config.get(entry.getKey()))) {
+                return false;
+            }
         }
-        return compareStringValues(clause.filterValue(), stripJsonString(topicInfo.getConfig().toString()), clause.operation());
+        return true;
+    }
+
+    private static String toConfigString(Map<String, String> config) {
+        StringBuilder builder = new StringBuilder();
+        config.forEach((key, value) -> {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(key).append('=').append(value);
+        });
+        return stripJsonString(builder.toString());
     }
 
     static Map<String, String> parseConfigString(String configString) {
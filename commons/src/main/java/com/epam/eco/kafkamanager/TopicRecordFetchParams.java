@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.Validate;
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import com.epam.eco.commons.kafka.OffsetRange;
@@ -51,7 +52,25 @@ public class TopicRecordFetchParams<K,V> {
     private final boolean useCache;
     private final Long cacheExpirationTimeMin;
     private final FilterClausePredicate<K,V> predicate;
+    private final Map<Integer, OffsetRange> offsetBounds;
 
+    public TopicRecordFetchParams(
+            DataFormat keyDataFormat,
+            DataFormat valueDataFormat,
+            Map<Integer, OffsetRange> offsets,
+            long limit,
+            long timeoutInMs,
+            FetchMode fetchMode,
+            long timestamp,
+            boolean useCache,
+            long cacheExpirationTimeMin,
+            FilterClausePredicate<K,V> predicate) {
+        this(
+                keyDataFormat, valueDataFormat, offsets, limit, timeoutInMs, fetchMode, timestamp,
+                useCache, cacheExpirationTimeMin, predicate, null);
+    }
+
+    @JsonCreator
     public TopicRecordFetchParams(
             @JsonProperty("keyDataFormat") DataFormat keyDataFormat,
             @JsonProperty("valueDataFormat") DataFormat valueDataFormat,
@@ -62,7 +81,8 @@ public class TopicRecordFetchParams<K,V> {
             @JsonProperty("timestamp") long timestamp,
             @JsonProperty("useCache") boolean useCache,
             @JsonProperty("cacheExpirationTimeMin") long cacheExpirationTimeMin,
-            @JsonProperty("predicate") FilterClausePredicate<K,V> predicate
+            @JsonProperty("predicate") FilterClausePredicate<K,V> predicate,
+            @JsonProperty("offsetBounds") Map<Integer, OffsetRange> offsetBounds
                                  ) {
         Validate.notNull(keyDataFormat, "Key data format can't be null");
         Validate.notNull(valueDataFormat, "Value data format can't be null");
@@ -81,6 +101,7 @@ public class TopicRecordFetchParams<K,V> {
         this.useCache = useCache;
         this.cacheExpirationTimeMin = cacheExpirationTimeMin;
         this.predicate = predicate;
+        this.offsetBounds = offsetBounds != null ? Collections.unmodifiableMap(offsetBounds) : null;
     }
 
     public DataFormat getKeyDataFormat() {
@@ -116,6 +137,14 @@ public class TopicRecordFetchParams<K,V> {
         return predicate;
     }
 
+    /**
+     * @return inclusive offset ranges of partitions that records are fetched within,
+     * {@code null} if fetch isn't bounded
+     */
+    public Map<Integer, OffsetRange> getOffsetBounds() {
+        return offsetBounds;
+    }
+
     public static List<DataFormat> getUiDataFormats() {
         return List.of(AVRO, STRING, JSON_STRING, HEX_STRING, PROTOCOL_BUFFERS);
     }
@@ -1,5 +1,17 @@
 package com.epam.eco.kafkamanager;
 
+import java.util.Set;
+
 public interface TopicSearchCriteria extends SearchCriteria<TopicInfo> {
     boolean matches(TopicInfo obj);
+
+    /**
+     * Narrows down topics that may match the criteria.
+     *
+     * @return names of candidate topics or {@code null} if the criteria can't be
+     * narrowed using the index
+     */
+    default Set<String> candidates(TopicSearchIndex index) {
+        return null;
+    }
 }
@@ -15,10 +15,13 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
@@ -48,6 +51,8 @@ public class TopicSearchCriteriaImpl implements TopicSearchCriteria {
     private final Map<String, String> configMap;
     private final String description;
 
+    private final transient Map<String, String> parsedConfigString;
+
     private final transient KafkaManager kafkaManager;
 
     public TopicSearchCriteriaImpl(
@@ -103,6 +108,8 @@ public class TopicSearchCriteriaImpl implements TopicSearchCriteria {
                 configMap != null ? Collections.unmodifiableMap(new HashMap<>(configMap)) : null;
         this.description = description;
         this.kafkaManager = kafkaManager;
+
+        parsedConfigString = StringUtils.isBlank(configString) ? null : parseConfigString(configString);
     }
 
     public String getTopicName() {
@@ -164,17 +171,58 @@ public class TopicSearchCriteriaImpl implements TopicSearchCriteria {
                 (minConsumerCount == null || matchesMinConsumerCount(obj)) &&
                 (maxConsumerCount == null || matchesMaxConsumerCount(obj)) &&
                 (underReplicated == null || obj.hasUnderReplicatedPartitions() == underReplicated) &&
-                (
-                        StringUtils.isBlank(configString) ||
-                        obj.getConfig().entrySet().containsAll(parseConfigString(configString).entrySet())) &&
-                (configMap == null || obj.getConfig().entrySet().containsAll(configMap.entrySet())) &&
+                (parsedConfigString == null || containsAllConfig(obj.getConfig(), parsedConfigString)) &&
+                (configMap == null || containsAllConfig(obj.getConfig(), configMap)) &&
                 (StringUtils.isBlank(description) || StringUtils.containsIgnoreCase(
                         obj.getMetadata().map(Metadata::getDescription).orElse(null), description));
     }
 
+    @Override
+    public Set<String> candidates(TopicSearchIndex index) {
+        Validate.notNull(index, "Index is null");
+
+        List<Set<String>> candidateSets = new ArrayList<>();
+        if (minPartitionCount != null || maxPartitionCount != null) {
+            candidateSets.add(index.topicsWithPartitionCount(minPartitionCount, maxPartitionCount));
+        }
+        if (minReplicationFactor != null || maxReplicationFactor != null) {
+            candidateSets.add(index.topicsWithReplicationFactor(minReplicationFactor, maxReplicationFactor));
+        }
+        if (ReplicationState.UNDER_REPLICATED == replicationState) {
+            candidateSets.add(index.underReplicatedTopics());
+        }
+        if (parsedConfigString != null) {
+            parsedConfigString.forEach(
+                    (key, value) -> candidateSets.add(configCandidates(index, key, value)));
+        }
+        if (configMap != null) {
+            configMap.forEach((key, value) -> candidateSets.add(configCandidates(index, key, value)));
+        }
+        if (!StringUtils.isBlank(description)) {
+            candidateSets.add(index.topicsWithDescriptionContaining(description));
+        }
+        return TopicSearchIndex.intersect(candidateSets);
+    }
+
+    private static boolean containsAllConfig(Map<String, String> config, Map<String, String> expected) {
+        for (Map.Entry<String, String> entry : expected.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null || !entry.getValue().equals(config.get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> configCandidates(TopicSearchIndex index, String key, String value) {
+        if (key == null || value == null) {
+            return Collections.emptySet();
+        }
+        return index.topicsWithConfig(key, value);
+    }
+
     private boolean matchesMinConsumerCount(TopicInfo obj) {
         if (kafkaManager != null) {
-            return kafkaManager.getConsumerGroupsForTopic(obj.getName()).size() >= minConsumerCount;
+            return kafkaManager.getConsumerGroupCountForTopic(obj.getName()) >= minConsumerCount;
         }
         LOGGER.warn("Constraint 'minConsumerCount' is ignored, because kafkaManager is null.");
         return true;
@@ -182,7 +230,7 @@ public class TopicSearchCriteriaImpl implements TopicSearchCriteria {
 
     private boolean matchesMaxConsumerCount(TopicInfo obj) {
         if (kafkaManager != null) {
-            return kafkaManager.getConsumerGroupsForTopic(obj.getName()).size() <= maxConsumerCount;
+            return kafkaManager.getConsumerGroupCountForTopic(obj.getName()) <= maxConsumerCount;
         }
         LOGGER.warn("Constraint 'maxConsumerCount' is ignored, because kafkaManager is null.");
         return true;
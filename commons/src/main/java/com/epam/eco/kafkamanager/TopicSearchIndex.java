@@ -0,0 +1,365 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Inverted indexes over topic attributes used by {@link TopicSearchCriteria} to narrow
+ * down topics before matching them one by one. Topics are invalidated on cache events
+ * and re-indexed lazily on the next query, using the resolver the index is created with.
+ *
+ * <p>All lookups return supersets of the matching topics, callers still have to apply
+ * the criteria to each candidate.
+ *
+ * <p>Re-indexing removes old postings of a topic before adding new ones, so it runs
+ * under the write lock and lookups read postings under the read lock. Lookups return
+ * copies, never views of the postings.
+ *
+ * @author Andrei_Tytsik
+ */
+public final class TopicSearchIndex {
+
+    private final Function<String, TopicInfo> resolver;
+
+    private final Set<String> invalidated = ConcurrentHashMap.newKeySet();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private final NavigableMap<Integer, Set<String>> byPartitionCount = new ConcurrentSkipListMap<>();
+    private final NavigableMap<Integer, Set<String>> byReplicationFactor = new ConcurrentSkipListMap<>();
+    private final Map<String, Map<String, Set<String>>> byConfigKeyAndValue = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> byConfigValue = new ConcurrentHashMap<>();
+    private final Set<String> underReplicated = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<String>> byDescriptionToken = new ConcurrentHashMap<>();
+
+    /**
+     * @param resolver resolves topic info by name or returns {@code null} if topic
+     * doesn't exist
+     */
+    public TopicSearchIndex(Function<String, TopicInfo> resolver) {
+        Validate.notNull(resolver, "Resolver is null");
+
+        this.resolver = resolver;
+    }
+
+    public void invalidate(String topicName) {
+        Validate.notBlank(topicName, "Topic name is blank");
+
+        invalidated.add(topicName);
+    }
+
+    public void invalidate(Collection<String> topicNames) {
+        Validate.notNull(topicNames, "Collection of topic names is null");
+
+        topicNames.forEach(this::invalidate);
+    }
+
+    /**
+     * @return topics having partition count within the given bounds, both inclusive,
+     * {@code null} bound means unbounded
+     */
+    public Set<String> topicsWithPartitionCount(Integer min, Integer max) {
+        return query(() -> range(byPartitionCount, min, max));
+    }
+
+    /**
+     * @return topics having replication factor within the given bounds, both inclusive,
+     * {@code null} bound means unbounded
+     */
+    public Set<String> topicsWithReplicationFactor(Integer min, Integer max) {
+        return query(() -> range(byReplicationFactor, min, max));
+    }
+
+    public Set<String> topicsWithConfig(String key, String value) {
+        Validate.notNull(key, "Config key is null");
+        Validate.notNull(value, "Config value is null");
+
+        return query(() -> copy(byConfigKeyAndValue.getOrDefault(key, Collections.emptyMap()).get(value)));
+    }
+
+    /**
+     * @return topics having a config entry whose key or value equals the given string
+     */
+    public Set<String> topicsWithConfigKeyOrValue(String keyOrValue) {
+        Validate.notNull(keyOrValue, "Config key or value is null");
+
+        return query(() -> {
+            Set<String> topicNames = new HashSet<>();
+            Map<String, Set<String>> byValue = byConfigKeyAndValue.get(keyOrValue);
+            if (byValue != null) {
+                byValue.values().forEach(topicNames::addAll);
+            }
+            Set<String> withValue = byConfigValue.get(keyOrValue);
+            if (withValue != null) {
+                topicNames.addAll(withValue);
+            }
+            return topicNames;
+        });
+    }
+
+    public Set<String> underReplicatedTopics() {
+        return query(() -> copy(underReplicated));
+    }
+
+    /**
+     * @return topics whose description may contain the given string, ignoring case
+     */
+    public Set<String> topicsWithDescriptionContaining(String string) {
+        Validate.notNull(string, "String is null");
+
+        String segment = tokenize(string).stream().
+                max(Comparator.comparingInt(String::length)).
+                orElse(null);
+        if (segment == null) {
+            return null;
+        }
+
+        return query(() -> {
+            Set<String> topicNames = new HashSet<>();
+            byDescriptionToken.forEach((token, tokenTopicNames) -> {
+                if (token.contains(segment)) {
+                    topicNames.addAll(tokenTopicNames);
+                }
+            });
+            return topicNames;
+        });
+    }
+
+    /**
+     * @return intersection of the given candidate sets, {@code null} sets are ignored;
+     * {@code null} if all sets are {@code null}
+     */
+    public static Set<String> intersect(List<Set<String>> candidateSets) {
+        Validate.notNull(candidateSets, "List of candidate sets is null");
+
+        List<Set<String>> sets = new ArrayList<>(candidateSets.size());
+        for (Set<String> set : candidateSets) {
+            if (set != null) {
+                sets.add(set);
+            }
+        }
+        if (sets.isEmpty()) {
+            return null;
+        }
+
+        sets.sort(Comparator.comparingInt(Set::size));
+        Set<String> smallest = sets.get(0);
+        Set<String> result = new HashSet<>();
+        for (String topicName : smallest) {
+            boolean inAll = true;
+            for (int i = 1; i < sets.size() && inAll; i++) {
+                inAll = sets.get(i).contains(topicName);
+            }
+            if (inAll) {
+                result.add(topicName);
+            }
+        }
+        return result;
+    }
+
+    private void refresh() {
+        if (invalidated.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (String topicName : new ArrayList<>(invalidated)) {
+                invalidated.remove(topicName);
+                TopicInfo topicInfo = resolver.apply(topicName);
+                Entry newEntry = topicInfo != null ? new Entry(topicInfo) : null;
+                Entry oldEntry = newEntry != null ? entries.put(topicName, newEntry) : entries.remove(topicName);
+                reindex(topicName, oldEntry, newEntry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Set<String> query(Supplier<Set<String>> lookup) {
+        refresh();
+
+        lock.readLock().lock();
+        try {
+            return lookup.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reindex(String topicName, Entry oldEntry, Entry newEntry) {
+        Integer oldPartitionCount = oldEntry != null ? oldEntry.partitionCount : null;
+        Integer newPartitionCount = newEntry != null ? newEntry.partitionCount : null;
+        if (!Objects.equals(oldPartitionCount, newPartitionCount)) {
+            removePosting(byPartitionCount, oldPartitionCount, topicName);
+            addPosting(byPartitionCount, newPartitionCount, topicName);
+        }
+
+        Integer oldReplicationFactor = oldEntry != null ? oldEntry.replicationFactor : null;
+        Integer newReplicationFactor = newEntry != null ? newEntry.replicationFactor : null;
+        if (!Objects.equals(oldReplicationFactor, newReplicationFactor)) {
+            removePosting(byReplicationFactor, oldReplicationFactor, topicName);
+            addPosting(byReplicationFactor, newReplicationFactor, topicName);
+        }
+
+        Map<String, String> oldConfig = oldEntry != null ? oldEntry.config : Collections.emptyMap();
+        Map<String, String> newConfig = newEntry != null ? newEntry.config : Collections.emptyMap();
+        if (oldConfig != newConfig) {
+            oldConfig.forEach((key, value) -> {
+                Map<String, Set<String>> byValue = byConfigKeyAndValue.get(key);
+                if (byValue != null && !value.equals(newConfig.get(key))) {
+                    removePosting(byValue, value, topicName);
+                    if (byValue.isEmpty()) {
+                        byConfigKeyAndValue.remove(key);
+                    }
+                }
+            });
+            newConfig.forEach((key, value) -> {
+                if (!value.equals(oldConfig.get(key))) {
+                    addPosting(
+                            byConfigKeyAndValue.computeIfAbsent(key, k -> new ConcurrentHashMap<>()),
+                            value,
+                            topicName);
+                }
+            });
+            Set<String> oldValues = new HashSet<>(oldConfig.values());
+            Set<String> newValues = new HashSet<>(newConfig.values());
+            oldValues.stream().
+                filter(value -> !newValues.contains(value)).
+                forEach(value -> removePosting(byConfigValue, value, topicName));
+            newValues.stream().
+                filter(value -> !oldValues.contains(value)).
+                forEach(value -> addPosting(byConfigValue, value, topicName));
+        }
+
+        if (newEntry != null && newEntry.underReplicated) {
+            underReplicated.add(topicName);
+        } else {
+            underReplicated.remove(topicName);
+        }
+
+        Set<String> oldTokens = oldEntry != null ? oldEntry.descriptionTokens : Collections.emptySet();
+        Set<String> newTokens = newEntry != null ? newEntry.descriptionTokens : Collections.emptySet();
+        oldTokens.stream().
+            filter(token -> !newTokens.contains(token)).
+            forEach(token -> removePosting(byDescriptionToken, token, topicName));
+        newTokens.stream().
+            filter(token -> !oldTokens.contains(token)).
+            forEach(token -> addPosting(byDescriptionToken, token, topicName));
+    }
+
+    private static <K> void addPosting(Map<K, Set<String>> index, K key, String topicName) {
+        if (key == null) {
+            return;
+        }
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(topicName);
+    }
+
+    private static <K> void removePosting(Map<K, Set<String>> index, K key, String topicName) {
+        if (key == null) {
+            return;
+        }
+        index.computeIfPresent(key, (k, topicNames) -> {
+            topicNames.remove(topicName);
+            return topicNames.isEmpty() ? null : topicNames;
+        });
+    }
+
+    private static Set<String> range(NavigableMap<Integer, Set<String>> index, Integer min, Integer max) {
+        if (min != null && max != null && min > max) {
+            return Collections.emptySet();
+        }
+
+        NavigableMap<Integer, Set<String>> subMap = index;
+        if (min != null) {
+            subMap = subMap.tailMap(min, true);
+        }
+        if (max != null) {
+            subMap = subMap.headMap(max, true);
+        }
+
+        Set<String> topicNames = new HashSet<>();
+        subMap.values().forEach(topicNames::addAll);
+        return topicNames;
+    }
+
+    private static Set<String> copy(Set<String> topicNames) {
+        return topicNames != null ? new HashSet<>(topicNames) : new HashSet<>();
+    }
+
+    private static Set<String> tokenize(String string) {
+        if (StringUtils.isBlank(string)) {
+            return Collections.emptySet();
+        }
+
+        Set<String> tokens = new HashSet<>();
+        String lowerCase = string.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean tokenChar = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static class Entry {
+
+        private final int partitionCount;
+        private final int replicationFactor;
+        private final Map<String, String> config;
+        private final boolean underReplicated;
+        private final Set<String> descriptionTokens;
+
+        private Entry(TopicInfo topicInfo) {
+            partitionCount = topicInfo.getPartitionCount();
+            replicationFactor = topicInfo.getReplicationFactor();
+            config = topicInfo.getConfig();
+            underReplicated = topicInfo.hasUnderReplicatedPartitions();
+            descriptionTokens = tokenize(
+                    topicInfo.getMetadata().map(Metadata::getDescription).orElse(null));
+        }
+
+    }
+
+}
@@ -15,61 +15,51 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalUnit;
-import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.math.NumberUtils;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-import com.epam.eco.commons.series.MergeFunction;
-import com.epam.eco.commons.series.TimeSeries;
-
 /**
  * @author Andrei_Tytsik
  */
-public class TransactionTimeSeries extends TimeSeries<Integer> {
+public class TransactionTimeSeries extends RingTimeSeries<Integer> {
 
     private static final int MAX_SIZE = 3;
-    private static final TemporalUnit GRANULARITY = ChronoUnit.MINUTES;
-    private static final MergeFunction<Integer> MERGE_FUNCTION = MergeFunction.addInt();
 
     private final String transactionalId;
 
     public TransactionTimeSeries(String transactionalId) {
-        this(true, transactionalId, null);
+        super(MAX_SIZE);
+
+        Validate.notNull(transactionalId, "Transactional Id is null");
+
+        this.transactionalId = transactionalId;
     }
 
     @JsonCreator
     private TransactionTimeSeries(
             @JsonProperty("transactionalId") String transactionalId,
             @JsonProperty("data") Map<LocalDateTime, Integer> data) {
-        this(true, transactionalId, data);
-    }
+        this(transactionalId);
 
-    private TransactionTimeSeries(
-            boolean modifiable,
-            String transactionalId,
-            Map<LocalDateTime, Integer> data) {
-        super(modifiable, MAX_SIZE, GRANULARITY, MERGE_FUNCTION, data);
-
-        Validate.notNull(transactionalId, "Transactional Id is null");
-
-        this.transactionalId = transactionalId;
+        if (data != null) {
+            new TreeMap<>(data).forEach(this::append);
+        }
     }
 
-    @JsonIgnore
-    @Override
-    public TemporalUnit getGranularity() {
-        return super.getGranularity();
+    private TransactionTimeSeries(TransactionTimeSeries origin, boolean modifiable) {
+        super(origin, modifiable);
+
+        this.transactionalId = origin.transactionalId;
     }
 
     public String getTransactionalId() {
@@ -95,26 +85,22 @@ public class TransactionTimeSeries extends TimeSeries<Integer> {
     public Integer currentRatePer(TemporalUnit unit) {
         Validate.notNull(unit, "Temporal unit is null");
 
-        LocalDateTime now = LocalDateTime.now();
+        long nowSec = toEpochSecond(LocalDateTime.now());
+        long nowMinute = Math.floorDiv(nowSec, 60L);
 
-        Integer currentCount = value(now);
-        if (currentCount == null) {
+        int index = indexOfMinute(nowMinute);
+        if (index < 0) {
             return null;
         }
 
-        int count = 0;
-        Duration duration = null;
-
-        Integer previousCount = previousSerialValue(now);
-        if (previousCount != null) {
-            count = previousCount + currentCount;
-            duration = Duration.between(previousSerialKey(now), now);
-        } else {
-            count = currentCount;
-            duration = Duration.between(key(now), now);
+        long count = valueAt(index);
+        long startMinute = nowMinute;
+        if (index > 0 && minuteAt(index - 1) == nowMinute - 1) {
+            count += valueAt(index - 1);
+            startMinute = nowMinute - 1;
         }
 
-        long durationSec = duration.getSeconds();
+        long durationSec = nowSec - startMinute * 60L;
         if (durationSec == 0) {
             return NumberUtils.INTEGER_ZERO;
         }
@@ -128,22 +114,30 @@ public class TransactionTimeSeries extends TimeSeries<Integer> {
     }
 
     public Integer deltaAtDate(LocalDateTime dateTime) {
-        Integer count = value(dateTime);
-        Integer previousCount = previousValue(dateTime);
-        return
-                count != null && previousCount != null ?
-                count - previousCount :
-                null;
+        Validate.notNull(dateTime, "Date is null");
+
+        int index = indexOfMinute(toMinute(dateTime));
+        return index > 0 ? (int)(valueAt(index) - valueAt(index - 1)) : null;
+    }
+
+    @Override
+    protected long merge(long current, long value) {
+        return (int)current + (int)value;
+    }
+
+    @Override
+    protected Integer toValue(long value) {
+        return (int)value;
     }
 
     @Override
     public TransactionTimeSeries copy() {
-        return new TransactionTimeSeries(true, transactionalId, getData());
+        return new TransactionTimeSeries(this, true);
     }
 
     @Override
     public TransactionTimeSeries unmodifiableCopy() {
-        return new TransactionTimeSeries(false, transactionalId, getData());
+        return isModifiable() ? new TransactionTimeSeries(this, false) : this;
     }
 
     @Override
@@ -156,7 +150,7 @@ public class TransactionTimeSeries extends TimeSeries<Integer> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(transactionalId, getData());
+        return 31 * transactionalId.hashCode() + dataHashCode();
     }
 
     @Override
@@ -170,7 +164,7 @@ public class TransactionTimeSeries extends TimeSeries<Integer> {
         TransactionTimeSeries that = (TransactionTimeSeries)obj;
         return
                 Objects.equals(this.transactionalId, that.transactionalId) &&
-                Objects.equals(this.getData(), that.getData());
+                dataEquals(that);
     }
 
     public static TransactionTimeSeries empty(String transactionalId) {
@@ -178,7 +172,7 @@ public class TransactionTimeSeries extends TimeSeries<Integer> {
     }
 
     public static TransactionTimeSeries unmodifiableEmpty(String transactionalId) {
-        return new TransactionTimeSeries(false, transactionalId, Collections.emptyMap());
+        return empty(transactionalId).unmodifiableCopy();
     }
 
 }
@@ -16,7 +16,9 @@
 package com.epam.eco.kafkamanager.logicaltype;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import org.apache.avro.Schema;
@@ -26,10 +28,19 @@ import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 /**
+ * Converts records into maps with logical type values converted. How each field of a
+ * schema is converted is resolved once per schema and cached.
+ *
  * @author Mikhail_Vershkov
  */
 public class LogicalTypeSchemaConverter {
 
+    private enum FieldKind {
+        RECORD, LOGICAL, PLAIN
+    }
+
+    private static final Map<Schema, FieldKind[]> FIELD_KINDS = new ConcurrentHashMap<>();
+
     private static Predicate<Schema> isSchemaIsRecordPredicate() {
         return schema -> schema.getType().equals(Schema.Type.RECORD);
     }
@@ -39,27 +50,68 @@ public class LogicalTypeSchemaConverter {
         return convertSchema(value.getSchema(), value, convertedValue);
     }
 
+    /**
+     * Converts value of a single field of the record the same way {@link #convert(GenericRecord)}
+     * does, except for fields of record type, those are returned as is.
+     */
+    public static Object convertFieldValue(GenericRecord value, Schema.Field field) {
+        FieldKind fieldKind = FIELD_KINDS.computeIfAbsent(
+                value.getSchema(), LogicalTypeSchemaConverter::resolveFieldKinds)[field.pos()];
+        if(fieldKind == FieldKind.LOGICAL) {
+            return LogicalTypeFieldConverter.convert(field.schema(),
+                                                     field.schema().getLogicalType(),
+                                                     value.get(field.pos()));
+        }
+        return value.get(field.pos());
+    }
+
     private static Map<String, Object> convertSchema(Schema schema,
                                                      GenericRecord fieldValue,
                                                      Map<String, Object> convertedValue
     ) {
         if(schema.hasFields()) {
-            schema.getFields().forEach(field -> convertField(fieldValue, convertedValue, field));
+            List<Schema.Field> fields = schema.getFields();
+            FieldKind[] fieldKinds = FIELD_KINDS.computeIfAbsent(schema, LogicalTypeSchemaConverter::resolveFieldKinds);
+            for (int i = 0; i < fields.size(); i++) {
+                convertField(fieldValue, convertedValue, fields.get(i), fieldKinds[i]);
+            }
         }
         return convertedValue;
     }
 
+    private static FieldKind[] resolveFieldKinds(Schema schema) {
+        List<Schema.Field> fields = schema.getFields();
+        FieldKind[] fieldKinds = new FieldKind[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            Schema.Field field = fields.get(i);
+            if(isSchemaContainsRecord(field)) {
+                fieldKinds[i] = FieldKind.RECORD;
+            } else if(isSchemaContainsLogicalType(field)) {
+                fieldKinds[i] = FieldKind.LOGICAL;
+            } else {
+                fieldKinds[i] = FieldKind.PLAIN;
+            }
+        }
+        return fieldKinds;
+    }
+
     private static void convertField(
             GenericRecord fieldValue,
             Map<String, Object> convertedValue,
-            Schema.Field field
+            Schema.Field field,
+            FieldKind fieldKind
     ) {
         if(isNull(fieldValue)) {
             convertedValue.put(field.name(), null);
-        } else if(isSchemaContainsRecord(field)) {
+        } else if(fieldKind == FieldKind.RECORD) {
             convertRecordType(fieldValue, convertedValue, field);
+        } else if(fieldKind == FieldKind.LOGICAL) {
+            convertedValue.put(field.name(),
+                               LogicalTypeFieldConverter.convert(field.schema(),
+                                                                 field.schema().getLogicalType(),
+                                                                 fieldValue.get(field.pos())));
         } else {
-            convertLogicalType(fieldValue, convertedValue, field);
+            convertedValue.put(field.name(), fieldValue.get(field.pos()));
         }
     }
 
@@ -98,21 +150,6 @@ public class LogicalTypeSchemaConverter {
         }
     }
 
-    private static void convertLogicalType(
-            GenericRecord fieldValue,
-            Map<String, Object> convertedValue,
-            Schema.Field field
-    ) {
-        if(isSchemaContainsLogicalType(field)) {
-            convertedValue.put(field.name(),
-                               LogicalTypeFieldConverter.convert(field.schema(),
-                                                                 field.schema().getLogicalType(),
-                                                                 fieldValue.get(field.name())) );
-        } else {
-            convertedValue.put(field.name(), fieldValue.get(field.name()));
-        }
-    }
-
     private static boolean isSchemaContainsLogicalType(Schema.Field field) {
 
         if(field.schema().getType().equals(Schema.Type.UNION)) {
@@ -40,24 +40,67 @@ public abstract class AbstractValueRepo<V, SC extends SearchCriteria<V>> impleme
     public Page<V> page(SC criteria, Pageable pageable) {
         Validate.notNull(pageable, "Pageable is null");
 
-        List<V> allValues = applyCriteriaIfPresented(values(), criteria);
-        List<V> pageValues = new ArrayList<>();
-        int idx = 0;
-        for (V value : allValues) {
-            if (idx >= pageable.getOffset()) {
-                pageValues.add(value);
-                if (pageValues.size() == pageable.getPageSize()) {
-                    break;
+        List<V> values = criteria != null ? candidateValuesView(criteria) : sortedValuesView();
+        long offset = pageable.getOffset();
+        int pageSize = pageable.getPageSize();
+        List<V> pageValues = new ArrayList<>(pageSize);
+
+        if (criteria == null) {
+            int from = (int)Math.min(offset, values.size());
+            int to = (int)Math.min(offset + pageSize, values.size());
+            for (int idx = from; idx < to; idx++) {
+                V value = values.get(idx);
+                if (value != null) {
+                    pageValues.add(value);
                 }
             }
-            idx++;
+            return new PageImpl<>(pageValues, pageable, values.size());
         }
-        return new PageImpl<>(pageValues, pageable, allValues.size());
+
+        long total = 0;
+        for (V value : values) {
+            if (value == null || !criteria.matches(value)) {
+                continue;
+            }
+            if (total >= offset && pageValues.size() < pageSize) {
+                pageValues.add(value);
+            }
+            total++;
+        }
+        return new PageImpl<>(pageValues, pageable, total);
     }
 
     @Override
     public List<V> values(SC criteria) {
-        return applyCriteriaIfPresented(values(), criteria);
+        if (criteria == null) {
+            return values();
+        }
+
+        List<V> values = new ArrayList<>();
+        for (V value : candidateValuesView(criteria)) {
+            if (value != null && criteria.matches(value)) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns all values in the order of {@link #values()}. Repos maintaining a
+     * {@link SortedKeySnapshot} override this to return a lazy view, so
+     * {@link #page(SearchCriteria, Pageable)} only resolves the values it touches.
+     * Elements of the view may be {@code null} for concurrently removed entries.
+     */
+    protected List<V> sortedValuesView() {
+        return values();
+    }
+
+    /**
+     * Returns values that may match the criteria, in the order of {@link #values()}.
+     * Repos maintaining secondary indexes override this to skip values that can't match.
+     */
+    protected List<V> candidateValuesView(SC criteria) {
+        return sortedValuesView();
     }
 
     protected List<V> applyCriteriaIfPresented(List<V> values, SC criteria) {
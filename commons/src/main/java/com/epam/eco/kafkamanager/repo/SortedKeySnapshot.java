@@ -0,0 +1,203 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.repo;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Maintains keys of a repo as a sorted, random access snapshot. Additions and
+ * removals are collected and merged into the snapshot on the next read, so the
+ * snapshot is never re-sorted as a whole.
+ *
+ * @author Andrei_Tytsik
+ */
+public final class SortedKeySnapshot<K> {
+
+    private final Comparator<? super K> comparator;
+
+    private final Set<K> members = ConcurrentHashMap.newKeySet();
+    private final Set<K> pendingAdds = new HashSet<>();
+    private final Set<K> pendingRemoves = new HashSet<>();
+
+    private volatile boolean dirty = false;
+    private volatile List<K> snapshot = Collections.emptyList();
+
+    public SortedKeySnapshot(Comparator<? super K> comparator) {
+        Validate.notNull(comparator, "Comparator is null");
+
+        this.comparator = comparator;
+    }
+
+    public static <K extends Comparable<? super K>> SortedKeySnapshot<K> naturalOrder() {
+        return new SortedKeySnapshot<>(Comparator.naturalOrder());
+    }
+
+    /**
+     * Replaces all keys. Changes not yet merged are discarded.
+     */
+    public synchronized void reset(Collection<K> keys) {
+        Validate.notNull(keys, "Collection of keys is null");
+
+        members.clear();
+        members.addAll(keys);
+        pendingAdds.clear();
+        pendingRemoves.clear();
+
+        @SuppressWarnings("unchecked")
+        K[] sorted = (K[])members.toArray();
+        Arrays.sort(sorted, comparator);
+        snapshot = Collections.unmodifiableList(Arrays.asList(sorted));
+        dirty = false;
+    }
+
+    public void add(K key) {
+        Validate.notNull(key, "Key is null");
+
+        if (members.contains(key)) {
+            return;
+        }
+
+        synchronized (this) {
+            if (members.add(key)) {
+                pendingRemoves.remove(key);
+                pendingAdds.add(key);
+                dirty = true;
+            }
+        }
+    }
+
+    public void remove(K key) {
+        Validate.notNull(key, "Key is null");
+
+        if (!members.contains(key)) {
+            return;
+        }
+
+        synchronized (this) {
+            if (members.remove(key)) {
+                pendingAdds.remove(key);
+                pendingRemoves.add(key);
+                dirty = true;
+            }
+        }
+    }
+
+    public boolean contains(K key) {
+        return members.contains(key);
+    }
+
+    public int size() {
+        return keys().size();
+    }
+
+    /**
+     * @return unmodifiable sorted list of keys
+     */
+    public List<K> keys() {
+        if (dirty) {
+            merge();
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return unmodifiable sorted view whose elements are resolved by the given function
+     * on access; the function may return {@code null} for keys removed concurrently
+     */
+    public <V> List<V> valuesView(Function<K, V> resolver) {
+        Validate.notNull(resolver, "Resolver is null");
+
+        return new ValuesView<>(keys(), resolver);
+    }
+
+    private synchronized void merge() {
+        if (!dirty) {
+            return;
+        }
+
+        List<K> current = snapshot;
+
+        @SuppressWarnings("unchecked")
+        K[] added = (K[])pendingAdds.toArray();
+        Arrays.sort(added, comparator);
+
+        List<K> merged = new ArrayList<>(current.size() + added.length);
+        int i = 0;
+        int j = 0;
+        while (i < current.size() || j < added.length) {
+            K next;
+            if (j == added.length) {
+                next = current.get(i++);
+            } else if (i == current.size()) {
+                next = added[j++];
+            } else {
+                int result = comparator.compare(current.get(i), added[j]);
+                if (result < 0) {
+                    next = current.get(i++);
+                } else if (result > 0) {
+                    next = added[j++];
+                } else {
+                    next = added[j++];
+                    i++;
+                }
+            }
+            if (!pendingRemoves.contains(next)) {
+                merged.add(next);
+            }
+        }
+
+        pendingAdds.clear();
+        pendingRemoves.clear();
+        snapshot = Collections.unmodifiableList(merged);
+        dirty = false;
+    }
+
+    private static final class ValuesView<K, V> extends AbstractList<V> implements RandomAccess {
+
+        private final List<K> keys;
+        private final Function<K, V> resolver;
+
+        private ValuesView(List<K> keys, Function<K, V> resolver) {
+            this.keys = keys;
+            this.resolver = resolver;
+        }
+
+        @Override
+        public V get(int index) {
+            return resolver.apply(keys.get(index));
+        }
+
+        @Override
+        public int size() {
+            return keys.size();
+        }
+
+    }
+
+}
@@ -17,6 +17,9 @@ package com.epam.eco.kafkamanager;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.kafka.common.ConsumerGroupState;
 import org.apache.kafka.common.TopicPartition;
@@ -93,4 +96,53 @@ public class ConsumerGroupInfoTest {
         Assertions.assertEquals(origin, deserialized);
     }
 
+    @Test
+    public void testOffsetsArePatched() throws Exception {
+        OffsetTimeSeries timeSeries = new OffsetTimeSeries(new TopicPartition("topic1", 0));
+        timeSeries.append(LocalDateTime.now(), 5L);
+        ConsumerGroupInfo origin = ConsumerGroupInfo.builder()
+                .name("consumerGroupName")
+                .state(ConsumerGroupState.STABLE)
+                .storageType(ConsumerGroupInfo.StorageType.KAFKA)
+                .addOffsetsAndMetadata(offset("topic1", 0, 5))
+                .addOffsetsAndMetadata(offset("topic1", 1, 7))
+                .addOffsetsAndMetadata(offset("topic2", 0, 3))
+                .offsetTimeSeries(Map.of(timeSeries.getTopicPartition(), timeSeries))
+                .build();
+
+        Map<TopicPartition, OffsetAndMetadataInfo> offsetsPatch = new HashMap<>();
+        offsetsPatch.put(new TopicPartition("topic1", 1), offset("topic1", 1, 9));
+        offsetsPatch.put(new TopicPartition("topic2", 0), null);
+        Map<TopicPartition, OffsetTimeSeries> timeSeriesPatch = new HashMap<>();
+        timeSeriesPatch.put(new TopicPartition("topic1", 0), null);
+
+        ConsumerGroupInfo patched = origin.withOffsets(offsetsPatch, timeSeriesPatch);
+        ConsumerGroupInfo expected = origin.toBuilder()
+                .addOffsetsAndMetadata(offset("topic1", 1, 9))
+                .removeOffsetsAndMetadata(new TopicPartition("topic2", 0))
+                .offsetTimeSeries(null)
+                .build();
+
+        Assertions.assertEquals(expected, patched);
+        Assertions.assertEquals(List.of("topic1"), patched.getTopicNames());
+        Assertions.assertEquals(Long.valueOf(9), patched.getOffset(new TopicPartition("topic1", 1)));
+        Assertions.assertEquals(
+                List.of(new TopicPartition("topic1", 0), new TopicPartition("topic1", 1)),
+                List.copyOf(patched.getOffsets().keySet()));
+        Assertions.assertEquals(3, origin.getOffsets().size());
+        Assertions.assertSame(origin.getMembers(), patched.getMembers());
+        Assertions.assertSame(origin, origin.withOffsets(Map.of(), null));
+        Assertions.assertThrows(
+                UnsupportedOperationException.class,
+                () -> patched.getOffsetsAndMetadata().clear());
+    }
+
+    private static OffsetAndMetadataInfo offset(String topic, int partition, long offset) {
+        return OffsetAndMetadataInfo.builder()
+                .offset(offset)
+                .commitDate(LocalDateTime.MIN)
+                .topicPartition(new TopicPartition(topic, partition))
+                .build();
+    }
+
 }
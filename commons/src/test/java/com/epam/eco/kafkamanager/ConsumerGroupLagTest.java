@@ -0,0 +1,58 @@
+/*******************************************************************************
+ *  Copyright 2022 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.epam.eco.kafkamanager.utils.TestObjectMapperSingleton;
+
+/**
+ * @author Andrei_Tytsik
+ */
+class ConsumerGroupLagTest {
+
+    @Test
+    void testSerializedToJsonAndBack() throws Exception {
+        ConsumerGroupLag origin = new ConsumerGroupLag(
+                "group",
+                Map.of(
+                        new TopicPartition("topic1", 0), 10L,
+                        new TopicPartition("topic1", 1), 0L,
+                        new TopicPartition("topic2", 0), 5L),
+                LocalDateTime.now());
+
+        ObjectMapper mapper = TestObjectMapperSingleton.getObjectMapper();
+
+        String json = mapper.writeValueAsString(origin);
+        Assertions.assertNotNull(json);
+
+        ConsumerGroupLag deserialized = mapper.readValue(
+                json,
+                ConsumerGroupLag.class);
+        Assertions.assertNotNull(deserialized);
+        Assertions.assertEquals(origin, deserialized);
+        Assertions.assertEquals(15L, deserialized.getTotalLag());
+        Assertions.assertEquals(Map.of("topic1", 10L, "topic2", 5L), deserialized.getTopicLags());
+    }
+
+}
@@ -1,11 +1,23 @@
 package com.epam.eco.kafkamanager;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
+import java.util.Map;
+
+import org.apache.avro.generic.GenericRecord;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import com.epam.eco.kafkamanager.KafkaExtendedAvroDeserializer.GenericRecordWrapper;
+import com.epam.eco.kafkamanager.logicaltype.LogicalTypeSchemaConverter;
+
+import static com.epam.eco.kafkamanager.utils.LogicalTypeConverterUtils.TIMESTAMP_MILLIS_FIELD_NAME;
+import static com.epam.eco.kafkamanager.utils.LogicalTypeConverterUtils.createNewRecord;
+
 /**
  * @author Mikhail_Vershkov
  */
@@ -40,4 +52,17 @@ public class KafkaExtendedAvroDeserializerTest {
         long schemaId = kafkaSchemaIdAwareAvroDeserializer.getSchemaId(BYTES_NORMAL);
         Assertions.assertEquals(schemaId, 257L);
     }
+
+    @Test
+    public void valuesAreConvertedLazilyOnceTest() {
+        LocalDateTime now = LocalDateTime.now();
+        GenericRecord record = createNewRecord();
+        GenericRecordWrapper wrapper = new GenericRecordWrapper(record, 257L);
+        record.put(TIMESTAMP_MILLIS_FIELD_NAME, now.toInstant(ZoneOffset.UTC).toEpochMilli());
+
+        Map<String, Object> valuesAsMap = wrapper.getValuesAsMap();
+        Assertions.assertEquals(now.truncatedTo(ChronoUnit.MILLIS), valuesAsMap.get(TIMESTAMP_MILLIS_FIELD_NAME));
+        Assertions.assertEquals(LogicalTypeSchemaConverter.convert(record), valuesAsMap);
+        Assertions.assertSame(valuesAsMap, wrapper.getValuesAsMap());
+    }
 }
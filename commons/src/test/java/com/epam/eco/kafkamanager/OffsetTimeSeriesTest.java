@@ -16,6 +16,8 @@
 package com.epam.eco.kafkamanager;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
 
 import org.apache.kafka.common.TopicPartition;
 import org.junit.jupiter.api.Assertions;
@@ -96,4 +98,50 @@ public class OffsetTimeSeriesTest {
         Assertions.assertNotNull(series.currentRatePerHour());
     }
 
+    @Test
+    public void testOldestMinutesAreEvicted() throws Exception {
+        OffsetTimeSeries series = new OffsetTimeSeries(new TopicPartition("topic", 0));
+
+        LocalDateTime date = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        for (int i = 0; i < 15; i++) {
+            series.append(date.plusMinutes(i), i);
+        }
+        series.append(date.plusMinutes(14).plusSeconds(30), 100L);
+
+        Assertions.assertEquals(10, series.size());
+        Assertions.assertEquals(date.plusMinutes(5), series.firstKey());
+        Assertions.assertEquals(Long.valueOf(5), series.firstValue());
+        Assertions.assertEquals(Long.valueOf(100), series.lastValue());
+        Assertions.assertEquals(date.plusMinutes(13), series.previousKey(date.plusMinutes(14)));
+        Assertions.assertNull(series.value(date.plusMinutes(4)));
+        Assertions.assertEquals(Long.valueOf(87), series.deltaAtDate(date.plusMinutes(14)));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> series.append(date.plusMinutes(13), 1L));
+    }
+
+    @Test
+    public void testUnmodifiableCopyIsNotAffectedByAppends() throws Exception {
+        OffsetTimeSeries series = new OffsetTimeSeries(new TopicPartition("topic", 0));
+
+        LocalDateTime date = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        for (int i = 0; i < 10; i++) {
+            series.append(date.plusMinutes(i), i);
+        }
+
+        OffsetTimeSeries view = series.unmodifiableCopy();
+        Map<LocalDateTime, Long> data = view.getData();
+        Assertions.assertEquals(series, view);
+        Assertions.assertSame(view, view.unmodifiableCopy());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> view.append(1L));
+
+        series.append(date.plusMinutes(9), 42L);
+        series.append(date.plusMinutes(10), 43L);
+
+        Assertions.assertEquals(data, view.getData());
+        Assertions.assertEquals(Long.valueOf(9), view.lastValue());
+        Assertions.assertEquals(Long.valueOf(43), series.lastValue());
+        Assertions.assertEquals(date.plusMinutes(1), series.firstKey());
+    }
+
 }
@@ -16,6 +16,7 @@
 package com.epam.eco.kafkamanager;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -74,4 +75,98 @@ public class TopicInfoTest {
         Assertions.assertEquals(origin, deserialized);
     }
 
+    @Test
+    public void testPartitionIsPatchedAndOthersAreShared() throws Exception {
+        TopicInfo origin = createTopicInfo();
+        PartitionInfo untouched = origin.getPartition(0);
+
+        PartitionInfo patchedPartition = new PartitionInfo(
+                "topicName",
+                1,
+                Arrays.asList(1, 2, 3),
+                2,
+                Arrays.asList(2, 3));
+        TopicInfo patched = origin.withPartition(patchedPartition);
+
+        Assertions.assertNotSame(origin, patched);
+        Assertions.assertSame(untouched, patched.getPartition(0));
+        Assertions.assertSame(patchedPartition, patched.getPartition(1));
+        Assertions.assertFalse(origin.hasUnderReplicatedPartitions());
+        Assertions.assertEquals(
+                Collections.singletonList(new TopicPartition("topicName", 1)),
+                patched.getUnderReplicatedPartitions());
+        Assertions.assertEquals(
+                origin.toBuilder().
+                    partitions(patched.getPartitions()).
+                    build(),
+                patched);
+    }
+
+    @Test
+    public void testUnchangedPartitionPatchReturnsSameInstance() throws Exception {
+        TopicInfo origin = createTopicInfo();
+
+        TopicInfo patched = origin.withPartition(new PartitionInfo(
+                "topicName",
+                1,
+                Arrays.asList(1, 2, 3),
+                1,
+                Arrays.asList(1, 2, 3)));
+
+        Assertions.assertSame(origin, patched);
+    }
+
+    @Test
+    public void testPatchOfUnknownPartitionIsRejected() throws Exception {
+        TopicInfo origin = createTopicInfo();
+
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> origin.withPartition(new PartitionInfo(
+                        "topicName",
+                        5,
+                        Arrays.asList(1, 2, 3),
+                        1,
+                        Arrays.asList(1, 2, 3))));
+    }
+
+    @Test
+    public void testConfigAndMetadataPatchesSharePartitions() throws Exception {
+        TopicInfo origin = createTopicInfo();
+
+        TopicInfo withConfig = origin.withConfig(Collections.singletonMap("retention.ms", "1000"));
+        Assertions.assertSame(origin.getPartitions(), withConfig.getPartitions());
+        Assertions.assertEquals(Collections.singletonMap("retention.ms", "1000"), withConfig.getConfig());
+        Assertions.assertEquals(origin.getMetadata(), withConfig.getMetadata());
+
+        TopicInfo withoutMetadata = withConfig.withMetadata(null);
+        Assertions.assertSame(origin.getPartitions(), withoutMetadata.getPartitions());
+        Assertions.assertFalse(withoutMetadata.getMetadata().isPresent());
+        Assertions.assertEquals(
+                withConfig.toBuilder().metadata(null).build(),
+                withoutMetadata);
+    }
+
+    private static TopicInfo createTopicInfo() {
+        Map<TopicPartition, PartitionInfo> partitions = new HashMap<>();
+        for (int partition = 0; partition < 3; partition++) {
+            partitions.put(new TopicPartition("topicName", partition), new PartitionInfo(
+                    "topicName",
+                    partition,
+                    Arrays.asList(1, 2, 3),
+                    1,
+                    Arrays.asList(1, 2, 3)));
+        }
+        return TopicInfo.builder()
+                .name("topicName")
+                .config(Collections.singletonMap("some.property", "some.value"))
+                .partitions(partitions)
+                .metadata(Metadata.builder()
+                        .description("description")
+                        .updatedBy("me")
+                        .updatedAtNow()
+                        .build())
+                .build();
+    }
+
 }
@@ -15,12 +15,12 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager;
 
-import java.util.Date;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
-import org.apache.kafka.common.ConsumerGroupState;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -48,26 +48,7 @@ public class TopicListSearchCriteriaImplTest {
 
     @BeforeAll
     public static void beforeAll() {
-        Mockito.when(kafkaManager.getConsumerGroupsForTopic(anyString()))
-               .thenAnswer(invocationOnMock -> {
-                   List<ConsumerGroupInfo> groupInfos = new LinkedList<>();
-                   ConsumerGroupInfo groupInfo = new ConsumerGroupInfo(
-                           invocationOnMock.getArgument(0),
-                           0,
-                           ConsumerGroupState.STABLE,
-                           "TCP",
-                           "partitionAssignor",
-                           List.of(),
-                           Map.of(),
-                           Map.of(),
-                           ConsumerGroupInfo.StorageType.KAFKA,
-                           new Metadata(DESCRIPTION,Map.of(),new Date(),"User"));
-                   groupInfos.add( groupInfo );
-                   groupInfos.add( groupInfo );
-                   groupInfos.add( groupInfo );
-
-                   return groupInfos;
-               });
+        Mockito.when(kafkaManager.getConsumerGroupCountForTopic(anyString())).thenReturn(3);
     }
 
     @Test
@@ -354,5 +335,97 @@ public class TopicListSearchCriteriaImplTest {
         Assertions.assertFalse(criteria.matches(topicInfo));
     }
 
+    @Test
+    public void compiledConfigClausesMatchLegacyEvaluationTest() {
+        List<Map<String, String>> configs = List.of(
+                Map.of(),
+                CONFIG_MAP_COMPACT,
+                CONFIG_MAP_DELETE,
+                Map.of("cleanup.policy", "compact,delete", "retention.ms", "-1"),
+                Map.of("a{b", "c}d", "x", "y z"));
+        List<String> filterValues = List.of(
+                "", " ", "compact", "cleanup.policy", "cleanup.policy:compact", "cleanup.policy: compact;retention.ms:-1",
+                "policy=compact", "COMPACT, min", "compact,delete", ", min", " min", "ab", "cd=", "b=c", "{", "y z",
+                "%clean%", "%=0.?%", "cleanup%", "%[%", "0.5", "e");
+
+        for (Map<String, String> config : configs) {
+            TopicInfo topicInfo = TopicSearchCriteriaUtils.generateTopicInfo(STAFF_TOPIC_NAME, 1, 1, config, DESCRIPTION);
+            for (AbstractSearchCriteria.Operation operation : AbstractSearchCriteria.Operation.values()) {
+                for (String filterValue : filterValues) {
+                    TopicListSearchCriteria criteria = TopicListSearchCriteria.fromJsonWith(
+                            Map.of("configString_" + operation, filterValue), kafkaManager);
+                    Assertions.assertEquals(
+                            legacyConfigMatches(filterValue, operation, topicInfo),
+                            criteria.matches(topicInfo),
+                            () -> operation + " '" + filterValue + "' on " + config);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void compiledStringClausesMatchLegacyEvaluationTest() {
+        List<String> names = List.of(STAFF_TOPIC_NAME, STAFF_ROLES_TOPIC_NAME, "topic.with.dots", "TOPIC_1");
+        List<String> filterValues = List.of(
+                "", "staff", "%staff%roles%", "topic?name%", "topic.with.dots", "%.%", "%_1", "%[%", "(", "TOPIC_1");
+
+        for (String name : names) {
+            TopicInfo topicInfo = TopicSearchCriteriaUtils.generateTopicInfo(name, 1, 1, Map.of(), name);
+            for (AbstractSearchCriteria.Operation operation : AbstractSearchCriteria.Operation.values()) {
+                for (String filterValue : filterValues) {
+                    boolean expected = legacyStringMatches(filterValue, name, operation);
+                    Assertions.assertEquals(
+                            expected,
+                            TopicListSearchCriteria.fromJsonWith(
+                                    Map.of("topicName_" + operation, filterValue), kafkaManager).matches(topicInfo),
+                            () -> operation + " '" + filterValue + "' on " + name);
+                    Assertions.assertEquals(
+                            expected,
+                            TopicListSearchCriteria.fromJsonWith(
+                                    Map.of("description_" + operation, filterValue), kafkaManager).matches(topicInfo),
+                            () -> operation + " '" + filterValue + "' on " + name);
+                }
+            }
+        }
+    }
+
+    private static boolean legacyConfigMatches(
+            String filterValue,
+            AbstractSearchCriteria.Operation operation,
+            TopicInfo topicInfo) {
+        if (filterValue.isEmpty() && operation != AbstractSearchCriteria.Operation.NOT_EMPTY) {
+            return false;
+        }
+        boolean configString = Pattern.matches("((.)+:(.)+(;|))+", filterValue);
+        if (configString && operation == AbstractSearchCriteria.Operation.EQUALS) {
+            return topicInfo.getConfig().entrySet().containsAll(
+                    TopicListSearchCriteria.parseConfigString(filterValue).entrySet());
+        } else if (!configString && operation == AbstractSearchCriteria.Operation.EQUALS) {
+            return topicInfo.getConfig().entrySet().stream().anyMatch(
+                    entry -> entry.getKey().equals(filterValue) || entry.getValue().equals(filterValue));
+        }
+        String config = topicInfo.getConfig().toString().replace("{", "").replace("}", "");
+        return legacyStringMatches(filterValue, config, operation);
+    }
+
+    private static boolean legacyStringMatches(
+            String filterValue,
+            String value,
+            AbstractSearchCriteria.Operation operation) {
+        return switch (operation) {
+            case EQUALS -> filterValue.equalsIgnoreCase(value);
+            case CONTAINS -> StringUtils.containsIgnoreCase(value, filterValue);
+            case NOT_EMPTY -> !StringUtils.isBlank(value);
+            case LIKE -> {
+                try {
+                    yield value.toLowerCase().matches(
+                            filterValue.toLowerCase().replace("?", ".").replaceAll("%", ".*"));
+                } catch (PatternSyntaxException exception) {
+                    yield false;
+                }
+            }
+            default -> false;
+        };
+    }
 
 }
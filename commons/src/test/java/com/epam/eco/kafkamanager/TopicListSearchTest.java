@@ -15,16 +15,13 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager;
 
-import java.util.Date;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import org.apache.kafka.common.ConsumerGroupState;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -63,26 +60,7 @@ public class TopicListSearchTest {
 
     @BeforeAll
     public static void beforeAll() {
-        Mockito.when(kafkaManager.getConsumerGroupsForTopic(anyString()))
-               .thenAnswer(invocationOnMock -> {
-                   List<ConsumerGroupInfo> groupInfos = new LinkedList<>();
-                   ConsumerGroupInfo groupInfo = new ConsumerGroupInfo(
-                           invocationOnMock.getArgument(0),
-                           0,
-                           ConsumerGroupState.STABLE,
-                           "TCP",
-                           "partitionAssignor",
-                           List.of(),
-                           Map.of(),
-                           Map.of(),
-                           ConsumerGroupInfo.StorageType.KAFKA,
-                           new Metadata("test description", Map.of(), new Date(), "User"));
-                   groupInfos.add( groupInfo );
-                   groupInfos.add( groupInfo );
-                   groupInfos.add( groupInfo );
-
-                   return groupInfos;
-               });
+        Mockito.when(kafkaManager.getConsumerGroupCountForTopic(anyString())).thenReturn(3);
     }
 
     @Test
@@ -0,0 +1,191 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.epam.eco.kafkamanager.utils.TopicSearchCriteriaUtils;
+
+import static com.epam.eco.kafkamanager.utils.TopicSearchCriteriaUtils.CONFIG_MAP_COMPACT;
+import static com.epam.eco.kafkamanager.utils.TopicSearchCriteriaUtils.CONFIG_MAP_DELETE;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class TopicSearchIndexTest {
+
+    private static final KafkaManager kafkaManager = Mockito.mock(KafkaManager.class);
+
+    private final Map<String, TopicInfo> topics = new HashMap<>();
+    private final TopicSearchIndex index = new TopicSearchIndex(topics::get);
+
+    @BeforeEach
+    public void before() {
+        put(TopicSearchCriteriaUtils.generateTopicInfo("topic1", 3, 3, CONFIG_MAP_COMPACT, "Orders of the shop", true));
+        put(TopicSearchCriteriaUtils.generateTopicInfo("topic2", 2, 1, CONFIG_MAP_DELETE, "", false));
+        put(TopicSearchCriteriaUtils.generateTopicInfo("topic3", 12, 3, CONFIG_MAP_DELETE, "Payments, shop-wide", false));
+        put(TopicSearchCriteriaUtils.generateTopicInfo("topic4", 5, 2, CONFIG_MAP_COMPACT, "customer orders", true));
+        put(TopicSearchCriteriaUtils.generateTopicInfo("topic5", 1, 3, Map.of(), null, true));
+    }
+
+    @Test
+    public void testLookups() throws Exception {
+        Assertions.assertEquals(Set.of("topic1", "topic4"), index.topicsWithPartitionCount(3, 5));
+        Assertions.assertEquals(Set.of("topic3"), index.topicsWithPartitionCount(6, null));
+        Assertions.assertEquals(Set.of("topic1", "topic3", "topic5"), index.topicsWithReplicationFactor(3, 3));
+        Assertions.assertEquals(Set.of("topic2", "topic3"), index.topicsWithConfig("cleanup.policy", "delete"));
+        Assertions.assertEquals(Set.of(), index.topicsWithConfig("cleanup.policy", "unknown"));
+        Assertions.assertEquals(Set.of("topic1", "topic4"), index.topicsWithConfigKeyOrValue("compact"));
+        Assertions.assertEquals(
+                Set.of("topic1", "topic2", "topic3", "topic4"),
+                index.topicsWithConfigKeyOrValue("cleanup.policy"));
+        Assertions.assertEquals(underReplicatedTopics(), index.underReplicatedTopics());
+        Assertions.assertEquals(Set.of("topic1", "topic4"), index.topicsWithDescriptionContaining("ORDER"));
+        Assertions.assertEquals(Set.of("topic3"), index.topicsWithDescriptionContaining("p-wi"));
+        Assertions.assertNull(index.topicsWithDescriptionContaining(" - "));
+    }
+
+    @Test
+    public void testInvalidatedTopicsAreReindexed() throws Exception {
+        Assertions.assertEquals(Set.of("topic2", "topic3"), index.topicsWithConfig("cleanup.policy", "delete"));
+
+        put(TopicSearchCriteriaUtils.generateTopicInfo("topic2", 4, 2, CONFIG_MAP_COMPACT, "orders", true));
+        topics.remove("topic3");
+        index.invalidate("topic3");
+
+        Assertions.assertEquals(Set.of(), index.topicsWithConfig("cleanup.policy", "delete"));
+        Assertions.assertEquals(
+                Set.of("topic1", "topic2", "topic4"),
+                index.topicsWithConfig("cleanup.policy", "compact"));
+        Assertions.assertEquals(Set.of("topic2", "topic4"), index.topicsWithPartitionCount(4, 5));
+        Assertions.assertEquals(underReplicatedTopics(), index.underReplicatedTopics());
+        Assertions.assertEquals(
+                Set.of("topic1", "topic2", "topic4"),
+                index.topicsWithDescriptionContaining("orders"));
+        Assertions.assertEquals(Set.of(), index.topicsWithDescriptionContaining("payments"));
+    }
+
+    @Test
+    public void testCandidatesGiveSameResultsAsFullScan() throws Exception {
+        List<TopicSearchCriteria> criteriaList = List.of(
+                TopicSearchCriteriaImpl.builder().minPartitionCount(3).maxReplicationFactor(2).build(),
+                TopicSearchCriteriaImpl.builder().replicationStateUnder().description("shop").build(),
+                TopicSearchCriteriaImpl.builder().configString("cleanup.policy:compact").build(),
+                TopicSearchCriteriaImpl.builder().configMap(Map.of("min.cleanable.dirty.ratio", "0.5")).build(),
+                TopicSearchCriteriaImpl.builder().replicationStateFully().build(),
+                TopicListSearchCriteria.fromJsonWith(
+                        Map.of(
+                                "partitionCount_GREATER", "2",
+                                "replicationFactor_LESS", "3",
+                                "configString_EQUALS", "cleanup.policy: compact"),
+                        kafkaManager),
+                TopicListSearchCriteria.fromJsonWith(
+                        Map.of(
+                                "replicationFactor_EQUALS", "3",
+                                "description_CONTAINS", "SHOP"),
+                        kafkaManager),
+                TopicListSearchCriteria.fromJsonWith(
+                        Map.of(
+                                "configString_EQUALS", "delete",
+                                "replicationState", "UNDER_REPLICATED"),
+                        kafkaManager),
+                TopicListSearchCriteria.fromJsonWith(
+                        Map.of("description_LIKE", "%orders%"),
+                        kafkaManager));
+
+        for (TopicSearchCriteria criteria : criteriaList) {
+            Set<String> expected = topics.values().stream().
+                    filter(criteria::matches).
+                    map(TopicInfo::getName).
+                    collect(Collectors.toCollection(TreeSet::new));
+
+            Set<String> candidates = criteria.candidates(index);
+            Set<String> actual = (candidates != null ? candidates : topics.keySet()).stream().
+                    map(topics::get).
+                    filter(criteria::matches).
+                    map(TopicInfo::getName).
+                    collect(Collectors.toCollection(TreeSet::new));
+
+            Assertions.assertEquals(expected, actual, criteria.toString());
+        }
+    }
+
+    @Test
+    public void testConcurrentLookupsNeverMissReindexedTopic() throws Exception {
+        Map<String, TopicInfo> concurrentTopics = new ConcurrentHashMap<>();
+        TopicSearchIndex concurrentIndex = new TopicSearchIndex(concurrentTopics::get);
+        concurrentTopics.put("topic1", TopicSearchCriteriaUtils.generateTopicInfo("topic1", 3, 3, CONFIG_MAP_COMPACT, "orders", true));
+        concurrentIndex.invalidate("topic1");
+
+        AtomicBoolean done = new AtomicBoolean(false);
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (!done.get()) {
+                        Assertions.assertTrue(concurrentIndex.topicsWithPartitionCount(3, 4).contains("topic1"));
+                    }
+                } catch (Throwable t) {
+                    failures.add(t);
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        for (int i = 0; i < 5000; i++) {
+            concurrentTopics.put(
+                    "topic1",
+                    TopicSearchCriteriaUtils.generateTopicInfo("topic1", 3 + i % 2, 3, CONFIG_MAP_COMPACT, "orders", true));
+            concurrentIndex.invalidate("topic1");
+            concurrentIndex.topicsWithReplicationFactor(3, 3);
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        Assertions.assertTrue(failures.isEmpty(), () -> "Readers failed: " + failures);
+    }
+
+    private Set<String> underReplicatedTopics() {
+        return topics.values().stream().
+                filter(TopicInfo::hasUnderReplicatedPartitions).
+                map(TopicInfo::getName).
+                collect(Collectors.toSet());
+    }
+
+    private void put(TopicInfo topicInfo) {
+        topics.put(topicInfo.getName(), topicInfo);
+        index.invalidate(topicInfo.getName());
+    }
+
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.epam.eco.kafkamanager.utils.TestObjectMapperSingleton;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class TransactionTimeSeriesTest {
+
+    @Test
+    public void testCountsAreMergedPerMinute() throws Exception {
+        TransactionTimeSeries series = new TransactionTimeSeries("txn");
+
+        LocalDateTime date = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusMinutes(5);
+        long epochMillis = date.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        series.append(epochMillis, 1);
+        series.append(epochMillis + 1000, 1);
+        series.append(epochMillis + 60_000, 1);
+
+        Assertions.assertEquals(2, series.size());
+        Assertions.assertEquals(Integer.valueOf(2), series.value(date));
+        Assertions.assertEquals(Integer.valueOf(1), series.nextSerialValue(date));
+        Assertions.assertEquals(Integer.valueOf(-1), series.deltaAtDate(date.plusMinutes(1)));
+        Assertions.assertNull(series.currentRatePerMinute());
+    }
+
+    @Test
+    public void testRateCaclulated() throws Exception {
+        TransactionTimeSeries series = new TransactionTimeSeries("txn");
+
+        LocalDateTime date = LocalDateTime.now();
+        series.append(date.minus(1, series.getGranularity()), 30);
+        series.append(date, 30);
+
+        Assertions.assertNotNull(series.currentRatePerSec());
+        Assertions.assertNotNull(series.currentRatePerMinute());
+        Assertions.assertNotNull(series.currentRatePerHour());
+    }
+
+    @Test
+    public void testSerializedToJsonAndBack() throws Exception {
+        TransactionTimeSeries origin = new TransactionTimeSeries("txn");
+        origin.append(LocalDateTime.now().minusMinutes(2), 3);
+        origin.append(LocalDateTime.now(), 4);
+
+        ObjectMapper mapper = TestObjectMapperSingleton.getObjectMapper();
+
+        String json = mapper.writeValueAsString(origin.unmodifiableCopy());
+        Assertions.assertNotNull(json);
+
+        TransactionTimeSeries deserialized = mapper.readValue(json, TransactionTimeSeries.class);
+        Assertions.assertNotNull(deserialized);
+        Assertions.assertEquals(origin, deserialized);
+    }
+
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.repo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.epam.eco.kafkamanager.SearchCriteria;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class SortedKeySnapshotTest {
+
+    @Test
+    public void testChangesAreMergedInOrder() throws Exception {
+        SortedKeySnapshot<String> snapshot = SortedKeySnapshot.naturalOrder();
+        snapshot.reset(Arrays.asList("d", "b", "f"));
+        Assertions.assertEquals(Arrays.asList("b", "d", "f"), snapshot.keys());
+
+        snapshot.add("a");
+        snapshot.add("e");
+        snapshot.add("d");
+        snapshot.remove("f");
+        snapshot.add("g");
+        snapshot.remove("g");
+        snapshot.remove("b");
+        snapshot.add("b");
+
+        Assertions.assertEquals(Arrays.asList("a", "b", "d", "e"), snapshot.keys());
+        Assertions.assertEquals(4, snapshot.size());
+        Assertions.assertTrue(snapshot.contains("e"));
+        Assertions.assertFalse(snapshot.contains("f"));
+    }
+
+    @Test
+    public void testUnchangedSnapshotIsReused() throws Exception {
+        SortedKeySnapshot<String> snapshot = SortedKeySnapshot.naturalOrder();
+        snapshot.reset(Arrays.asList("b", "a"));
+
+        List<String> keys = snapshot.keys();
+        snapshot.add("a");
+        snapshot.remove("c");
+
+        Assertions.assertSame(keys, snapshot.keys());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> keys.add("c"));
+    }
+
+    @Test
+    public void testRandomChangesMatchSortedSet() throws Exception {
+        Random random = new Random(42);
+        SortedKeySnapshot<Integer> snapshot = SortedKeySnapshot.naturalOrder();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 50; i++) {
+                Integer key = random.nextInt(200);
+                if (random.nextBoolean()) {
+                    snapshot.add(key);
+                    expected.add(key);
+                } else {
+                    snapshot.remove(key);
+                    expected.remove(key);
+                }
+            }
+            Assertions.assertEquals(new ArrayList<>(expected), snapshot.keys());
+        }
+    }
+
+    @Test
+    public void testPageResolvesOnlyRequestedSlice() throws Exception {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            keys.add(String.format("key%03d", i));
+        }
+        Collections.shuffle(keys, new Random(42));
+
+        AtomicInteger resolved = new AtomicInteger();
+        TestRepo repo = new TestRepo(keys, resolved);
+
+        Page<String> page = repo.page(PageRequest.of(3, 10));
+        Assertions.assertEquals(100, page.getTotalElements());
+        Assertions.assertEquals("key030", page.getContent().get(0));
+        Assertions.assertEquals("key039", page.getContent().get(9));
+        Assertions.assertEquals(10, resolved.get());
+
+        Page<String> filtered = repo.page(value -> value.endsWith("5"), PageRequest.of(1, 3));
+        Assertions.assertEquals(10, filtered.getTotalElements());
+        Assertions.assertEquals(Arrays.asList("key035", "key045", "key055"), filtered.getContent());
+    }
+
+    private static class TestRepo extends AbstractValueRepo<String, SearchCriteria<String>> {
+
+        private final SortedKeySnapshot<String> keys = SortedKeySnapshot.naturalOrder();
+        private final AtomicInteger resolved;
+
+        private TestRepo(List<String> keys, AtomicInteger resolved) {
+            this.keys.reset(keys);
+            this.resolved = resolved;
+        }
+
+        @Override
+        public int size() {
+            return keys.size();
+        }
+
+        @Override
+        public List<String> values() {
+            return new ArrayList<>(keys.keys());
+        }
+
+        @Override
+        protected List<String> sortedValuesView() {
+            return keys.valuesView(key -> {
+                resolved.incrementAndGet();
+                return key;
+            });
+        }
+
+    }
+
+}
@@ -17,7 +17,12 @@ package com.epam.eco.kafkamanager.core;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -27,10 +32,17 @@ import org.apache.commons.lang3.Validate;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.Config;
 import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.admin.TopicListing;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.acl.AclBinding;
 import org.apache.kafka.common.acl.AclBindingFilter;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.epam.eco.commons.kafka.AdminClientUtils;
@@ -62,6 +74,11 @@ public class KafkaAdminOperationsImpl implements KafkaAdminOperations {
         adminClient.close();
     }
 
+    @Override
+    public Collection<Node> describeCluster() {
+        return AdminClientUtils.describeCluster(adminClient);
+    }
+
     @Override
     public Config describeBrokerConfig(int brokerId) {
         return describeBrokerConfigs(Collections.singletonList(brokerId)).get(brokerId);
@@ -82,6 +99,79 @@ public class KafkaAdminOperationsImpl implements KafkaAdminOperations {
         return AdminClientUtils.describeTopicConfigs(adminClient, topicNames);
     }
 
+    @Override
+    public Set<String> listTopicNames() {
+        return AdminClientUtils.listTopics(adminClient, true).stream().
+                map(TopicListing::name).
+                collect(Collectors.toSet());
+    }
+
+    @Override
+    public Map<String, TopicDescription> describeTopics(Collection<String> topicNames) {
+        Validate.notNull(topicNames, "Collection of topic names is null");
+
+        if (topicNames.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, KafkaFuture<TopicDescription>> futures = adminClient.describeTopics(topicNames).values();
+        Map<String, TopicDescription> descriptions = new HashMap<>((int) (futures.size() / 0.75));
+        for (Entry<String, KafkaFuture<TopicDescription>> entry : futures.entrySet()) {
+            try {
+                descriptions.put(entry.getKey(), entry.getValue().get());
+            } catch (ExecutionException ee) {
+                if (ee.getCause() instanceof UnknownTopicOrPartitionException) {
+                    continue;
+                }
+                throw new RuntimeException(ee.getCause());
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(ie);
+            }
+        }
+        return descriptions;
+    }
+
+    @Override
+    public Map<TopicPartition, Long> listEndOffsets(Collection<TopicPartition> partitions) {
+        Validate.notNull(partitions, "Collection of partitions is null");
+
+        return listOffsets(partitions.stream().
+                distinct().
+                collect(Collectors.toMap(partition -> partition, partition -> OffsetSpec.latest())));
+    }
+
+    @Override
+    public Map<TopicPartition, Long> listOffsets(Map<TopicPartition, OffsetSpec> offsetSpecs) {
+        Validate.notNull(offsetSpecs, "Map of offset specs is null");
+
+        if (offsetSpecs.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        ListOffsetsResult result = adminClient.listOffsets(offsetSpecs);
+        Map<TopicPartition, Long> offsets = new HashMap<>((int) (offsetSpecs.size() / 0.75));
+        for (TopicPartition partition : offsetSpecs.keySet()) {
+            try {
+                offsets.put(partition, result.partitionResult(partition).get().offset());
+            } catch (ExecutionException ee) {
+                if (ee.getCause() instanceof UnknownTopicOrPartitionException) {
+                    continue;
+                }
+                throw new RuntimeException(ee.getCause());
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(ie);
+            }
+        }
+        return offsets;
+    }
+
+    @Override
+    public Collection<AclBinding> describeAcls(AclBindingFilter aclBindingFilter) {
+        return AdminClientUtils.describeAcl(adminClient, aclBindingFilter);
+    }
+
     @Override
     public void createAcl(AclBinding aclBinding) {
         AdminClientUtils.createAcl(adminClient, aclBinding);
@@ -17,6 +17,7 @@ package com.epam.eco.kafkamanager.core;
 
 import java.security.Principal;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -36,6 +37,7 @@ import com.epam.eco.kafkamanager.BrokerRepo;
 import com.epam.eco.kafkamanager.BrokerSearchCriteria;
 import com.epam.eco.kafkamanager.ConsumerGroupDeleteTopicParams;
 import com.epam.eco.kafkamanager.ConsumerGroupInfo;
+import com.epam.eco.kafkamanager.ConsumerGroupLag;
 import com.epam.eco.kafkamanager.ConsumerGroupMetadataDeleteParams;
 import com.epam.eco.kafkamanager.ConsumerGroupMetadataKey;
 import com.epam.eco.kafkamanager.ConsumerGroupMetadataUpdateParams;
@@ -61,6 +63,8 @@ import com.epam.eco.kafkamanager.SecurityContextAdapter;
 import com.epam.eco.kafkamanager.TopicConfigUpdateParams;
 import com.epam.eco.kafkamanager.TopicCreateParams;
 import com.epam.eco.kafkamanager.TopicInfo;
+import com.epam.eco.kafkamanager.TopicKeyIndex;
+import com.epam.eco.kafkamanager.TopicKeyLocation;
 import com.epam.eco.kafkamanager.TopicMetadataDeleteParams;
 import com.epam.eco.kafkamanager.TopicMetadataKey;
 import com.epam.eco.kafkamanager.TopicMetadataUpdateParams;
@@ -75,6 +79,7 @@ import com.epam.eco.kafkamanager.TopicRepo;
 import com.epam.eco.kafkamanager.TransactionInfo;
 import com.epam.eco.kafkamanager.TransactionRepo;
 import com.epam.eco.kafkamanager.TransactionSearchCriteria;
+import com.epam.eco.kafkamanager.core.consumer.lag.ConsumerGroupLagEngine;
 import com.epam.eco.kafkamanager.repo.CachedRepo;
 
 /**
@@ -111,6 +116,10 @@ public class KafkaManagerImpl implements KafkaManager {
     private ConsumerGroupTopicOffsetFetcherTaskExecutor consumerGroupTopicOffsetFetcherTaskExecutor;
     @Autowired
     private TopicRecordFetcherTaskExecutor<?, ?> topicRecordFetcherTaskExecutor;
+    @Autowired
+    private ConsumerGroupLagEngine consumerGroupLagEngine;
+    @Autowired
+    private TopicKeyIndex topicKeyIndex;
 
     @Override
     public int getBrokerCount() {
@@ -354,6 +363,13 @@ public class KafkaManagerImpl implements KafkaManager {
         return (TopicRecordFetcherTaskExecutor<K, V>)topicRecordFetcherTaskExecutor;
     }
 
+    @Override
+    public List<TopicKeyLocation> getTopicKeyLocations(String topicName, String key) {
+        topicRepo.get(topicName); // sanity check just for case topic doesn't exist
+
+        return topicKeyIndex.locate(topicName, key);
+    }
+
     @Override
     public int getConsumerGroupCount() {
         return consumerGroupRepo.size();
@@ -395,6 +411,28 @@ public class KafkaManagerImpl implements KafkaManager {
         return consumerGroupRepo.groupsForTopic(topicName);
     }
 
+    @Override
+    public List<String> getConsumerGroupNamesForTopic(String topicName) {
+        return consumerGroupRepo.groupNamesForTopic(topicName);
+    }
+
+    @Override
+    public int getConsumerGroupCountForTopic(String topicName) {
+        return consumerGroupRepo.groupCountForTopic(topicName);
+    }
+
+    @Override
+    public ConsumerGroupLag getConsumerGroupLag(String groupName) {
+        consumerGroupRepo.get(groupName);
+
+        return consumerGroupLagEngine.getLag(groupName);
+    }
+
+    @Override
+    public Map<String, Long> getConsumerGroupTotalLags() {
+        return consumerGroupLagEngine.getTotalLags();
+    }
+
     @Override
     public ConsumerGroupInfo updateConsumerGroup(ConsumerGroupDeleteTopicParams params) {
         Validate.notNull(params, "ConsumerGroupDeleteTopicParams object is null");
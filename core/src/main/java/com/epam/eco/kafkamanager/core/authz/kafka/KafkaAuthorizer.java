@@ -43,6 +43,7 @@ import com.epam.eco.kafkamanager.EntityType;
 import com.epam.eco.kafkamanager.KafkaAdminOperations;
 import com.epam.eco.kafkamanager.SecurityContextAdapter;
 
+import kafka.security.authorizer.AclAuthorizer;
 import kafka.server.KafkaConfig;
 
 /**
@@ -66,14 +67,20 @@ public class KafkaAuthorizer implements Authorizer {
 
     private void initAuthorizer() {
         try {
-            authorizer = (org.apache.kafka.server.authorizer.Authorizer)Class.forName(
-                    authzProperties.getAuthorizerClass()).getDeclaredConstructor().newInstance();
+            Class<?> authorizerClass = Class.forName(authzProperties.getAuthorizerClass());
+            authorizer = (org.apache.kafka.server.authorizer.Authorizer)authorizerClass.
+                    getDeclaredConstructor().newInstance();
 
             Map<String, Object> authorizerConfig =
                     new HashMap<>(authzProperties.getAuthorizerConfig());
-            authorizerConfig.put(
-                    KafkaConfig.ZkConnectProp(),
-                    adminOperations.getZkConnect());
+            // only ZK-based authorizer needs ZK, others (e.g. KRaft-compatible ones) shouldn't get it resolved
+            if (
+                    AclAuthorizer.class.isAssignableFrom(authorizerClass) &&
+                    !authorizerConfig.containsKey(KafkaConfig.ZkConnectProp())) {
+                authorizerConfig.put(
+                        KafkaConfig.ZkConnectProp(),
+                        adminOperations.getZkConnect());
+            }
 
             authorizer.configure(authorizerConfig);
         } catch (
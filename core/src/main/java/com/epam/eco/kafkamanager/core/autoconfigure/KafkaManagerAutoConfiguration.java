@@ -15,20 +15,24 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager.core.autoconfigure;
 
+import java.nio.file.Paths;
 import java.util.Map.Entry;
 
 import javax.cache.CacheManager;
 import javax.cache.Caching;
 
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
 import org.apache.curator.retry.RetryForever;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.zookeeper.client.ZKClientConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
@@ -55,13 +59,17 @@ import com.epam.eco.kafkamanager.core.KafkaManagerImpl;
 import com.epam.eco.kafkamanager.core.SecurityContextAdapterImpl;
 import com.epam.eco.kafkamanager.core.authz.PermitAllAuthorizer;
 import com.epam.eco.kafkamanager.core.authz.kafka.KafkaAuthorizerConfiguration;
+import com.epam.eco.kafkamanager.core.broker.repo.kafka.KafkaBrokerRepo;
 import com.epam.eco.kafkamanager.core.broker.repo.zk.ZkBrokerRepo;
 import com.epam.eco.kafkamanager.core.consumer.exec.ConsumerGroupOffsetResetterTaskExecutorImpl;
 import com.epam.eco.kafkamanager.core.consumer.exec.ConsumerGroupTopicOffsetFetcherTaskExecutorImpl;
+import com.epam.eco.kafkamanager.core.consumer.lag.ConsumerGroupLagEngine;
 import com.epam.eco.kafkamanager.core.consumer.repo.CompositeConsumerGroupRepo;
 import com.epam.eco.kafkamanager.core.consumer.repo.kafka.KafkaConsumerGroupRepo;
 import com.epam.eco.kafkamanager.core.consumer.repo.zk.ZkConsumerGroupRepo;
+import com.epam.eco.kafkamanager.core.offset.OffsetLookupService;
 import com.epam.eco.kafkamanager.core.metadata.repo.kafka.KafkaMetadataRepo;
+import com.epam.eco.kafkamanager.core.permission.repo.kafka.KafkaPermissionRepo;
 import com.epam.eco.kafkamanager.core.permission.repo.zk.ZkPermissionRepo;
 import com.epam.eco.kafkamanager.core.spring.AsyncStartingBeanProcessor;
 import com.epam.eco.kafkamanager.core.topic.exec.TopicOffsetForTimeFetcherTaskExecutorImpl;
@@ -69,6 +77,8 @@ import com.epam.eco.kafkamanager.core.topic.exec.TopicOffsetRangeFetcherTaskExec
 import com.epam.eco.kafkamanager.core.topic.exec.TopicPurgerTaskExecutorImpl;
 import com.epam.eco.kafkamanager.core.topic.exec.TopicRecordCounterTaskExecutorImpl;
 import com.epam.eco.kafkamanager.core.topic.exec.TopicRecordFetcherTaskExecutorImpl;
+import com.epam.eco.kafkamanager.core.topic.index.TopicKeyIndexEngine;
+import com.epam.eco.kafkamanager.core.topic.repo.kafka.KafkaTopicRepo;
 import com.epam.eco.kafkamanager.core.topic.repo.zk.ZkTopicRepo;
 import com.epam.eco.kafkamanager.core.txn.repo.kafka.KafkaTransactionRepo;
 import com.epam.eco.kafkamanager.core.utils.RetriableZookeeperFactory;
@@ -101,6 +111,13 @@ public class KafkaManagerAutoConfiguration {
         return new KafkaManagerImpl();
     }
 
+    @Bean
+    public OffsetLookupService offsetLookupService() {
+        return new OffsetLookupService(
+                kafkaAdminOperations(),
+                properties.getOffsetLookupCacheTtlInMs());
+    }
+
     @Bean
     public TopicRecordCounterTaskExecutor topicRecordCounterTaskExecutor() {
         return new TopicRecordCounterTaskExecutorImpl(cacheManager());
@@ -144,11 +161,17 @@ public class KafkaManagerAutoConfiguration {
 
     @Bean
     public BrokerRepo brokerRepo() {
+        if (properties.getBrokerRepoType() == RepoType.KAFKA) {
+            return new KafkaBrokerRepo();
+        }
         return new ZkBrokerRepo();
     }
 
     @Bean
     public TopicRepo topicRepo() {
+        if (properties.getTopicRepoType() == RepoType.KAFKA) {
+            return new KafkaTopicRepo();
+        }
         return new ZkTopicRepo();
     }
 
@@ -158,6 +181,7 @@ public class KafkaManagerAutoConfiguration {
     }
 
     @Bean("ZK")
+    @Conditional(ZooKeeperRequiredCondition.class)
     public ConsumerGroupRepo zkConsumerGroupRepo() {
         return new ZkConsumerGroupRepo();
     }
@@ -167,8 +191,38 @@ public class KafkaManagerAutoConfiguration {
         return new KafkaConsumerGroupRepo();
     }
 
+    @Bean
+    public ConsumerGroupLagEngine consumerGroupLagEngine() {
+        return new ConsumerGroupLagEngine(
+                consumerGroupRepo(),
+                kafkaAdminOperations(),
+                properties.getConsumerGroupLagCalculationIntervalInMs());
+    }
+
+    @Bean
+    public TopicKeyIndexEngine topicKeyIndexEngine() {
+        return new TopicKeyIndexEngine(
+                properties.getTopicKeyIndexTopics(),
+                !StringUtils.isBlank(properties.getTopicKeyIndexDirectory()) ?
+                        Paths.get(properties.getTopicKeyIndexDirectory()) :
+                        null,
+                properties.getTopicKeyIndexMaxKeysPerPartition(),
+                () -> new KafkaConsumer<>(properties.buildCommonConsumerConfig(builder -> {
+                    builder.minRequiredConfigs();
+                    builder.enableAutoCommitDisabled();
+                    builder.autoOffsetResetEarliest();
+                    builder.allowAutoCreateTopicDisabled();
+                    builder.clientIdRandom();
+                    builder.keyDeserializerByteArray();
+                    builder.valueDeserializerByteArray();
+                })));
+    }
+
     @Bean
     public PermissionRepo permissionRepo() {
+        if (properties.getPermissionRepoType() == RepoType.KAFKA) {
+            return new KafkaPermissionRepo();
+        }
         return new ZkPermissionRepo();
     }
 
@@ -183,6 +237,7 @@ public class KafkaManagerAutoConfiguration {
     }
 
     @Bean(destroyMethod="close")
+    @Conditional(ZooKeeperRequiredCondition.class)
     public CuratorFramework curatorFramework(KafkaAdminOperations adminOperations) {
         ZKClientConfig clientConfig = null;
         if (MapUtils.isNotEmpty(properties.getZkClientConfig())) {
@@ -15,6 +15,7 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager.core.autoconfigure;
 
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
@@ -46,6 +47,26 @@ public class KafkaManagerProperties {
     private long metadataStoreBootstrapTimeoutInMs = 3 * 60 * 1000;
     private long transactionStoreBootstrapTimeoutInMs = 3 * 60 * 1000;
     private DatePeriod transactionStoreBootstrapDataFreshness = DatePeriod.ONE_HOUR;
+    private RepoType brokerRepoType = RepoType.ZOOKEEPER;
+    private long brokerRepoPollIntervalInMs = 30 * 1000;
+    private RepoType topicRepoType = RepoType.ZOOKEEPER;
+    private long topicRepoPollIntervalInMs = 10 * 1000;
+    private int topicRepoDescribeResyncBatchSize = 500;
+    private int topicRepoConfigResyncBatchSize = 500;
+    private RepoType permissionRepoType = RepoType.ZOOKEEPER;
+    private long permissionRepoPollIntervalInMs = 30 * 1000;
+    private long consumerGroupLagCalculationIntervalInMs = 60 * 1000;
+    private long offsetLookupCacheTtlInMs = 2 * 1000;
+    private int topicRecordFetcherMaxIdleConsumersPerFormat = 4;
+    private long topicRecordFetcherConsumerIdleTimeoutInMs = 5 * 60 * 1000;
+    private int topicRecordFetcherMaxConsumersPerFormat = 16;
+    private long topicRecordFetcherConsumerBorrowTimeoutInMs = 10 * 1000;
+    private int topicRecordFetcherParallelism = 1;
+    private String topicRecordFetcherSegmentCacheDirectory;
+    private long topicRecordFetcherSegmentCacheMaxSizeInBytes = 512 * 1024 * 1024;
+    private List<String> topicKeyIndexTopics;
+    private String topicKeyIndexDirectory;
+    private int topicKeyIndexMaxKeysPerPartition = 100_000;
 
     private Map<String, Object> commonConsumerConfig;
     private Map<String, Object> commonProducerConfig;
@@ -106,6 +127,126 @@ public class KafkaManagerProperties {
     public void setTransactionStoreBootstrapDataFreshness(DatePeriod transactionStoreBootstrapDataFreshness) {
         this.transactionStoreBootstrapDataFreshness = transactionStoreBootstrapDataFreshness;
     }
+    public RepoType getBrokerRepoType() {
+        return brokerRepoType;
+    }
+    public void setBrokerRepoType(RepoType brokerRepoType) {
+        this.brokerRepoType = brokerRepoType;
+    }
+    public long getBrokerRepoPollIntervalInMs() {
+        return brokerRepoPollIntervalInMs;
+    }
+    public void setBrokerRepoPollIntervalInMs(long brokerRepoPollIntervalInMs) {
+        this.brokerRepoPollIntervalInMs = brokerRepoPollIntervalInMs;
+    }
+    public RepoType getTopicRepoType() {
+        return topicRepoType;
+    }
+    public void setTopicRepoType(RepoType topicRepoType) {
+        this.topicRepoType = topicRepoType;
+    }
+    public long getTopicRepoPollIntervalInMs() {
+        return topicRepoPollIntervalInMs;
+    }
+    public void setTopicRepoPollIntervalInMs(long topicRepoPollIntervalInMs) {
+        this.topicRepoPollIntervalInMs = topicRepoPollIntervalInMs;
+    }
+    public int getTopicRepoDescribeResyncBatchSize() {
+        return topicRepoDescribeResyncBatchSize;
+    }
+    public void setTopicRepoDescribeResyncBatchSize(int topicRepoDescribeResyncBatchSize) {
+        this.topicRepoDescribeResyncBatchSize = topicRepoDescribeResyncBatchSize;
+    }
+    public int getTopicRepoConfigResyncBatchSize() {
+        return topicRepoConfigResyncBatchSize;
+    }
+    public void setTopicRepoConfigResyncBatchSize(int topicRepoConfigResyncBatchSize) {
+        this.topicRepoConfigResyncBatchSize = topicRepoConfigResyncBatchSize;
+    }
+    public RepoType getPermissionRepoType() {
+        return permissionRepoType;
+    }
+    public void setPermissionRepoType(RepoType permissionRepoType) {
+        this.permissionRepoType = permissionRepoType;
+    }
+    public long getPermissionRepoPollIntervalInMs() {
+        return permissionRepoPollIntervalInMs;
+    }
+    public void setPermissionRepoPollIntervalInMs(long permissionRepoPollIntervalInMs) {
+        this.permissionRepoPollIntervalInMs = permissionRepoPollIntervalInMs;
+    }
+    public long getConsumerGroupLagCalculationIntervalInMs() {
+        return consumerGroupLagCalculationIntervalInMs;
+    }
+    public void setConsumerGroupLagCalculationIntervalInMs(long consumerGroupLagCalculationIntervalInMs) {
+        this.consumerGroupLagCalculationIntervalInMs = consumerGroupLagCalculationIntervalInMs;
+    }
+    public long getOffsetLookupCacheTtlInMs() {
+        return offsetLookupCacheTtlInMs;
+    }
+    public void setOffsetLookupCacheTtlInMs(long offsetLookupCacheTtlInMs) {
+        this.offsetLookupCacheTtlInMs = offsetLookupCacheTtlInMs;
+    }
+    public int getTopicRecordFetcherMaxIdleConsumersPerFormat() {
+        return topicRecordFetcherMaxIdleConsumersPerFormat;
+    }
+    public void setTopicRecordFetcherMaxIdleConsumersPerFormat(int topicRecordFetcherMaxIdleConsumersPerFormat) {
+        this.topicRecordFetcherMaxIdleConsumersPerFormat = topicRecordFetcherMaxIdleConsumersPerFormat;
+    }
+    public long getTopicRecordFetcherConsumerIdleTimeoutInMs() {
+        return topicRecordFetcherConsumerIdleTimeoutInMs;
+    }
+    public void setTopicRecordFetcherConsumerIdleTimeoutInMs(long topicRecordFetcherConsumerIdleTimeoutInMs) {
+        this.topicRecordFetcherConsumerIdleTimeoutInMs = topicRecordFetcherConsumerIdleTimeoutInMs;
+    }
+    public int getTopicRecordFetcherMaxConsumersPerFormat() {
+        return topicRecordFetcherMaxConsumersPerFormat;
+    }
+    public void setTopicRecordFetcherMaxConsumersPerFormat(int topicRecordFetcherMaxConsumersPerFormat) {
+        this.topicRecordFetcherMaxConsumersPerFormat = topicRecordFetcherMaxConsumersPerFormat;
+    }
+    public long getTopicRecordFetcherConsumerBorrowTimeoutInMs() {
+        return topicRecordFetcherConsumerBorrowTimeoutInMs;
+    }
+    public void setTopicRecordFetcherConsumerBorrowTimeoutInMs(long topicRecordFetcherConsumerBorrowTimeoutInMs) {
+        this.topicRecordFetcherConsumerBorrowTimeoutInMs = topicRecordFetcherConsumerBorrowTimeoutInMs;
+    }
+    public int getTopicRecordFetcherParallelism() {
+        return topicRecordFetcherParallelism;
+    }
+    public void setTopicRecordFetcherParallelism(int topicRecordFetcherParallelism) {
+        this.topicRecordFetcherParallelism = topicRecordFetcherParallelism;
+    }
+    public String getTopicRecordFetcherSegmentCacheDirectory() {
+        return topicRecordFetcherSegmentCacheDirectory;
+    }
+    public void setTopicRecordFetcherSegmentCacheDirectory(String topicRecordFetcherSegmentCacheDirectory) {
+        this.topicRecordFetcherSegmentCacheDirectory = topicRecordFetcherSegmentCacheDirectory;
+    }
+    public long getTopicRecordFetcherSegmentCacheMaxSizeInBytes() {
+        return topicRecordFetcherSegmentCacheMaxSizeInBytes;
+    }
+    public void setTopicRecordFetcherSegmentCacheMaxSizeInBytes(long topicRecordFetcherSegmentCacheMaxSizeInBytes) {
+        this.topicRecordFetcherSegmentCacheMaxSizeInBytes = topicRecordFetcherSegmentCacheMaxSizeInBytes;
+    }
+    public List<String> getTopicKeyIndexTopics() {
+        return topicKeyIndexTopics;
+    }
+    public void setTopicKeyIndexTopics(List<String> topicKeyIndexTopics) {
+        this.topicKeyIndexTopics = topicKeyIndexTopics;
+    }
+    public String getTopicKeyIndexDirectory() {
+        return topicKeyIndexDirectory;
+    }
+    public void setTopicKeyIndexDirectory(String topicKeyIndexDirectory) {
+        this.topicKeyIndexDirectory = topicKeyIndexDirectory;
+    }
+    public int getTopicKeyIndexMaxKeysPerPartition() {
+        return topicKeyIndexMaxKeysPerPartition;
+    }
+    public void setTopicKeyIndexMaxKeysPerPartition(int topicKeyIndexMaxKeysPerPartition) {
+        this.topicKeyIndexMaxKeysPerPartition = topicKeyIndexMaxKeysPerPartition;
+    }
     public Map<String, Object> getCommonConsumerConfig() {
         return commonConsumerConfig;
     }
@@ -0,0 +1,26 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.autoconfigure;
+
+/**
+ * Source the cluster state of a repo is read from. {@link #KAFKA} relies on AdminClient
+ * only and so is the one to use for KRaft clusters.
+ *
+ * @author Andrei_Tytsik
+ */
+public enum RepoType {
+    ZOOKEEPER, KAFKA
+}
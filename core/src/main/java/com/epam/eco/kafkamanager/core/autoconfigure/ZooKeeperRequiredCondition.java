@@ -0,0 +1,49 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.autoconfigure;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Matches unless all ZooKeeper-capable repos are switched to {@link RepoType#KAFKA},
+ * in which case no ZooKeeper connection (and so no ZooKeeper-stored consumer groups)
+ * is needed.
+ *
+ * @author Andrei_Tytsik
+ */
+class ZooKeeperRequiredCondition implements Condition {
+
+    private static final String[] REPO_TYPE_PROPERTIES = {
+            "eco.kafkamanager.core.broker-repo-type",
+            "eco.kafkamanager.core.topic-repo-type",
+            "eco.kafkamanager.core.permission-repo-type"};
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Binder binder = Binder.get(context.getEnvironment());
+        for (String property : REPO_TYPE_PROPERTIES) {
+            RepoType repoType = binder.bind(property, RepoType.class).orElse(RepoType.ZOOKEEPER);
+            if (repoType == RepoType.ZOOKEEPER) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
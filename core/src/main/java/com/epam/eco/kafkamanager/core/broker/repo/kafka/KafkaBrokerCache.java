@@ -0,0 +1,438 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.broker.repo.kafka;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.ConfigEntry.ConfigSource;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.security.auth.SecurityProtocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.epam.eco.kafkamanager.EndPointInfo;
+import com.epam.eco.kafkamanager.KafkaAdminOperations;
+
+import kafka.server.KafkaConfig;
+
+/**
+ * Keeps brokers in sync with the cluster by polling AdminClient. Each cycle takes one
+ * {@code describeCluster} and one {@code describeConfigs} call covering all live brokers.
+ * Only brokers whose node, end points or dynamic config entries differ are replaced, and
+ * the listener is notified once per cycle with the whole batch of changes.
+ *
+ * @author Andrei_Tytsik
+ */
+class KafkaBrokerCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaBrokerCache.class);
+
+    private final KafkaAdminOperations adminOperations;
+    private final long pollIntervalInMs;
+
+    private final Map<Integer, Broker> brokerCache = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final CacheListener cacheListener;
+
+    private ScheduledExecutorService executor;
+
+    public KafkaBrokerCache(
+            KafkaAdminOperations adminOperations,
+            long pollIntervalInMs,
+            CacheListener cacheListener) {
+        Validate.notNull(adminOperations, "Admin operations can't be null");
+        Validate.isTrue(pollIntervalInMs > 0, "Poll interval is invalid");
+        Validate.notNull(cacheListener, "Cache Listener can't be null");
+
+        this.adminOperations = adminOperations;
+        this.pollIntervalInMs = pollIntervalInMs;
+        this.cacheListener = cacheListener;
+    }
+
+    public void start() throws Exception {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        executor.submit(() -> {
+            poll(Collections.emptySet());
+            return null;
+        }).get();
+        executor.scheduleWithFixedDelay(
+                () -> pollQuietly(Collections.emptySet()),
+                pollIntervalInMs,
+                pollIntervalInMs,
+                TimeUnit.MILLISECONDS);
+
+        LOGGER.info("Started");
+    }
+
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+
+        LOGGER.info("Closed");
+    }
+
+    /**
+     * Schedules an out-of-order poll cycle. The given broker is reported to the listener
+     * within the cycle even if it hasn't changed.
+     */
+    public void requestRefresh(int brokerId) {
+        executor.execute(() -> pollQuietly(Collections.singleton(brokerId)));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return brokerCache.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Integer> listBrokerIds() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(brokerCache.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(Integer brokerId) {
+        lock.readLock().lock();
+        try {
+            return brokerCache.containsKey(brokerId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Broker getBroker(Integer brokerId) {
+        lock.readLock().lock();
+        try {
+            return brokerCache.get(brokerId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public <T, E extends Throwable> T callIfBrokerPresentOrElseThrow(
+            int brokerId,
+            Function<Broker, T> function,
+            Supplier<E> exception) throws E {
+        Validate.notNull(function, "Function can't be null");
+        Validate.notNull(exception, "Exception can't be null");
+
+        lock.readLock().lock();
+        try {
+            Broker broker = brokerCache.get(brokerId);
+            if (broker != null) {
+                return function.apply(broker);
+            } else {
+                throw exception.get();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void pollQuietly(Collection<Integer> requestedBrokerIds) {
+        try {
+            poll(requestedBrokerIds);
+        } catch (Exception ex) {
+            LOGGER.error("Failed to poll brokers", ex);
+        }
+    }
+
+    private void poll(Collection<Integer> requestedBrokerIds) {
+        Map<Integer, Node> nodes = new HashMap<>();
+        adminOperations.describeCluster().forEach(node -> nodes.put(node.id(), node));
+
+        Map<Integer, Config> configs = adminOperations.describeBrokerConfigs(nodes.keySet());
+
+        List<Broker> updatedBrokers = new ArrayList<>();
+        List<Integer> idsOfRemovedBrokers = new ArrayList<>();
+
+        // safe to read without lock as the cache is modified by this (poller) thread only
+        for (Node node : nodes.values()) {
+            Config config = configs.get(node.id());
+            if (config == null) {
+                continue;
+            }
+
+            Broker broker = brokerCache.get(node.id());
+            Broker actual = toBroker(broker, node, config);
+            if (actual != broker || requestedBrokerIds.contains(node.id())) {
+                updatedBrokers.add(actual);
+            }
+        }
+        for (Integer brokerId : brokerCache.keySet()) {
+            if (!nodes.containsKey(brokerId)) {
+                idsOfRemovedBrokers.add(brokerId);
+            }
+        }
+
+        applyChanges(updatedBrokers, idsOfRemovedBrokers);
+
+        fireCacheListener(updatedBrokers, idsOfRemovedBrokers);
+    }
+
+    private static Broker toBroker(Broker current, Node node, Config config) {
+        List<EndPointInfo> endPoints = toEndPoints(node, config);
+
+        if (current == null) {
+            return new Broker(node, endPoints, toDynamicConfigMap(config));
+        }
+
+        Map<String, String> updatedConfig = applyChangedEntries(current.config, config);
+        if (
+                updatedConfig == current.config &&
+                current.node.equals(node) &&
+                current.endPoints.equals(endPoints)) {
+            return current;
+        }
+        return new Broker(node, endPoints, updatedConfig);
+    }
+
+    private static Map<String, String> toDynamicConfigMap(Config config) {
+        Map<String, String> map = new HashMap<>();
+        for (ConfigEntry entry : config.entries()) {
+            if (isDynamicBrokerEntry(entry)) {
+                map.put(entry.name(), entry.value());
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Returns the very same map if no dynamic entry has changed, otherwise a copy with
+     * changed entries put and stale ones removed.
+     */
+    private static Map<String, String> applyChangedEntries(Map<String, String> current, Config config) {
+        Map<String, String> changed = null;
+        Set<String> actualKeys = new HashSet<>();
+        for (ConfigEntry entry : config.entries()) {
+            if (!isDynamicBrokerEntry(entry)) {
+                continue;
+            }
+            actualKeys.add(entry.name());
+            if (!entry.value().equals(current.get(entry.name()))) {
+                if (changed == null) {
+                    changed = new HashMap<>();
+                }
+                changed.put(entry.name(), entry.value());
+            }
+        }
+
+        boolean anyRemoved = !actualKeys.containsAll(current.keySet());
+        if (changed == null && !anyRemoved) {
+            return current;
+        }
+
+        Map<String, String> updated = new HashMap<>(current);
+        if (anyRemoved) {
+            updated.keySet().retainAll(actualKeys);
+        }
+        if (changed != null) {
+            updated.putAll(changed);
+        }
+        return updated;
+    }
+
+    private static boolean isDynamicBrokerEntry(ConfigEntry entry) {
+        return entry.source() == ConfigSource.DYNAMIC_BROKER_CONFIG && entry.value() != null;
+    }
+
+    /**
+     * AdminClient doesn't expose end points, so they are restored from advertised listeners
+     * (or listeners) of the broker. If none are available, the node address is used.
+     */
+    private static List<EndPointInfo> toEndPoints(Node node, Config config) {
+        String listeners = getConfigValue(config, KafkaConfig.AdvertisedListenersProp());
+        if (StringUtils.isBlank(listeners)) {
+            listeners = getConfigValue(config, KafkaConfig.ListenersProp());
+        }
+        Map<String, SecurityProtocol> protocolMap = parseProtocolMap(
+                getConfigValue(config, KafkaConfig.ListenerSecurityProtocolMapProp()));
+
+        List<EndPointInfo> endPoints = new ArrayList<>();
+        if (!StringUtils.isBlank(listeners)) {
+            for (String listener : StringUtils.split(listeners, ',')) {
+                EndPointInfo endPoint = parseEndPoint(listener.trim(), node, protocolMap);
+                if (endPoint != null) {
+                    endPoints.add(endPoint);
+                }
+            }
+        }
+        if (endPoints.isEmpty()) {
+            endPoints.add(new EndPointInfo(SecurityProtocol.PLAINTEXT, node.host(), node.port()));
+        }
+        return endPoints;
+    }
+
+    private static EndPointInfo parseEndPoint(
+            String listener,
+            Node node,
+            Map<String, SecurityProtocol> protocolMap) {
+        int schemeEnd = listener.indexOf("://");
+        int portStart = listener.lastIndexOf(':');
+        if (schemeEnd <= 0 || portStart <= schemeEnd) {
+            return null;
+        }
+
+        String listenerName = listener.substring(0, schemeEnd).toUpperCase();
+        SecurityProtocol protocol = protocolMap.get(listenerName);
+        if (protocol == null) {
+            try {
+                protocol = SecurityProtocol.forName(listenerName);
+            } catch (IllegalArgumentException iae) {
+                return null;
+            }
+        }
+
+        String host = StringUtils.strip(listener.substring(schemeEnd + 3, portStart), "[]");
+        try {
+            return new EndPointInfo(
+                    protocol,
+                    StringUtils.isBlank(host) ? node.host() : host,
+                    Integer.parseInt(listener.substring(portStart + 1)));
+        } catch (NumberFormatException nfe) {
+            return null;
+        }
+    }
+
+    private static Map<String, SecurityProtocol> parseProtocolMap(String value) {
+        Map<String, SecurityProtocol> protocolMap = new HashMap<>();
+        if (StringUtils.isBlank(value)) {
+            return protocolMap;
+        }
+        for (String pair : StringUtils.split(value, ',')) {
+            String[] parts = StringUtils.split(pair.trim(), ':');
+            if (parts.length != 2) {
+                continue;
+            }
+            try {
+                protocolMap.put(parts[0].toUpperCase(), SecurityProtocol.forName(parts[1]));
+            } catch (IllegalArgumentException iae) {
+                LOGGER.warn("Unknown security protocol '{}' of listener '{}'", parts[1], parts[0]);
+            }
+        }
+        return protocolMap;
+    }
+
+    private static String getConfigValue(Config config, String name) {
+        ConfigEntry entry = config.get(name);
+        return entry != null ? entry.value() : null;
+    }
+
+    private void applyChanges(List<Broker> updatedBrokers, List<Integer> idsOfRemovedBrokers) {
+        if (updatedBrokers.isEmpty() && idsOfRemovedBrokers.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            updatedBrokers.forEach(broker -> brokerCache.put(broker.id, broker));
+            idsOfRemovedBrokers.forEach(brokerCache::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void fireCacheListener(List<Broker> updatedBrokers, List<Integer> idsOfRemovedBrokers) {
+        if (!updatedBrokers.isEmpty()) {
+            try {
+                cacheListener.onBrokersUpdated(updatedBrokers);
+            } catch (Exception ex) {
+                LOGGER.error(
+                        String.format(
+                                "Failed to handle 'brokers updated' event. Brokers = %s",
+                                updatedBrokers),
+                        ex);
+            }
+        }
+        if (!idsOfRemovedBrokers.isEmpty()) {
+            try {
+                cacheListener.onBrokersRemoved(idsOfRemovedBrokers);
+            } catch (Exception ex) {
+                LOGGER.error(
+                        String.format(
+                                "Failed to handle 'brokers removed' event. Broker ids = %s",
+                                idsOfRemovedBrokers),
+                        ex);
+            }
+        }
+    }
+
+    /**
+     * Immutable, so can be shared between threads with no copying.
+     */
+    public static class Broker {
+
+        public final Integer id;
+        public final Node node;
+        public final List<EndPointInfo> endPoints;
+        public final Map<String, String> config;
+
+        public Broker(Node node, List<EndPointInfo> endPoints, Map<String, String> config) {
+            Validate.notNull(node, "Node is null");
+            Validate.notEmpty(endPoints, "Collection of end points is null or empty");
+            Validate.notNull(config, "Config is null");
+
+            this.id = node.id();
+            this.node = node;
+            this.endPoints = Collections.unmodifiableList(endPoints);
+            this.config = Collections.unmodifiableMap(config);
+        }
+
+        @Override
+        public String toString() {
+            return
+                    "{id: " + id +
+                    ", node: " + node +
+                    ", endPoints: " + endPoints +
+                    ", config: " + config +
+                    "}";
+        }
+
+    }
+
+    public interface CacheListener {
+        void onBrokersUpdated(Collection<Broker> brokers);
+        void onBrokersRemoved(Collection<Integer> brokerIds);
+    }
+
+}
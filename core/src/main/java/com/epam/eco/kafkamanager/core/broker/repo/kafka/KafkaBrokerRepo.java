@@ -0,0 +1,275 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.broker.repo.kafka;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.epam.eco.commons.concurrent.ResourceSemaphores;
+import com.epam.eco.kafkamanager.BrokerInfo;
+import com.epam.eco.kafkamanager.BrokerMetadataKey;
+import com.epam.eco.kafkamanager.BrokerRepo;
+import com.epam.eco.kafkamanager.BrokerSearchCriteria;
+import com.epam.eco.kafkamanager.EntityType;
+import com.epam.eco.kafkamanager.KafkaAdminOperations;
+import com.epam.eco.kafkamanager.Metadata;
+import com.epam.eco.kafkamanager.MetadataKey;
+import com.epam.eco.kafkamanager.MetadataRepo;
+import com.epam.eco.kafkamanager.MetadataUpdateListener;
+import com.epam.eco.kafkamanager.NotFoundException;
+import com.epam.eco.kafkamanager.core.autoconfigure.KafkaManagerProperties;
+import com.epam.eco.kafkamanager.core.broker.repo.kafka.KafkaBrokerCache.Broker;
+import com.epam.eco.kafkamanager.core.spring.AsyncStartingBean;
+import com.epam.eco.kafkamanager.repo.AbstractKeyValueRepo;
+import com.epam.eco.kafkamanager.repo.CachedRepo;
+
+/**
+ * {@link BrokerRepo} that relies on AdminClient only, so doesn't need ZooKeeper
+ * and works against KRaft clusters. Registration version and JMX port aren't
+ * exposed by AdminClient, so are reported as {@code 0} and {@code -1}.
+ *
+ * @author Andrei_Tytsik
+ */
+public class KafkaBrokerRepo extends AbstractKeyValueRepo<Integer, BrokerInfo, BrokerSearchCriteria> implements BrokerRepo, CachedRepo<Integer>, KafkaBrokerCache.CacheListener, MetadataUpdateListener, AsyncStartingBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaBrokerRepo.class);
+
+    private static final int UNKNOWN_JMX_PORT = -1;
+
+    @Autowired
+    private KafkaManagerProperties properties;
+    @Autowired
+    private KafkaAdminOperations adminOperations;
+    @Autowired
+    private MetadataRepo metadataRepo;
+
+    private KafkaBrokerCache brokerCache;
+
+    private final Map<Integer, BrokerInfo> brokerInfoCache = new ConcurrentHashMap<>();
+
+    private final ResourceSemaphores<Integer, BrokerOperation> semaphores = new ResourceSemaphores<>();
+
+    @PostConstruct
+    private void init() {
+        initBrokerCache();
+        subscribeOnMetadataUpdates();
+
+        LOGGER.info("Initialized");
+    }
+
+    @Override
+    public void startAsync() throws Exception {
+        startBrokerCache();
+
+        LOGGER.info("Started");
+    }
+
+    @PreDestroy
+    private void destroy() {
+        destroyBrokerCache();
+
+        LOGGER.info("Destroyed");
+    }
+
+    private void initBrokerCache() {
+        brokerCache = new KafkaBrokerCache(
+                adminOperations,
+                properties.getBrokerRepoPollIntervalInMs(),
+                this);
+    }
+
+    private void startBrokerCache() throws Exception {
+        brokerCache.start();
+    }
+
+    private void destroyBrokerCache() {
+        brokerCache.close();
+    }
+
+    private void subscribeOnMetadataUpdates() {
+        metadataRepo.registerUpdateListener(this);
+    }
+
+    @Override
+    public int size() {
+        return brokerCache.size();
+    }
+
+    @Override
+    public boolean contains(Integer brokerId) {
+        Validate.notNull(brokerId, "Broker id is null");
+        Validate.isTrue(brokerId >= 0, "Broker id is invalid");
+
+        return brokerCache.contains(brokerId);
+    }
+
+    @Override
+    public BrokerInfo get(Integer brokerId) {
+        Validate.notNull(brokerId, "Broker id is null");
+        Validate.isTrue(brokerId >= 0, "Broker id is invalid");
+
+        BrokerInfo brokerInfo = getBrokerFromInfoCacheOrCreate(brokerId);
+        if (brokerInfo == null) {
+            throw new NotFoundException(String.format("Broker not found by id %d", brokerId));
+        }
+
+        return brokerInfo;
+    }
+
+    @Override
+    public List<BrokerInfo> values() {
+        List<BrokerInfo> brokerInfos = new ArrayList<>();
+        brokerCache.listBrokerIds().forEach(brokerId -> {
+            BrokerInfo brokerInfo = getBrokerFromInfoCacheOrCreate(brokerId);
+            if (brokerInfo != null) {
+                brokerInfos.add(brokerInfo);
+            }
+        });
+        Collections.sort(brokerInfos);
+        return brokerInfos;
+    }
+
+    @Override
+    public List<BrokerInfo> values(List<Integer> brokerIds) {
+        Validate.noNullElements(
+                brokerIds, "Collection of broker ids can't be null or contain null elements");
+
+        List<BrokerInfo> brokerInfos = new ArrayList<>();
+        brokerIds.forEach(brokerId -> {
+            BrokerInfo brokerInfo = getBrokerFromInfoCacheOrCreate(brokerId);
+            if (brokerInfo != null) {
+                brokerInfos.add(brokerInfo);
+            }
+        });
+        Collections.sort(brokerInfos);
+        return brokerInfos;
+    }
+
+    @Override
+    public List<Integer> keys() {
+        return new ArrayList<>(brokerCache.listBrokerIds());
+    }
+
+    @Override
+    public void evict(Integer brokerId) {
+        removeBrokerFromInfoCache(brokerId);
+    }
+
+    @Override
+    public BrokerInfo updateConfig(int brokerId, Map<String, String> configs) {
+        Validate.isTrue(brokerId >= 0, "Broker id is invalid: %d", brokerId);
+        Validate.notNull(configs, "Map of configs is null");
+
+        ResourceSemaphores.ResourceSemaphore<Integer, BrokerOperation> semaphore = null;
+        try {
+            semaphore = brokerCache.callIfBrokerPresentOrElseThrow(
+                    brokerId,
+                    broker -> {
+                        ResourceSemaphores.ResourceSemaphore<Integer, BrokerOperation> updateSemaphore =
+                                semaphores.createSemaphore(brokerId, BrokerOperation.UPDATE);
+
+                        adminOperations.alterBrokerConfigs(brokerId, configs);
+                        brokerCache.requestRefresh(brokerId);
+
+                        return updateSemaphore;
+                        },
+                    () -> new NotFoundException(String.format("Broker %d doesn't exist", brokerId)));
+
+            semaphore.awaitUnchecked();
+
+            return get(brokerId);
+        } finally {
+            semaphores.removeSemaphore(semaphore);
+        }
+    }
+
+    @Override
+    public void onBrokersUpdated(Collection<Broker> brokers) {
+        Validate.notNull(brokers, "Collection of brokers is null");
+
+        brokers.forEach(broker -> removeBrokerFromInfoCache(broker.id));
+        brokers.forEach(broker -> semaphores.signalDoneFor(broker.id, BrokerOperation.UPDATE));
+    }
+
+    @Override
+    public void onBrokersRemoved(Collection<Integer> brokerIds) {
+        Validate.notNull(brokerIds, "Collection of broker ids is null");
+
+        brokerIds.forEach(this::removeBrokerFromInfoCache);
+    }
+
+    @Override
+    public void onMetadataUpdated(MetadataKey key, Metadata metadata) {
+        Validate.notNull(key, "Metadata key is null");
+        Validate.notNull(metadata, "Metadata is null");
+
+        if (key.getEntityType() != EntityType.BROKER) {
+            return;
+        }
+
+        removeBrokerFromInfoCache(((BrokerMetadataKey)key).getBrokerId());
+    }
+
+    @Override
+    public void onMetadataRemoved(MetadataKey key) {
+        Validate.notNull(key, "Metadata key is null");
+
+        if (key.getEntityType() != EntityType.BROKER) {
+            return;
+        }
+
+        removeBrokerFromInfoCache(((BrokerMetadataKey)key).getBrokerId());
+    }
+
+    private void removeBrokerFromInfoCache(Integer brokerId) {
+        Validate.notNull(brokerId, "Broker id is null");
+
+        brokerInfoCache.remove(brokerId);
+    }
+
+    private BrokerInfo getBrokerFromInfoCacheOrCreate(Integer brokerId) {
+        return brokerInfoCache.computeIfAbsent(
+                brokerId,
+                key -> {
+                    Broker broker = brokerCache.getBroker(brokerId);
+                    return broker != null ? toInfo(broker) : null;
+                });
+    }
+
+    private BrokerInfo toInfo(Broker broker) {
+        return BrokerInfo.builder().
+                id(broker.id).
+                endPoints(broker.endPoints).
+                rack(broker.node.rack()).
+                jmxPort(UNKNOWN_JMX_PORT).
+                config(broker.config).
+                metadata(metadataRepo.get(BrokerMetadataKey.with(broker.id))).
+                build();
+    }
+
+}
@@ -15,7 +15,9 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager.core.consumer.exec;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 
@@ -26,11 +28,11 @@ import org.apache.kafka.common.TopicPartition;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.epam.eco.commons.kafka.OffsetRange;
-import com.epam.eco.commons.kafka.helpers.TopicOffsetRangeFetcher;
 import com.epam.eco.kafkamanager.ConsumerGroupInfo;
 import com.epam.eco.kafkamanager.ConsumerGroupTopicOffsetFetcherTaskExecutor;
 import com.epam.eco.kafkamanager.KafkaManager;
 import com.epam.eco.kafkamanager.core.autoconfigure.KafkaManagerProperties;
+import com.epam.eco.kafkamanager.core.offset.OffsetLookupService;
 import com.epam.eco.kafkamanager.exec.AbstractAsyncStatefullTaskExecutor;
 import com.epam.eco.kafkamanager.exec.TaskResult;
 
@@ -43,6 +45,8 @@ public class ConsumerGroupTopicOffsetFetcherTaskExecutorImpl extends AbstractAsy
     private KafkaManager kafkaManager;
     @Autowired
     protected KafkaManagerProperties properties;
+    @Autowired
+    private OffsetLookupService offsetLookupService;
 
     public ConsumerGroupTopicOffsetFetcherTaskExecutorImpl(CacheManager cacheManager) {
         super(cacheManager);
@@ -66,9 +70,13 @@ public class ConsumerGroupTopicOffsetFetcherTaskExecutorImpl extends AbstractAsy
             if (groupInfo.getTopicNames().isEmpty()) {
                 return Collections.emptyMap();
             }
-            return TopicOffsetRangeFetcher.
-                    with(properties.getCommonConsumerConfig()).
-                    fetchForTopics(groupInfo.getTopicNames());
+            List<TopicPartition> partitions = new ArrayList<>();
+            for (String topicName : groupInfo.getTopicNames()) {
+                if (kafkaManager.topicExists(topicName)) {
+                    partitions.addAll(kafkaManager.getTopic(topicName).getPartitions().keySet());
+                }
+            }
+            return offsetLookupService.fetchOffsetRanges(partitions);
         });
     }
 
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ *  Copyright 2022 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.consumer.lag;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.epam.eco.kafkamanager.ConsumerGroupInfo;
+import com.epam.eco.kafkamanager.ConsumerGroupLag;
+import com.epam.eco.kafkamanager.ConsumerGroupRepo;
+import com.epam.eco.kafkamanager.KafkaAdminOperations;
+
+/**
+ * Calculates lag of all consumer groups in the background, once per cycle. Each cycle
+ * takes a snapshot of the groups, collects every partition any group has a committed
+ * offset for and looks up end offsets of all of them in a single
+ * {@link KafkaAdminOperations#listEndOffsets(java.util.Collection)} call. Results of the
+ * latest completed cycle are served to readers without touching the cluster.
+ *
+ * @author Andrei_Tytsik
+ */
+public class ConsumerGroupLagEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConsumerGroupLagEngine.class);
+
+    private final ConsumerGroupRepo consumerGroupRepo;
+    private final KafkaAdminOperations adminOperations;
+    private final long calculationIntervalInMs;
+
+    private volatile Map<String, ConsumerGroupLag> lags = Collections.emptyMap();
+    private volatile Map<String, Long> totalLags = Collections.emptyMap();
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * @param calculationIntervalInMs delay between calculation cycles, non-positive
+     * value disables the engine
+     */
+    public ConsumerGroupLagEngine(
+            ConsumerGroupRepo consumerGroupRepo,
+            KafkaAdminOperations adminOperations,
+            long calculationIntervalInMs) {
+        Validate.notNull(consumerGroupRepo, "Consumer group repo can't be null");
+        Validate.notNull(adminOperations, "Admin operations can't be null");
+
+        this.consumerGroupRepo = consumerGroupRepo;
+        this.adminOperations = adminOperations;
+        this.calculationIntervalInMs = calculationIntervalInMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (calculationIntervalInMs <= 0) {
+            LOGGER.info("Disabled");
+            return;
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(
+                new BasicThreadFactory.Builder().
+                        namingPattern("consumer-group-lag-%d").
+                        daemon(true).
+                        build());
+        executor.scheduleWithFixedDelay(
+                this::calculateQuietly,
+                0,
+                calculationIntervalInMs,
+                TimeUnit.MILLISECONDS);
+
+        LOGGER.info("Started");
+    }
+
+    @PreDestroy
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+
+        LOGGER.info("Closed");
+    }
+
+    /**
+     * @return lag of the group as of the latest cycle; {@code null} if it hasn't been
+     * calculated yet
+     */
+    public ConsumerGroupLag getLag(String groupName) {
+        Validate.notBlank(groupName, "Group name is blank");
+
+        return lags.get(groupName);
+    }
+
+    /**
+     * @return total lag of each group as of the latest cycle, sorted by group name
+     */
+    public Map<String, Long> getTotalLags() {
+        return totalLags;
+    }
+
+    void calculate() {
+        List<ConsumerGroupInfo> groups = consumerGroupRepo.values();
+
+        Set<TopicPartition> partitions = new HashSet<>();
+        for (ConsumerGroupInfo group : groups) {
+            partitions.addAll(group.getOffsets().keySet());
+        }
+        Map<TopicPartition, Long> endOffsets = adminOperations.listEndOffsets(partitions);
+
+        LocalDateTime calculatedAt = LocalDateTime.now();
+        Map<String, ConsumerGroupLag> newLags = new HashMap<>((int) (groups.size() / 0.75) + 1);
+        Map<String, Long> newTotalLags = new TreeMap<>();
+        for (ConsumerGroupInfo group : groups) {
+            Map<TopicPartition, Long> partitionLags = new HashMap<>();
+            group.getOffsets().forEach((partition, offset) -> {
+                Long endOffset = endOffsets.get(partition);
+                if (endOffset != null && offset != null) {
+                    partitionLags.put(partition, Math.max(endOffset - offset, 0));
+                }
+            });
+            ConsumerGroupLag lag = new ConsumerGroupLag(group.getName(), partitionLags, calculatedAt);
+            newLags.put(group.getName(), lag);
+            newTotalLags.put(group.getName(), lag.getTotalLag());
+        }
+
+        lags = Collections.unmodifiableMap(newLags);
+        totalLags = Collections.unmodifiableMap(newTotalLags);
+    }
+
+    private void calculateQuietly() {
+        try {
+            calculate();
+        } catch (Exception ex) {
+            LOGGER.error("Failed to calculate consumer group lags", ex);
+        }
+    }
+
+}
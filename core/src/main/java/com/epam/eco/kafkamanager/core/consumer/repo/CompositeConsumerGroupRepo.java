@@ -16,11 +16,14 @@
 package com.epam.eco.kafkamanager.core.consumer.repo;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-import jakarta.annotation.Resource;
+import jakarta.annotation.PostConstruct;
 
 import org.apache.commons.lang3.Validate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 
 import com.epam.eco.kafkamanager.ConsumerGroupInfo;
 import com.epam.eco.kafkamanager.ConsumerGroupRepo;
@@ -30,42 +33,62 @@ import com.epam.eco.kafkamanager.repo.AbstractKeyValueRepo;
 import com.epam.eco.kafkamanager.repo.CachedRepo;
 
 /**
+ * Combines Kafka-stored and (optional) ZooKeeper-stored consumer groups, the former taking
+ * precedence. ZooKeeper-stored ones are absent if the manager runs without ZooKeeper.
+ *
  * @author Andrei_Tytsik
  */
 public class CompositeConsumerGroupRepo extends AbstractKeyValueRepo<String, ConsumerGroupInfo, SearchCriteria<ConsumerGroupInfo>> implements ConsumerGroupRepo, CachedRepo<String> {
 
-    @Resource(name="ZK")
+    @Autowired(required = false)
+    @Qualifier("ZK")
     private ConsumerGroupRepo zkConsumerGroupRepo;
 
-    @Resource(name="KF")
+    @Autowired
+    @Qualifier("KF")
     private ConsumerGroupRepo kafkaConsumerGroupRepo;
 
+    private final List<ConsumerGroupRepo> repos = new ArrayList<>();
+
+    @PostConstruct
+    private void init() {
+        repos.add(kafkaConsumerGroupRepo);
+        if (zkConsumerGroupRepo != null) {
+            repos.add(zkConsumerGroupRepo);
+        }
+    }
+
     @Override
     public int size() {
-        return zkConsumerGroupRepo.size() + kafkaConsumerGroupRepo.size();
+        int size = 0;
+        for (ConsumerGroupRepo repo : repos) {
+            size += repo.size();
+        }
+        return size;
     }
 
     @Override
     public boolean contains(String groupName) {
-        return
-                kafkaConsumerGroupRepo.contains(groupName) ||
-                zkConsumerGroupRepo.contains(groupName);
+        return findRepoOf(groupName) != null;
     }
 
     @Override
     public ConsumerGroupInfo get(String groupName) {
-        try {
-            return kafkaConsumerGroupRepo.get(groupName);
-        } catch (RuntimeException ex) {
-            return zkConsumerGroupRepo.get(groupName);
+        RuntimeException lastException = null;
+        for (ConsumerGroupRepo repo : repos) {
+            try {
+                return repo.get(groupName);
+            } catch (RuntimeException ex) {
+                lastException = ex;
+            }
         }
+        throw lastException;
     }
 
     @Override
     public List<ConsumerGroupInfo> values() {
         List<ConsumerGroupInfo> groupInfos = new ArrayList<>();
-        groupInfos.addAll(kafkaConsumerGroupRepo.values());
-        groupInfos.addAll(zkConsumerGroupRepo.values());
+        repos.forEach(repo -> groupInfos.addAll(repo.values()));
         return groupInfos;
     }
 
@@ -75,10 +98,9 @@ public class CompositeConsumerGroupRepo extends AbstractKeyValueRepo<String, Con
 
         List<ConsumerGroupInfo> groupInfos = new ArrayList<>();
         for (String groupName : groupNames) {
-            if (kafkaConsumerGroupRepo.contains(groupName)) {
-                groupInfos.add(kafkaConsumerGroupRepo.get(groupName));
-            } else if (zkConsumerGroupRepo.contains(groupName)) {
-                groupInfos.add(zkConsumerGroupRepo.get(groupName));
+            ConsumerGroupRepo repo = findRepoOf(groupName);
+            if (repo != null) {
+                groupInfos.add(repo.get(groupName));
             }
         }
         return groupInfos;
@@ -87,8 +109,7 @@ public class CompositeConsumerGroupRepo extends AbstractKeyValueRepo<String, Con
     @Override
     public List<String> keys() {
         List<String> groupNames = new ArrayList<>();
-        groupNames.addAll(kafkaConsumerGroupRepo.keys());
-        groupNames.addAll(zkConsumerGroupRepo.keys());
+        repos.forEach(repo -> groupNames.addAll(repo.keys()));
         return groupNames;
     }
 
@@ -97,48 +118,71 @@ public class CompositeConsumerGroupRepo extends AbstractKeyValueRepo<String, Con
         Validate.notBlank(topicName, "Topic name can't be blank");
 
         List<ConsumerGroupInfo> groupsByTopicName = new ArrayList<>();
-        groupsByTopicName.addAll(kafkaConsumerGroupRepo.groupsForTopic(topicName));
-        groupsByTopicName.addAll(zkConsumerGroupRepo.groupsForTopic(topicName));
+        repos.forEach(repo -> groupsByTopicName.addAll(repo.groupsForTopic(topicName)));
         return groupsByTopicName;
     }
 
+    @Override
+    public List<String> groupNamesForTopic(String topicName) {
+        Validate.notBlank(topicName, "Topic name can't be blank");
+
+        List<String> groupNames = new ArrayList<>();
+        repos.forEach(repo -> groupNames.addAll(repo.groupNamesForTopic(topicName)));
+        Collections.sort(groupNames);
+        return groupNames;
+    }
+
+    @Override
+    public int groupCountForTopic(String topicName) {
+        Validate.notBlank(topicName, "Topic name can't be blank");
+
+        int count = 0;
+        for (ConsumerGroupRepo repo : repos) {
+            count += repo.groupCountForTopic(topicName);
+        }
+        return count;
+    }
+
     @Override
     public ConsumerGroupInfo unassignGroupFromTopic(String groupName, String topicName) {
         Validate.notBlank(groupName, "Group name can't be blank");
         Validate.notBlank(topicName, "Topic name can't be blank");
 
-        if (kafkaConsumerGroupRepo.contains(groupName)) {
-            return kafkaConsumerGroupRepo.unassignGroupFromTopic(groupName, topicName);
-        } else if (zkConsumerGroupRepo.contains(groupName)) {
-            return zkConsumerGroupRepo.unassignGroupFromTopic(groupName, topicName);
-        } else {
-            throw new NotFoundException(String.format("Consumer group '%s' doesn't exist", groupName));
-        }
+        return getRepoOfOrElseThrow(groupName).unassignGroupFromTopic(groupName, topicName);
     }
 
     @Override
     public void deleteConsumerGroup(String groupName) {
         Validate.notBlank(groupName, "Group name can't be blank");
 
-        if (kafkaConsumerGroupRepo.contains(groupName)) {
-            kafkaConsumerGroupRepo.deleteConsumerGroup(groupName);
-        } else if (zkConsumerGroupRepo.contains(groupName)) {
-            zkConsumerGroupRepo.deleteConsumerGroup(groupName);
-        } else {
-            throw new NotFoundException(String.format("Consumer group '%s' doesn't exist", groupName));
-        }
+        getRepoOfOrElseThrow(groupName).deleteConsumerGroup(groupName);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public void evict(String groupName) {
-        if (kafkaConsumerGroupRepo instanceof CachedRepo) {
-            ((CachedRepo<String>)kafkaConsumerGroupRepo).evict(groupName);
+        for (ConsumerGroupRepo repo : repos) {
+            if (repo instanceof CachedRepo) {
+                ((CachedRepo<String>)repo).evict(groupName);
+            }
         }
+    }
 
-        if (zkConsumerGroupRepo instanceof CachedRepo) {
-            ((CachedRepo<String>)zkConsumerGroupRepo).evict(groupName);
+    private ConsumerGroupRepo findRepoOf(String groupName) {
+        for (ConsumerGroupRepo repo : repos) {
+            if (repo.contains(groupName)) {
+                return repo;
+            }
+        }
+        return null;
+    }
+
+    private ConsumerGroupRepo getRepoOfOrElseThrow(String groupName) {
+        ConsumerGroupRepo repo = findRepoOf(groupName);
+        if (repo == null) {
+            throw new NotFoundException(String.format("Consumer group '%s' doesn't exist", groupName));
         }
+        return repo;
     }
 
 }
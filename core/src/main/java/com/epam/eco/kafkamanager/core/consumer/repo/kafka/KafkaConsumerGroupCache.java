@@ -16,13 +16,15 @@
 package com.epam.eco.kafkamanager.core.consumer.repo.kafka;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
@@ -59,11 +61,18 @@ class KafkaConsumerGroupCache implements com.epam.eco.commons.kafka.cache.CacheL
 
     private final KafkaCache<BaseKey, Object> metadataCache;
 
-    private final Map<String, KafkaGroupMetadata> groupCache = new HashMap<>();
-    private final Map<String, Set<String>> topicGroups = new HashMap<>();
-    private final Map<String, Map<TopicPartition, OffsetTimeSeries>> offsetTimeSeries =
-            new HashMap<>();
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /**
+     * Groups are spread over shards by name hash, each shard has its own lock, so reads
+     * of a group never wait for writes to groups of other shards. A single batch is
+     * applied shard by shard on the calling thread; parallelism of updates comes from
+     * the metadata cache itself, which consumes partitions of the group metadata topic
+     * on several threads (all records of a group are in the same partition), and their
+     * batches only contend when they touch the same shard.
+     */
+    private static final int SHARD_COUNT = 64;
+
+    private final Shard[] shards = new Shard[SHARD_COUNT];
+    private final Map<String, Set<String>> topicGroups = new ConcurrentHashMap<>();
 
     private final CacheListener cacheListener;
 
@@ -88,6 +97,10 @@ class KafkaConsumerGroupCache implements com.epam.eco.commons.kafka.cache.CacheL
                 listener(this).
                 build();
         this.cacheListener = cacheListener;
+
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
     }
 
     public void start() throws Exception {
@@ -104,56 +117,70 @@ class KafkaConsumerGroupCache implements com.epam.eco.commons.kafka.cache.CacheL
     }
 
     public int size() {
-        lock.readLock().lock();
-        try {
-            return groupCache.size();
-        } finally {
-            lock.readLock().unlock();
+        int size = 0;
+        for (Shard shard : shards) {
+            shard.lock.readLock().lock();
+            try {
+                size += shard.groupCache.size();
+            } finally {
+                shard.lock.readLock().unlock();
+            }
         }
+        return size;
     }
 
     public List<String> listGroupNames() {
-        lock.readLock().lock();
-        try {
-            return new ArrayList<>(groupCache.keySet());
-        } finally {
-            lock.readLock().unlock();
+        List<String> groupNames = new ArrayList<>();
+        for (Shard shard : shards) {
+            shard.lock.readLock().lock();
+            try {
+                groupNames.addAll(shard.groupCache.keySet());
+            } finally {
+                shard.lock.readLock().unlock();
+            }
         }
+        return groupNames;
     }
 
     public boolean contains(String groupName) {
-        lock.readLock().lock();
+        Shard shard = shardOf(groupName);
+        shard.lock.readLock().lock();
         try {
-            return groupCache.containsKey(groupName);
+            return shard.groupCache.containsKey(groupName);
         } finally {
-            lock.readLock().unlock();
+            shard.lock.readLock().unlock();
         }
     }
 
     public KafkaGroupMetadata getGroupMetadata(String groupName) {
-        lock.readLock().lock();
+        Shard shard = shardOf(groupName);
+        shard.lock.readLock().lock();
         try {
-            KafkaGroupMetadata metadata = groupCache.get(groupName);
+            KafkaGroupMetadata metadata = shard.groupCache.get(groupName);
             return metadata != null ? metadata.copyOf() : null;
         } finally {
-            lock.readLock().unlock();
+            shard.lock.readLock().unlock();
         }
     }
 
     public List<String> listGroupNamesOfTopic(String topicName) {
-        lock.readLock().lock();
-        try {
-            Set<String> groupNames = topicGroups.get(topicName);
-            return groupNames != null ? new ArrayList<>(groupNames) : Collections.emptyList();
-        } finally {
-            lock.readLock().unlock();
-        }
+        Set<String> groupNames = topicGroups.get(topicName);
+        return groupNames != null ? new ArrayList<>(groupNames) : Collections.emptyList();
+    }
+
+    public int countGroupsOfTopic(String topicName) {
+        Set<String> groupNames = topicGroups.get(topicName);
+        return groupNames != null ? groupNames.size() : 0;
     }
 
-    public <T> T callInLock(Callable<T> callable) {
+    /**
+     * Calls the callable while updates of the given group are blocked.
+     */
+    public <T> T callInLock(String groupName, Callable<T> callable) {
         Validate.notNull(callable, "Callable can't be null");
 
-        lock.readLock().lock();
+        Shard shard = shardOf(groupName);
+        shard.lock.readLock().lock();
         try {
             try {
                 return callable.call();
@@ -161,14 +188,15 @@ class KafkaConsumerGroupCache implements com.epam.eco.commons.kafka.cache.CacheL
                 throw new RuntimeException(ex);
             }
         } finally {
-            lock.readLock().unlock();
+            shard.lock.readLock().unlock();
         }
     }
 
     public Map<TopicPartition, OffsetTimeSeries> getOffsetTimeSeries(String groupName) {
-        lock.readLock().lock();
+        Shard shard = shardOf(groupName);
+        shard.lock.readLock().lock();
         try {
-            Map<TopicPartition, OffsetTimeSeries> groupTimeSeries = offsetTimeSeries.get(groupName);
+            Map<TopicPartition, OffsetTimeSeries> groupTimeSeries = shard.offsetTimeSeries.get(groupName);
             return
                     groupTimeSeries != null ?
                     groupTimeSeries.entrySet().stream().collect(Collectors.toMap(
@@ -176,7 +204,53 @@ class KafkaConsumerGroupCache implements com.epam.eco.commons.kafka.cache.CacheL
                             e -> e.getValue().unmodifiableCopy())) :
                     Collections.emptyMap();
         } finally {
-            lock.readLock().unlock();
+            shard.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return current offsets of the given partitions, partitions without offsets
+     * are mapped to {@code null}
+     */
+    public Map<TopicPartition, OffsetAndMetadataAdapter> getOffsetsMetadata(
+            String groupName,
+            Collection<TopicPartition> partitions) {
+        Shard shard = shardOf(groupName);
+        shard.lock.readLock().lock();
+        try {
+            KafkaGroupMetadata metadata = shard.groupCache.get(groupName);
+            Map<TopicPartition, OffsetAndMetadataAdapter> offsetsMetadata = new HashMap<>();
+            partitions.forEach(partition -> offsetsMetadata.put(
+                    partition,
+                    metadata != null ? metadata.getOffsetsMetadata().get(partition) : null));
+            return offsetsMetadata;
+        } finally {
+            shard.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return read-only views of offset time series of the given partitions, partitions
+     * without time series are mapped to {@code null}
+     */
+    public Map<TopicPartition, OffsetTimeSeries> getOffsetTimeSeries(
+            String groupName,
+            Collection<TopicPartition> partitions) {
+        Shard shard = shardOf(groupName);
+        shard.lock.readLock().lock();
+        try {
+            Map<TopicPartition, OffsetTimeSeries> groupTimeSeries = shard.offsetTimeSeries.get(groupName);
+            Map<TopicPartition, OffsetTimeSeries> timeSeries = new HashMap<>();
+            partitions.forEach(partition -> {
+                OffsetTimeSeries partitionTimeSeries =
+                        groupTimeSeries != null ? groupTimeSeries.get(partition) : null;
+                timeSeries.put(
+                        partition,
+                        partitionTimeSeries != null ? partitionTimeSeries.unmodifiableCopy() : null);
+            });
+            return timeSeries;
+        } finally {
+            shard.lock.readLock().unlock();
         }
     }
 
@@ -246,88 +320,127 @@ class KafkaConsumerGroupCache implements com.epam.eco.commons.kafka.cache.CacheL
             return;
         }
 
+        Map<Shard, ShardUpdate> shardUpdates = new IdentityHashMap<>();
+        if (!MapUtils.isEmpty(groupUpdates)) {
+            groupUpdates.forEach((groupName, update) -> shardUpdates.
+                    computeIfAbsent(shardOf(groupName), k -> new ShardUpdate()).
+                    groupUpdates.put(groupName, update));
+        }
+        if (!MapUtils.isEmpty(offsetUpdates)) {
+            offsetUpdates.forEach((groupName, update) -> shardUpdates.
+                    computeIfAbsent(shardOf(groupName), k -> new ShardUpdate()).
+                    offsetUpdates.put(groupName, update));
+        }
+
         Map<String, KafkaGroupMetadata> effectiveUpdate = new HashMap<>();
+        Map<String, Set<TopicPartition>> effectiveOffsetUpdate = new HashMap<>();
 
-        lock.writeLock().lock();
-        try {
-            if (!MapUtils.isEmpty(groupUpdates)) {
-                groupUpdates.forEach((groupName, update) -> {
-                    try {
-                        KafkaGroupMetadata groupMetadata = getGroupMetadata(groupName, update != null);
-                        if (groupMetadata != null) {
-                            groupMetadata.setGroupMetadata(update);
-
-                            boolean removed = removeGroupMetadataIfInvalid(groupMetadata);
-                            if (removed) {
-                                effectiveUpdate.put(groupMetadata.getName(), null);
-                            } else {
-                                effectiveUpdate.put(groupMetadata.getName(), groupMetadata);
-                            }
-                        }
-                    } catch (Exception ex) {
-                        LOGGER.error(
-                                String.format(
-                                        "Failed to apply group metadata update: group=%s, update=%s",
-                                        groupName, update),
-                                ex);
-                    }
-                });
+        shardUpdates.forEach((shard, shardUpdate) -> {
+            shard.lock.writeLock().lock();
+            try {
+                applyGroupUpdates(shard, shardUpdate.groupUpdates, effectiveUpdate);
+                applyOffsetUpdates(shard, shardUpdate.offsetUpdates, mode, effectiveUpdate, effectiveOffsetUpdate);
+            } finally {
+                shard.lock.writeLock().unlock();
             }
-            if (!MapUtils.isEmpty(offsetUpdates)) {
-                offsetUpdates.forEach((groupName, update) -> {
-                    try {
-                        KafkaGroupMetadata groupMetadata = getGroupMetadata(groupName, false);
-                        if (groupMetadata == null && isCleanUpUpdate(update)) {
-                            return;
-                        }
-                        if (groupMetadata == null) {
-                            throw new RuntimeException("Group not found");
-                        }
+        });
 
-                        if (mode == UpdateMode.SET) {
-                            groupMetadata.setOffsetsMetadata(update);
-                            setTopicGroups(groupName, update);
-                            setOffsetTimeSeries(groupName, update);
-                        } else if (mode == UpdateMode.UPDATE) {
-                            groupMetadata.updateOffsetsMetadata(update);
-                            updateTopicGroups(groupName, update);
-                            updateOffsetTimeSeries(groupName, update);
-                        } else {
-                            throw new IllegalArgumentException("Unknown update mode " + mode);
-                        }
+        fireCacheListener(effectiveUpdate);
+        fireCacheListenerForOffsets(effectiveOffsetUpdate);
+    }
 
+    private void applyGroupUpdates(
+            Shard shard,
+            Map<String, GroupMetadataAdapter> groupUpdates,
+            Map<String, KafkaGroupMetadata> effectiveUpdate) {
+        groupUpdates.forEach((groupName, update) -> {
+            try {
+                KafkaGroupMetadata groupMetadata = getGroupMetadata(shard, groupName, update != null);
+                if (groupMetadata != null) {
+                    groupMetadata.setGroupMetadata(update);
+
+                    boolean removed = removeGroupMetadataIfInvalid(shard, groupMetadata);
+                    if (removed) {
+                        effectiveUpdate.put(groupMetadata.getName(), null);
+                    } else {
                         effectiveUpdate.put(groupMetadata.getName(), groupMetadata);
-                    } catch (Exception ex) {
-                        LOGGER.error(
-                                String.format(
-                                        "Failed to apply offset metadata update: group=%s, update=%s",
-                                        groupName, update),
-                                ex);
                     }
-                });
+                }
+            } catch (Exception ex) {
+                LOGGER.error(
+                        String.format(
+                                "Failed to apply group metadata update: group=%s, update=%s",
+                                groupName, update),
+                        ex);
+            }
+        });
+    }
+
+    private void applyOffsetUpdates(
+            Shard shard,
+            Map<String, Map<TopicPartition, OffsetAndMetadataAdapter>> offsetUpdates,
+            UpdateMode mode,
+            Map<String, KafkaGroupMetadata> effectiveUpdate,
+            Map<String, Set<TopicPartition>> effectiveOffsetUpdate) {
+        offsetUpdates.forEach((groupName, update) -> {
+            try {
+                KafkaGroupMetadata groupMetadata = getGroupMetadata(shard, groupName, false);
+                if (groupMetadata == null && isCleanUpUpdate(update)) {
+                    return;
+                }
+                if (groupMetadata == null) {
+                    throw new RuntimeException("Group not found");
+                }
+
+                if (mode == UpdateMode.SET) {
+                    groupMetadata.setOffsetsMetadata(update);
+                    setTopicGroups(groupName, update);
+                    setOffsetTimeSeries(shard, groupName, update);
+                    effectiveUpdate.put(groupMetadata.getName(), groupMetadata);
+                } else if (mode == UpdateMode.UPDATE) {
+                    groupMetadata.updateOffsetsMetadata(update);
+                    updateTopicGroups(groupName, update);
+                    updateOffsetTimeSeries(shard, groupName, update);
+                    if (!effectiveUpdate.containsKey(groupName)) {
+                        effectiveOffsetUpdate.put(groupName, update.keySet());
+                    }
+                } else {
+                    throw new IllegalArgumentException("Unknown update mode " + mode);
+                }
+            } catch (Exception ex) {
+                LOGGER.error(
+                        String.format(
+                                "Failed to apply offset metadata update: group=%s, update=%s",
+                                groupName, update),
+                        ex);
             }
-        } finally {
-            lock.writeLock().unlock();
-        }
+        });
+    }
 
-        fireCacheListener(effectiveUpdate);
+    private Shard shardOf(String groupName) {
+        return shards[shardIndexOf(groupName)];
     }
 
-    private KafkaGroupMetadata getGroupMetadata(String groupName, boolean createIfAbsent) {
-        KafkaGroupMetadata groupMetadata = groupCache.get(groupName);
+    static int shardIndexOf(String groupName) {
+        int hash = groupName.hashCode();
+        return (hash ^ (hash >>> 16)) & (SHARD_COUNT - 1);
+    }
+
+    private static KafkaGroupMetadata getGroupMetadata(Shard shard, String groupName, boolean createIfAbsent) {
+        KafkaGroupMetadata groupMetadata = shard.groupCache.get(groupName);
         if (groupMetadata == null && createIfAbsent) {
             groupMetadata = new KafkaGroupMetadata(groupName);
-            groupCache.put(groupName, groupMetadata);
+            shard.groupCache.put(groupName, groupMetadata);
         }
         return groupMetadata;
     }
 
-    private boolean removeGroupMetadataIfInvalid(KafkaGroupMetadata groupMetadata) {
+    private static boolean removeGroupMetadataIfInvalid(Shard shard, KafkaGroupMetadata groupMetadata) {
         if (groupMetadata.isValid()) {
             return false;
         }
 
-        return groupCache.remove(groupMetadata.getName()) != null;
+        return shard.groupCache.remove(groupMetadata.getName()) != null;
     }
 
     private void setTopicGroups(
@@ -341,14 +454,7 @@ class KafkaConsumerGroupCache implements com.epam.eco.commons.kafka.cache.CacheL
                 filter(entry -> entry.getValue() != null).
                 map(entry -> entry.getKey().topic()).
                 collect(Collectors.toSet());
-        topicNames.forEach(topicName -> {
-            Set<String> groups = topicGroups.get(topicName);
-            if (groups == null) {
-                groups = new HashSet<>();
-                topicGroups.put(topicName, groups);
-            }
-            groups.add(groupName);
-        });
+        topicNames.forEach(topicName -> addTopicGroup(topicName, groupName));
     }
 
     private boolean isCleanUpUpdate(Map<TopicPartition, OffsetAndMetadataAdapter> update) {
@@ -368,26 +474,38 @@ class KafkaConsumerGroupCache implements com.epam.eco.commons.kafka.cache.CacheL
         }
 
         offsetsMetadata.forEach((topicPartition, offsetAndMetadata) -> {
-            String topicName = topicPartition.topic();
-            Set<String> groups = topicGroups.get(topicName);
-            if (offsetAndMetadata != null) { // add
-                if (groups == null) {
-                    groups = new HashSet<>();
-                    topicGroups.put(topicName, groups);
-                }
-                groups.add(groupName);
-            } else { // remove
-                if (groups != null) {
-                    groups.remove(groupName);
-                    if (groups.isEmpty()) {
-                        topicGroups.remove(topicName);
-                    }
-                }
+            if (offsetAndMetadata != null) {
+                addTopicGroup(topicPartition.topic(), groupName);
+            } else {
+                removeTopicGroup(topicPartition.topic(), groupName);
+            }
+        });
+    }
+
+    private void addTopicGroup(String topicName, String groupName) {
+        Set<String> groups = topicGroups.get(topicName);
+        if (groups != null && groups.contains(groupName)) {
+            return;
+        }
+
+        topicGroups.compute(topicName, (key, topicGroupNames) -> {
+            if (topicGroupNames == null) {
+                topicGroupNames = ConcurrentHashMap.newKeySet();
             }
+            topicGroupNames.add(groupName);
+            return topicGroupNames;
         });
     }
 
-    private void setOffsetTimeSeries(
+    private void removeTopicGroup(String topicName, String groupName) {
+        topicGroups.computeIfPresent(topicName, (key, topicGroupNames) -> {
+            topicGroupNames.remove(groupName);
+            return topicGroupNames.isEmpty() ? null : topicGroupNames;
+        });
+    }
+
+    private static void setOffsetTimeSeries(
+            Shard shard,
             String groupName,
             Map<TopicPartition, OffsetAndMetadataAdapter> offsetsMetadata) {
         if (MapUtils.isEmpty(offsetsMetadata)) {
@@ -401,10 +519,10 @@ class KafkaConsumerGroupCache implements com.epam.eco.commons.kafka.cache.CacheL
                 TopicPartition topicPartition = entry.getKey();
                 OffsetAndMetadataAdapter offsetAndMetadata = entry.getValue();
 
-                Map<TopicPartition, OffsetTimeSeries> groupTimeSeries = offsetTimeSeries.get(groupName);
+                Map<TopicPartition, OffsetTimeSeries> groupTimeSeries = shard.offsetTimeSeries.get(groupName);
                 if (groupTimeSeries == null) {
                     groupTimeSeries = new HashMap<>();
-                    offsetTimeSeries.put(groupName, groupTimeSeries);
+                    shard.offsetTimeSeries.put(groupName, groupTimeSeries);
                 }
 
                 OffsetTimeSeries partitionTimeSeries = groupTimeSeries.get(topicPartition);
@@ -419,7 +537,8 @@ class KafkaConsumerGroupCache implements com.epam.eco.commons.kafka.cache.CacheL
             });
     }
 
-    private void updateOffsetTimeSeries(
+    private static void updateOffsetTimeSeries(
+            Shard shard,
             String groupName,
             Map<TopicPartition, OffsetAndMetadataAdapter> offsetsMetadata) {
         if (MapUtils.isEmpty(offsetsMetadata)) {
@@ -433,11 +552,11 @@ class KafkaConsumerGroupCache implements com.epam.eco.commons.kafka.cache.CacheL
                 TopicPartition topicPartition = entry.getKey();
                 OffsetAndMetadataAdapter offsetAndMetadata = entry.getValue();
 
-                Map<TopicPartition, OffsetTimeSeries> groupTimeSeries = offsetTimeSeries.get(groupName);
+                Map<TopicPartition, OffsetTimeSeries> groupTimeSeries = shard.offsetTimeSeries.get(groupName);
                 if (offsetAndMetadata != null) {
                     if (groupTimeSeries == null) {
                         groupTimeSeries = new HashMap<>();
-                        offsetTimeSeries.put(groupName, groupTimeSeries);
+                        shard.offsetTimeSeries.put(groupName, groupTimeSeries);
                     }
 
                     OffsetTimeSeries partitionTimeSeries = groupTimeSeries.get(topicPartition);
@@ -453,7 +572,7 @@ class KafkaConsumerGroupCache implements com.epam.eco.commons.kafka.cache.CacheL
                     if (groupTimeSeries != null) {
                         groupTimeSeries.remove(topicPartition);
                         if (groupTimeSeries.isEmpty()) {
-                            offsetTimeSeries.remove(groupName);
+                            shard.offsetTimeSeries.remove(groupName);
                         }
                     }
                 }
@@ -486,6 +605,20 @@ class KafkaConsumerGroupCache implements com.epam.eco.commons.kafka.cache.CacheL
         });
     }
 
+    private void fireCacheListenerForOffsets(Map<String, Set<TopicPartition>> update) {
+        update.forEach((name, partitions) -> {
+            try {
+                cacheListener.onGroupOffsetsUpdated(name, partitions);
+            } catch (Exception ex) {
+                LOGGER.error(
+                        String.format(
+                                "Failed to handle 'group offsets updated'. Group name = %s, partitions = %s",
+                                name, partitions),
+                        ex);
+            }
+        });
+    }
+
     private static Map<String, GroupMetadataAdapter> toClientGroupMetadataUpdates(
             Map<String, ConsumerGroupDescription> rawGroups) {
         if (MapUtils.isEmpty(rawGroups)) {
@@ -522,9 +655,21 @@ class KafkaConsumerGroupCache implements com.epam.eco.commons.kafka.cache.CacheL
         SET, UPDATE
     }
 
+    private static class Shard {
+        private final Map<String, KafkaGroupMetadata> groupCache = new HashMap<>();
+        private final Map<String, Map<TopicPartition, OffsetTimeSeries>> offsetTimeSeries = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    }
+
+    private static class ShardUpdate {
+        private final Map<String, GroupMetadataAdapter> groupUpdates = new HashMap<>();
+        private final Map<String, Map<TopicPartition, OffsetAndMetadataAdapter>> offsetUpdates = new HashMap<>();
+    }
+
     public interface CacheListener {
         void onGroupMetadataUpdated(KafkaGroupMetadata groupMetadata);
         void onGroupMetadataRemoved(String groupName);
+        void onGroupOffsetsUpdated(String groupName, Set<TopicPartition> partitions);
     }
 
 }
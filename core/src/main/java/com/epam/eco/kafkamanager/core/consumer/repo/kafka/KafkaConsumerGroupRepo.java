@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -54,6 +55,7 @@ import com.epam.eco.kafkamanager.core.autoconfigure.KafkaManagerProperties;
 import com.epam.eco.kafkamanager.core.spring.AsyncStartingBean;
 import com.epam.eco.kafkamanager.repo.AbstractKeyValueRepo;
 import com.epam.eco.kafkamanager.repo.CachedRepo;
+import com.epam.eco.kafkamanager.repo.SortedKeySnapshot;
 
 /**
  * @author Andrei_Tytsik
@@ -72,6 +74,8 @@ public class KafkaConsumerGroupRepo extends AbstractKeyValueRepo<String, Consume
     private KafkaConsumerGroupCache groupCache;
 
     private final Map<String, ConsumerGroupInfo> groupInfoCache = new ConcurrentHashMap<>();
+    private final PendingOffsetUpdates pendingOffsetUpdates = new PendingOffsetUpdates();
+    private final SortedKeySnapshot<String> groupNames = SortedKeySnapshot.naturalOrder();
 
     private final ResourceSemaphores<String, ConsumerGroupOperation> semaphores = new ResourceSemaphores<>();
 
@@ -107,6 +111,7 @@ public class KafkaConsumerGroupRepo extends AbstractKeyValueRepo<String, Consume
 
     private void startGroupCache() throws Exception {
         groupCache.start();
+        groupNames.reset(groupCache.listGroupNames());
     }
 
     private void destroyGroupCache() {
@@ -144,13 +149,12 @@ public class KafkaConsumerGroupRepo extends AbstractKeyValueRepo<String, Consume
     @Override
     public List<ConsumerGroupInfo> values() {
         List<ConsumerGroupInfo> groupInfos = new ArrayList<>();
-        groupCache.listGroupNames().forEach(groupName -> {
+        groupNames.keys().forEach(groupName -> {
             ConsumerGroupInfo groupInfo = getGroupFromInfoCacheOrCreate(groupName);
             if (groupInfo != null) {
                 groupInfos.add(groupInfo);
             }
         });
-        Collections.sort(groupInfos);
         return groupInfos;
     }
 
@@ -172,9 +176,12 @@ public class KafkaConsumerGroupRepo extends AbstractKeyValueRepo<String, Consume
 
     @Override
     public List<String> keys() {
-        return groupCache.listGroupNames().stream().
-                sorted().
-                collect(Collectors.toList());
+        return groupNames.keys();
+    }
+
+    @Override
+    protected List<ConsumerGroupInfo> sortedValuesView() {
+        return groupNames.valuesView(this::getGroupFromInfoCacheOrCreate);
     }
 
     @Override
@@ -187,6 +194,22 @@ public class KafkaConsumerGroupRepo extends AbstractKeyValueRepo<String, Consume
                     collect(Collectors.toList()));
     }
 
+    @Override
+    public List<String> groupNamesForTopic(String topicName) {
+        Validate.notBlank(topicName, "Topic name can't be blank");
+
+        List<String> groupNames = groupCache.listGroupNamesOfTopic(topicName);
+        Collections.sort(groupNames);
+        return groupNames;
+    }
+
+    @Override
+    public int groupCountForTopic(String topicName) {
+        Validate.notBlank(topicName, "Topic name can't be blank");
+
+        return groupCache.countGroupsOfTopic(topicName);
+    }
+
     @Override
     public ConsumerGroupInfo unassignGroupFromTopic(String groupName, String topicName) {
         throw new UnsupportedOperationException();
@@ -198,7 +221,7 @@ public class KafkaConsumerGroupRepo extends AbstractKeyValueRepo<String, Consume
 
         ResourceSemaphores.ResourceSemaphore<String, ConsumerGroupOperation> semaphore = null;
         try {
-            semaphore = groupCache.callInLock(() -> {
+            semaphore = groupCache.callInLock(groupName, () -> {
                 ResourceSemaphores.ResourceSemaphore<String, ConsumerGroupOperation> deleteSemaphore =
                         semaphores.createSemaphore(groupName, ConsumerGroupOperation.DELETE);
                 adminOperations.deleteConsumerGroup(groupName);
@@ -219,6 +242,7 @@ public class KafkaConsumerGroupRepo extends AbstractKeyValueRepo<String, Consume
     public void onGroupMetadataUpdated(KafkaGroupMetadata groupMetadata) {
         Validate.notNull(groupMetadata, "Group metadata can't be null");
 
+        groupNames.add(groupMetadata.getName());
         removeGroupFromInfoCache(groupMetadata.getName());
     }
 
@@ -226,10 +250,19 @@ public class KafkaConsumerGroupRepo extends AbstractKeyValueRepo<String, Consume
     public void onGroupMetadataRemoved(String groupName) {
         Validate.notBlank(groupName, "Group name can't be blank");
 
+        groupNames.remove(groupName);
         semaphores.signalDoneFor(groupName, ConsumerGroupOperation.DELETE);
         removeGroupFromInfoCache(groupName);
     }
 
+    @Override
+    public void onGroupOffsetsUpdated(String groupName, Set<TopicPartition> partitions) {
+        Validate.notBlank(groupName, "Group name can't be blank");
+        Validate.notNull(partitions, "Collection of partitions can't be null");
+
+        pendingOffsetUpdates.add(groupName, partitions);
+    }
+
     @Override
     public void onMetadataUpdated(MetadataKey key, Metadata metadata) {
         Validate.notNull(key, "Metadata key is null");
@@ -256,10 +289,13 @@ public class KafkaConsumerGroupRepo extends AbstractKeyValueRepo<String, Consume
     private void removeGroupFromInfoCache(String groupName) {
         Validate.notBlank(groupName, "Group name can't be null");
 
+        pendingOffsetUpdates.remove(groupName);
         groupInfoCache.remove(groupName);
     }
 
     private ConsumerGroupInfo getGroupFromInfoCacheOrCreate(String groupName) {
+        applyPendingOffsetUpdates(groupName);
+
         return groupInfoCache.computeIfAbsent(
                 groupName,
                 key -> {
@@ -268,6 +304,23 @@ public class KafkaConsumerGroupRepo extends AbstractKeyValueRepo<String, Consume
                 });
     }
 
+    /**
+     * Commits that arrived since the last read are coalesced into a set of partitions,
+     * which are patched in one go with their current offsets and time series.
+     */
+    private void applyPendingOffsetUpdates(String groupName) {
+        Set<TopicPartition> partitions = pendingOffsetUpdates.take(groupName);
+        if (partitions == null) {
+            return;
+        }
+
+        groupInfoCache.computeIfPresent(
+                groupName,
+                (key, groupInfo) -> groupInfo.withOffsets(
+                        toOffsetAndMetadataInfos(groupCache.getOffsetsMetadata(groupName, partitions)),
+                        groupCache.getOffsetTimeSeries(groupName, partitions)));
+    }
+
     private ConsumerGroupInfo toConsumerGroupInfo(KafkaGroupMetadata metadata) {
         String groupName = metadata.getName();
         GroupMetadataAdapter groupMetadata = metadata.getGroupMetadata();
@@ -315,17 +368,22 @@ public class KafkaConsumerGroupRepo extends AbstractKeyValueRepo<String, Consume
         }
 
         Map<TopicPartition, OffsetAndMetadataInfo> offsetAndMetadataInfos = new HashMap<>();
-        offsetsAndMetadata.forEach((topicPartition,offsetAndMetadata) -> {
-            OffsetAndMetadataInfo offsetAndMetadataInfo = OffsetAndMetadataInfo.builder().
-                    topicPartition(topicPartition).
-                    offset(offsetAndMetadata.getOffset()).
-                    metadata(offsetAndMetadata.getMetadata()).
-                    commitDate(offsetAndMetadata.getCommitTimestamp()).
-                    expireDate(offsetAndMetadata.getExpireTimestamp()).
-                    build();
-            offsetAndMetadataInfos.put(topicPartition, offsetAndMetadataInfo);
-        });
+        offsetsAndMetadata.forEach((topicPartition, offsetAndMetadata) -> offsetAndMetadataInfos.put(
+                topicPartition,
+                offsetAndMetadata != null ? toOffsetAndMetadataInfo(topicPartition, offsetAndMetadata) : null));
         return offsetAndMetadataInfos;
     }
 
+    private static OffsetAndMetadataInfo toOffsetAndMetadataInfo(
+            TopicPartition topicPartition,
+            OffsetAndMetadataAdapter offsetAndMetadata) {
+        return OffsetAndMetadataInfo.builder().
+                topicPartition(topicPartition).
+                offset(offsetAndMetadata.getOffset()).
+                metadata(offsetAndMetadata.getMetadata()).
+                commitDate(offsetAndMetadata.getCommitTimestamp()).
+                expireDate(offsetAndMetadata.getExpireTimestamp()).
+                build();
+    }
+
 }
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ *  Copyright 2022 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.consumer.repo.kafka;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Partitions of each group having offsets committed since the group was last read.
+ * Partitions are added and taken atomically per group, so a commit is either taken
+ * by the read or left pending for the next one, never lost in between.
+ *
+ * @author Andrei_Tytsik
+ */
+class PendingOffsetUpdates {
+
+    private final Map<String, Set<TopicPartition>> updates = new ConcurrentHashMap<>();
+
+    public void add(String groupName, Set<TopicPartition> partitions) {
+        Validate.notBlank(groupName, "Group name can't be blank");
+        Validate.notNull(partitions, "Collection of partitions can't be null");
+
+        updates.compute(groupName, (key, pending) -> {
+            pending = pending != null ? pending : new HashSet<>();
+            pending.addAll(partitions);
+            return pending;
+        });
+    }
+
+    /**
+     * @return partitions pending for the group, they are no longer pending afterwards;
+     * {@code null} if there are none
+     */
+    public Set<TopicPartition> take(String groupName) {
+        return updates.remove(groupName);
+    }
+
+    public void remove(String groupName) {
+        updates.remove(groupName);
+    }
+
+}
@@ -163,6 +163,16 @@ class ZkConsumerGroupCache {
         }
     }
 
+    public int countGroupsByTopic(String topicName) {
+        lock.readLock().lock();
+        try {
+            Set<String> groupNames = groupsByTopicCache.get(topicName);
+            return groupNames != null ? groupNames.size() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     private void handleTreeEvent(TreeCacheEvent event) {
         if (CuratorUtils.isConnectionStateChangeEvent(event.getType())) {
             LOGGER.warn("ZK connection state changed: {}", event.getType());
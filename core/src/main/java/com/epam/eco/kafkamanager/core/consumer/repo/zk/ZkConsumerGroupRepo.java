@@ -169,6 +169,22 @@ public class ZkConsumerGroupRepo extends AbstractKeyValueRepo<String, ConsumerGr
         return values(groupCache.getGroupsByTopicAsList(topicName));
     }
 
+    @Override
+    public List<String> groupNamesForTopic(String topicName) {
+        Validate.notBlank(topicName, "Topic name can't be blank");
+
+        List<String> groupNames = groupCache.getGroupsByTopicAsList(topicName);
+        Collections.sort(groupNames);
+        return groupNames;
+    }
+
+    @Override
+    public int groupCountForTopic(String topicName) {
+        Validate.notBlank(topicName, "Topic name can't be blank");
+
+        return groupCache.countGroupsByTopic(topicName);
+    }
+
     @Override
     public ConsumerGroupInfo unassignGroupFromTopic(String groupName, String topicName) {
         throw new UnsupportedOperationException();
@@ -0,0 +1,328 @@
+/*******************************************************************************
+ *  Copyright 2022 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.offset;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.epam.eco.commons.kafka.OffsetRange;
+import com.epam.eco.commons.kafka.TopicPartitionComparator;
+import com.epam.eco.kafkamanager.KafkaAdminOperations;
+
+/**
+ * Process-wide partition offset lookups backed by the long-lived AdminClient of
+ * {@link KafkaAdminOperations}, so no client is created per lookup.
+ *
+ * <p>Lookups that arrive while a previous batch is in flight are coalesced: the next
+ * batch takes all of them and issues one {@code listOffsets} call per offset spec
+ * (earliest, latest, each timestamp), which AdminClient splits into one request per
+ * partition leader. Answers are kept for a short time-to-live and served from memory
+ * while fresh.
+ *
+ * @author Andrei_Tytsik
+ */
+public class OffsetLookupService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OffsetLookupService.class);
+
+    private static final long EARLIEST = -2;
+    private static final long LATEST = -1;
+
+    private final KafkaAdminOperations adminOperations;
+    private final long cacheTtlInNanos;
+
+    private final Map<Lookup, CachedOffset> cache = new ConcurrentHashMap<>();
+    private final BlockingQueue<Request> requests = new LinkedBlockingQueue<>();
+
+    private ExecutorService dispatcher;
+
+    /**
+     * @param cacheTtlInMs how long answers are served from memory, {@code 0} disables
+     * caching
+     */
+    public OffsetLookupService(KafkaAdminOperations adminOperations, long cacheTtlInMs) {
+        Validate.notNull(adminOperations, "Admin operations can't be null");
+        Validate.isTrue(cacheTtlInMs >= 0, "Cache TTL is invalid");
+
+        this.adminOperations = adminOperations;
+        this.cacheTtlInNanos = TimeUnit.MILLISECONDS.toNanos(cacheTtlInMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher = Executors.newSingleThreadExecutor();
+        dispatcher.execute(this::dispatchLoop);
+
+        LOGGER.info("Started");
+    }
+
+    @PreDestroy
+    public void close() {
+        if (dispatcher != null) {
+            dispatcher.shutdownNow();
+        }
+
+        List<Request> pending = new ArrayList<>();
+        requests.drainTo(pending);
+        pending.forEach(request -> request.future.completeExceptionally(
+                new IllegalStateException("Offset lookup service is closed")));
+
+        LOGGER.info("Closed");
+    }
+
+    /**
+     * @return offset ranges of the given partitions sorted by partition, partitions
+     * that don't exist are skipped
+     */
+    public Map<TopicPartition, OffsetRange> fetchOffsetRanges(Collection<TopicPartition> partitions) {
+        Validate.notNull(partitions, "Collection of partitions is null");
+
+        Map<Lookup, Long> offsets = lookup(partitions, EARLIEST, LATEST);
+        Map<TopicPartition, OffsetRange> ranges = new TreeMap<>(TopicPartitionComparator.INSTANCE);
+        for (TopicPartition partition : partitions) {
+            Long beginning = offsets.get(new Lookup(partition, EARLIEST));
+            Long end = offsets.get(new Lookup(partition, LATEST));
+            if (beginning != null && end != null) {
+                ranges.put(partition, toOffsetRange(beginning, end));
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * @return log end offsets of the given partitions, partitions that don't exist are
+     * skipped
+     */
+    public Map<TopicPartition, Long> fetchEndOffsets(Collection<TopicPartition> partitions) {
+        Validate.notNull(partitions, "Collection of partitions is null");
+
+        Map<Lookup, Long> offsets = lookup(partitions, LATEST);
+        Map<TopicPartition, Long> endOffsets = new HashMap<>((int) (offsets.size() / 0.75) + 1);
+        offsets.forEach((lookup, offset) -> endOffsets.put(lookup.partition, offset));
+        return endOffsets;
+    }
+
+    /**
+     * @return earliest offset of each partition whose timestamp is greater than or equal
+     * to the given one; {@code null} value for partitions having no such offset
+     */
+    public Map<TopicPartition, Long> fetchOffsetsForTime(Collection<TopicPartition> partitions, long timestamp) {
+        Validate.notNull(partitions, "Collection of partitions is null");
+        Validate.isTrue(timestamp >= 0, "Timestamp is invalid");
+
+        Map<Lookup, Long> offsets = lookup(partitions, timestamp);
+        Map<TopicPartition, Long> timeOffsets = new HashMap<>((int) (offsets.size() / 0.75) + 1);
+        offsets.forEach((lookup, offset) -> timeOffsets.put(lookup.partition, offset >= 0 ? offset : null));
+        return timeOffsets;
+    }
+
+    private Map<Lookup, Long> lookup(Collection<TopicPartition> partitions, long ... specs) {
+        long now = System.nanoTime();
+        Map<Lookup, Long> offsets = new HashMap<>();
+        Set<Lookup> misses = new HashSet<>();
+        for (TopicPartition partition : partitions) {
+            for (long spec : specs) {
+                Lookup lookup = new Lookup(partition, spec);
+                CachedOffset cached = cache.get(lookup);
+                if (cached != null && now - cached.fetchedAt < cacheTtlInNanos) {
+                    offsets.put(lookup, cached.offset);
+                } else {
+                    misses.add(lookup);
+                }
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            offsets.putAll(await(submit(misses)));
+        }
+
+        return offsets;
+    }
+
+    private CompletableFuture<Map<Lookup, Long>> submit(Set<Lookup> lookups) {
+        Validate.validState(dispatcher != null && !dispatcher.isShutdown(), "Offset lookup service isn't running");
+
+        Request request = new Request(lookups);
+        requests.add(request);
+        return request.future;
+    }
+
+    private static Map<Lookup, Long> await(CompletableFuture<Map<Lookup, Long>> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ee.getCause();
+            }
+            throw new RuntimeException(ee.getCause());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ie);
+        }
+    }
+
+    private void dispatchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Request> batch = new ArrayList<>();
+            try {
+                batch.add(requests.take());
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            requests.drainTo(batch);
+
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(List<Request> batch) {
+        Map<Long, Map<TopicPartition, OffsetSpec>> specsByType = new HashMap<>();
+        for (Request request : batch) {
+            for (Lookup lookup : request.lookups) {
+                specsByType.
+                    computeIfAbsent(lookup.spec, k -> new HashMap<>()).
+                    putIfAbsent(lookup.partition, toOffsetSpec(lookup.spec));
+            }
+        }
+
+        long fetchedAt = System.nanoTime();
+        Map<Lookup, Long> offsets = new HashMap<>();
+        try {
+            specsByType.forEach((spec, offsetSpecs) -> {
+                adminOperations.listOffsets(offsetSpecs).forEach((partition, offset) -> {
+                    Lookup lookup = new Lookup(partition, spec);
+                    offsets.put(lookup, offset);
+                    if (cacheTtlInNanos > 0) {
+                        cache.put(lookup, new CachedOffset(offset, fetchedAt));
+                    }
+                });
+            });
+        } catch (Exception ex) {
+            LOGGER.error("Failed to look up offsets", ex);
+            batch.forEach(request -> request.future.completeExceptionally(ex));
+            return;
+        }
+
+        for (Request request : batch) {
+            Map<Lookup, Long> result = new HashMap<>((int) (request.lookups.size() / 0.75) + 1);
+            for (Lookup lookup : request.lookups) {
+                Long offset = offsets.get(lookup);
+                if (offset != null) {
+                    result.put(lookup, offset);
+                }
+            }
+            request.future.complete(result);
+        }
+
+        cache.values().removeIf(cached -> fetchedAt - cached.fetchedAt >= cacheTtlInNanos);
+    }
+
+    private static OffsetSpec toOffsetSpec(long spec) {
+        if (spec == EARLIEST) {
+            return OffsetSpec.earliest();
+        } else if (spec == LATEST) {
+            return OffsetSpec.latest();
+        } else {
+            return OffsetSpec.forTimestamp(spec);
+        }
+    }
+
+    private static OffsetRange toOffsetRange(long beginning, long end) {
+        return OffsetRange.with(
+                beginning,
+                end > beginning,
+                end > beginning ? end - 1 : end,
+                end > beginning);
+    }
+
+    private static final class Lookup {
+
+        private final TopicPartition partition;
+        private final long spec;
+
+        private Lookup(TopicPartition partition, long spec) {
+            this.partition = partition;
+            this.spec = spec;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(partition, spec);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Lookup)) {
+                return false;
+            }
+            Lookup that = (Lookup) obj;
+            return this.spec == that.spec && this.partition.equals(that.partition);
+        }
+
+    }
+
+    private static final class CachedOffset {
+
+        private final long offset;
+        private final long fetchedAt;
+
+        private CachedOffset(long offset, long fetchedAt) {
+            this.offset = offset;
+            this.fetchedAt = fetchedAt;
+        }
+
+    }
+
+    private static final class Request {
+
+        private final Set<Lookup> lookups;
+        private final CompletableFuture<Map<Lookup, Long>> future = new CompletableFuture<>();
+
+        private Request(Set<Lookup> lookups) {
+            this.lookups = lookups;
+        }
+
+    }
+
+}
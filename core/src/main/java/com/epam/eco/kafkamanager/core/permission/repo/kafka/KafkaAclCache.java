@@ -0,0 +1,277 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.permission.repo.kafka;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.common.acl.AccessControlEntry;
+import org.apache.kafka.common.acl.AclBinding;
+import org.apache.kafka.common.acl.AclBindingFilter;
+import org.apache.kafka.common.resource.ResourcePattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.epam.eco.kafkamanager.KafkaAdminOperations;
+
+/**
+ * Keeps ACLs in sync with the cluster by polling {@code describeAcls(AclBindingFilter.ANY)}.
+ * Bindings of each poll are grouped by resource and diffed against the cache: resources
+ * whose entries are unchanged keep their existing {@link ACL} (and the freshly described
+ * entries get garbage collected), so steady state memory holds a single copy of the ACLs.
+ *
+ * @author Andrei_Tytsik
+ */
+class KafkaAclCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaAclCache.class);
+
+    private final KafkaAdminOperations adminOperations;
+    private final long pollIntervalInMs;
+
+    private final Map<ResourcePattern, ACL> aclCache = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final CacheListener cacheListener;
+
+    private ScheduledExecutorService executor;
+
+    public KafkaAclCache(
+            KafkaAdminOperations adminOperations,
+            long pollIntervalInMs,
+            CacheListener cacheListener) {
+        Validate.notNull(adminOperations, "Admin operations can't be null");
+        Validate.isTrue(pollIntervalInMs > 0, "Poll interval is invalid");
+        Validate.notNull(cacheListener, "Cache Listener can't be null");
+
+        this.adminOperations = adminOperations;
+        this.pollIntervalInMs = pollIntervalInMs;
+        this.cacheListener = cacheListener;
+    }
+
+    public void start() throws Exception {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        executor.submit(() -> {
+            poll(Collections.emptySet());
+            return null;
+        }).get();
+        executor.scheduleWithFixedDelay(
+                () -> pollQuietly(Collections.emptySet()),
+                pollIntervalInMs,
+                pollIntervalInMs,
+                TimeUnit.MILLISECONDS);
+
+        LOGGER.info("Started");
+    }
+
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+
+        LOGGER.info("Closed");
+    }
+
+    /**
+     * Schedules an out-of-order poll cycle. The given resource is reported to the listener
+     * within the cycle (as updated or removed) even if it hasn't changed.
+     */
+    public void requestRefresh(ResourcePattern resource) {
+        Validate.notNull(resource, "Resource is null");
+
+        executor.execute(() -> pollQuietly(Collections.singleton(resource)));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return aclCache.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int countPermissions() {
+        lock.readLock().lock();
+        try {
+            return aclCache.values().stream().mapToInt(acl -> acl.permissions.size()).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ACL getAcl(ResourcePattern resource) {
+        lock.readLock().lock();
+        try {
+            return aclCache.get(resource);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ResourcePattern> listResources() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(aclCache.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public <T> T callInLock(Callable<T> callable) {
+        Validate.notNull(callable, "Callable can't be null");
+
+        lock.readLock().lock();
+        try {
+            try {
+                return callable.call();
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void pollQuietly(Collection<ResourcePattern> requestedResources) {
+        try {
+            poll(requestedResources);
+        } catch (Exception ex) {
+            LOGGER.error("Failed to poll ACLs", ex);
+        }
+    }
+
+    private void poll(Collection<ResourcePattern> requestedResources) {
+        Map<ResourcePattern, Set<AccessControlEntry>> actual = groupByResource(
+                adminOperations.describeAcls(AclBindingFilter.ANY));
+
+        List<ACL> updatedAcls = new ArrayList<>();
+        List<ResourcePattern> resourcesOfRemovedAcls = new ArrayList<>();
+
+        // safe to read without lock as the cache is modified by this (poller) thread only
+        actual.forEach((resource, permissions) -> {
+            ACL acl = aclCache.get(resource);
+            if (acl == null || !acl.permissions.equals(permissions)) {
+                updatedAcls.add(new ACL(resource, permissions));
+            } else if (requestedResources.contains(resource)) {
+                updatedAcls.add(acl);
+            }
+        });
+        for (ResourcePattern resource : aclCache.keySet()) {
+            if (!actual.containsKey(resource)) {
+                resourcesOfRemovedAcls.add(resource);
+            }
+        }
+        for (ResourcePattern resource : requestedResources) {
+            if (!actual.containsKey(resource) && !aclCache.containsKey(resource)) {
+                resourcesOfRemovedAcls.add(resource);
+            }
+        }
+
+        applyChanges(updatedAcls, resourcesOfRemovedAcls);
+
+        fireCacheListener(updatedAcls, resourcesOfRemovedAcls);
+    }
+
+    private static Map<ResourcePattern, Set<AccessControlEntry>> groupByResource(
+            Collection<AclBinding> bindings) {
+        Map<ResourcePattern, Set<AccessControlEntry>> grouped = new HashMap<>();
+        for (AclBinding binding : bindings) {
+            grouped.computeIfAbsent(binding.pattern(), key -> new HashSet<>()).add(binding.entry());
+        }
+        return grouped;
+    }
+
+    private void applyChanges(List<ACL> updatedAcls, List<ResourcePattern> resourcesOfRemovedAcls) {
+        if (updatedAcls.isEmpty() && resourcesOfRemovedAcls.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            updatedAcls.forEach(acl -> aclCache.put(acl.resource, acl));
+            resourcesOfRemovedAcls.forEach(aclCache::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void fireCacheListener(List<ACL> updatedAcls, List<ResourcePattern> resourcesOfRemovedAcls) {
+        for (ACL acl : updatedAcls) {
+            try {
+                cacheListener.onAclUpdated(acl);
+            } catch (Exception ex) {
+                LOGGER.error(
+                        String.format("Failed to handle 'acl updated' event. Acl = %s", acl),
+                        ex);
+            }
+        }
+        for (ResourcePattern resource : resourcesOfRemovedAcls) {
+            try {
+                cacheListener.onAclRemoved(resource);
+            } catch (Exception ex) {
+                LOGGER.error(
+                        String.format("Failed to handle 'acl removed' event. Resource = %s", resource),
+                        ex);
+            }
+        }
+    }
+
+    /**
+     * Immutable, so can be shared between threads with no copying.
+     */
+    public static class ACL {
+
+        public final ResourcePattern resource;
+        public final Set<AccessControlEntry> permissions;
+
+        public ACL(ResourcePattern resource, Set<AccessControlEntry> permissions) {
+            Validate.notNull(resource, "Resource is null");
+            Validate.notNull(permissions, "Permissions is null");
+
+            this.resource = resource;
+            this.permissions = Collections.unmodifiableSet(permissions);
+        }
+
+        @Override
+        public String toString() {
+            return
+                    "{resource: " + resource +
+                    ", permissions: " + permissions +
+                    "}";
+        }
+
+    }
+
+    public interface CacheListener {
+        void onAclUpdated(ACL acl);
+        void onAclRemoved(ResourcePattern resource);
+    }
+
+}
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import jakarta.annotation.PostConstruct;
@@ -78,6 +79,8 @@ public class ZkPermissionRepo extends AbstractValueRepo<PermissionInfo, Permissi
     private ZkAclCache aclCache;
 
     private final Map<ResourcePattern, Set<PermissionInfo>> permissionInfoCache = new ConcurrentHashMap<>();
+    private final AtomicLong permissionInfoCacheVersion = new AtomicLong();
+    private volatile SortedPermissions sortedPermissions = null;
 
     private final ResourceSemaphores<ResourcePattern, PermissionOperation> semaphores = new ResourceSemaphores<>();
 
@@ -126,16 +129,12 @@ public class ZkPermissionRepo extends AbstractValueRepo<PermissionInfo, Permissi
 
     @Override
     public List<PermissionInfo> values() {
-        List<PermissionInfo> permissionInfos = new ArrayList<>();
-        for (ResourcePattern resource : aclCache.listResources()) {
-            Set<PermissionInfo> permissionInfosTmp =
-                    getPermissionsFromInfoCacheOrCreate(resource);
-            if (permissionInfosTmp != null) {
-                permissionInfos.addAll(permissionInfosTmp);
-            }
-        }
-        Collections.sort(permissionInfos);
-        return permissionInfos;
+        return new ArrayList<>(getSortedPermissions());
+    }
+
+    @Override
+    protected List<PermissionInfo> sortedValuesView() {
+        return getSortedPermissions();
     }
 
     @Override
@@ -316,6 +315,33 @@ public class ZkPermissionRepo extends AbstractValueRepo<PermissionInfo, Permissi
 
     private void removePermissionsFromInfoCache(ResourcePattern resource) {
         permissionInfoCache.remove(resource);
+        permissionInfoCacheVersion.incrementAndGet();
+    }
+
+    /**
+     * Returns sorted permissions, the list is rebuilt only after the info cache has
+     * been changed.
+     */
+    private List<PermissionInfo> getSortedPermissions() {
+        long version = permissionInfoCacheVersion.get();
+        SortedPermissions sorted = sortedPermissions;
+        if (sorted != null && sorted.version == version) {
+            return sorted.permissions;
+        }
+
+        List<PermissionInfo> permissionInfos = new ArrayList<>();
+        for (ResourcePattern resource : aclCache.listResources()) {
+            Set<PermissionInfo> permissionInfosTmp =
+                    getPermissionsFromInfoCacheOrCreate(resource);
+            if (permissionInfosTmp != null) {
+                permissionInfos.addAll(permissionInfosTmp);
+            }
+        }
+        Collections.sort(permissionInfos);
+
+        sorted = new SortedPermissions(version, Collections.unmodifiableList(permissionInfos));
+        sortedPermissions = sorted;
+        return sorted.permissions;
     }
 
     private Set<PermissionInfo> getPermissionsFromInfoCacheOrCreate(
@@ -368,4 +394,16 @@ public class ZkPermissionRepo extends AbstractValueRepo<PermissionInfo, Permissi
                 build();
     }
 
+    private static class SortedPermissions {
+
+        private final long version;
+        private final List<PermissionInfo> permissions;
+
+        private SortedPermissions(long version, List<PermissionInfo> permissions) {
+            this.version = version;
+            this.permissions = permissions;
+        }
+
+    }
+
 }
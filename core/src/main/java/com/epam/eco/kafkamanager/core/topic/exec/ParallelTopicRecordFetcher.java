@@ -0,0 +1,385 @@
+/*******************************************************************************
+ *  Copyright 2022 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.exec;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+
+import com.epam.eco.commons.kafka.OffsetRange;
+import com.epam.eco.commons.kafka.TopicPartitionComparator;
+import com.epam.eco.commons.kafka.helpers.BiDirectionalTopicRecordFetcher.FetchDirection;
+import com.epam.eco.commons.kafka.helpers.FilterClausePredicate;
+import com.epam.eco.commons.kafka.helpers.PartitionRecordFetchResult;
+import com.epam.eco.commons.kafka.helpers.RecordBiDirectionalFetcher;
+import com.epam.eco.commons.kafka.helpers.RecordFetchResult;
+import com.epam.eco.kafkamanager.TopicRecordFetchParams.DataFormat;
+
+/**
+ * Fetcher splitting the requested partitions among up to the given number of workers,
+ * each of them fetching its partitions on a consumer borrowed from
+ * {@link TopicRecordConsumerPool}. The record limit is distributed among all non-empty
+ * partitions up front and the timeout is shared, so the request stays within the same
+ * record and time budget as a sequential one. Results are merged by partition, records
+ * of each partition keep their offset order, which makes the outcome the same as of a
+ * sequential fetch of the same data. Sequential results are ordered the same way.
+ *
+ * <p>Workers are shared by all requests, so the calling thread fetches the groups no
+ * worker has started in time itself, see {@link GroupFetch}. Groups left when the time
+ * is out aren't fetched, their partitions show up with nothing scanned, so the caller
+ * can tell them from partitions that have no more records.
+ *
+ * <p>With parallelism of 1, or if there is only one non-empty partition, the fetch
+ * runs sequentially in the calling thread.
+ *
+ * <p>Offset bounds, if given, narrow down offset ranges of the bounded partitions.
+ * Offsets out of the offset ranges are moved onto them before the partitions are split,
+ * the same as sequential fetches do, see {@link PooledTopicRecordFetcher}.
+ *
+ * @author Andrei_Tytsik
+ */
+class ParallelTopicRecordFetcher<K, V> implements RecordBiDirectionalFetcher<K, V> {
+
+    private static final long MAX_WORKER_WAIT_IN_MS = 100;
+
+    private final TopicRecordConsumerPool consumerPool;
+    private final ExecutorService workers;
+    private final int parallelism;
+    private final DataFormat keyFormat;
+    private final DataFormat valueFormat;
+    private final Map<String, Object> consumerConfig;
+    private final Map<TopicPartition, OffsetRange> offsetBounds;
+
+    ParallelTopicRecordFetcher(
+            TopicRecordConsumerPool consumerPool,
+            ExecutorService workers,
+            int parallelism,
+            DataFormat keyFormat,
+            DataFormat valueFormat,
+            Map<String, Object> consumerConfig) {
+        this(consumerPool, workers, parallelism, keyFormat, valueFormat, consumerConfig, null);
+    }
+
+    ParallelTopicRecordFetcher(
+            TopicRecordConsumerPool consumerPool,
+            ExecutorService workers,
+            int parallelism,
+            DataFormat keyFormat,
+            DataFormat valueFormat,
+            Map<String, Object> consumerConfig,
+            Map<TopicPartition, OffsetRange> offsetBounds) {
+        Validate.notNull(consumerPool, "Consumer pool is null");
+        Validate.isTrue(parallelism > 0, "Parallelism is invalid");
+        Validate.isTrue(parallelism == 1 || workers != null, "Workers are null");
+        Validate.notNull(keyFormat, "Key data format is null");
+        Validate.notNull(valueFormat, "Value data format is null");
+
+        this.consumerPool = consumerPool;
+        this.workers = workers;
+        this.parallelism = parallelism;
+        this.keyFormat = keyFormat;
+        this.valueFormat = valueFormat;
+        this.consumerConfig = consumerConfig;
+        this.offsetBounds = offsetBounds;
+    }
+
+    @Override
+    public RecordFetchResult<K, V> fetchByOffsets(
+            Map<TopicPartition, Long> requestedOffsets,
+            long limit,
+            FilterClausePredicate<K, V> filter,
+            long timeoutInMs,
+            FetchDirection direction) {
+        Validate.notNull(requestedOffsets, "Offsets are null");
+        Validate.isTrue(limit > 0, "Limit is invalid");
+        Validate.isTrue(timeoutInMs > 0, "Timeout is invalid");
+
+        Map<TopicPartition, Long> boundedOffsets =
+                PooledTopicRecordFetcher.clampToBounds(requestedOffsets, offsetBounds, direction);
+
+        if (parallelism == 1 || boundedOffsets.size() < 2) {
+            return fetchSequentially(
+                    fetcher -> fetcher.fetchByOffsets(boundedOffsets, limit, filter, timeoutInMs, direction));
+        }
+
+        long deadline = System.currentTimeMillis() + timeoutInMs;
+
+        Map<TopicPartition, OffsetRange> offsetRanges = callWithConsumer(
+                fetcher -> fetcher.fetchOffsetRanges(boundedOffsets.keySet()));
+        Map<TopicPartition, Long> offsets =
+                PooledTopicRecordFetcher.clampToOffsetRanges(boundedOffsets, offsetRanges, direction);
+        List<TopicPartition> activePartitions = offsets.entrySet().stream().
+                filter(e -> isActive(offsetRanges.get(e.getKey()), e.getValue())).
+                map(Entry::getKey).
+                sorted(TopicPartitionComparator.INSTANCE).
+                collect(Collectors.toList());
+        if (activePartitions.isEmpty()) {
+            return RecordFetchResult.emptyResult();
+        }
+        if (activePartitions.size() == 1) {
+            return fetchSequentially(
+                    fetcher -> fetcher.fetchByOffsets(
+                            offsets, limit, filter, remainingTimeout(deadline), direction));
+        }
+
+        Map<TopicPartition, Long> partitionLimits =
+                PooledTopicRecordFetcher.distributeLimit(activePartitions, limit);
+
+        List<Map<TopicPartition, Long>> groups = splitIntoGroups(offsets, activePartitions);
+        GroupFetch groupFetch = new GroupFetch(
+                groups, partitionLimits, offsetRanges, limit, filter, deadline, direction);
+        List<Future<?>> futures = new ArrayList<>(groups.size() - 1);
+        try {
+            for (int i = 1; i < groups.size(); i++) {
+                futures.add(workers.submit(groupFetch::runWorker));
+            }
+            groupFetch.runCaller();
+            return groupFetch.awaitResult();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while fetching records", ie);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @Override
+    public RecordFetchResult<K, V> fetchByTimestamps(
+            Map<TopicPartition, Long> partitionTimestamps,
+            long limit,
+            FilterClausePredicate<K, V> filter,
+            long timeoutInMs,
+            FetchDirection direction) {
+        Validate.notNull(partitionTimestamps, "Partition timestamps are null");
+
+        if (parallelism == 1 || partitionTimestamps.size() < 2) {
+            return fetchSequentially(
+                    fetcher -> fetcher.fetchByTimestamps(
+                            partitionTimestamps, limit, filter, timeoutInMs, direction));
+        }
+
+        Map<TopicPartition, Long> offsets = callWithConsumer(
+                fetcher -> fetcher.fetchOffsetsForTimes(partitionTimestamps));
+        if (offsets.isEmpty()) {
+            return RecordFetchResult.emptyResult();
+        }
+
+        return fetchByOffsets(offsets, limit, filter, timeoutInMs, direction);
+    }
+
+    /**
+     * Deals active partitions out round-robin, so each group gets a fair share of the
+     * limit. Inactive partitions go to the first group, they only have to show up in
+     * the result.
+     */
+    private List<Map<TopicPartition, Long>> splitIntoGroups(
+            Map<TopicPartition, Long> offsets,
+            List<TopicPartition> activePartitions) {
+        int groupCount = Math.min(parallelism, activePartitions.size());
+        List<Map<TopicPartition, Long>> groups = new ArrayList<>(groupCount);
+        for (int i = 0; i < groupCount; i++) {
+            groups.add(new TreeMap<>(TopicPartitionComparator.INSTANCE));
+        }
+        for (int i = 0; i < activePartitions.size(); i++) {
+            TopicPartition partition = activePartitions.get(i);
+            groups.get(i % groupCount).put(partition, offsets.get(partition));
+        }
+        Set<TopicPartition> active = new HashSet<>(activePartitions);
+        offsets.forEach((partition, offset) -> {
+            if (!active.contains(partition)) {
+                groups.get(0).put(partition, offset);
+            }
+        });
+        return groups;
+    }
+
+    /**
+     * Merges results ordering them by partition, records of each partition are already
+     * ordered by offset.
+     */
+    private static <K, V> RecordFetchResult<K, V> merge(List<RecordFetchResult<K, V>> results) {
+        Map<TopicPartition, PartitionRecordFetchResult<K, V>> merged =
+                new TreeMap<>(TopicPartitionComparator.INSTANCE);
+        results.forEach(result -> merged.putAll(result.getResults()));
+        return new RecordFetchResult<>(merged);
+    }
+
+    private RecordFetchResult<K, V> fetchSequentially(
+            Function<PooledTopicRecordFetcher<K, V>, RecordFetchResult<K, V>> fetch) {
+        RecordFetchResult<K, V> result = callWithConsumer(fetch);
+        return merge(List.of(result));
+    }
+
+    private <T> T callWithConsumer(Function<PooledTopicRecordFetcher<K, V>, T> call) {
+        return callWithConsumer(null, call);
+    }
+
+    private <T> T callWithConsumer(
+            Map<TopicPartition, Long> partitionLimits,
+            Function<PooledTopicRecordFetcher<K, V>, T> call) {
+        KafkaConsumer<K, V> consumer = consumerPool.borrow(keyFormat, valueFormat);
+        boolean reusable = false;
+        try {
+            T result = call.apply(new PooledTopicRecordFetcher<>(
+                    consumerConfig, consumer, partitionLimits, offsetBounds));
+            reusable = true;
+            return result;
+        } finally {
+            consumerPool.release(keyFormat, valueFormat, consumer, reusable);
+        }
+    }
+
+    /**
+     * Groups of one request. The calling thread keeps the first group and each worker
+     * submitted for the request takes one of the others. Workers are shared by all
+     * requests, so the calling thread waits for them only briefly, then takes the groups
+     * no worker has started and fetches them along with its own in one go, like a
+     * sequential fetch would. A group taken once the deadline has passed isn't
+     * fetched, its partitions are reported with empty scanned ranges at their start
+     * offsets.
+     */
+    private class GroupFetch {
+
+        private final Map<TopicPartition, Long> callerGroup;
+        private final Queue<Map<TopicPartition, Long>> pending;
+        private final Map<TopicPartition, Long> partitionLimits;
+        private final Map<TopicPartition, OffsetRange> offsetRanges;
+        private final long limit;
+        private final FilterClausePredicate<K, V> filter;
+        private final long deadline;
+        private final FetchDirection direction;
+        private final List<RecordFetchResult<K, V>> results = new CopyOnWriteArrayList<>();
+        private final CountDownLatch started;
+        private final CountDownLatch done;
+        private final AtomicReference<RuntimeException> error = new AtomicReference<>();
+
+        GroupFetch(
+                List<Map<TopicPartition, Long>> groups,
+                Map<TopicPartition, Long> partitionLimits,
+                Map<TopicPartition, OffsetRange> offsetRanges,
+                long limit,
+                FilterClausePredicate<K, V> filter,
+                long deadline,
+                FetchDirection direction) {
+            this.callerGroup = groups.get(0);
+            this.pending = new ConcurrentLinkedQueue<>(groups.subList(1, groups.size()));
+            this.partitionLimits = partitionLimits;
+            this.offsetRanges = offsetRanges;
+            this.limit = limit;
+            this.filter = filter;
+            this.deadline = deadline;
+            this.direction = direction;
+            this.started = new CountDownLatch(groups.size() - 1);
+            this.done = new CountDownLatch(groups.size());
+        }
+
+        void runWorker() {
+            Map<TopicPartition, Long> groupOffsets = pending.poll();
+            if (groupOffsets == null) {
+                return;
+            }
+            started.countDown();
+            fetch(groupOffsets, 1);
+        }
+
+        void runCaller() throws InterruptedException {
+            started.await(
+                    Math.min((deadline - System.currentTimeMillis()) / 10, MAX_WORKER_WAIT_IN_MS),
+                    TimeUnit.MILLISECONDS);
+
+            Map<TopicPartition, Long> groupOffsets = new HashMap<>(callerGroup);
+            int groupCount = 1;
+            Map<TopicPartition, Long> unstarted;
+            while ((unstarted = pending.poll()) != null) {
+                groupOffsets.putAll(unstarted);
+                groupCount++;
+            }
+            fetch(groupOffsets, groupCount);
+        }
+
+        RecordFetchResult<K, V> awaitResult() throws InterruptedException {
+            done.await();
+            if (error.get() != null) {
+                throw error.get();
+            }
+            return merge(results);
+        }
+
+        private void fetch(Map<TopicPartition, Long> groupOffsets, int groupCount) {
+            try {
+                if (error.get() == null) {
+                    results.add(doFetch(groupOffsets));
+                }
+            } catch (RuntimeException re) {
+                error.compareAndSet(null, re);
+            } finally {
+                for (int i = 0; i < groupCount; i++) {
+                    done.countDown();
+                }
+            }
+        }
+
+        private RecordFetchResult<K, V> doFetch(Map<TopicPartition, Long> groupOffsets) {
+            long timeout = deadline - System.currentTimeMillis();
+            if (timeout <= 0) {
+                return unscanned(groupOffsets);
+            }
+            return callWithConsumer(
+                    partitionLimits,
+                    fetcher -> fetcher.fetchByOffsets(groupOffsets, limit, filter, timeout, direction));
+        }
+
+        private RecordFetchResult<K, V> unscanned(Map<TopicPartition, Long> groupOffsets) {
+            RecordFetchResult.Builder<K, V> builder = RecordFetchResult.builder();
+            groupOffsets.forEach((partition, offset) -> builder.result(
+                    PartitionRecordFetchResult.<K, V>builder().
+                            partition(partition).
+                            partitionOffsets(offsetRanges.get(partition)).
+                            scannedOffsets(OffsetRange.with(offset, false, offset, false)).
+                            build()));
+            return builder.build();
+        }
+
+    }
+
+    private static boolean isActive(OffsetRange range, Long offset) {
+        return range != null && range.getSize() > 0 && range.contains(offset);
+    }
+
+    private static long remainingTimeout(long deadline) {
+        return Math.max(deadline - System.currentTimeMillis(), 1);
+    }
+
+}
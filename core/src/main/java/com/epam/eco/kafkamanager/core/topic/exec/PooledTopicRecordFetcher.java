@@ -0,0 +1,299 @@
+/*******************************************************************************
+ *  Copyright 2022 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.exec;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+
+import com.epam.eco.commons.kafka.OffsetRange;
+import com.epam.eco.commons.kafka.TopicPartitionComparator;
+import com.epam.eco.commons.kafka.helpers.BiDirectionalTopicRecordFetcher;
+import com.epam.eco.commons.kafka.helpers.FilterClausePredicate;
+import com.epam.eco.commons.kafka.helpers.RecordFetchResult;
+
+/**
+ * {@link BiDirectionalTopicRecordFetcher} running on a consumer borrowed from
+ * {@link TopicRecordConsumerPool} instead of creating (and closing) one per fetch.
+ * Offset ranges are looked up with the same consumer too. Instances are bound to a
+ * single borrowed consumer and so are not thread-safe.
+ *
+ * <p>The fetch limit is distributed among partitions in {@link TopicPartitionComparator}
+ * order, so the same request always gets the same per-partition limits. Fetchers
+ * working on a subset of a bigger request take the limits precomputed for the whole
+ * request instead.
+ *
+ * <p>If offset bounds are given, offset ranges of the bounded partitions are narrowed
+ * down to them, so fetches neither start nor go on outside of the bounds, and records
+ * out of the bounds are never collected.
+ *
+ * <p>Offsets lying before the offset range of their partition (e.g. removed by retention
+ * meanwhile) are moved onto its start, the same for offsets after the range of backward
+ * fetches, so such partitions are still scanned instead of being left out.
+ *
+ * @author Andrei_Tytsik
+ */
+class PooledTopicRecordFetcher<K, V> extends BiDirectionalTopicRecordFetcher<K, V> {
+
+    private final KafkaConsumer<K, V> consumer;
+    private final Map<TopicPartition, Long> partitionLimits;
+    private final Map<TopicPartition, OffsetRange> offsetBounds;
+
+    private Map<TopicPartition, OffsetRange> currentOffsetRanges;
+
+    PooledTopicRecordFetcher(Map<String, Object> consumerConfig, KafkaConsumer<K, V> consumer) {
+        this(consumerConfig, consumer, null);
+    }
+
+    PooledTopicRecordFetcher(
+            Map<String, Object> consumerConfig,
+            KafkaConsumer<K, V> consumer,
+            Map<TopicPartition, Long> partitionLimits) {
+        this(consumerConfig, consumer, partitionLimits, null);
+    }
+
+    PooledTopicRecordFetcher(
+            Map<String, Object> consumerConfig,
+            KafkaConsumer<K, V> consumer,
+            Map<TopicPartition, Long> partitionLimits,
+            Map<TopicPartition, OffsetRange> offsetBounds) {
+        super(null, consumerConfig);
+
+        Validate.notNull(consumer, "Consumer is null");
+
+        this.consumer = consumer;
+        this.partitionLimits = partitionLimits;
+        this.offsetBounds = offsetBounds;
+    }
+
+    @Override
+    public RecordFetchResult<K, V> fetchByOffsets(
+            Map<TopicPartition, Long> offsets,
+            long limit,
+            FilterClausePredicate<K, V> filter,
+            long timeoutInMs,
+            FetchDirection direction) {
+        validateOffsets(offsets);
+        Validate.isTrue(limit > 0, "Limit is invalid");
+        Validate.isTrue(timeoutInMs > 0, "Timeout is invalid");
+
+        return doFetchByOffsets(
+                clampToBounds(offsets, offsetBounds, direction), limit, filter, timeoutInMs, direction);
+    }
+
+    @Override
+    public RecordFetchResult<K, V> fetchByTimestamps(
+            Map<TopicPartition, Long> partitionTimestamps,
+            long limit,
+            FilterClausePredicate<K, V> filter,
+            long timeoutInMs,
+            FetchDirection direction) {
+        validatePartitionTimestamps(partitionTimestamps);
+        Validate.isTrue(limit > 0, "Limit is invalid");
+        Validate.isTrue(timeoutInMs > 0, "Timeout is invalid");
+
+        return doFetchByOffsets(
+                clampToBounds(fetchOffsetsForTimes(partitionTimestamps), offsetBounds, direction),
+                limit, filter, timeoutInMs, direction);
+    }
+
+    /**
+     * @return offsets of the earliest records at or after the given timestamps,
+     * partitions having no such records are left out
+     */
+    Map<TopicPartition, Long> fetchOffsetsForTimes(Map<TopicPartition, Long> partitionTimestamps) {
+        validatePartitionTimestamps(partitionTimestamps);
+
+        return consumer.offsetsForTimes(partitionTimestamps).entrySet().stream().
+                filter(e -> e.getValue() != null).
+                collect(Collectors.toMap(Entry::getKey, e -> e.getValue().offset()));
+    }
+
+    @Override
+    protected Map<TopicPartition, OffsetRange> fetchOffsetRanges(Collection<TopicPartition> partitions) {
+        if (currentOffsetRanges != null && currentOffsetRanges.keySet().containsAll(partitions)) {
+            return new HashMap<>(currentOffsetRanges);
+        }
+        return toOffsetRanges(
+                partitions,
+                consumer.beginningOffsets(partitions),
+                consumer.endOffsets(partitions),
+                offsetBounds);
+    }
+
+    /**
+     * @return offset ranges of the partitions narrowed down to the bounds, if any
+     */
+    static Map<TopicPartition, OffsetRange> toOffsetRanges(
+            Collection<TopicPartition> partitions,
+            Map<TopicPartition, Long> beginningOffsets,
+            Map<TopicPartition, Long> endOffsets,
+            Map<TopicPartition, OffsetRange> offsetBounds) {
+        Map<TopicPartition, OffsetRange> offsetRanges = new TreeMap<>(TopicPartitionComparator.INSTANCE);
+        for (TopicPartition partition : partitions) {
+            long beginning = beginningOffsets.get(partition);
+            long end = endOffsets.get(partition);
+            OffsetRange bound = offsetBounds != null ? offsetBounds.get(partition) : null;
+            if (bound != null) {
+                beginning = Math.max(beginning, bound.getSmallest());
+                end = Math.max(Math.min(end, bound.getLargest() + 1), beginning);
+            }
+            offsetRanges.put(
+                    partition,
+                    OffsetRange.with(
+                            beginning,
+                            end > beginning,
+                            end > beginning ? end - 1 : end,
+                            end > beginning));
+        }
+        return offsetRanges;
+    }
+
+    @Override
+    protected Map<TopicPartition, Long> calculateLimitsByPartition(
+            Collection<TopicPartition> partitions,
+            long limit) {
+        if (partitionLimits == null) {
+            return distributeLimit(partitions, limit);
+        }
+
+        Map<TopicPartition, Long> limits = new TreeMap<>(TopicPartitionComparator.INSTANCE);
+        for (TopicPartition partition : partitions) {
+            Long partitionLimit = partitionLimits.get(partition);
+            if (partitionLimit != null && partitionLimit > 0) {
+                limits.put(partition, partitionLimit);
+            }
+        }
+        return limits;
+    }
+
+    /**
+     * Splits the limit evenly among partitions, the remainder goes one by one to the
+     * lowest partitions. Partitions getting no records are left out.
+     */
+    static Map<TopicPartition, Long> distributeLimit(Collection<TopicPartition> partitions, long limit) {
+        Map<TopicPartition, Long> limits = new TreeMap<>(TopicPartitionComparator.INSTANCE);
+        if (partitions.isEmpty()) {
+            return limits;
+        }
+
+        List<TopicPartition> sorted = partitions.stream().
+                sorted(TopicPartitionComparator.INSTANCE).
+                collect(Collectors.toList());
+        long limitPerPartition = limit / sorted.size();
+        long remainder = limit % sorted.size();
+        for (TopicPartition partition : sorted) {
+            long partitionLimit = limitPerPartition + (remainder-- > 0 ? 1 : 0);
+            if (partitionLimit > 0) {
+                limits.put(partition, partitionLimit);
+            }
+        }
+        return limits;
+    }
+
+    /**
+     * Moves offsets lying before the bounds (or after them for backward fetches) onto the
+     * nearest bound, so the fetch starts where bounded records begin.
+     */
+    static Map<TopicPartition, Long> clampToBounds(
+            Map<TopicPartition, Long> offsets,
+            Map<TopicPartition, OffsetRange> offsetBounds,
+            FetchDirection direction) {
+        if (offsetBounds == null) {
+            return offsets;
+        }
+
+        Map<TopicPartition, Long> clamped = new HashMap<>(offsets);
+        clamped.replaceAll((partition, offset) -> {
+            OffsetRange bound = offsetBounds.get(partition);
+            if (bound == null) {
+                return offset;
+            }
+            return direction == FetchDirection.BACKWARD ?
+                   Math.min(offset, bound.getLargest()) :
+                   Math.max(offset, bound.getSmallest());
+        });
+        return clamped;
+    }
+
+    /**
+     * Moves offsets lying before the offset ranges (or after them for backward fetches)
+     * onto the nearest end of the range. Offsets of empty partitions are left as they are.
+     */
+    static Map<TopicPartition, Long> clampToOffsetRanges(
+            Map<TopicPartition, Long> offsets,
+            Map<TopicPartition, OffsetRange> offsetRanges,
+            FetchDirection direction) {
+        Map<TopicPartition, Long> clamped = new HashMap<>(offsets);
+        clamped.replaceAll((partition, offset) -> {
+            OffsetRange range = offsetRanges.get(partition);
+            if (range == null || range.getSize() == 0) {
+                return offset;
+            }
+            return direction == FetchDirection.BACKWARD ?
+                   Math.min(offset, range.getLargest()) :
+                   Math.max(offset, range.getSmallest());
+        });
+        return clamped;
+    }
+
+    /**
+     * Polled batches may run past the bounds, records out of them are filtered out.
+     */
+    private FilterClausePredicate<K, V> boundFilter(FilterClausePredicate<K, V> filter) {
+        if (offsetBounds == null) {
+            return filter;
+        }
+        return record -> {
+            OffsetRange bound = offsetBounds.get(new TopicPartition(record.topic(), record.partition()));
+            return
+                    (bound == null || bound.contains(record.offset())) &&
+                    (filter == null || filter.test(record));
+        };
+    }
+
+    private RecordFetchResult<K, V> doFetchByOffsets(
+            Map<TopicPartition, Long> offsets,
+            long limit,
+            FilterClausePredicate<K, V> filter,
+            long timeoutInMs,
+            FetchDirection direction) {
+        if (offsets.isEmpty()) {
+            return RecordFetchResult.emptyResult();
+        }
+
+        // ranges are looked up once, the superclass gets them again for the fetch
+        currentOffsetRanges = fetchOffsetRanges(offsets.keySet());
+        try {
+            Map<TopicPartition, Long> clamped = clampToOffsetRanges(offsets, currentOffsetRanges, direction);
+            FilterClausePredicate<K, V> boundedFilter = boundFilter(filter);
+            return direction == FetchDirection.BACKWARD ?
+                   doReverseFetchByOffsets(consumer, clamped, limit, boundedFilter, timeoutInMs) :
+                   doFetchByOffsets(consumer, clamped, limit, boundedFilter, timeoutInMs);
+        } finally {
+            currentOffsetRanges = null;
+        }
+    }
+
+}
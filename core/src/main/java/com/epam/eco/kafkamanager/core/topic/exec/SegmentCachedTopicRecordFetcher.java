@@ -0,0 +1,326 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.exec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import com.epam.eco.commons.kafka.OffsetRange;
+import com.epam.eco.commons.kafka.TopicPartitionComparator;
+import com.epam.eco.commons.kafka.helpers.BiDirectionalTopicRecordFetcher.FetchDirection;
+import com.epam.eco.commons.kafka.helpers.FilterClausePredicate;
+import com.epam.eco.commons.kafka.helpers.PartitionRecordFetchResult;
+import com.epam.eco.commons.kafka.helpers.RecordBiDirectionalFetcher;
+import com.epam.eco.commons.kafka.helpers.RecordFetchResult;
+import com.epam.eco.kafkamanager.TopicRecordFetchParams.DataFormat;
+import com.epam.eco.kafkamanager.core.topic.exec.TopicRecordDeserializerPool.Deserializers;
+import com.epam.eco.kafkamanager.core.topic.exec.TopicRecordSegmentCache.Segment;
+
+/**
+ * Fetcher serving records from {@link TopicRecordSegmentCache}. Partitions are walked
+ * segment by segment from the requested offsets, offset ranges missing in the cache
+ * are fetched from Kafka in chunks of raw records (on byte array consumers borrowed
+ * from {@link TopicRecordConsumerPool}) and stored as new segments. Raw records are
+ * deserialized with deserializers of the requested formats borrowed from
+ * {@link TopicRecordDeserializerPool}, so the same segments serve fetches of any data
+ * format.
+ *
+ * <p>Segments out of the current log of a partition are invalidated each time offset
+ * ranges of the partition are looked up. The record limit is distributed among
+ * non-empty partitions the same way {@link PooledTopicRecordFetcher} does, offset
+ * bounds, if given, narrow down offset ranges of the bounded partitions.
+ *
+ * @author Andrei_Tytsik
+ */
+class SegmentCachedTopicRecordFetcher<K, V> implements RecordBiDirectionalFetcher<K, V> {
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+
+    private final TopicRecordSegmentCache cache;
+    private final TopicRecordConsumerPool consumerPool;
+    private final TopicRecordDeserializerPool deserializerPool;
+    private final DataFormat keyFormat;
+    private final DataFormat valueFormat;
+    private final Map<TopicPartition, OffsetRange> offsetBounds;
+
+    SegmentCachedTopicRecordFetcher(
+            TopicRecordSegmentCache cache,
+            TopicRecordConsumerPool consumerPool,
+            TopicRecordDeserializerPool deserializerPool,
+            DataFormat keyFormat,
+            DataFormat valueFormat,
+            Map<TopicPartition, OffsetRange> offsetBounds) {
+        Validate.notNull(cache, "Segment cache is null");
+        Validate.notNull(consumerPool, "Consumer pool is null");
+        Validate.notNull(deserializerPool, "Deserializer pool is null");
+        Validate.notNull(keyFormat, "Key data format is null");
+        Validate.notNull(valueFormat, "Value data format is null");
+
+        this.cache = cache;
+        this.consumerPool = consumerPool;
+        this.deserializerPool = deserializerPool;
+        this.keyFormat = keyFormat;
+        this.valueFormat = valueFormat;
+        this.offsetBounds = offsetBounds;
+    }
+
+    @Override
+    public RecordFetchResult<K, V> fetchByOffsets(
+            Map<TopicPartition, Long> requestedOffsets,
+            long limit,
+            FilterClausePredicate<K, V> filter,
+            long timeoutInMs,
+            FetchDirection direction) {
+        Validate.notNull(requestedOffsets, "Offsets are null");
+        Validate.isTrue(limit > 0, "Limit is invalid");
+        Validate.isTrue(timeoutInMs > 0, "Timeout is invalid");
+
+        if (requestedOffsets.isEmpty()) {
+            return RecordFetchResult.emptyResult();
+        }
+
+        Map<TopicPartition, Long> offsets =
+                PooledTopicRecordFetcher.clampToBounds(requestedOffsets, offsetBounds, direction);
+        Map<TopicPartition, OffsetRange> offsetRanges = callWithConsumer(
+                consumer -> fetchOffsetRanges(consumer, offsets.keySet()));
+        Map<TopicPartition, Long> partitionLimits = PooledTopicRecordFetcher.distributeLimit(
+                offsets.entrySet().stream().
+                        filter(e -> isActive(offsetRanges.get(e.getKey()), e.getValue())).
+                        map(Entry::getKey).
+                        collect(Collectors.toList()),
+                limit);
+
+        long deadline = System.currentTimeMillis() + timeoutInMs;
+
+        Deserializers<K, V> deserializers = deserializerPool.borrow(keyFormat, valueFormat);
+        try {
+            Map<TopicPartition, PartitionRecordFetchResult<K, V>> results =
+                    new TreeMap<>(TopicPartitionComparator.INSTANCE);
+            for (TopicPartition partition : offsets.keySet()) {
+                Long partitionLimit = partitionLimits.get(partition);
+                results.put(
+                        partition,
+                        fetchPartition(
+                                partition,
+                                offsets.get(partition),
+                                offsetRanges.get(partition),
+                                partitionLimit != null ? partitionLimit : 0,
+                                filter,
+                                deserializers.getKeyDeserializer(),
+                                deserializers.getValueDeserializer(),
+                                deadline,
+                                direction));
+            }
+            return new RecordFetchResult<>(results);
+        } finally {
+            deserializerPool.release(keyFormat, valueFormat, deserializers);
+        }
+    }
+
+    @Override
+    public RecordFetchResult<K, V> fetchByTimestamps(
+            Map<TopicPartition, Long> partitionTimestamps,
+            long limit,
+            FilterClausePredicate<K, V> filter,
+            long timeoutInMs,
+            FetchDirection direction) {
+        Validate.notNull(partitionTimestamps, "Partition timestamps are null");
+
+        Map<TopicPartition, Long> offsets = callWithConsumer(
+                consumer -> consumer.offsetsForTimes(partitionTimestamps).entrySet().stream().
+                        filter(e -> e.getValue() != null).
+                        collect(Collectors.toMap(Entry::getKey, e -> e.getValue().offset())));
+        if (offsets.isEmpty()) {
+            return RecordFetchResult.emptyResult();
+        }
+
+        return fetchByOffsets(offsets, limit, filter, timeoutInMs, direction);
+    }
+
+    private Map<TopicPartition, OffsetRange> fetchOffsetRanges(
+            KafkaConsumer<byte[], byte[]> consumer,
+            Collection<TopicPartition> partitions) {
+        Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitions);
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+        partitions.forEach(partition -> cache.invalidate(
+                partition, beginningOffsets.get(partition), endOffsets.get(partition)));
+        return PooledTopicRecordFetcher.toOffsetRanges(partitions, beginningOffsets, endOffsets, offsetBounds);
+    }
+
+    private PartitionRecordFetchResult<K, V> fetchPartition(
+            TopicPartition partition,
+            long offset,
+            OffsetRange offsetRange,
+            long limit,
+            FilterClausePredicate<K, V> filter,
+            Deserializer<K> keyDeserializer,
+            Deserializer<V> valueDeserializer,
+            long deadline,
+            FetchDirection direction) {
+        boolean backward = direction == FetchDirection.BACKWARD;
+
+        List<ConsumerRecord<K, V>> records = new ArrayList<>();
+        long firstScanned = -1;
+        long lastScanned = -1;
+        long position = offset;
+        while (
+                records.size() < limit &&
+                offsetRange.contains(position) &&
+                System.currentTimeMillis() < deadline) {
+            Segment segment = cache.get(partition, position);
+            if (segment == null) {
+                segment = fetchSegment(partition, position, offsetRange, deadline, backward);
+            }
+            if (segment == null ||
+                    position < segment.getSmallestOffset() ||
+                    position > segment.getLargestOffset()) {
+                break;
+            }
+
+            List<ConsumerRecord<byte[], byte[]>> rawRecords = backward ?
+                    segment.read(Math.max(segment.getSmallestOffset(), offsetRange.getSmallest()), position) :
+                    segment.read(position, Math.min(segment.getLargestOffset(), offsetRange.getLargest()));
+            if (backward) {
+                Collections.reverse(rawRecords);
+            }
+            for (ConsumerRecord<byte[], byte[]> rawRecord : rawRecords) {
+                if (records.size() >= limit) {
+                    break;
+                }
+                if (firstScanned == -1) {
+                    firstScanned = rawRecord.offset();
+                }
+                lastScanned = rawRecord.offset();
+
+                ConsumerRecord<K, V> record = deserialize(rawRecord, keyDeserializer, valueDeserializer);
+                if (filter == null || filter.test(record)) {
+                    records.add(record);
+                }
+            }
+
+            position = backward ? segment.getSmallestOffset() - 1 : segment.getLargestOffset() + 1;
+        }
+        if (backward) {
+            Collections.reverse(records);
+        }
+
+        OffsetRange scannedOffsets;
+        if (firstScanned == -1) {
+            long bound = backward ? offsetRange.getSmallest() : offsetRange.getLargest();
+            scannedOffsets = OffsetRange.with(bound, false, bound, false);
+        } else {
+            scannedOffsets = OffsetRange.with(
+                    Math.min(firstScanned, lastScanned),
+                    true,
+                    Math.max(firstScanned, lastScanned),
+                    true);
+        }
+        return PartitionRecordFetchResult.<K, V>builder().
+                partition(partition).
+                addRecords(records).
+                partitionOffsets(offsetRange).
+                scannedOffsets(scannedOffsets).
+                build();
+    }
+
+    /**
+     * Fetches a chunk of raw records starting (or ending, for backward fetches) at the
+     * given position and stores it in the cache.
+     *
+     * @return stored segment or {@code null} if nothing was fetched before the deadline
+     */
+    private Segment fetchSegment(
+            TopicPartition partition,
+            long position,
+            OffsetRange offsetRange,
+            long deadline,
+            boolean backward) {
+        long fromOffset = backward ? Math.max(position - CHUNK_SIZE + 1, offsetRange.getSmallest()) : position;
+        long toOffset = backward ? position : Math.min(position + CHUNK_SIZE - 1, offsetRange.getLargest());
+
+        return callWithConsumer(consumer -> {
+            consumer.assign(Collections.singletonList(partition));
+            consumer.seek(partition, fromOffset);
+
+            List<ConsumerRecord<byte[], byte[]>> records = new ArrayList<>();
+            long nextOffset = fromOffset;
+            while (nextOffset <= toOffset && System.currentTimeMillis() < deadline) {
+                for (ConsumerRecord<byte[], byte[]> record : consumer.poll(POLL_TIMEOUT).records(partition)) {
+                    if (record.offset() <= toOffset) {
+                        records.add(record);
+                    }
+                }
+                nextOffset = consumer.position(partition);
+            }
+
+            long largestOffset = Math.min(nextOffset - 1, toOffset);
+            return largestOffset >= fromOffset ? cache.put(partition, fromOffset, largestOffset, records) : null;
+        });
+    }
+
+    private <T> T callWithConsumer(Function<KafkaConsumer<byte[], byte[]>, T> call) {
+        KafkaConsumer<byte[], byte[]> consumer = consumerPool.borrow(DataFormat.BYTE_ARRAY, DataFormat.BYTE_ARRAY);
+        boolean reusable = false;
+        try {
+            T result = call.apply(consumer);
+            reusable = true;
+            return result;
+        } finally {
+            consumerPool.release(DataFormat.BYTE_ARRAY, DataFormat.BYTE_ARRAY, consumer, reusable);
+        }
+    }
+
+    private static <K, V> ConsumerRecord<K, V> deserialize(
+            ConsumerRecord<byte[], byte[]> record,
+            Deserializer<K> keyDeserializer,
+            Deserializer<V> valueDeserializer) {
+        return new ConsumerRecord<>(
+                record.topic(),
+                record.partition(),
+                record.offset(),
+                record.timestamp(),
+                record.timestampType(),
+                record.serializedKeySize(),
+                record.serializedValueSize(),
+                record.key() != null ?
+                        keyDeserializer.deserialize(record.topic(), record.headers(), record.key()) : null,
+                record.value() != null ?
+                        valueDeserializer.deserialize(record.topic(), record.headers(), record.value()) : null,
+                record.headers(),
+                record.leaderEpoch());
+    }
+
+    private static boolean isActive(OffsetRange range, Long offset) {
+        return range != null && range.getSize() > 0 && range.contains(offset);
+    }
+
+}
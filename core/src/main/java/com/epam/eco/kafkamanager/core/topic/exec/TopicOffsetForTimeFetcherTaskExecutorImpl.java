@@ -20,10 +20,11 @@ import java.util.Map;
 import org.apache.kafka.common.TopicPartition;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import com.epam.eco.commons.kafka.helpers.TopicOffsetForTimeFetcher;
 import com.epam.eco.kafkamanager.KafkaManager;
+import com.epam.eco.kafkamanager.TopicInfo;
 import com.epam.eco.kafkamanager.TopicOffsetForTimeFetcherTaskExecutor;
 import com.epam.eco.kafkamanager.core.autoconfigure.KafkaManagerProperties;
+import com.epam.eco.kafkamanager.core.offset.OffsetLookupService;
 import com.epam.eco.kafkamanager.exec.AbstractTaskExecutor;
 import com.epam.eco.kafkamanager.exec.TaskResult;
 
@@ -36,6 +37,8 @@ public class TopicOffsetForTimeFetcherTaskExecutorImpl extends AbstractTaskExecu
     private KafkaManager kafkaManager;
     @Autowired
     protected KafkaManagerProperties properties;
+    @Autowired
+    private OffsetLookupService offsetLookupService;
 
     @Override
     protected TaskResult<Map<TopicPartition, Long>> doExecute(String topicName, Long timestamp) {
@@ -44,11 +47,9 @@ public class TopicOffsetForTimeFetcherTaskExecutorImpl extends AbstractTaskExecu
 
     private Map<TopicPartition, Long> executeInternal(String topicName, Long timestamp) {
         // sanity check just for case topic doesn't exist
-        kafkaManager.getTopic(topicName);
+        TopicInfo topicInfo = kafkaManager.getTopic(topicName);
 
-        return TopicOffsetForTimeFetcher.
-                with(properties.getCommonConsumerConfig()).
-                fetchForTopic(topicName, timestamp);
+        return offsetLookupService.fetchOffsetsForTime(topicInfo.getPartitions().keySet(), timestamp);
     }
 
 }
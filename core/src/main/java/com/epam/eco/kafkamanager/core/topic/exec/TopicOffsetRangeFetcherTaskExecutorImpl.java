@@ -32,11 +32,12 @@ import org.apache.kafka.common.TopicPartition;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.epam.eco.commons.kafka.OffsetRange;
-import com.epam.eco.commons.kafka.helpers.TopicOffsetRangeFetcher;
 import com.epam.eco.kafkamanager.KafkaManager;
 import com.epam.eco.kafkamanager.OffsetTimeSeries;
+import com.epam.eco.kafkamanager.TopicInfo;
 import com.epam.eco.kafkamanager.TopicOffsetRangeFetcherTaskExecutor;
 import com.epam.eco.kafkamanager.core.autoconfigure.KafkaManagerProperties;
+import com.epam.eco.kafkamanager.core.offset.OffsetLookupService;
 import com.epam.eco.kafkamanager.exec.AbstractAsyncStatefullTaskExecutor;
 import com.epam.eco.kafkamanager.exec.TaskResult;
 
@@ -49,6 +50,8 @@ public class TopicOffsetRangeFetcherTaskExecutorImpl extends AbstractAsyncStatef
     private KafkaManager kafkaManager;
     @Autowired
     protected KafkaManagerProperties properties;
+    @Autowired
+    private OffsetLookupService offsetLookupService;
 
     private final Map<String, Map<TopicPartition, OffsetTimeSeries>> offsetTimeSeries =
             new ConcurrentHashMap<>();
@@ -70,11 +73,9 @@ public class TopicOffsetRangeFetcherTaskExecutorImpl extends AbstractAsyncStatef
     protected TaskResult<Map<TopicPartition, OffsetRange>> doExecute(String topicName) {
         TaskResult<Map<TopicPartition, OffsetRange>> result = TaskResult.of(() -> {
             // sanity check just for case topic doesn't exist
-            kafkaManager.getTopic(topicName);
+            TopicInfo topicInfo = kafkaManager.getTopic(topicName);
 
-            return TopicOffsetRangeFetcher.
-                    with(properties.getCommonConsumerConfig()).
-                    fetchForTopics(topicName);
+            return offsetLookupService.fetchOffsetRanges(topicInfo.getPartitions().keySet());
         });
 
         updateOffsetTimeSeries(topicName, result);
@@ -86,12 +87,15 @@ public class TopicOffsetRangeFetcherTaskExecutorImpl extends AbstractAsyncStatef
     public Map<TopicPartition, OffsetTimeSeries> getOffsetTimeSeries(String topicName) {
         Map<TopicPartition, OffsetTimeSeries> topicTimeSeries =
                 offsetTimeSeries.get(topicName);
-        return
-                topicTimeSeries != null ?
-                        topicTimeSeries.entrySet().stream().collect(Collectors.toMap(
-                                Entry::getKey,
-                                e -> e.getValue().unmodifiableCopy())) :
-                        Collections.emptyMap();
+        if (topicTimeSeries == null) {
+            return Collections.emptyMap();
+        }
+
+        synchronized (topicTimeSeries) {
+            return topicTimeSeries.entrySet().stream().collect(Collectors.toMap(
+                    Entry::getKey,
+                    e -> e.getValue().unmodifiableCopy()));
+        }
     }
 
     private void updateOffsetTimeSeries(
@@ -111,17 +115,19 @@ public class TopicOffsetRangeFetcherTaskExecutorImpl extends AbstractAsyncStatef
         Map<TopicPartition, OffsetTimeSeries> topicTimeSeries =
                 offsetTimeSeries.computeIfAbsent(topicName, k -> new HashMap<>());
 
-        for (Entry<TopicPartition, OffsetRange> entry : offsets.entrySet()) {
-            TopicPartition topicPartition = entry.getKey();
-            OffsetRange offsetRange = entry.getValue();
+        synchronized (topicTimeSeries) {
+            for (Entry<TopicPartition, OffsetRange> entry : offsets.entrySet()) {
+                TopicPartition topicPartition = entry.getKey();
+                OffsetRange offsetRange = entry.getValue();
 
-            OffsetTimeSeries partitionTimeSeries = topicTimeSeries.get(topicPartition);
-            if (partitionTimeSeries == null) {
-                partitionTimeSeries = new OffsetTimeSeries(topicPartition);
-                topicTimeSeries.put(topicPartition, partitionTimeSeries);
-            }
+                OffsetTimeSeries partitionTimeSeries = topicTimeSeries.get(topicPartition);
+                if (partitionTimeSeries == null) {
+                    partitionTimeSeries = new OffsetTimeSeries(topicPartition);
+                    topicTimeSeries.put(topicPartition, partitionTimeSeries);
+                }
 
-            partitionTimeSeries.append(dateTime, offsetRange.getSmallest() + offsetRange.getLargest());
+                partitionTimeSeries.append(dateTime, offsetRange.getSmallest() + offsetRange.getLargest());
+            }
         }
     }
 
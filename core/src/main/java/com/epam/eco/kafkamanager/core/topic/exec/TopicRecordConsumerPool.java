@@ -0,0 +1,305 @@
+/*******************************************************************************
+ *  Copyright 2022 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.exec;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.epam.eco.kafkamanager.TopicRecordFetchParams.DataFormat;
+
+/**
+ * Bounded pool of record consumers, keyed by key/value data format combination, so
+ * that browsing doesn't pay for client bootstrap and deserializer (schema registry
+ * client) creation on every request. Consumers are handed out exclusively; on release
+ * their assignment is dropped and they are kept idle, up to the given number per
+ * format combination. Consumers idle longer than the given timeout are closed.
+ *
+ * <p>Consumers borrowed at once are limited per format combination too, idle ones are
+ * taken first, so the number of open consumers is bounded regardless of how many
+ * fetches run concurrently. Borrowing waits for a consumer to be released up to the
+ * given timeout and fails if none is.
+ *
+ * @author Andrei_Tytsik
+ */
+class TopicRecordConsumerPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopicRecordConsumerPool.class);
+
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final BiFunction<DataFormat, DataFormat, KafkaConsumer<?, ?>> consumerFactory;
+    private final int maxIdlePerFormat;
+    private final long idleTimeoutInNanos;
+    private final int maxPerFormat;
+    private final long borrowTimeoutInMs;
+
+    private final Map<FormatKey, Deque<IdleConsumer>> idleConsumers = new HashMap<>();
+    private final Map<FormatKey, Semaphore> permits = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService evictor;
+    private boolean closed = false;
+
+    public TopicRecordConsumerPool(
+            BiFunction<DataFormat, DataFormat, KafkaConsumer<?, ?>> consumerFactory,
+            int maxIdlePerFormat,
+            long idleTimeoutInMs) {
+        this(consumerFactory, maxIdlePerFormat, idleTimeoutInMs, Integer.MAX_VALUE, 0);
+    }
+
+    public TopicRecordConsumerPool(
+            BiFunction<DataFormat, DataFormat, KafkaConsumer<?, ?>> consumerFactory,
+            int maxIdlePerFormat,
+            long idleTimeoutInMs,
+            int maxPerFormat,
+            long borrowTimeoutInMs) {
+        Validate.notNull(consumerFactory, "Consumer factory can't be null");
+        Validate.isTrue(maxIdlePerFormat >= 0, "Max idle consumers per format is invalid");
+        Validate.isTrue(idleTimeoutInMs > 0, "Idle timeout is invalid");
+        Validate.isTrue(maxPerFormat > 0, "Max consumers per format is invalid");
+        Validate.isTrue(borrowTimeoutInMs >= 0, "Borrow timeout is invalid");
+
+        this.consumerFactory = consumerFactory;
+        this.maxIdlePerFormat = maxIdlePerFormat;
+        this.idleTimeoutInNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutInMs);
+        this.maxPerFormat = maxPerFormat;
+        this.borrowTimeoutInMs = borrowTimeoutInMs;
+    }
+
+    public void start() {
+        long evictionIntervalInMs = Math.max(TimeUnit.NANOSECONDS.toMillis(idleTimeoutInNanos) / 2, 1);
+        evictor = Executors.newSingleThreadScheduledExecutor(
+                new BasicThreadFactory.Builder().
+                        namingPattern("topic-record-consumer-evictor-%d").
+                        daemon(true).
+                        build());
+        evictor.scheduleWithFixedDelay(
+                this::evictIdleQuietly,
+                evictionIntervalInMs,
+                evictionIntervalInMs,
+                TimeUnit.MILLISECONDS);
+
+        LOGGER.info("Started");
+    }
+
+    public void close() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+
+        List<KafkaConsumer<?, ?>> toClose = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            idleConsumers.values().forEach(deque -> deque.forEach(idle -> toClose.add(idle.consumer)));
+            idleConsumers.clear();
+        }
+        toClose.forEach(TopicRecordConsumerPool::closeQuietly);
+
+        LOGGER.info("Closed");
+    }
+
+    /**
+     * Takes an idle consumer of the given format combination or creates a new one. The
+     * consumer has no assignment, it has to be given back via
+     * {@link #release(DataFormat, DataFormat, KafkaConsumer, boolean)}.
+     *
+     * @throws IllegalStateException if max number of consumers of the format combination
+     * is borrowed and none is released within the borrow timeout
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> KafkaConsumer<K, V> borrow(DataFormat keyFormat, DataFormat valueFormat) {
+        Validate.notNull(keyFormat, "Key data format is null");
+        Validate.notNull(valueFormat, "Value data format is null");
+
+        FormatKey formatKey = new FormatKey(keyFormat, valueFormat);
+        Semaphore permit = permits(formatKey);
+        acquire(permit, formatKey);
+        try {
+            synchronized (this) {
+                Validate.validState(!closed, "Pool is closed");
+
+                Deque<IdleConsumer> deque = idleConsumers.get(formatKey);
+                IdleConsumer idle = deque != null ? deque.pollLast() : null;
+                if (idle != null) {
+                    return (KafkaConsumer<K, V>) idle.consumer;
+                }
+            }
+
+            return (KafkaConsumer<K, V>) consumerFactory.apply(keyFormat, valueFormat);
+        } catch (RuntimeException re) {
+            permit.release();
+            throw re;
+        }
+    }
+
+    /**
+     * @param reusable {@code false} if the consumer may be left in an inconsistent state
+     * (e.g. fetch failed), such consumers are closed
+     */
+    public void release(
+            DataFormat keyFormat,
+            DataFormat valueFormat,
+            KafkaConsumer<?, ?> consumer,
+            boolean reusable) {
+        Validate.notNull(keyFormat, "Key data format is null");
+        Validate.notNull(valueFormat, "Value data format is null");
+        Validate.notNull(consumer, "Consumer is null");
+
+        FormatKey formatKey = new FormatKey(keyFormat, valueFormat);
+        try {
+            if (reusable) {
+                try {
+                    consumer.unsubscribe();
+                } catch (Exception ex) {
+                    LOGGER.warn("Failed to reset consumer, it won't be reused", ex);
+                    reusable = false;
+                }
+            }
+
+            if (reusable) {
+                synchronized (this) {
+                    if (!closed) {
+                        Deque<IdleConsumer> deque = idleConsumers.computeIfAbsent(
+                                formatKey, k -> new ArrayDeque<>());
+                        if (deque.size() < maxIdlePerFormat) {
+                            deque.addLast(new IdleConsumer(consumer, System.nanoTime()));
+                            return;
+                        }
+                    }
+                }
+            }
+
+            closeQuietly(consumer);
+        } finally {
+            permits(formatKey).release();
+        }
+    }
+
+    synchronized int idleCount() {
+        return idleConsumers.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    void evictIdle() {
+        long now = System.nanoTime();
+        List<KafkaConsumer<?, ?>> toClose = new ArrayList<>();
+        synchronized (this) {
+            for (Iterator<Deque<IdleConsumer>> it = idleConsumers.values().iterator(); it.hasNext(); ) {
+                Deque<IdleConsumer> deque = it.next();
+                // oldest consumers are at the head
+                while (!deque.isEmpty() && now - deque.peekFirst().releasedAt >= idleTimeoutInNanos) {
+                    toClose.add(deque.pollFirst().consumer);
+                }
+                if (deque.isEmpty()) {
+                    it.remove();
+                }
+            }
+        }
+        toClose.forEach(TopicRecordConsumerPool::closeQuietly);
+    }
+
+    private Semaphore permits(FormatKey formatKey) {
+        return permits.computeIfAbsent(formatKey, k -> new Semaphore(maxPerFormat, true));
+    }
+
+    private void acquire(Semaphore permit, FormatKey formatKey) {
+        try {
+            if (!permit.tryAcquire(borrowTimeoutInMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException(String.format(
+                        "No consumer of %s/%s formats was released within %d ms, max %d are in use",
+                        formatKey.keyFormat, formatKey.valueFormat, borrowTimeoutInMs, maxPerFormat));
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for consumer", ie);
+        }
+    }
+
+    private void evictIdleQuietly() {
+        try {
+            evictIdle();
+        } catch (Exception ex) {
+            LOGGER.error("Failed to evict idle consumers", ex);
+        }
+    }
+
+    private static void closeQuietly(KafkaConsumer<?, ?> consumer) {
+        try {
+            consumer.close(CLOSE_TIMEOUT);
+        } catch (Exception ex) {
+            LOGGER.warn("Failed to close consumer", ex);
+        }
+    }
+
+    static final class FormatKey {
+
+        private final DataFormat keyFormat;
+        private final DataFormat valueFormat;
+
+        FormatKey(DataFormat keyFormat, DataFormat valueFormat) {
+            this.keyFormat = keyFormat;
+            this.valueFormat = valueFormat;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyFormat, valueFormat);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof FormatKey)) {
+                return false;
+            }
+            FormatKey that = (FormatKey) obj;
+            return this.keyFormat == that.keyFormat && this.valueFormat == that.valueFormat;
+        }
+
+    }
+
+    private static final class IdleConsumer {
+
+        private final KafkaConsumer<?, ?> consumer;
+        private final long releasedAt;
+
+        private IdleConsumer(KafkaConsumer<?, ?> consumer, long releasedAt) {
+            this.consumer = consumer;
+            this.releasedAt = releasedAt;
+        }
+
+    }
+
+}
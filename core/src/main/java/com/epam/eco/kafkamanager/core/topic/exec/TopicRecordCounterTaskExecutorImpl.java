@@ -20,12 +20,16 @@ import java.util.concurrent.ExecutorService;
 import jakarta.annotation.PreDestroy;
 import javax.cache.CacheManager;
 
+import org.apache.kafka.common.config.TopicConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.epam.eco.commons.kafka.OffsetRange;
 import com.epam.eco.commons.kafka.helpers.RecordCounter;
 import com.epam.eco.kafkamanager.KafkaManager;
+import com.epam.eco.kafkamanager.TopicInfo;
 import com.epam.eco.kafkamanager.TopicRecordCounterTaskExecutor;
 import com.epam.eco.kafkamanager.core.autoconfigure.KafkaManagerProperties;
+import com.epam.eco.kafkamanager.core.offset.OffsetLookupService;
 import com.epam.eco.kafkamanager.exec.AbstractAsyncStatefullTaskExecutor;
 import com.epam.eco.kafkamanager.exec.TaskResult;
 
@@ -38,6 +42,8 @@ public class TopicRecordCounterTaskExecutorImpl extends AbstractAsyncStatefullTa
     private KafkaManager kafkaManager;
     @Autowired
     protected KafkaManagerProperties properties;
+    @Autowired
+    private OffsetLookupService offsetLookupService;
 
     public TopicRecordCounterTaskExecutorImpl(CacheManager cacheManager) {
         super(cacheManager);
@@ -55,11 +61,19 @@ public class TopicRecordCounterTaskExecutorImpl extends AbstractAsyncStatefullTa
     @Override
     protected TaskResult<Long> doExecute(String topicName) {
         return TaskResult.of(() -> {
-            kafkaManager.getTopic(topicName); // sanity check just for case topic doesn't exist
+            TopicInfo topicInfo = kafkaManager.getTopic(topicName); // sanity check just for case topic doesn't exist
+
+            // offsets of compacted topics don't reflect record count, so records have to be read
+            if (TopicConfig.CLEANUP_POLICY_COMPACT.equals(
+                    topicInfo.getConfig().get(TopicConfig.CLEANUP_POLICY_CONFIG))) {
+                return RecordCounter.
+                        with(properties.getCommonConsumerConfig()).
+                        count(topicName);
+            }
 
-            return RecordCounter.
-                    with(properties.getCommonConsumerConfig()).
-                    count(topicName);
+            return offsetLookupService.fetchOffsetRanges(topicInfo.getPartitions().keySet()).values().stream().
+                    mapToLong(OffsetRange::getSize).
+                    sum();
         });
     }
 
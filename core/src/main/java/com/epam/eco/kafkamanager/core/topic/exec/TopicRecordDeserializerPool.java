@@ -0,0 +1,189 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.exec;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.epam.eco.kafkamanager.TopicRecordFetchParams.DataFormat;
+import com.epam.eco.kafkamanager.core.topic.exec.TopicRecordConsumerPool.FormatKey;
+
+/**
+ * Pool of configured key/value deserializers, keyed by data format combination, for
+ * fetchers deserializing raw records themselves. Deserializers of Avro and Protobuf
+ * formats hold a schema registry client with its schema cache, so they are kept
+ * between fetches instead of being created for each of them. Deserializers are handed
+ * out exclusively and kept idle up to the given number per format combination.
+ *
+ * @author Andrei_Tytsik
+ */
+class TopicRecordDeserializerPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopicRecordDeserializerPool.class);
+
+    private final BiFunction<DataFormat, DataFormat, Map<String, Object>> configFactory;
+    private final int maxIdlePerFormat;
+
+    private final Map<FormatKey, Deque<Deserializers<?, ?>>> idleDeserializers = new HashMap<>();
+
+    private boolean closed = false;
+
+    /**
+     * @param configFactory creates consumer config holding deserializer classes and
+     * their config for the given key/value data formats
+     */
+    public TopicRecordDeserializerPool(
+            BiFunction<DataFormat, DataFormat, Map<String, Object>> configFactory,
+            int maxIdlePerFormat) {
+        Validate.notNull(configFactory, "Config factory can't be null");
+        Validate.isTrue(maxIdlePerFormat >= 0, "Max idle deserializers per format is invalid");
+
+        this.configFactory = configFactory;
+        this.maxIdlePerFormat = maxIdlePerFormat;
+    }
+
+    /**
+     * Takes idle deserializers of the given format combination or creates new ones, they
+     * have to be given back via {@link #release(DataFormat, DataFormat, Deserializers)}.
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> Deserializers<K, V> borrow(DataFormat keyFormat, DataFormat valueFormat) {
+        Validate.notNull(keyFormat, "Key data format is null");
+        Validate.notNull(valueFormat, "Value data format is null");
+
+        synchronized (this) {
+            Validate.validState(!closed, "Pool is closed");
+
+            Deque<Deserializers<?, ?>> deque = idleDeserializers.get(new FormatKey(keyFormat, valueFormat));
+            Deserializers<?, ?> idle = deque != null ? deque.pollLast() : null;
+            if (idle != null) {
+                return (Deserializers<K, V>) idle;
+            }
+        }
+
+        Map<String, Object> config = configFactory.apply(keyFormat, valueFormat);
+        Deserializer<K> keyDeserializer = createDeserializer(config, ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, true);
+        try {
+            return new Deserializers<>(
+                    keyDeserializer,
+                    createDeserializer(config, ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, false));
+        } catch (RuntimeException re) {
+            keyDeserializer.close();
+            throw re;
+        }
+    }
+
+    public void release(DataFormat keyFormat, DataFormat valueFormat, Deserializers<?, ?> deserializers) {
+        Validate.notNull(keyFormat, "Key data format is null");
+        Validate.notNull(valueFormat, "Value data format is null");
+        Validate.notNull(deserializers, "Deserializers are null");
+
+        synchronized (this) {
+            if (!closed) {
+                Deque<Deserializers<?, ?>> deque = idleDeserializers.computeIfAbsent(
+                        new FormatKey(keyFormat, valueFormat), k -> new ArrayDeque<>());
+                if (deque.size() < maxIdlePerFormat) {
+                    deque.addLast(deserializers);
+                    return;
+                }
+            }
+        }
+
+        deserializers.close();
+    }
+
+    public void close() {
+        List<Deserializers<?, ?>> toClose = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            idleDeserializers.values().forEach(toClose::addAll);
+            idleDeserializers.clear();
+        }
+        toClose.forEach(Deserializers::close);
+
+        LOGGER.info("Closed");
+    }
+
+    synchronized int idleCount() {
+        return idleDeserializers.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Deserializer<T> createDeserializer(
+            Map<String, Object> config,
+            String classConfig,
+            boolean isKey) {
+        Object deserializerClass = config.get(classConfig);
+        Validate.notNull(deserializerClass, "Consumer config has no %s", classConfig);
+
+        Deserializer<T> deserializer;
+        try {
+            deserializer = deserializerClass instanceof Class ?
+                           Utils.newInstance((Class<Deserializer<T>>)deserializerClass) :
+                           Utils.newInstance(deserializerClass.toString(), Deserializer.class);
+        } catch (ClassNotFoundException cnfe) {
+            throw new IllegalArgumentException("Deserializer class not found: " + deserializerClass, cnfe);
+        }
+        deserializer.configure(config, isKey);
+        return deserializer;
+    }
+
+    static final class Deserializers<K, V> {
+
+        private final Deserializer<K> keyDeserializer;
+        private final Deserializer<V> valueDeserializer;
+
+        private Deserializers(Deserializer<K> keyDeserializer, Deserializer<V> valueDeserializer) {
+            this.keyDeserializer = keyDeserializer;
+            this.valueDeserializer = valueDeserializer;
+        }
+
+        public Deserializer<K> getKeyDeserializer() {
+            return keyDeserializer;
+        }
+
+        public Deserializer<V> getValueDeserializer() {
+            return valueDeserializer;
+        }
+
+        private void close() {
+            closeQuietly(keyDeserializer);
+            closeQuietly(valueDeserializer);
+        }
+
+        private static void closeQuietly(Deserializer<?> deserializer) {
+            try {
+                deserializer.close();
+            } catch (Exception ex) {
+                LOGGER.warn("Failed to close deserializer", ex);
+            }
+        }
+
+    }
+
+}
@@ -15,17 +15,25 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager.core.topic.exec;
 
+import java.nio.file.Paths;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.epam.eco.commons.kafka.OffsetRange;
 import com.epam.eco.commons.kafka.config.ConsumerConfigBuilder;
-import com.epam.eco.commons.kafka.helpers.BiDirectionalTopicRecordFetcher;
 import com.epam.eco.commons.kafka.helpers.CachedTopicRecordFetcher;
 import com.epam.eco.commons.kafka.helpers.RecordBiDirectionalFetcher;
 import com.epam.eco.commons.kafka.helpers.RecordFetchResult;
@@ -52,6 +60,51 @@ public class TopicRecordFetcherTaskExecutorImpl<K, V> extends AbstractTaskExecut
     @Autowired
     protected KafkaManagerProperties properties;
 
+    private TopicRecordConsumerPool consumerPool;
+    private TopicRecordDeserializerPool deserializerPool;
+    private ExecutorService fetchWorkers;
+    private TopicRecordSegmentCache segmentCache;
+
+    @PostConstruct
+    public void init() {
+        consumerPool = new TopicRecordConsumerPool(
+                (keyFormat, valueFormat) -> new KafkaConsumer<>(buildConsumerConfig(keyFormat, valueFormat)),
+                properties.getTopicRecordFetcherMaxIdleConsumersPerFormat(),
+                properties.getTopicRecordFetcherConsumerIdleTimeoutInMs(),
+                properties.getTopicRecordFetcherMaxConsumersPerFormat(),
+                properties.getTopicRecordFetcherConsumerBorrowTimeoutInMs());
+        consumerPool.start();
+
+        if (properties.getTopicRecordFetcherParallelism() > 1) {
+            fetchWorkers = Executors.newFixedThreadPool(properties.getTopicRecordFetcherParallelism());
+        }
+
+        if (!StringUtils.isBlank(properties.getTopicRecordFetcherSegmentCacheDirectory())) {
+            deserializerPool = new TopicRecordDeserializerPool(
+                    this::buildConsumerConfig,
+                    properties.getTopicRecordFetcherMaxIdleConsumersPerFormat());
+            segmentCache = new TopicRecordSegmentCache(
+                    Paths.get(properties.getTopicRecordFetcherSegmentCacheDirectory()),
+                    properties.getTopicRecordFetcherSegmentCacheMaxSizeInBytes());
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (fetchWorkers != null) {
+            fetchWorkers.shutdownNow();
+        }
+        if (consumerPool != null) {
+            consumerPool.close();
+        }
+        if (segmentCache != null) {
+            segmentCache.close();
+        }
+        if (deserializerPool != null) {
+            deserializerPool.close();
+        }
+    }
+
     @Override
     protected TaskResult<RecordFetchResult<K, V>> doExecute(String resourceKey, TopicRecordFetchParams input) {
         return TaskResult.of(() -> executeInternal(resourceKey, input));
@@ -62,10 +115,56 @@ public class TopicRecordFetcherTaskExecutorImpl<K, V> extends AbstractTaskExecut
 
         kafkaManager.getTopic(topicName); // sanity check just for case topic doesn't exist
 
-        RecordBiDirectionalFetcher<K, V> recordFetcher = params.getUseCache() ?
-                                                         CachedTopicRecordFetcher.with(buildConsumerConfig(params)) :
-                                                         BiDirectionalTopicRecordFetcher.with(buildConsumerConfig(params));
+        if (params.getUseCache() && params.getOffsetBounds() == null) {
+            return fetch(
+                    topicName,
+                    params,
+                    CachedTopicRecordFetcher.with(
+                            buildConsumerConfig(params.getKeyDataFormat(), params.getValueDataFormat())));
+        }
+
+        if (segmentCache != null) {
+            return fetch(
+                    topicName,
+                    params,
+                    new SegmentCachedTopicRecordFetcher<>(
+                            segmentCache,
+                            consumerPool,
+                            deserializerPool,
+                            params.getKeyDataFormat(),
+                            params.getValueDataFormat(),
+                            toTopicPartitionBounds(topicName, params.getOffsetBounds())));
+        }
+
+        return fetch(
+                topicName,
+                params,
+                new ParallelTopicRecordFetcher<>(
+                        consumerPool,
+                        fetchWorkers,
+                        Math.max(properties.getTopicRecordFetcherParallelism(), 1),
+                        params.getKeyDataFormat(),
+                        params.getValueDataFormat(),
+                        buildConsumerConfig(params.getKeyDataFormat(), params.getValueDataFormat()),
+                        toTopicPartitionBounds(topicName, params.getOffsetBounds())));
+    }
+
+    private static Map<TopicPartition, OffsetRange> toTopicPartitionBounds(
+            String topicName,
+            Map<Integer, OffsetRange> offsetBounds) {
+        if (offsetBounds == null) {
+            return null;
+        }
+        return offsetBounds.entrySet().stream()
+                .collect(Collectors.toMap(
+                        e -> new TopicPartition(topicName, e.getKey()),
+                        Map.Entry::getValue));
+    }
 
+    private RecordFetchResult<K, V> fetch(
+            String topicName,
+            TopicRecordFetchParams<K,V> params,
+            RecordBiDirectionalFetcher<K, V> recordFetcher) {
         return params.getFetchMode().isItTimeFetch() ?
                fetchByTime(topicName, params, recordFetcher) :
                fetchByPosition(topicName, params, recordFetcher);
@@ -103,10 +202,14 @@ public class TopicRecordFetcherTaskExecutorImpl<K, V> extends AbstractTaskExecut
                 params.getFetchMode().getFetchDirection());
     }
 
-    private Map<String, Object> buildConsumerConfig(TopicRecordFetchParams<K,V> params) {
+    private Map<String, Object> buildConsumerConfig(DataFormat keyDataFormat, DataFormat valueDataFormat) {
         return properties.buildCommonConsumerConfig(builder -> {
-            initDeserializerConfig(builder, params.getKeyDataFormat(), true);
-            initDeserializerConfig(builder, params.getValueDataFormat(), false);
+            builder.minRequiredConfigs();
+            builder.enableAutoCommitDisabled();
+            builder.autoOffsetResetEarliest();
+            builder.clientIdRandom();
+            initDeserializerConfig(builder, keyDataFormat, true);
+            initDeserializerConfig(builder, valueDataFormat, false);
         });
     }
 
@@ -0,0 +1,487 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.exec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local cache of raw (not deserialized) records, stored in memory-mapped files. Each
+ * file holds a segment: all records of a contiguous offset range of a partition, as
+ * they were fetched from Kafka. Segments of a partition never overlap, storing a
+ * segment replaces the ones it overlaps with.
+ *
+ * <p>Total size of the segments is bounded, least recently read segments are evicted
+ * first. Segments which are no longer in the log (below log start offset, or beyond
+ * log end offset in case the partition was truncated or recreated) are dropped on
+ * {@link #invalidate(TopicPartition, long, long)}.
+ *
+ * <p>Segment files are kept in a subdirectory of the given directory owned by the cache
+ * instance and locked while it's open. Subdirectories of instances that are gone (e.g.
+ * after an unclean shutdown) are deleted on construction, so files are never reused
+ * across runs and don't pile up outside the size bound. A segment file is deleted once
+ * the segment is dropped, but its disk space is freed only when the mapping is garbage
+ * collected, so the disk usage may exceed the max size for a while after evictions.
+ *
+ * @author Andrei_Tytsik
+ */
+public class TopicRecordSegmentCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopicRecordSegmentCache.class);
+
+    private static final String INSTANCE_DIRECTORY_PREFIX = "segments-";
+    private static final String LOCK_FILE_NAME = ".lock";
+
+    private final Path directory;
+    private final FileChannel lockChannel;
+    private final long maxSizeInBytes;
+
+    private final Map<TopicPartition, NavigableMap<Long, Segment>> partitionSegments = new HashMap<>();
+    private final LinkedHashMap<Segment, Boolean> recentlyUsed = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeInBytes;
+
+    public TopicRecordSegmentCache(Path directory, long maxSizeInBytes) {
+        Validate.notNull(directory, "Directory is null");
+        Validate.isTrue(maxSizeInBytes > 0, "Max size is invalid");
+
+        try {
+            Files.createDirectories(directory);
+            deleteAbandonedInstanceDirectories(directory);
+
+            this.directory = Files.createTempDirectory(directory, INSTANCE_DIRECTORY_PREFIX);
+            this.lockChannel = FileChannel.open(
+                    this.directory.resolve(LOCK_FILE_NAME),
+                    StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE);
+            this.lockChannel.lock();
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Failed to create segment cache directory in " + directory, ioe);
+        }
+
+        this.maxSizeInBytes = maxSizeInBytes;
+    }
+
+    /**
+     * @return directory of the segment files of this cache instance
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return segment holding the given offset or {@code null} if there is no such one
+     */
+    public synchronized Segment get(TopicPartition partition, long offset) {
+        Validate.notNull(partition, "Partition is null");
+
+        NavigableMap<Long, Segment> segments = partitionSegments.get(partition);
+        Map.Entry<Long, Segment> entry = segments != null ? segments.floorEntry(offset) : null;
+        if (entry == null || entry.getValue().getLargestOffset() < offset) {
+            return null;
+        }
+
+        recentlyUsed.get(entry.getValue());
+        return entry.getValue();
+    }
+
+    /**
+     * Stores records of the given offset range. Records have to be ordered by offset,
+     * the range may have offsets with no records (compacted or transaction markers).
+     *
+     * @return stored segment, it stays readable even once evicted
+     */
+    public Segment put(
+            TopicPartition partition,
+            long smallestOffset,
+            long largestOffset,
+            List<ConsumerRecord<byte[], byte[]>> records) {
+        Validate.notNull(partition, "Partition is null");
+        Validate.isTrue(smallestOffset <= largestOffset, "Offset range is invalid");
+        Validate.notNull(records, "Records are null");
+
+        Path file;
+        try {
+            file = Files.createTempFile(directory, partition + "-" + smallestOffset + "-", ".segment");
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Failed to create segment file in " + directory, ioe);
+        }
+        Segment segment;
+        try {
+            segment = Segment.write(file, partition, smallestOffset, largestOffset, records);
+        } catch (RuntimeException re) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ioe) {
+                re.addSuppressed(ioe);
+            }
+            throw re;
+        }
+
+        synchronized (this) {
+            NavigableMap<Long, Segment> segments =
+                    partitionSegments.computeIfAbsent(partition, k -> new TreeMap<>());
+            Long fromKey = segments.floorKey(smallestOffset);
+            Iterator<Segment> overlapped = segments.subMap(
+                    fromKey != null ? fromKey : smallestOffset, true, largestOffset, true).values().iterator();
+            while (overlapped.hasNext()) {
+                Segment existing = overlapped.next();
+                if (existing.getLargestOffset() >= smallestOffset) {
+                    overlapped.remove();
+                    remove(existing);
+                }
+            }
+
+            segments.put(smallestOffset, segment);
+            recentlyUsed.put(segment, Boolean.TRUE);
+            sizeInBytes += segment.getSizeInBytes();
+
+            evictIfNeeded();
+        }
+        return segment;
+    }
+
+    /**
+     * Drops segments of the partition lying out of its current log.
+     */
+    public synchronized void invalidate(TopicPartition partition, long logStartOffset, long logEndOffset) {
+        Validate.notNull(partition, "Partition is null");
+
+        NavigableMap<Long, Segment> segments = partitionSegments.get(partition);
+        if (segments == null) {
+            return;
+        }
+
+        Iterator<Segment> iterator = segments.values().iterator();
+        while (iterator.hasNext()) {
+            Segment segment = iterator.next();
+            if (segment.getSmallestOffset() < logStartOffset || segment.getLargestOffset() >= logEndOffset) {
+                iterator.remove();
+                remove(segment);
+            }
+        }
+        if (segments.isEmpty()) {
+            partitionSegments.remove(partition);
+        }
+    }
+
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    public synchronized int getSegmentCount() {
+        return recentlyUsed.size();
+    }
+
+    public synchronized void clear() {
+        new ArrayList<>(recentlyUsed.keySet()).forEach(this::remove);
+        partitionSegments.clear();
+    }
+
+    /**
+     * Clears the cache and deletes its directory, the cache can't be used afterwards.
+     */
+    public synchronized void close() {
+        clear();
+        try {
+            lockChannel.close();
+            deleteDirectory(directory);
+        } catch (IOException ioe) {
+            LOGGER.warn("Failed to delete segment cache directory " + directory, ioe);
+        }
+    }
+
+    private static void deleteAbandonedInstanceDirectories(Path directory) throws IOException {
+        List<Path> instanceDirectories;
+        try (Stream<Path> paths = Files.list(directory)) {
+            instanceDirectories = paths
+                    .filter(Files::isDirectory)
+                    .filter(path -> path.getFileName().toString().startsWith(INSTANCE_DIRECTORY_PREFIX))
+                    .collect(Collectors.toList());
+        }
+        for (Path instanceDirectory : instanceDirectories) {
+            if (isAbandoned(instanceDirectory)) {
+                LOGGER.info("Deleting abandoned segment cache directory {}", instanceDirectory);
+                deleteDirectory(instanceDirectory);
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if no open cache instance holds the lock of the directory
+     */
+    private static boolean isAbandoned(Path instanceDirectory) throws IOException {
+        Path lockFile = instanceDirectory.resolve(LOCK_FILE_NAME);
+        if (!Files.exists(lockFile)) {
+            return true;
+        }
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                return false;
+            }
+            lock.release();
+            return true;
+        } catch (OverlappingFileLockException olfe) {
+            return false;
+        }
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Segment> iterator = recentlyUsed.keySet().iterator();
+        while (sizeInBytes > maxSizeInBytes && iterator.hasNext()) {
+            Segment eldest = iterator.next();
+            iterator.remove();
+            sizeInBytes -= eldest.getSizeInBytes();
+            eldest.delete();
+
+            NavigableMap<Long, Segment> segments = partitionSegments.get(eldest.getPartition());
+            segments.remove(eldest.getSmallestOffset());
+            if (segments.isEmpty()) {
+                partitionSegments.remove(eldest.getPartition());
+            }
+        }
+    }
+
+    private void remove(Segment segment) {
+        if (recentlyUsed.remove(segment) != null) {
+            sizeInBytes -= segment.getSizeInBytes();
+        }
+        segment.delete();
+    }
+
+    /**
+     * Records of an offset range of a partition in a memory-mapped file. Each record is
+     * laid out as offset, timestamp, timestamp type, key, value and headers, byte arrays
+     * are prefixed with their length ({@code -1} for nulls).
+     */
+    public static final class Segment {
+
+        private final TopicPartition partition;
+        private final long smallestOffset;
+        private final long largestOffset;
+        private final Path file;
+        private final ByteBuffer buffer;
+        private final long[] offsets;
+        private final int[] positions;
+
+        private Segment(
+                TopicPartition partition,
+                long smallestOffset,
+                long largestOffset,
+                Path file,
+                ByteBuffer buffer,
+                long[] offsets,
+                int[] positions) {
+            this.partition = partition;
+            this.smallestOffset = smallestOffset;
+            this.largestOffset = largestOffset;
+            this.file = file;
+            this.buffer = buffer;
+            this.offsets = offsets;
+            this.positions = positions;
+        }
+
+        public TopicPartition getPartition() {
+            return partition;
+        }
+        public long getSmallestOffset() {
+            return smallestOffset;
+        }
+        public long getLargestOffset() {
+            return largestOffset;
+        }
+        public int getSizeInBytes() {
+            return buffer.capacity();
+        }
+        public int getRecordCount() {
+            return offsets.length;
+        }
+
+        /**
+         * @return records within the given offsets (inclusive), ordered by offset
+         */
+        public List<ConsumerRecord<byte[], byte[]>> read(long fromOffset, long toOffset) {
+            int index = Arrays.binarySearch(offsets, fromOffset);
+            if (index < 0) {
+                index = -index - 1;
+            }
+
+            ByteBuffer reader = buffer.duplicate();
+            List<ConsumerRecord<byte[], byte[]>> records = new ArrayList<>();
+            for (; index < offsets.length && offsets[index] <= toOffset; index++) {
+                reader.position(positions[index]);
+                records.add(readRecord(reader));
+            }
+            return records;
+        }
+
+        private ConsumerRecord<byte[], byte[]> readRecord(ByteBuffer reader) {
+            long offset = reader.getLong();
+            long timestamp = reader.getLong();
+            TimestampType timestampType = TimestampType.values()[reader.get()];
+            byte[] key = readBytes(reader);
+            byte[] value = readBytes(reader);
+            RecordHeaders headers = new RecordHeaders();
+            for (int count = reader.getInt(); count > 0; count--) {
+                headers.add(new String(readBytes(reader), StandardCharsets.UTF_8), readBytes(reader));
+            }
+            return new ConsumerRecord<>(
+                    partition.topic(),
+                    partition.partition(),
+                    offset,
+                    timestamp,
+                    timestampType,
+                    key != null ? key.length : -1,
+                    value != null ? value.length : -1,
+                    key,
+                    value,
+                    headers,
+                    Optional.empty());
+        }
+
+        private void delete() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ioe) {
+                LOGGER.warn("Failed to delete segment file " + file, ioe);
+            }
+        }
+
+        private static Segment write(
+                Path file,
+                TopicPartition partition,
+                long smallestOffset,
+                long largestOffset,
+                List<ConsumerRecord<byte[], byte[]>> records) {
+            long size = 0;
+            for (ConsumerRecord<byte[], byte[]> record : records) {
+                size += sizeOf(record);
+            }
+            Validate.isTrue(size <= Integer.MAX_VALUE, "Segment is too large");
+
+            long[] offsets = new long[records.size()];
+            int[] positions = new int[records.size()];
+            try (FileChannel channel = FileChannel.open(
+                    file,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, size);
+                for (int i = 0; i < records.size(); i++) {
+                    ConsumerRecord<byte[], byte[]> record = records.get(i);
+                    offsets[i] = record.offset();
+                    positions[i] = buffer.position();
+                    writeRecord(buffer, record);
+                }
+                return new Segment(
+                        partition, smallestOffset, largestOffset, file, buffer.clear(), offsets, positions);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException("Failed to write segment file " + file, ioe);
+            }
+        }
+
+        private static void writeRecord(ByteBuffer buffer, ConsumerRecord<byte[], byte[]> record) {
+            buffer.putLong(record.offset());
+            buffer.putLong(record.timestamp());
+            buffer.put((byte)record.timestampType().ordinal());
+            writeBytes(buffer, record.key());
+            writeBytes(buffer, record.value());
+            Header[] headers = record.headers().toArray();
+            buffer.putInt(headers.length);
+            for (Header header : headers) {
+                writeBytes(buffer, header.key().getBytes(StandardCharsets.UTF_8));
+                writeBytes(buffer, header.value());
+            }
+        }
+
+        private static long sizeOf(ConsumerRecord<byte[], byte[]> record) {
+            long size = Long.BYTES + Long.BYTES + 1 + sizeOf(record.key()) + sizeOf(record.value()) + Integer.BYTES;
+            for (Header header : record.headers()) {
+                size += sizeOf(header.key().getBytes(StandardCharsets.UTF_8)) + sizeOf(header.value());
+            }
+            return size;
+        }
+
+        private static int sizeOf(byte[] bytes) {
+            return Integer.BYTES + (bytes != null ? bytes.length : 0);
+        }
+
+        private static void writeBytes(ByteBuffer buffer, byte[] bytes) {
+            if (bytes == null) {
+                buffer.putInt(-1);
+            } else {
+                buffer.putInt(bytes.length);
+                buffer.put(bytes);
+            }
+        }
+
+        private static byte[] readBytes(ByteBuffer buffer) {
+            int length = buffer.getInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return bytes;
+        }
+
+    }
+
+}
@@ -0,0 +1,312 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.index;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.epam.eco.kafkamanager.TopicKeyIndex;
+import com.epam.eco.kafkamanager.TopicKeyLocation;
+
+/**
+ * Indexes keys of the selected topics in the background. A single consumer tails all
+ * partitions of the topics and puts offset and timestamp of each record into the
+ * {@link TopicKeyIndexFile} of its partition, so the latest record having a key can be
+ * looked up in each partition without scanning it. Indexes are checkpointed periodically and
+ * on close, indexing resumes from the checkpointed offsets after restart. The directory
+ * is locked while the engine runs, so instances can't share it.
+ *
+ * @author Andrei_Tytsik
+ */
+public class TopicKeyIndexEngine implements TopicKeyIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopicKeyIndexEngine.class);
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final long ASSIGNMENT_REFRESH_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+    private static final long CHECKPOINT_INTERVAL_MS = TimeUnit.SECONDS.toMillis(10);
+    private static final String LOCK_FILE_NAME = ".lock";
+
+    private final Set<String> topics;
+    private final Path directory;
+    private final int maxKeysPerPartition;
+    private final Supplier<Consumer<byte[], byte[]>> consumerFactory;
+
+    private final Map<String, Integer> partitionCounts = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, TopicKeyIndexFile> files = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private volatile Consumer<byte[], byte[]> consumer;
+    private Thread indexer;
+    private FileChannel lockChannel;
+
+    /**
+     * @param topics topics to index, empty list disables the engine
+     */
+    public TopicKeyIndexEngine(
+            List<String> topics,
+            Path directory,
+            int maxKeysPerPartition,
+            Supplier<Consumer<byte[], byte[]>> consumerFactory) {
+        Validate.notNull(consumerFactory, "Consumer factory is null");
+        if (!CollectionUtils.isEmpty(topics)) {
+            Validate.noNullElements(topics, "Collection of topics contains null elements");
+            Validate.notNull(directory, "Directory is null");
+            Validate.isTrue(
+                    maxKeysPerPartition > 0 && maxKeysPerPartition <= TopicKeyIndexFile.MAX_KEYS,
+                    "Max keys per partition %d is invalid, it must be in range [1, %d]",
+                    maxKeysPerPartition, TopicKeyIndexFile.MAX_KEYS);
+        }
+
+        this.topics = !CollectionUtils.isEmpty(topics) ? Set.copyOf(topics) : Collections.emptySet();
+        this.directory = directory;
+        this.maxKeysPerPartition = maxKeysPerPartition;
+        this.consumerFactory = consumerFactory;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (topics.isEmpty()) {
+            LOGGER.info("Disabled");
+            return;
+        }
+
+        try {
+            Files.createDirectories(directory);
+            lockChannel = lockDirectory(directory);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Failed to create key index directory " + directory, ioe);
+        }
+
+        running = true;
+        indexer = new Thread(this::run, "topic-key-indexer");
+        indexer.setDaemon(true);
+        indexer.start();
+
+        LOGGER.info("Started");
+    }
+
+    @PreDestroy
+    public void close() {
+        running = false;
+        if (indexer != null) {
+            Consumer<byte[], byte[]> current = consumer;
+            if (current != null) {
+                current.wakeup();
+            }
+            try {
+                indexer.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (lockChannel != null) {
+            try {
+                lockChannel.close();
+            } catch (IOException ioe) {
+                LOGGER.warn("Failed to unlock key index directory " + directory, ioe);
+            }
+            lockChannel = null;
+        }
+
+        LOGGER.info("Closed");
+    }
+
+    /**
+     * @return channel of the lock file holding the lock of the directory
+     * @throws IllegalStateException if the directory is locked by another instance
+     */
+    private static FileChannel lockDirectory(Path directory) throws IOException {
+        FileChannel channel = FileChannel.open(
+                directory.resolve(LOCK_FILE_NAME),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException olfe) {
+            lock = null;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IllegalStateException(String.format(
+                    "Key index directory %s is used by another instance", directory));
+        }
+        return channel;
+    }
+
+    @Override
+    public boolean isIndexed(String topicName) {
+        return topics.contains(topicName);
+    }
+
+    @Override
+    public List<TopicKeyLocation> locate(String topicName, String key) {
+        Validate.notBlank(topicName, "Topic name is blank");
+        Validate.notNull(key, "Key is null");
+
+        Integer partitionCount = partitionCounts.get(topicName);
+        if (partitionCount == null) {
+            return Collections.emptyList();
+        }
+
+        List<TopicKeyLocation> locations = new ArrayList<>(partitionCount);
+        for (int partition = 0; partition < partitionCount; partition++) {
+            TopicKeyIndexFile file = files.get(new TopicPartition(topicName, partition));
+            if (file != null) {
+                locations.add(file.locate(topicName, partition, key));
+            }
+        }
+        return locations;
+    }
+
+    /**
+     * Assigns partitions of the topics, partitions seen for the first time get their
+     * index files opened. All partitions are positioned at their indexed offsets.
+     */
+    void refreshAssignment(Consumer<byte[], byte[]> consumer) {
+        List<TopicPartition> partitions = new ArrayList<>();
+        for (String topic : topics) {
+            List<PartitionInfo> infos = consumer.partitionsFor(topic);
+            if (CollectionUtils.isEmpty(infos)) {
+                continue;
+            }
+            infos.forEach(info -> partitions.add(new TopicPartition(topic, info.partition())));
+            partitionCounts.put(topic, infos.size());
+        }
+
+        if (new HashSet<>(partitions).equals(consumer.assignment())) {
+            return;
+        }
+
+        Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitions);
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+        for (TopicPartition partition : partitions) {
+            files.computeIfAbsent(partition, key -> {
+                TopicKeyIndexFile file = new TopicKeyIndexFile(
+                        directory.resolve(key.topic() + "-" + key.partition() + ".idx"),
+                        maxKeysPerPartition);
+                Long endOffset = endOffsets.get(key);
+                if (endOffset != null && file.getIndexedOffset() > endOffset) {
+                    LOGGER.warn("Key index of {} is ahead of the log, rebuilding it", key);
+                    file.clear();
+                }
+                return file;
+            });
+        }
+
+        consumer.assign(partitions);
+        for (TopicPartition partition : partitions) {
+            consumer.seek(
+                    partition,
+                    Math.max(
+                            files.get(partition).getIndexedOffset(),
+                            beginningOffsets.getOrDefault(partition, 0L)));
+        }
+    }
+
+    void index(Consumer<byte[], byte[]> consumer, ConsumerRecords<byte[], byte[]> records) {
+        for (ConsumerRecord<byte[], byte[]> record : records) {
+            if (record.key() == null) {
+                continue;
+            }
+            TopicKeyIndexFile file = files.get(new TopicPartition(record.topic(), record.partition()));
+            if (file != null) {
+                file.put(TopicKeyIndexFile.hash(record.key()), record.offset(), record.timestamp());
+            }
+        }
+        for (TopicPartition partition : consumer.assignment()) {
+            TopicKeyIndexFile file = files.get(partition);
+            if (file != null) {
+                file.setIndexedOffset(consumer.position(partition));
+            }
+        }
+    }
+
+    void checkpoint() {
+        files.values().forEach(TopicKeyIndexFile::checkpoint);
+    }
+
+    private void run() {
+        long nextAssignmentRefresh = 0;
+        long nextCheckpoint = System.currentTimeMillis() + CHECKPOINT_INTERVAL_MS;
+        try (Consumer<byte[], byte[]> consumer = consumerFactory.get()) {
+            this.consumer = consumer;
+            while (running) {
+                try {
+                    if (System.currentTimeMillis() >= nextAssignmentRefresh) {
+                        refreshAssignment(consumer);
+                        nextAssignmentRefresh = System.currentTimeMillis() + ASSIGNMENT_REFRESH_INTERVAL_MS;
+                    }
+                    index(consumer, consumer.poll(POLL_TIMEOUT));
+                    if (System.currentTimeMillis() >= nextCheckpoint) {
+                        checkpoint();
+                        nextCheckpoint = System.currentTimeMillis() + CHECKPOINT_INTERVAL_MS;
+                    }
+                } catch (WakeupException we) {
+                    // closed
+                } catch (Exception ex) {
+                    LOGGER.error("Failed to index topic keys", ex);
+                    nextAssignmentRefresh = 0;
+                    sleepQuietly();
+                }
+            }
+        } finally {
+            this.consumer = null;
+            files.values().forEach(TopicKeyIndexFile::close);
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(POLL_TIMEOUT.toMillis());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+}
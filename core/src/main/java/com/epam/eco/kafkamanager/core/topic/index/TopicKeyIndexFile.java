@@ -0,0 +1,293 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.index;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.common.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.epam.eco.kafkamanager.TopicKeyLocation;
+
+/**
+ * Key index of a single partition: memory-mapped open addressing hash table from key
+ * hash to offset and timestamp of the latest record having the key. The table has a
+ * fixed number of slots, once it holds the max number of keys, keys not indexed yet
+ * are skipped and the index is marked as incomplete.
+ *
+ * <p>The file starts with two checkpoint records written in turns, each of them holds
+ * the offset the partition is indexed up to and is protected by a checksum. Slots are
+ * flushed before a checkpoint is written, so after a crash the index is consistent as
+ * of the latest valid checkpoint, slots changed after it are fixed up by indexing
+ * records from the checkpointed offset again.
+ *
+ * @author Andrei_Tytsik
+ */
+public class TopicKeyIndexFile implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopicKeyIndexFile.class);
+
+    private static final int CHECKPOINT_SIZE = 32;
+    private static final int HEADER_SIZE = CHECKPOINT_SIZE * 2;
+    private static final int SLOT_SIZE = 24;
+    private static final long EMPTY = 0;
+
+    /**
+     * Max number of keys, so the file (at most twice as many slots as keys, rounded up
+     * to a power of two) can still be mapped as a whole.
+     */
+    public static final int MAX_KEYS = 1 << 25;
+
+    private final Path file;
+    private final int maxKeys;
+    private final int slotCount;
+
+    private MappedByteBuffer buffer;
+    private long sequence;
+    private long indexedOffset;
+    private boolean complete;
+    private int keyCount;
+
+    public TopicKeyIndexFile(Path file, int maxKeys) {
+        Validate.notNull(file, "File is null");
+        Validate.isTrue(
+                maxKeys > 0 && maxKeys <= MAX_KEYS,
+                "Max keys %d is invalid, it must be in range [1, %d]", maxKeys, MAX_KEYS);
+
+        this.file = file;
+        this.maxKeys = maxKeys;
+        this.slotCount = Integer.highestOneBit(maxKeys * 2 - 1) << 1;
+
+        open();
+    }
+
+    /**
+     * @return hash of the serialized key, never {@code 0}
+     */
+    public static long hash(byte[] key) {
+        Validate.notNull(key, "Key is null");
+
+        long hash = ((long)Utils.murmur2(key) << 32) | (Arrays.hashCode(key) & 0xFFFFFFFFL);
+        return hash != EMPTY ? hash : 1;
+    }
+
+    /**
+     * Indexes the record unless it's older than the one already indexed for the key.
+     *
+     * @return {@code false} if the key isn't indexed because the index is full
+     */
+    public synchronized boolean put(long hash, long offset, long timestamp) {
+        Validate.isTrue(hash != EMPTY, "Hash is invalid");
+
+        int slot = findSlot(hash);
+        int position = positionOf(slot);
+        if (buffer.getLong(position) == hash) {
+            if (buffer.getLong(position + 8) <= offset) {
+                buffer.putLong(position + 8, offset);
+                buffer.putLong(position + 16, timestamp);
+            }
+            return true;
+        }
+
+        if (keyCount >= maxKeys) {
+            complete = false;
+            return false;
+        }
+        buffer.putLong(position + 8, offset);
+        buffer.putLong(position + 16, timestamp);
+        buffer.putLong(position, hash);
+        keyCount++;
+        return true;
+    }
+
+    /**
+     * @return offset and timestamp of the latest record having the key; {@code null} if
+     * the key isn't indexed
+     */
+    public synchronized long[] get(long hash) {
+        Validate.isTrue(hash != EMPTY, "Hash is invalid");
+
+        int position = positionOf(findSlot(hash));
+        if (buffer.getLong(position) != hash) {
+            return null;
+        }
+        return new long[] {buffer.getLong(position + 8), buffer.getLong(position + 16)};
+    }
+
+    /**
+     * Looks the key up together with the indexed offset, so that records after the
+     * returned one are either indexed or lie at or after the indexed offset.
+     */
+    public synchronized TopicKeyLocation locate(String topicName, int partition, String key) {
+        long[] entry = get(hash(key.getBytes(StandardCharsets.UTF_8)));
+        return new TopicKeyLocation(
+                topicName,
+                key,
+                partition,
+                entry != null ? entry[0] : null,
+                entry != null ? entry[1] : null,
+                indexedOffset,
+                complete);
+    }
+
+    public synchronized long getIndexedOffset() {
+        return indexedOffset;
+    }
+
+    public synchronized void setIndexedOffset(long indexedOffset) {
+        Validate.isTrue(indexedOffset >= 0, "Indexed offset is invalid");
+
+        this.indexedOffset = indexedOffset;
+    }
+
+    public synchronized boolean isComplete() {
+        return complete;
+    }
+
+    public synchronized int getKeyCount() {
+        return keyCount;
+    }
+
+    /**
+     * Flushes slots and then persists the indexed offset.
+     */
+    public synchronized void checkpoint() {
+        buffer.force();
+        writeCheckpoint(++sequence % 2 == 0 ? 0 : CHECKPOINT_SIZE);
+        buffer.force();
+    }
+
+    /**
+     * Drops all keys, the partition has to be indexed from the beginning.
+     */
+    public synchronized void clear() {
+        for (int position = 0; position < buffer.capacity(); position += 8) {
+            buffer.putLong(position, EMPTY);
+        }
+        sequence = 0;
+        indexedOffset = 0;
+        complete = true;
+        keyCount = 0;
+        checkpoint();
+    }
+
+    @Override
+    public synchronized void close() {
+        checkpoint();
+    }
+
+    private void open() {
+        long size = HEADER_SIZE + (long)slotCount * SLOT_SIZE;
+        try {
+            boolean existing = Files.exists(file) && Files.size(file) == size;
+            if (!existing) {
+                Files.deleteIfExists(file);
+            }
+            try (FileChannel channel = FileChannel.open(
+                    file,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                buffer = channel.map(MapMode.READ_WRITE, 0, size);
+            }
+
+            if (existing && readCheckpoints()) {
+                for (int slot = 0; slot < slotCount; slot++) {
+                    if (buffer.getLong(positionOf(slot)) != EMPTY) {
+                        keyCount++;
+                    }
+                }
+            } else {
+                if (existing) {
+                    LOGGER.warn("Key index file {} has no valid checkpoint, rebuilding it", file);
+                }
+                clear();
+            }
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Failed to open key index file " + file, ioe);
+        }
+    }
+
+    /**
+     * @return {@code true} if there is a valid checkpoint, the latest one is loaded
+     */
+    private boolean readCheckpoints() {
+        boolean found = false;
+        for (int position = 0; position < HEADER_SIZE; position += CHECKPOINT_SIZE) {
+            long checkpointSequence = buffer.getLong(position);
+            if (buffer.getInt(position + 28) != checksum(position) ||
+                    buffer.getInt(position + 20) != slotCount ||
+                    (found && checkpointSequence <= sequence)) {
+                continue;
+            }
+            sequence = checkpointSequence;
+            indexedOffset = buffer.getLong(position + 8);
+            complete = buffer.getInt(position + 16) != 0;
+            found = true;
+        }
+        return found;
+    }
+
+    private void writeCheckpoint(int position) {
+        buffer.putLong(position, sequence);
+        buffer.putLong(position + 8, indexedOffset);
+        buffer.putInt(position + 16, complete ? 1 : 0);
+        buffer.putInt(position + 20, slotCount);
+        buffer.putInt(position + 24, 0);
+        buffer.putInt(position + 28, checksum(position));
+    }
+
+    private int checksum(int position) {
+        CRC32 crc = new CRC32();
+        for (int i = position; i < position + 28; i++) {
+            crc.update(buffer.get(i));
+        }
+        return (int)crc.getValue();
+    }
+
+    /**
+     * @return slot holding the hash or the empty slot it would be put into
+     */
+    private int findSlot(long hash) {
+        int mask = slotCount - 1;
+        int slot = (int)((hash ^ (hash >>> 29)) & mask);
+        while (true) {
+            long slotHash = buffer.getLong(positionOf(slot));
+            if (slotHash == hash || slotHash == EMPTY) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static int positionOf(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+}
@@ -0,0 +1,472 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.repo.kafka;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.ConfigEntry.ConfigSource;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Uuid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.epam.eco.kafkamanager.KafkaAdminOperations;
+
+/**
+ * Keeps topics in sync with the cluster by polling AdminClient. Each cycle lists topic
+ * names, removed topics are dropped right away. Topics are described if they are new,
+ * explicitly requested via {@link #requestRefresh(String)} or in a rolling batch of the
+ * rest, so a cycle never describes the whole cluster and changes made outside of the
+ * repo (partition reassignments, recreated topics) become visible within
+ * (topic count / batch size) cycles. Descriptions are diffed by topic id: only new,
+ * recreated or changed topics are replaced and reported to the listener. Configs are
+ * described the same way, with a rolling batch of their own.
+ *
+ * @author Andrei_Tytsik
+ */
+class KafkaTopicCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaTopicCache.class);
+
+    private static final int DESCRIBE_CONFIGS_BATCH_SIZE = 1000;
+
+    private final KafkaAdminOperations adminOperations;
+    private final long pollIntervalInMs;
+    private final int describeResyncBatchSize;
+    private final int configResyncBatchSize;
+
+    private final Map<String, Topic> topicCache = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /*
+     * Below state is touched by the poller thread only.
+     */
+    private final Set<String> configRefreshTopicNames = new HashSet<>();
+    private final Deque<String> describeResyncQueue = new ArrayDeque<>();
+    private final Deque<String> configResyncQueue = new ArrayDeque<>();
+
+    private final CacheListener cacheListener;
+
+    private ScheduledExecutorService executor;
+
+    public KafkaTopicCache(
+            KafkaAdminOperations adminOperations,
+            long pollIntervalInMs,
+            int describeResyncBatchSize,
+            int configResyncBatchSize,
+            CacheListener cacheListener) {
+        Validate.notNull(adminOperations, "Admin operations can't be null");
+        Validate.isTrue(pollIntervalInMs > 0, "Poll interval is invalid");
+        Validate.isTrue(describeResyncBatchSize >= 0, "Describe resync batch size is invalid");
+        Validate.isTrue(configResyncBatchSize >= 0, "Config resync batch size is invalid");
+        Validate.notNull(cacheListener, "Cache Listener can't be null");
+
+        this.adminOperations = adminOperations;
+        this.pollIntervalInMs = pollIntervalInMs;
+        this.describeResyncBatchSize = describeResyncBatchSize;
+        this.configResyncBatchSize = configResyncBatchSize;
+        this.cacheListener = cacheListener;
+    }
+
+    public void start() throws Exception {
+        executor = Executors.newSingleThreadScheduledExecutor(
+                new BasicThreadFactory.Builder().
+                        namingPattern("kafka-topic-cache-%d").
+                        daemon(true).
+                        build());
+        executor.submit(() -> {
+            poll(Collections.emptySet());
+            return null;
+        }).get();
+        executor.scheduleWithFixedDelay(
+                () -> pollQuietly(Collections.emptySet()),
+                pollIntervalInMs,
+                pollIntervalInMs,
+                TimeUnit.MILLISECONDS);
+
+        LOGGER.info("Started");
+    }
+
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+
+        LOGGER.info("Closed");
+    }
+
+    /**
+     * Schedules an out-of-order poll cycle. Config of the given topic is described
+     * within the cycle and reported to the listener even if it hasn't changed.
+     */
+    public void requestRefresh(String topicName) {
+        Validate.notBlank(topicName, "Topic name is blank");
+
+        executor.execute(() -> pollQuietly(Collections.singleton(topicName)));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return topicCache.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String topicName) {
+        lock.readLock().lock();
+        try {
+            return topicCache.containsKey(topicName);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<String> listTopicNames() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(topicCache.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Topic getTopic(String topicName) {
+        lock.readLock().lock();
+        try {
+            return topicCache.get(topicName);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public <T, E extends Throwable> T callIfTopicAbsentOrElseThrow(
+            String topicName,
+            Callable<T> callable,
+            Supplier<E> exception) throws E {
+        Validate.notNull(callable, "Callable can't be null");
+        Validate.notNull(exception, "Exception can't be null");
+
+        lock.readLock().lock();
+        try {
+            if (!topicCache.containsKey(topicName)) {
+                try {
+                    return callable.call();
+                } catch (Exception ex) {
+                    throw new RuntimeException(ex);
+                }
+            } else {
+                throw exception.get();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public <T, E extends Throwable> T callIfTopicPresentOrElseThrow(
+            String topicName,
+            Function<Topic, T> function,
+            Supplier<E> exception) throws E {
+        Validate.notNull(function, "Function can't be null");
+        Validate.notNull(exception, "Exception can't be null");
+
+        lock.readLock().lock();
+        try {
+            Topic topic = topicCache.get(topicName);
+            if (topic != null) {
+                return function.apply(topic);
+            } else {
+                throw exception.get();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void pollQuietly(Collection<String> requestedTopicNames) {
+        try {
+            poll(requestedTopicNames);
+        } catch (Exception ex) {
+            LOGGER.error("Failed to poll topics", ex);
+        }
+    }
+
+    private void poll(Collection<String> requestedTopicNames) {
+        Set<String> topicNames = new HashSet<>(adminOperations.listTopicNames());
+
+        Map<String, TopicDescription> descriptions = adminOperations.describeTopics(
+                collectTopicNamesToDescribe(topicNames, requestedTopicNames));
+
+        configRefreshTopicNames.addAll(requestedTopicNames);
+        Map<String, Map<String, String>> configs = describeConfigs(
+                collectTopicNamesToDescribeConfigs(topicNames, descriptions));
+
+        List<Topic> updatedTopics = new ArrayList<>();
+        List<Topic> topicsWithUpdatedConfig = new ArrayList<>();
+        List<String> namesOfRemovedTopics = new ArrayList<>();
+
+        // safe to read without lock as the cache is modified by this (poller) thread only
+        for (TopicDescription description : descriptions.values()) {
+            String topicName = description.name();
+            Topic topic = topicCache.get(topicName);
+            Map<String, String> config = configs.get(topicName);
+            if (topic == null || !Objects.equals(topic.id, description.topicId())) {
+                if (config != null) {
+                    updatedTopics.add(new Topic(description, config));
+                }
+                continue;
+            }
+
+            boolean descriptionChanged = !topic.description.equals(description);
+            boolean configChanged = config != null && !config.equals(topic.config);
+            if (descriptionChanged || configChanged) {
+                topic = topic.with(
+                        descriptionChanged ? description : topic.description,
+                        configChanged ? config : topic.config);
+            }
+            if (descriptionChanged) {
+                updatedTopics.add(topic);
+            }
+            if (configChanged || (config != null && requestedTopicNames.contains(topicName))) {
+                topicsWithUpdatedConfig.add(topic);
+            }
+        }
+        // configs resynced for topics not described within this cycle
+        for (Map.Entry<String, Map<String, String>> entry : configs.entrySet()) {
+            Topic topic = topicCache.get(entry.getKey());
+            if (topic == null || descriptions.containsKey(entry.getKey())) {
+                continue;
+            }
+            if (!entry.getValue().equals(topic.config)) {
+                topicsWithUpdatedConfig.add(topic.with(topic.description, entry.getValue()));
+            }
+        }
+        for (String topicName : topicCache.keySet()) {
+            if (!topicNames.contains(topicName)) {
+                namesOfRemovedTopics.add(topicName);
+            }
+        }
+
+        applyChanges(updatedTopics, topicsWithUpdatedConfig, namesOfRemovedTopics);
+
+        fireCacheListener(updatedTopics, topicsWithUpdatedConfig, namesOfRemovedTopics);
+    }
+
+    private Set<String> collectTopicNamesToDescribe(
+            Set<String> existingTopicNames,
+            Collection<String> requestedTopicNames) {
+        Set<String> topicNames = new HashSet<>();
+
+        for (String topicName : existingTopicNames) {
+            if (!topicCache.containsKey(topicName)) {
+                topicNames.add(topicName);
+            }
+        }
+        for (String topicName : requestedTopicNames) {
+            if (existingTopicNames.contains(topicName)) {
+                topicNames.add(topicName);
+            }
+        }
+
+        if (describeResyncQueue.isEmpty()) {
+            describeResyncQueue.addAll(topicCache.keySet());
+        }
+        for (int i = 0; i < describeResyncBatchSize && !describeResyncQueue.isEmpty(); i++) {
+            String topicName = describeResyncQueue.poll();
+            if (existingTopicNames.contains(topicName)) {
+                topicNames.add(topicName);
+            }
+        }
+
+        return topicNames;
+    }
+
+    private Set<String> collectTopicNamesToDescribeConfigs(
+            Set<String> existingTopicNames,
+            Map<String, TopicDescription> descriptions) {
+        Set<String> topicNames = new HashSet<>();
+
+        for (TopicDescription description : descriptions.values()) {
+            Topic topic = topicCache.get(description.name());
+            if (topic == null || !Objects.equals(topic.id, description.topicId())) {
+                topicNames.add(description.name());
+            }
+        }
+
+        configRefreshTopicNames.retainAll(existingTopicNames);
+        topicNames.addAll(configRefreshTopicNames);
+
+        if (configResyncQueue.isEmpty()) {
+            configResyncQueue.addAll(topicCache.keySet());
+        }
+        for (int i = 0; i < configResyncBatchSize && !configResyncQueue.isEmpty(); i++) {
+            String topicName = configResyncQueue.poll();
+            if (existingTopicNames.contains(topicName)) {
+                topicNames.add(topicName);
+            }
+        }
+
+        return topicNames;
+    }
+
+    private Map<String, Map<String, String>> describeConfigs(Set<String> topicNames) {
+        Map<String, Map<String, String>> configs = new HashMap<>();
+        for (List<String> batch : ListUtils.partition(new ArrayList<>(topicNames), DESCRIBE_CONFIGS_BATCH_SIZE)) {
+            try {
+                adminOperations.describeTopicConfigs(batch).forEach(
+                        (topicName, config) -> configs.put(topicName, toDynamicConfigMap(config)));
+            } catch (Exception ex) {
+                LOGGER.warn(
+                        String.format("Failed to describe configs of %d topics, will retry", batch.size()),
+                        ex);
+            }
+        }
+        configRefreshTopicNames.removeAll(configs.keySet());
+        return configs;
+    }
+
+    private static Map<String, String> toDynamicConfigMap(Config config) {
+        Map<String, String> map = new HashMap<>();
+        for (ConfigEntry entry : config.entries()) {
+            if (entry.source() == ConfigSource.DYNAMIC_TOPIC_CONFIG && entry.value() != null) {
+                map.put(entry.name(), entry.value());
+            }
+        }
+        return map;
+    }
+
+    private void applyChanges(
+            List<Topic> updatedTopics,
+            List<Topic> topicsWithUpdatedConfig,
+            List<String> namesOfRemovedTopics) {
+        if (updatedTopics.isEmpty() && topicsWithUpdatedConfig.isEmpty() && namesOfRemovedTopics.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            updatedTopics.forEach(topic -> topicCache.put(topic.name, topic));
+            topicsWithUpdatedConfig.forEach(topic -> topicCache.put(topic.name, topic));
+            namesOfRemovedTopics.forEach(topicCache::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void fireCacheListener(
+            List<Topic> updatedTopics,
+            List<Topic> topicsWithUpdatedConfig,
+            List<String> namesOfRemovedTopics) {
+        for (Topic topic : updatedTopics) {
+            try {
+                cacheListener.onTopicUpdated(topic);
+            } catch (Exception ex) {
+                LOGGER.error(
+                        String.format("Failed to handle 'topic updated' event. Topic = %s", topic),
+                        ex);
+            }
+        }
+        for (Topic topic : topicsWithUpdatedConfig) {
+            try {
+                cacheListener.onTopicConfigUpdated(topic);
+            } catch (Exception ex) {
+                LOGGER.error(
+                        String.format("Failed to handle 'topic config updated' event. Topic = %s", topic),
+                        ex);
+            }
+        }
+        for (String topicName : namesOfRemovedTopics) {
+            try {
+                cacheListener.onTopicRemoved(topicName);
+            } catch (Exception ex) {
+                LOGGER.error(
+                        String.format("Failed to handle 'topic removed' event. Topic name = %s", topicName),
+                        ex);
+            }
+        }
+    }
+
+    /**
+     * Immutable, so can be shared between threads with no copying.
+     */
+    public static class Topic {
+
+        public final String name;
+        public final Uuid id;
+        public final TopicDescription description;
+        public final Map<String, String> config;
+
+        public Topic(TopicDescription description, Map<String, String> config) {
+            Validate.notNull(description, "Topic description is null");
+            Validate.notNull(config, "Config is null");
+
+            this.name = description.name();
+            this.id = description.topicId();
+            this.description = description;
+            this.config = Collections.unmodifiableMap(config);
+        }
+
+        public Topic with(TopicDescription description, Map<String, String> config) {
+            return new Topic(description, config);
+        }
+
+        public int partitionCount() {
+            return description.partitions().size();
+        }
+
+        @Override
+        public String toString() {
+            return
+                    "{name: " + name +
+                    ", id: " + id +
+                    ", partitionCount: " + partitionCount() +
+                    ", config: " + config +
+                    "}";
+        }
+
+    }
+
+    public interface CacheListener {
+        void onTopicUpdated(Topic topic);
+        void onTopicConfigUpdated(Topic topic);
+        void onTopicRemoved(String topicName);
+    }
+
+}
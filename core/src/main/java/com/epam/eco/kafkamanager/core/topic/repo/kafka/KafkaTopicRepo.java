@@ -0,0 +1,498 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.repo.kafka;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.epam.eco.commons.concurrent.ResourceSemaphores;
+import com.epam.eco.kafkamanager.AlreadyExistsException;
+import com.epam.eco.kafkamanager.EntityType;
+import com.epam.eco.kafkamanager.KafkaAdminOperations;
+import com.epam.eco.kafkamanager.Metadata;
+import com.epam.eco.kafkamanager.MetadataKey;
+import com.epam.eco.kafkamanager.MetadataRepo;
+import com.epam.eco.kafkamanager.MetadataUpdateListener;
+import com.epam.eco.kafkamanager.NotFoundException;
+import com.epam.eco.kafkamanager.PartitionInfo;
+import com.epam.eco.kafkamanager.SearchCriteria;
+import com.epam.eco.kafkamanager.TopicInfo;
+import com.epam.eco.kafkamanager.TopicMetadataKey;
+import com.epam.eco.kafkamanager.TopicRepo;
+import com.epam.eco.kafkamanager.TopicSearchCriteria;
+import com.epam.eco.kafkamanager.TopicSearchIndex;
+import com.epam.eco.kafkamanager.core.autoconfigure.KafkaManagerProperties;
+import com.epam.eco.kafkamanager.core.spring.AsyncStartingBean;
+import com.epam.eco.kafkamanager.core.topic.repo.kafka.KafkaTopicCache.Topic;
+import com.epam.eco.kafkamanager.repo.AbstractKeyValueRepo;
+import com.epam.eco.kafkamanager.repo.CachedRepo;
+import com.epam.eco.kafkamanager.repo.SortedKeySnapshot;
+
+/**
+ * {@link TopicRepo} that relies on AdminClient only, so doesn't need ZooKeeper
+ * and works against KRaft clusters.
+ *
+ * @author Andrei_Tytsik
+ */
+public class KafkaTopicRepo extends AbstractKeyValueRepo<String, TopicInfo, SearchCriteria<TopicInfo>> implements TopicRepo, CachedRepo<String>, KafkaTopicCache.CacheListener, MetadataUpdateListener, AsyncStartingBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaTopicRepo.class);
+
+    @Autowired
+    private KafkaManagerProperties properties;
+    @Autowired
+    private KafkaAdminOperations adminOperations;
+    @Autowired
+    private MetadataRepo metadataRepo;
+
+    private KafkaTopicCache topicCache;
+
+    private final Map<String, TopicInfo> topicInfoCache = new ConcurrentHashMap<>();
+    private final SortedKeySnapshot<String> topicNames = SortedKeySnapshot.naturalOrder();
+    private final TopicSearchIndex searchIndex = new TopicSearchIndex(this::getTopicFromInfoCacheOrCreate);
+
+    private final ResourceSemaphores<String, TopicOperation> semaphores = new ResourceSemaphores<>();
+
+    @PostConstruct
+    private void init() {
+        initTopicCache();
+        subscribeOnMetadataUpdates();
+
+        LOGGER.info("Initialized");
+    }
+
+    @Override
+    public void startAsync() throws Exception {
+        startTopicCache();
+
+        LOGGER.info("Started");
+    }
+
+    @PreDestroy
+    private void destroy() {
+        destroyTopicCache();
+
+        LOGGER.info("Destroyed");
+    }
+
+    private void initTopicCache() {
+        topicCache = new KafkaTopicCache(
+                adminOperations,
+                properties.getTopicRepoPollIntervalInMs(),
+                properties.getTopicRepoDescribeResyncBatchSize(),
+                properties.getTopicRepoConfigResyncBatchSize(),
+                this);
+    }
+
+    private void startTopicCache() throws Exception {
+        topicCache.start();
+        topicNames.reset(topicCache.listTopicNames());
+        searchIndex.invalidate(topicNames.keys());
+    }
+
+    private void destroyTopicCache() {
+        topicCache.close();
+    }
+
+    private void subscribeOnMetadataUpdates() {
+        metadataRepo.registerUpdateListener(this);
+    }
+
+    @Override
+    public int size() {
+        return topicCache.size();
+    }
+
+    @Override
+    public boolean contains(String topicName) {
+        Validate.notBlank(topicName, "Topic name is blank");
+
+        return topicCache.contains(topicName);
+    }
+
+    @Override
+    public TopicInfo get(String topicName) {
+        Validate.notBlank(topicName, "Topic name is blank");
+
+        TopicInfo topicInfo = getTopicFromInfoCacheOrCreate(topicName);
+        if (topicInfo == null) {
+            throw new NotFoundException(String.format("Topic not found by name '%s'", topicName));
+        }
+
+        return topicInfo;
+    }
+
+    @Override
+    public List<TopicInfo> values() {
+        List<TopicInfo> topicInfos = new ArrayList<>();
+        topicNames.keys().forEach(topicName -> {
+            TopicInfo topicInfo = getTopicFromInfoCacheOrCreate(topicName);
+            if (topicInfo != null) {
+                topicInfos.add(topicInfo);
+            }
+        });
+        return topicInfos;
+    }
+
+    @Override
+    public List<TopicInfo> values(List<String> topicNames) {
+        Validate.notNull(topicNames, "Topic names list is null");
+        Validate.noNullElements(topicNames, "Topic names list has null elements");
+
+        List<TopicInfo> topicInfos = new ArrayList<>();
+        topicNames.forEach(topicName -> {
+            TopicInfo topicInfo = getTopicFromInfoCacheOrCreate(topicName);
+            if (topicInfo != null) {
+                topicInfos.add(topicInfo);
+            }
+        });
+        Collections.sort(topicInfos);
+        return topicInfos;
+    }
+
+    @Override
+    public List<String> keys() {
+        return topicNames.keys();
+    }
+
+    @Override
+    protected List<TopicInfo> sortedValuesView() {
+        return topicNames.valuesView(this::getTopicFromInfoCacheOrCreate);
+    }
+
+    @Override
+    protected List<TopicInfo> candidateValuesView(SearchCriteria<TopicInfo> criteria) {
+        Set<String> candidates =
+                criteria instanceof TopicSearchCriteria topicCriteria ?
+                topicCriteria.candidates(searchIndex) :
+                null;
+        if (candidates == null) {
+            return sortedValuesView();
+        }
+
+        return candidates.stream().
+                sorted().
+                map(this::getTopicFromInfoCacheOrCreate).
+                collect(Collectors.toList());
+    }
+
+    @Override
+    public TopicInfo create(
+            String topicName,
+            int partitionCount,
+            int replicationFactor,
+            Map<String, String> config) {
+        Validate.notBlank(topicName, "Topic name is blank");
+        Validate.isTrue(partitionCount > 0, "Partition count is invalid");
+        Validate.isTrue(replicationFactor > 0, "Replication factor is invalid");
+
+        ResourceSemaphores.ResourceSemaphore<String, TopicOperation> semaphore = null;
+        try {
+            semaphore = topicCache.callIfTopicAbsentOrElseThrow(
+                    topicName,
+                    () -> {
+                        ResourceSemaphores.ResourceSemaphore<String, TopicOperation> updateSemaphore =
+                                semaphores.createSemaphore(topicName, TopicOperation.UPDATE);
+
+                        adminOperations.createTopic(
+                            topicName,
+                            partitionCount,
+                            replicationFactor,
+                            config);
+                        topicCache.requestRefresh(topicName);
+
+                        return updateSemaphore;
+                        },
+                    () -> new AlreadyExistsException(String.format("Topic '%s' already exists", topicName)));
+
+            semaphore.awaitUnchecked();
+
+            return get(topicName);
+        } finally {
+            semaphores.removeSemaphore(semaphore);
+        }
+    }
+
+    @Override
+    public TopicInfo updateConfig(String topicName, Map<String, String> configs) {
+        Validate.notBlank(topicName, "Topic name is blank");
+        Validate.notNull(configs, "Map of configs is null");
+
+        ResourceSemaphores.ResourceSemaphore<String, TopicOperation> semaphore = null;
+        try {
+            semaphore = topicCache.callIfTopicPresentOrElseThrow(
+                    topicName,
+                    topic -> {
+                        ResourceSemaphores.ResourceSemaphore<String, TopicOperation> updateSemaphore =
+                                semaphores.createSemaphore(topicName, TopicOperation.CONFIG_UPDATE);
+
+                        adminOperations.alterTopicConfigs(topicName, configs);
+                        topicCache.requestRefresh(topicName);
+
+                        return updateSemaphore;
+                        },
+                    () -> new NotFoundException(String.format("Topic '%s' doesn't exist", topicName)));
+
+            semaphore.awaitUnchecked();
+
+            return get(topicName);
+        } finally {
+            semaphores.removeSemaphore(semaphore);
+        }
+    }
+
+    @Override
+    public TopicInfo createPartitions(String topicName, int newPartitionCount) {
+        Validate.notBlank(topicName, "Topic name is blank");
+        Validate.isTrue(newPartitionCount > 0, "Partition count is invalid");
+
+        ResourceSemaphores.ResourceSemaphore<String, TopicOperation> semaphore = null;
+        try {
+            semaphore = topicCache.callIfTopicPresentOrElseThrow(
+                    topicName,
+                    topic -> {
+                        Validate.isTrue(newPartitionCount > topic.partitionCount(), String.format(
+                                "New partition count (%d) for topic '%s' is less or equal than current one (%d)",
+                                newPartitionCount, topicName, topic.partitionCount()));
+
+                        ResourceSemaphores.ResourceSemaphore<String, TopicOperation> updateSemaphore =
+                                semaphores.createSemaphore(topicName, TopicOperation.UPDATE);
+
+                        adminOperations.createPartitions(topicName, newPartitionCount);
+                        topicCache.requestRefresh(topicName);
+
+                        return updateSemaphore;
+                    },
+                    () -> new NotFoundException(String.format("Topic '%s' doesn't exist", topicName)));
+
+            semaphore.awaitUnchecked();
+
+            return get(topicName);
+        } finally {
+            semaphores.removeSemaphore(semaphore);
+        }
+    }
+
+    @Override
+    public void delete(String topicName) {
+        Validate.notBlank(topicName, "Topic name is blank");
+
+        ResourceSemaphores.ResourceSemaphore<String, TopicOperation> semaphore = null;
+        try {
+            semaphore = topicCache.callIfTopicPresentOrElseThrow(
+                    topicName,
+                    topic -> {
+                        ResourceSemaphores.ResourceSemaphore<String, TopicOperation> deleteSemaphore =
+                                semaphores.createSemaphore(topicName, TopicOperation.DELETE);
+
+                        adminOperations.deleteTopic(topicName);
+                        topicCache.requestRefresh(topicName);
+
+                        return deleteSemaphore;
+                    },
+                    () -> new NotFoundException(String.format("Topic '%s' doesn't exist", topicName)));
+
+            semaphore.awaitUnchecked();
+        } finally {
+            semaphores.removeSemaphore(semaphore);
+        }
+    }
+
+    @Override
+    public void evict(String topicName) {
+        Validate.notBlank(topicName, "Topic name is blank");
+
+        removeTopicFromInfoCache(topicName);
+    }
+
+    @Override
+    public void onTopicUpdated(Topic topic) {
+        Validate.notNull(topic, "Topic can't be null");
+
+        topicNames.add(topic.name);
+        patchTopicInInfoCache(topic.name, topicInfo -> patchPartitions(topicInfo, topic));
+
+        semaphores.signalDoneFor(topic.name, TopicOperation.UPDATE);
+    }
+
+    @Override
+    public void onTopicConfigUpdated(Topic topic) {
+        Validate.notNull(topic, "Topic can't be null");
+
+        patchTopicInInfoCache(topic.name, topicInfo -> topicInfo.withConfig(topic.config));
+
+        semaphores.signalDoneFor(topic.name, TopicOperation.CONFIG_UPDATE);
+    }
+
+    @Override
+    public void onTopicRemoved(String topicName) {
+        Validate.notBlank(topicName, "Topic name is blank");
+
+        topicNames.remove(topicName);
+        removeTopicFromInfoCache(topicName);
+
+        semaphores.signalDoneFor(topicName, TopicOperation.DELETE);
+    }
+
+    @Override
+    public void onMetadataUpdated(MetadataKey key, Metadata metadata) {
+        Validate.notNull(key, "Metadata key is null");
+        Validate.notNull(metadata, "Metadata is null");
+
+        if (key.getEntityType() != EntityType.TOPIC) {
+            return;
+        }
+
+        patchTopicInInfoCache(
+                ((TopicMetadataKey)key).getTopicName(),
+                topicInfo -> topicInfo.withMetadata(metadata));
+    }
+
+    @Override
+    public void onMetadataRemoved(MetadataKey key) {
+        Validate.notNull(key, "Metadata key is null");
+
+        if (key.getEntityType() != EntityType.TOPIC) {
+            return;
+        }
+
+        patchTopicInInfoCache(
+                ((TopicMetadataKey)key).getTopicName(),
+                topicInfo -> topicInfo.withMetadata(null));
+    }
+
+    private void removeTopicFromInfoCache(String topicName) {
+        topicInfoCache.remove(topicName);
+        searchIndex.invalidate(topicName);
+    }
+
+    /**
+     * Applies the patch to the cached topic info, if any. Patch returning {@code null}
+     * evicts the info, so it gets rebuilt on next read.
+     */
+    private void patchTopicInInfoCache(String topicName, UnaryOperator<TopicInfo> patch) {
+        topicInfoCache.computeIfPresent(topicName, (key, topicInfo) -> patch.apply(topicInfo));
+        searchIndex.invalidate(topicName);
+    }
+
+    /**
+     * Replaces only partitions that differ from the description. A changed set of
+     * partitions (or a recreated topic) can't be patched, so {@code null} is returned.
+     */
+    private static TopicInfo patchPartitions(TopicInfo topicInfo, Topic topic) {
+        if (topicInfo.getPartitionCount() != topic.partitionCount()) {
+            return null;
+        }
+
+        List<PartitionInfo> changedPartitions = new ArrayList<>();
+        for (TopicPartitionInfo partitionInfo : topic.description.partitions()) {
+            TopicPartition id = new TopicPartition(topic.name, partitionInfo.partition());
+            PartitionInfo current = topicInfo.getPartitions().get(id);
+            if (current == null) {
+                return null;
+            }
+            if (!matches(current, partitionInfo)) {
+                changedPartitions.add(toPartition(id, partitionInfo));
+            }
+        }
+        return topicInfo.withPartitions(changedPartitions);
+    }
+
+    private static boolean matches(PartitionInfo current, TopicPartitionInfo partitionInfo) {
+        return
+                Objects.equals(current.getLeader(), toLeaderId(partitionInfo.leader())) &&
+                matchesIds(current.getReplicas(), partitionInfo.replicas()) &&
+                matchesIds(current.getIsr(), partitionInfo.isr());
+    }
+
+    private static boolean matchesIds(List<Integer> ids, List<Node> nodes) {
+        if (ids.size() != nodes.size()) {
+            return false;
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) != nodes.get(i).id()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private TopicInfo getTopicFromInfoCacheOrCreate(String topicName) {
+        return topicInfoCache.computeIfAbsent(
+                topicName,
+                key -> {
+                    Topic topic = topicCache.getTopic(topicName);
+                    return topic != null ? toInfo(topic) : null;
+                });
+    }
+
+    private TopicInfo toInfo(Topic topic) {
+        return TopicInfo.builder().
+                name(topic.name).
+                partitions(toPartitions(topic)).
+                config(topic.config).
+                metadata(metadataRepo.get(TopicMetadataKey.with(topic.name))).
+                build();
+    }
+
+    private static Map<TopicPartition, PartitionInfo> toPartitions(Topic topic) {
+        Map<TopicPartition, PartitionInfo> partitions = new HashMap<>();
+        for (TopicPartitionInfo partitionInfo : topic.description.partitions()) {
+            TopicPartition id = new TopicPartition(topic.name, partitionInfo.partition());
+            partitions.put(id, toPartition(id, partitionInfo));
+        }
+        return partitions;
+    }
+
+    private static PartitionInfo toPartition(TopicPartition id, TopicPartitionInfo partitionInfo) {
+        return PartitionInfo.builder().
+                id(id).
+                replicas(toIds(partitionInfo.replicas())).
+                leader(toLeaderId(partitionInfo.leader())).
+                isr(toIds(partitionInfo.isr())).
+                build();
+    }
+
+    private static Integer toLeaderId(Node leader) {
+        return leader != null && !leader.isEmpty() ? leader.id() : null;
+    }
+
+    private static List<Integer> toIds(List<Node> nodes) {
+        return nodes.stream().
+                map(Node::id).
+                collect(Collectors.toList());
+    }
+
+}
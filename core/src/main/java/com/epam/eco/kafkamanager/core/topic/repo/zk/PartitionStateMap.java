@@ -0,0 +1,167 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.repo.zk;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.common.TopicPartition;
+
+import com.epam.eco.kafkamanager.core.topic.repo.zk.ZkTopicCache.PartitionState;
+
+/**
+ * Persistent map of partition states of a single topic. States are kept in a 32-way
+ * trie indexed by partition id, so a modified copy shares everything but the path to
+ * the modified leaf with its origin, and a state change costs O(log32 n) rather than
+ * a copy of the whole map. Instances are immutable.
+ *
+ * @author Andrei_Tytsik
+ */
+final class PartitionStateMap extends AbstractMap<TopicPartition, PartitionState> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private final String topicName;
+    private final Object[] root;
+    private final int shift;
+    private final int size;
+
+    private PartitionStateMap(String topicName, Object[] root, int shift, int size) {
+        this.topicName = topicName;
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    public static PartitionStateMap empty(String topicName) {
+        Validate.notBlank(topicName, "Topic name is blank");
+
+        return new PartitionStateMap(topicName, new Object[WIDTH], 0, 0);
+    }
+
+    /**
+     * @param state new state or {@code null} to remove state of the partition
+     */
+    public PartitionStateMap with(TopicPartition partition, PartitionState state) {
+        Validate.notNull(partition, "Partition is null");
+        Validate.isTrue(topicName.equals(partition.topic()), "Partition of another topic");
+
+        int id = partition.partition();
+        PartitionState current = get(id);
+        if (current == state) {
+            return this;
+        }
+
+        Object[] newRoot = root;
+        int newShift = shift;
+        while ((id >>> newShift) > MASK) {
+            Object[] grown = new Object[WIDTH];
+            grown[0] = newRoot;
+            newRoot = grown;
+            newShift += BITS;
+        }
+
+        return new PartitionStateMap(
+                topicName,
+                assoc(newRoot, newShift, id, state),
+                newShift,
+                size + (current == null ? 1 : 0) - (state == null ? 1 : 0));
+    }
+
+    @Override
+    public PartitionState get(Object key) {
+        if (!(key instanceof TopicPartition partition) || !topicName.equals(partition.topic())) {
+            return null;
+        }
+        return get(partition.partition());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<TopicPartition, PartitionState>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<TopicPartition, PartitionState>> iterator() {
+                List<Map.Entry<TopicPartition, PartitionState>> entries = new ArrayList<>(size);
+                collect(root, shift, 0, entries);
+                return Collections.unmodifiableList(entries).iterator();
+            }
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private PartitionState get(int id) {
+        if (id < 0 || (id >>> shift) > MASK) {
+            return null;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[])node[(id >>> level) & MASK];
+            if (node == null) {
+                return null;
+            }
+        }
+        return (PartitionState)node[id & MASK];
+    }
+
+    private static Object[] assoc(Object[] node, int level, int id, PartitionState state) {
+        Object[] copy = node != null ? node.clone() : new Object[WIDTH];
+        int index = (id >>> level) & MASK;
+        copy[index] = level == 0 ? state : assoc((Object[])copy[index], level - BITS, id, state);
+        return copy;
+    }
+
+    private void collect(
+            Object[] node,
+            int level,
+            int base,
+            List<Map.Entry<TopicPartition, PartitionState>> entries) {
+        for (int i = 0; i < WIDTH; i++) {
+            Object child = node[i];
+            if (child == null) {
+                continue;
+            }
+            int id = base | (i << level);
+            if (level == 0) {
+                entries.add(new SimpleImmutableEntry<>(new TopicPartition(topicName, id), (PartitionState)child));
+            } else {
+                collect((Object[])child, level - BITS, id, entries);
+            }
+        }
+    }
+
+}
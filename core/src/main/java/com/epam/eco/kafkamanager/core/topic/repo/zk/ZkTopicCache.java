@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
@@ -48,6 +49,16 @@ import com.epam.eco.kafkamanager.utils.MapperUtils;
 import kafka.zk.TopicsZNode;
 
 /**
+ * Holds immutable {@link Topic} snapshots. Events are applied by the tree cache thread
+ * by replacing the snapshot of the affected topic, so readers never block and never
+ * copy. Partition states of a snapshot are a {@link PartitionStateMap}, so a state
+ * event copies only the trie path of its partition.
+ *
+ * <p>Events are applied under the write lock of {@link #lock}, while
+ * {@link #callIfTopicAbsentOrElseThrow(String, Callable, Supplier)} checks the topic is
+ * absent and runs the callable under the read lock, so the topic can't appear in
+ * between.
+ *
  * @author Andrei_Tytsik
  */
 class ZkTopicCache {
@@ -74,7 +85,7 @@ class ZkTopicCache {
 
     private final TreeCache topicTreeCache;
 
-    private final Map<String, Topic> topicCache = new HashMap<>();
+    private final Map<String, Topic> topicCache = new ConcurrentHashMap<>();
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
     private final CacheListener cacheListener;
@@ -107,40 +118,19 @@ class ZkTopicCache {
     }
 
     public int size() {
-        lock.readLock().lock();
-        try {
-            return topicCache.size();
-        } finally {
-            lock.readLock().unlock();
-        }
+        return topicCache.size();
     }
 
     public boolean contains(String topicName) {
-        lock.readLock().lock();
-        try {
-            return topicCache.containsKey(topicName);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return topicCache.containsKey(topicName);
     }
 
     public List<String> listTopicNames() {
-        lock.readLock().lock();
-        try {
-            return new ArrayList<>(topicCache.keySet());
-        } finally {
-            lock.readLock().unlock();
-        }
+        return new ArrayList<>(topicCache.keySet());
     }
 
     public Topic getTopic(String topicName) {
-        lock.readLock().lock();
-        try {
-            Topic topic = topicCache.get(topicName);
-            return topic != null ? topic.copyOf() : null;
-        } finally {
-            lock.readLock().unlock();
-        }
+        return topicCache.get(topicName);
     }
 
     public <T, E extends Throwable> T callIfTopicAbsentOrElseThrow(
@@ -152,15 +142,15 @@ class ZkTopicCache {
 
         lock.readLock().lock();
         try {
-            if (!topicCache.containsKey(topicName)) {
-                try {
-                    return callable.call();
-                } catch (Exception ex) {
-                    throw new RuntimeException(ex);
-                }
-            } else {
+            if (topicCache.containsKey(topicName)) {
                 throw exception.get();
             }
+
+            try {
+                return callable.call();
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
         } finally {
             lock.readLock().unlock();
         }
@@ -173,20 +163,15 @@ class ZkTopicCache {
         Validate.notNull(function, "Function can't be null");
         Validate.notNull(exception, "Exception can't be null");
 
-        lock.readLock().lock();
-        try {
-            Topic topic = topicCache.get(topicName);
-            if (topic != null) {
-                return function.apply(topic.copyOf());
-            } else {
-                throw exception.get();
-            }
-        } finally {
-            lock.readLock().unlock();
+        Topic topic = topicCache.get(topicName);
+        if (topic == null) {
+            throw exception.get();
         }
+
+        return function.apply(topic);
     }
 
-    private void handleTreeEvent(TreeCacheEvent event) {
+    void handleTreeEvent(TreeCacheEvent event) {
         if (CuratorUtils.isConnectionStateChangeEvent(event.getType())) {
             LOGGER.warn("ZK connection state changed: {}", event.getType());
             return;
@@ -194,107 +179,74 @@ class ZkTopicCache {
 
         Topic updatedTopic = null;
         String nameOfRemovedTopic = null;
+        TopicPartition partitionOfUpdatedState = null;
+        PartitionState updatedState = null;
 
         boolean added = event.getType() == Type.NODE_ADDED;
         boolean updated = event.getType() == Type.NODE_UPDATED;
         boolean removed = event.getType() == Type.NODE_REMOVED;
         if (added || updated || removed) {
-            if (isTopicPath(event.getData().getPath())) {
-                if (added || updated) {
-                    updatedTopic = handleTopicUpdated(event.getData());
-                } else if (removed) {
-                    nameOfRemovedTopic = handleTopicRemoved(event.getData());
-                }
-            } else if (isStatePath(event.getData().getPath())) {
-                if (added || updated) {
-                    updatedTopic = handlePartitionStateUpdated(event.getData());
-                } else if (removed) {
-                    updatedTopic = handlePartitionStateRemoved(event.getData());
+            lock.writeLock().lock();
+            try {
+                if (isTopicPath(event.getData().getPath())) {
+                    if (added || updated) {
+                        updatedTopic = handleTopicUpdated(event.getData());
+                    } else if (removed) {
+                        nameOfRemovedTopic = handleTopicRemoved(event.getData());
+                    }
+                } else if (isStatePath(event.getData().getPath())) {
+                    partitionOfUpdatedState = getTopicPartitionFromStatePath(event.getData().getPath());
+                    if (added || updated) {
+                        updatedState = handlePartitionStateUpdated(partitionOfUpdatedState, event.getData());
+                    } else if (removed) {
+                        handlePartitionStateRemoved(partitionOfUpdatedState);
+                    }
                 }
+            } finally {
+                lock.writeLock().unlock();
             }
         }
 
         fireCacheListener(updatedTopic, nameOfRemovedTopic);
+        fireCacheListener(partitionOfUpdatedState, updatedState);
     }
 
     private Topic handleTopicUpdated(ChildData childData) {
-        lock.writeLock().lock();
-        try {
-            String topicName = getTopicNameFromTopicPath(childData.getPath());
-            Topic topic = getTopicFromCacheOrCreate(topicName);
-
-            Map<TopicPartition, PartitionMetadata> partitions = toPartitions(childData);
-            topic.partitions.putAll(partitions);
-
-            return topic;
-        } finally {
-            lock.writeLock().unlock();
-        }
+        String topicName = getTopicNameFromTopicPath(childData.getPath());
+        Map<TopicPartition, PartitionMetadata> partitions = toPartitions(childData);
+        return updateTopic(topicName, topic -> topic.withPartitions(partitions));
     }
 
     private String handleTopicRemoved(ChildData childData) {
-        lock.writeLock().lock();
-        try {
-            String topicName = getTopicNameFromTopicPath(childData.getPath());
-            topicCache.remove(topicName);
-            return topicName;
-        } finally {
-            lock.writeLock().unlock();
-        }
+        String topicName = getTopicNameFromTopicPath(childData.getPath());
+        topicCache.remove(topicName);
+        return topicName;
     }
 
-    private Topic handlePartitionStateUpdated(ChildData childData) {
-        lock.writeLock().lock();
-        try {
-            String topicName = getTopicNameFromStatePath(childData.getPath());
-            Topic topic = getTopicFromCacheOrCreate(topicName);
-
-            Integer partition = getPartitionFromStatePath(childData.getPath());
-            TopicPartition topicPartition = new TopicPartition(topicName, partition);
-            PartitionState state = toState(childData);
-            topic.states.put(topicPartition, state);
-
-            return topic;
-        } finally {
-            lock.writeLock().unlock();
-        }
+    private PartitionState handlePartitionStateUpdated(TopicPartition topicPartition, ChildData childData) {
+        PartitionState state = toState(childData);
+        updateTopic(topicPartition.topic(), topic -> topic.withState(topicPartition, state));
+        return state;
     }
 
-    private Topic handlePartitionStateRemoved(ChildData childData) {
-        lock.writeLock().lock();
-        try {
-            String topicName = getTopicNameFromStatePath(childData.getPath());
-            Topic topic = getTopicFromCacheOrCreate(topicName);
-
-            Integer partition = getPartitionFromStatePath(childData.getPath());
-            TopicPartition topicPartition = new TopicPartition(topicName, partition);
-            topic.states.remove(topicPartition);
-
-            return topic;
-        } finally {
-            lock.writeLock().unlock();
-        }
+    private void handlePartitionStateRemoved(TopicPartition topicPartition) {
+        updateTopic(topicPartition.topic(), topic -> topic.withState(topicPartition, null));
     }
 
-    private Topic getTopicFromCacheOrCreate(String topicName) {
-        Topic topic = topicCache.get(topicName);
-        if (topic == null) {
-            topic = new Topic(topicName);
-            topicCache.put(topicName, topic);
-        }
-        return topic;
+    private Topic updateTopic(String topicName, Function<Topic, Topic> update) {
+        return topicCache.compute(
+                topicName,
+                (key, topic) -> update.apply(topic != null ? topic : new Topic(topicName)));
     }
 
     private String getTopicNameFromTopicPath(String path) {
         return ZKPaths.getNodeFromPath(path);
     }
 
-    private String getTopicNameFromStatePath(String path) {
-        return ZKPathUtils.getPathToken(path, STATE_TOPIC_INDEX);
-    }
-
-    private Integer getPartitionFromStatePath(String path) {
-        return Integer.valueOf(ZKPathUtils.getPathToken(path, STATE_PARTITION_INDEX));
+    private TopicPartition getTopicPartitionFromStatePath(String path) {
+        return new TopicPartition(
+                ZKPathUtils.getPathToken(path, STATE_TOPIC_INDEX),
+                Integer.parseInt(ZKPathUtils.getPathToken(path, STATE_PARTITION_INDEX)));
     }
 
     private boolean isTopicPath(String path) {
@@ -383,23 +335,58 @@ class ZkTopicCache {
         }
     }
 
-    public class Topic {
+    private void fireCacheListener(TopicPartition partitionOfUpdatedState, PartitionState updatedState) {
+        if (partitionOfUpdatedState != null) {
+            try {
+                cacheListener.onPartitionStateUpdated(partitionOfUpdatedState, updatedState);
+            } catch (Exception ex) {
+                LOGGER.error(
+                        String.format(
+                                "Failed to handle 'partition state updated' event. Partition = %s",
+                                partitionOfUpdatedState),
+                        ex);
+            }
+        }
+    }
+
+    /**
+     * Immutable snapshot of a topic, modifications produce a new instance.
+     */
+    public static class Topic {
 
         public final String name;
-        public final Map<TopicPartition, PartitionMetadata> partitions = new HashMap<>();
-        public final Map<TopicPartition, PartitionState> states = new HashMap<>();
+        public final Map<TopicPartition, PartitionMetadata> partitions;
+        public final PartitionStateMap states;
 
         public Topic(String name) {
+            this(name, Collections.emptyMap(), PartitionStateMap.empty(name));
+        }
+
+        private Topic(
+                String name,
+                Map<TopicPartition, PartitionMetadata> partitions,
+                PartitionStateMap states) {
             Validate.notBlank(name, "Name is blank");
 
             this.name = name;
+            this.partitions = partitions;
+            this.states = states;
         }
 
-        public Topic copyOf() {
-            Topic copy = new Topic(this.name);
-            copy.partitions.putAll(this.partitions);
-            copy.states.putAll(this.states);
-            return copy;
+        public Topic withPartitions(Map<TopicPartition, PartitionMetadata> partitions) {
+            Validate.notNull(partitions, "Partitions map is null");
+
+            Map<TopicPartition, PartitionMetadata> merged = new HashMap<>(this.partitions);
+            merged.putAll(partitions);
+            return new Topic(name, Collections.unmodifiableMap(merged), states);
+        }
+
+        /**
+         * @param state new state or {@code null} to remove state of the partition
+         */
+        public Topic withState(TopicPartition partition, PartitionState state) {
+            PartitionStateMap patched = states.with(partition, state);
+            return patched != states ? new Topic(name, partitions, patched) : this;
         }
 
     }
@@ -412,7 +399,7 @@ class ZkTopicCache {
             Validate.notNull(replicas, "Replica list is null");
             Validate.noNullElements(replicas, "Replica list contains null elements");
 
-            this.replicas = replicas;
+            this.replicas = Collections.unmodifiableList(replicas);
         }
 
     }
@@ -424,7 +411,7 @@ class ZkTopicCache {
 
         public PartitionState(Integer leader, List<Integer> isr) {
             this.leader = leader;
-            this.isr = isr != null ? isr : Collections.emptyList();
+            this.isr = isr != null ? Collections.unmodifiableList(isr) : Collections.emptyList();
         }
 
     }
@@ -432,6 +419,11 @@ class ZkTopicCache {
     public interface CacheListener {
         void onTopicUpdated(Topic topic);
         void onTopicRemoved(String topicName);
+
+        /**
+         * @param state new state or {@code null} if state of the partition is removed
+         */
+        void onPartitionStateUpdated(TopicPartition partition, PartitionState state);
     }
 
 }
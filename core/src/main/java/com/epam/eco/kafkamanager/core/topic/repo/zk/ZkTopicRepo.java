@@ -20,7 +20,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import jakarta.annotation.PostConstruct;
@@ -47,6 +49,8 @@ import com.epam.eco.kafkamanager.SearchCriteria;
 import com.epam.eco.kafkamanager.TopicInfo;
 import com.epam.eco.kafkamanager.TopicMetadataKey;
 import com.epam.eco.kafkamanager.TopicRepo;
+import com.epam.eco.kafkamanager.TopicSearchCriteria;
+import com.epam.eco.kafkamanager.TopicSearchIndex;
 import com.epam.eco.kafkamanager.core.spring.AsyncStartingBean;
 import com.epam.eco.kafkamanager.core.topic.repo.zk.ZkTopicCache.PartitionMetadata;
 import com.epam.eco.kafkamanager.core.topic.repo.zk.ZkTopicCache.PartitionState;
@@ -54,6 +58,7 @@ import com.epam.eco.kafkamanager.core.topic.repo.zk.ZkTopicCache.Topic;
 import com.epam.eco.kafkamanager.core.topic.repo.zk.ZkTopicConfigCache.TopicConfig;
 import com.epam.eco.kafkamanager.repo.AbstractKeyValueRepo;
 import com.epam.eco.kafkamanager.repo.CachedRepo;
+import com.epam.eco.kafkamanager.repo.SortedKeySnapshot;
 
 /**
  * @author Andrei_Tytsik
@@ -73,6 +78,8 @@ public class ZkTopicRepo extends AbstractKeyValueRepo<String, TopicInfo, SearchC
     private ZkTopicConfigCache topicConfigCache;
 
     private final Map<String, TopicInfo> topicInfoCache = new ConcurrentHashMap<>();
+    private final SortedKeySnapshot<String> topicNames = SortedKeySnapshot.naturalOrder();
+    private final TopicSearchIndex searchIndex = new TopicSearchIndex(this::getTopicForSearchIndex);
 
     private final ResourceSemaphores<String, TopicOperation> semaphores = new ResourceSemaphores<>();
 
@@ -107,6 +114,8 @@ public class ZkTopicRepo extends AbstractKeyValueRepo<String, TopicInfo, SearchC
 
     private void startTopicCache() throws Exception {
         topicCache.start();
+        topicNames.reset(topicCache.listTopicNames());
+        searchIndex.invalidate(topicNames.keys());
     }
 
     private void destroyTopicCache() throws Exception {
@@ -156,13 +165,12 @@ public class ZkTopicRepo extends AbstractKeyValueRepo<String, TopicInfo, SearchC
     @Override
     public List<TopicInfo> values() {
         List<TopicInfo> topicInfos = new ArrayList<>();
-        topicCache.listTopicNames().forEach(topicName -> {
+        topicNames.keys().forEach(topicName -> {
             TopicInfo topicInfo = getTopicFromInfoCacheOrCreate(topicName);
             if (topicInfo != null) {
                 topicInfos.add(topicInfo);
             }
         });
-        Collections.sort(topicInfos);
         return topicInfos;
     }
 
@@ -184,8 +192,27 @@ public class ZkTopicRepo extends AbstractKeyValueRepo<String, TopicInfo, SearchC
 
     @Override
     public List<String> keys() {
-        return topicCache.listTopicNames().stream().
+        return topicNames.keys();
+    }
+
+    @Override
+    protected List<TopicInfo> sortedValuesView() {
+        return topicNames.valuesView(this::getTopicFromInfoCacheOrCreate);
+    }
+
+    @Override
+    protected List<TopicInfo> candidateValuesView(SearchCriteria<TopicInfo> criteria) {
+        Set<String> candidates =
+                criteria instanceof TopicSearchCriteria topicCriteria ?
+                topicCriteria.candidates(searchIndex) :
+                null;
+        if (candidates == null) {
+            return sortedValuesView();
+        }
+
+        return candidates.stream().
                 sorted().
+                map(this::getTopicFromInfoCacheOrCreate).
                 collect(Collectors.toList());
     }
 
@@ -318,33 +345,60 @@ public class ZkTopicRepo extends AbstractKeyValueRepo<String, TopicInfo, SearchC
     public void onTopicConfigUpdated(TopicConfig topicConfig) {
         Validate.notNull(topicConfig, "Topic config can't be null");
 
-        semaphores.signalDoneFor(topicConfig.name, TopicOperation.CONFIG_UPDATE);
+        patchTopicInInfoCache(topicConfig.name, topicInfo -> topicInfo.withConfig(topicConfig.config));
 
-        removeTopicFromInfoCache(topicConfig.name);
+        semaphores.signalDoneFor(topicConfig.name, TopicOperation.CONFIG_UPDATE);
     }
 
     @Override
     public void onTopicConfigRemoved(String topicName) {
         Validate.notBlank(topicName, "Topic name is blank");
 
-        semaphores.signalDoneFor(topicName, TopicOperation.CONFIG_DELETE);
+        patchTopicInInfoCache(topicName, topicInfo -> topicInfo.withConfig(null));
 
-        removeTopicFromInfoCache(topicName);
+        semaphores.signalDoneFor(topicName, TopicOperation.CONFIG_DELETE);
     }
 
     @Override
     public void onTopicUpdated(Topic topic) {
         Validate.notNull(topic, "Topic can't be null");
 
+        topicNames.add(topic.name);
+
         semaphores.signalDoneFor(topic.name, TopicOperation.UPDATE);
 
         removeTopicFromInfoCache(topic.name);
     }
 
+    @Override
+    public void onPartitionStateUpdated(TopicPartition partition, PartitionState state) {
+        Validate.notNull(partition, "Partition can't be null");
+
+        topicNames.add(partition.topic());
+
+        patchTopicInInfoCache(partition.topic(), topicInfo -> {
+            PartitionInfo partitionInfo = topicInfo.getPartitions().get(partition);
+            if (partitionInfo == null) {
+                return null;
+            }
+            return topicInfo.withPartition(
+                    PartitionInfo.builder().
+                        id(partition).
+                        replicas(partitionInfo.getReplicas()).
+                        leader(state != null ? state.leader : null).
+                        isr(state != null ? state.isr : null).
+                        build());
+        });
+
+        semaphores.signalDoneFor(partition.topic(), TopicOperation.UPDATE);
+    }
+
     @Override
     public void onTopicRemoved(String topicName) {
         Validate.notBlank(topicName, "Topic name is blank");
 
+        topicNames.remove(topicName);
+
         semaphores.signalDoneFor(topicName, TopicOperation.DELETE);
 
         removeTopicFromInfoCache(topicName);
@@ -359,7 +413,9 @@ public class ZkTopicRepo extends AbstractKeyValueRepo<String, TopicInfo, SearchC
             return;
         }
 
-        removeTopicFromInfoCache(((TopicMetadataKey)key).getTopicName());
+        patchTopicInInfoCache(
+                ((TopicMetadataKey)key).getTopicName(),
+                topicInfo -> topicInfo.withMetadata(metadata));
     }
 
     @Override
@@ -370,11 +426,31 @@ public class ZkTopicRepo extends AbstractKeyValueRepo<String, TopicInfo, SearchC
             return;
         }
 
-        removeTopicFromInfoCache(((TopicMetadataKey)key).getTopicName());
+        patchTopicInInfoCache(
+                ((TopicMetadataKey)key).getTopicName(),
+                topicInfo -> topicInfo.withMetadata(null));
     }
 
     private void removeTopicFromInfoCache(String topicName) {
         topicInfoCache.remove(topicName);
+        searchIndex.invalidate(topicName);
+    }
+
+    /**
+     * Applies the patch to the cached topic info, if any. Patch returning {@code null}
+     * evicts the info, so it gets rebuilt on next read.
+     */
+    private void patchTopicInInfoCache(String topicName, UnaryOperator<TopicInfo> patch) {
+        topicInfoCache.computeIfPresent(topicName, (key, topicInfo) -> patch.apply(topicInfo));
+        searchIndex.invalidate(topicName);
+    }
+
+    private TopicInfo getTopicForSearchIndex(String topicName) {
+        Topic topic = topicCache.getTopic(topicName);
+        if (topic == null || topic.partitions.isEmpty()) {
+            return null;
+        }
+        return getTopicFromInfoCacheOrCreate(topicName);
     }
 
     private TopicInfo getTopicFromInfoCacheOrCreate(String topicName) {
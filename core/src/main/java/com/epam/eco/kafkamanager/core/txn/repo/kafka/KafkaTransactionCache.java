@@ -123,7 +123,8 @@ class KafkaTransactionCache implements CacheListener<String, TransactionProjecti
     public TransactionTimeSeries getSuccessTimeSeries(String transactionalId) {
         lock.readLock().lock();
         try {
-            return successTimeSeries.get(transactionalId);
+            TransactionTimeSeries timeSeries = successTimeSeries.get(transactionalId);
+            return timeSeries != null ? timeSeries.unmodifiableCopy() : null;
         } finally {
             lock.readLock().unlock();
         }
@@ -132,7 +133,8 @@ class KafkaTransactionCache implements CacheListener<String, TransactionProjecti
     public TransactionTimeSeries getFailTimeSeries(String transactionalId) {
         lock.readLock().lock();
         try {
-            return failTimeSeries.get(transactionalId);
+            TransactionTimeSeries timeSeries = failTimeSeries.get(transactionalId);
+            return timeSeries != null ? timeSeries.unmodifiableCopy() : null;
         } finally {
             lock.readLock().unlock();
         }
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ *  Copyright 2022 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.consumer.lag;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import com.epam.eco.kafkamanager.ConsumerGroupInfo;
+import com.epam.eco.kafkamanager.ConsumerGroupLag;
+import com.epam.eco.kafkamanager.ConsumerGroupRepo;
+import com.epam.eco.kafkamanager.KafkaAdminOperations;
+import com.epam.eco.kafkamanager.OffsetAndMetadataInfo;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class ConsumerGroupLagEngineTest {
+
+    private static final TopicPartition T1P0 = new TopicPartition("topic1", 0);
+    private static final TopicPartition T1P1 = new TopicPartition("topic1", 1);
+    private static final TopicPartition T2P0 = new TopicPartition("topic2", 0);
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testLagsOfAllGroupsAreCalculatedWithSingleLookup() throws Exception {
+        ConsumerGroupRepo repo = Mockito.mock(ConsumerGroupRepo.class);
+        Mockito.when(repo.values()).thenReturn(List.of(
+                group("group1", Map.of(T1P0, 90L, T1P1, 100L)),
+                group("group2", Map.of(T1P0, 50L, T2P0, 120L)),
+                group("group3", Map.of())));
+
+        KafkaAdminOperations adminOperations = Mockito.mock(KafkaAdminOperations.class);
+        Mockito.when(adminOperations.listEndOffsets(ArgumentMatchers.any())).thenReturn(
+                Map.of(T1P0, 100L, T1P1, 100L, T2P0, 110L));
+
+        ConsumerGroupLagEngine engine = new ConsumerGroupLagEngine(repo, adminOperations, 0);
+        Assertions.assertNull(engine.getLag("group1"));
+        Assertions.assertTrue(engine.getTotalLags().isEmpty());
+
+        engine.calculate();
+
+        ArgumentCaptor<Collection<TopicPartition>> partitions = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(adminOperations, Mockito.times(1)).listEndOffsets(partitions.capture());
+        Assertions.assertEquals(Set.of(T1P0, T1P1, T2P0), new HashSet<>(partitions.getValue()));
+
+        ConsumerGroupLag lag1 = engine.getLag("group1");
+        Assertions.assertEquals(Map.of(T1P0, 10L, T1P1, 0L), lag1.getPartitionLags());
+        Assertions.assertEquals(10L, lag1.getTotalLag());
+
+        ConsumerGroupLag lag2 = engine.getLag("group2");
+        Assertions.assertEquals(Map.of(T1P0, 50L, T2P0, 0L), lag2.getPartitionLags());
+        Assertions.assertEquals(50L, lag2.getTotalLag());
+
+        Assertions.assertEquals(
+                Map.of("group1", 10L, "group2", 50L, "group3", 0L),
+                engine.getTotalLags());
+    }
+
+    private static ConsumerGroupInfo group(String name, Map<TopicPartition, Long> offsets) {
+        ConsumerGroupInfo.Builder builder = ConsumerGroupInfo.builder().
+                name(name).
+                storageType(ConsumerGroupInfo.StorageType.KAFKA);
+        offsets.forEach((partition, offset) -> builder.addOffsetsAndMetadata(
+                OffsetAndMetadataInfo.builder().
+                        topicPartition(partition).
+                        offset(offset).
+                        commitDate(LocalDateTime.now()).
+                        expireDate(LocalDateTime.now()).
+                        build()));
+        return builder.build();
+    }
+
+}
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.consumer.repo.kafka;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Time;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.epam.eco.kafkamanager.KafkaAdminOperations;
+
+import kafka.common.OffsetAndMetadata;
+import kafka.coordinator.group.BaseKey;
+import kafka.coordinator.group.Empty$;
+import kafka.coordinator.group.GroupMetadata;
+import kafka.coordinator.group.GroupMetadataKey;
+import kafka.coordinator.group.GroupTopicPartition;
+import kafka.coordinator.group.OffsetKey;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class KafkaConsumerGroupCacheTest {
+
+    private static final int WRITERS = 4;
+    private static final int GROUPS_PER_WRITER = 200;
+    private static final int COMMITS = 20;
+
+    @Test
+    public void testConcurrentUpdatesOfDifferentGroups() throws Exception {
+        Set<String> updatedGroups = ConcurrentHashMap.newKeySet();
+        Map<String, Integer> offsetUpdates = new ConcurrentHashMap<>();
+        KafkaConsumerGroupCache cache = createCache(new KafkaConsumerGroupCache.CacheListener() {
+            @Override
+            public void onGroupMetadataUpdated(KafkaGroupMetadata groupMetadata) {
+                updatedGroups.add(groupMetadata.getName());
+            }
+            @Override
+            public void onGroupMetadataRemoved(String groupName) {
+                updatedGroups.remove(groupName);
+            }
+            @Override
+            public void onGroupOffsetsUpdated(String groupName, Set<TopicPartition> partitions) {
+                offsetUpdates.merge(groupName, partitions.size(), Integer::sum);
+            }
+        });
+
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        List<Thread> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int g = 0; g < GROUPS_PER_WRITER; g++) {
+                        String groupName = "group-" + writer + "-" + g;
+                        cache.onCacheUpdated(Map.of(groupKey(groupName), groupMetadata(groupName)));
+                        for (int commit = 0; commit < COMMITS; commit++) {
+                            cache.onCacheUpdated(Map.of(
+                                    offsetKey(groupName, "topic-" + writer, 0), offset(commit),
+                                    offsetKey(groupName, "topic-" + writer, 1), offset(commit)));
+                        }
+                    }
+                } catch (Throwable t) {
+                    failures.add(t);
+                }
+            });
+            writers.add(thread);
+            thread.start();
+        }
+        for (Thread writer : writers) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+
+        Assertions.assertTrue(failures.isEmpty(), () -> "Writers failed: " + failures);
+        Assertions.assertEquals(WRITERS * GROUPS_PER_WRITER, cache.size());
+        Assertions.assertEquals(WRITERS * GROUPS_PER_WRITER, cache.listGroupNames().size());
+        Assertions.assertEquals(WRITERS * GROUPS_PER_WRITER, updatedGroups.size());
+        for (int w = 0; w < WRITERS; w++) {
+            Assertions.assertEquals(GROUPS_PER_WRITER, cache.countGroupsOfTopic("topic-" + w));
+        }
+
+        String groupName = "group-1-7";
+        Assertions.assertEquals(COMMITS * 2, offsetUpdates.get(groupName));
+        KafkaGroupMetadata metadata = cache.getGroupMetadata(groupName);
+        Assertions.assertEquals(2, metadata.getOffsetsMetadata().size());
+        Assertions.assertEquals(
+                COMMITS - 1,
+                metadata.getOffsetsMetadata().get(new TopicPartition("topic-1", 1)).getOffset());
+        Assertions.assertEquals(2, cache.getOffsetTimeSeries(groupName).size());
+
+        Map<BaseKey, Object> tombstones = new HashMap<>();
+        tombstones.put(offsetKey(groupName, "topic-1", 0), null);
+        tombstones.put(offsetKey(groupName, "topic-1", 1), null);
+        cache.onCacheUpdated(tombstones);
+        Assertions.assertEquals(GROUPS_PER_WRITER - 1, cache.countGroupsOfTopic("topic-1"));
+        Assertions.assertFalse(cache.listGroupNamesOfTopic("topic-1").contains(groupName));
+        Assertions.assertTrue(cache.getOffsetTimeSeries(groupName).isEmpty());
+    }
+
+    @Test
+    public void testUpdatesOfOtherShardsAreNotBlocked() throws Exception {
+        KafkaConsumerGroupCache cache = createCache(Mockito.mock(KafkaConsumerGroupCache.CacheListener.class));
+        String lockedGroup = "locked-group";
+        String otherGroup = "other-group";
+        for (int i = 0; KafkaConsumerGroupCache.shardIndexOf(otherGroup) == KafkaConsumerGroupCache.shardIndexOf(lockedGroup); i++) {
+            otherGroup = "other-group-" + i;
+        }
+        String groupName = otherGroup;
+
+        CountDownLatch updated = new CountDownLatch(1);
+        boolean updatedWhileLocked = cache.callInLock(lockedGroup, () -> {
+            Thread writer = new Thread(() -> {
+                cache.onCacheUpdated(Map.of(groupKey(groupName), groupMetadata(groupName)));
+                updated.countDown();
+            });
+            writer.start();
+            return updated.await(10, TimeUnit.SECONDS);
+        });
+
+        Assertions.assertTrue(updatedWhileLocked);
+        Assertions.assertTrue(cache.contains(groupName));
+    }
+
+    private static KafkaConsumerGroupCache createCache(KafkaConsumerGroupCache.CacheListener listener) {
+        return new KafkaConsumerGroupCache(
+                Mockito.mock(KafkaAdminOperations.class),
+                "localhost:9092",
+                new HashMap<>(),
+                listener);
+    }
+
+    private static BaseKey groupKey(String groupName) {
+        return new GroupMetadataKey((short)2, groupName);
+    }
+
+    private static GroupMetadata groupMetadata(String groupName) {
+        return new GroupMetadata(groupName, Empty$.MODULE$, Time.SYSTEM);
+    }
+
+    private static BaseKey offsetKey(String groupName, String topic, int partition) {
+        return new OffsetKey((short)1, new GroupTopicPartition(groupName, new TopicPartition(topic, partition)));
+    }
+
+    private static OffsetAndMetadata offset(long offset) {
+        return OffsetAndMetadata.apply(offset, "", System.currentTimeMillis());
+    }
+
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ *  Copyright 2022 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.consumer.repo.kafka;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class PendingOffsetUpdatesTest {
+
+    private static final String GROUP = "group";
+    private static final int WRITERS = 4;
+    private static final int READERS = 2;
+    private static final int UPDATES_PER_WRITER = 50_000;
+
+    @Test
+    public void testPartitionsAreTakenOnce() throws Exception {
+        PendingOffsetUpdates updates = new PendingOffsetUpdates();
+        updates.add(GROUP, Set.of(new TopicPartition("topic", 0)));
+        updates.add(GROUP, Set.of(new TopicPartition("topic", 1)));
+
+        Assertions.assertEquals(
+                Set.of(new TopicPartition("topic", 0), new TopicPartition("topic", 1)),
+                updates.take(GROUP));
+        Assertions.assertNull(updates.take(GROUP));
+
+        updates.add(GROUP, Set.of(new TopicPartition("topic", 0)));
+        updates.remove(GROUP);
+        Assertions.assertNull(updates.take(GROUP));
+    }
+
+    @Test
+    public void testNoUpdateIsLostWhileTakenConcurrently() throws Exception {
+        PendingOffsetUpdates updates = new PendingOffsetUpdates();
+        Set<TopicPartition> taken = ConcurrentHashMap.newKeySet();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < WRITERS; writer++) {
+                String topic = "topic-" + writer;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int partition = 0; partition < UPDATES_PER_WRITER; partition++) {
+                        updates.add(GROUP, Set.of(new TopicPartition(topic, partition)));
+                    }
+                    return null;
+                }));
+            }
+            List<Future<?>> readers = new ArrayList<>();
+            for (int reader = 0; reader < READERS; reader++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    while (writing.get()) {
+                        Set<TopicPartition> partitions = updates.take(GROUP);
+                        if (partitions != null) {
+                            taken.addAll(partitions);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(1, TimeUnit.MINUTES);
+            }
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Set<TopicPartition> rest = updates.take(GROUP);
+        if (rest != null) {
+            taken.addAll(rest);
+        }
+        Assertions.assertEquals(WRITERS * UPDATES_PER_WRITER, taken.size());
+    }
+
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ *  Copyright 2022 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.offset;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import com.epam.eco.commons.kafka.OffsetRange;
+import com.epam.eco.kafkamanager.KafkaAdminOperations;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class OffsetLookupServiceTest {
+
+    private static final TopicPartition T0 = new TopicPartition("topic", 0);
+    private static final TopicPartition T1 = new TopicPartition("topic", 1);
+
+    @Test
+    public void testOffsetRangesAreServedFromCacheWhileFresh() throws Exception {
+        KafkaAdminOperations adminOperations = Mockito.mock(KafkaAdminOperations.class);
+        Mockito.when(adminOperations.listOffsets(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            Map<TopicPartition, OffsetSpec> specs = invocation.getArgument(0);
+            return specs.entrySet().stream().collect(Collectors.toMap(
+                    Map.Entry::getKey,
+                    e -> e.getValue() instanceof OffsetSpec.EarliestSpec ? 5L : 15L));
+        });
+
+        OffsetLookupService service = new OffsetLookupService(adminOperations, 60 * 1000);
+        service.start();
+        try {
+            Map<TopicPartition, OffsetRange> ranges = service.fetchOffsetRanges(List.of(T0, T1));
+            Assertions.assertEquals(Map.of(T0, OffsetRange.with(5, 14, true), T1, OffsetRange.with(5, 14, true)), ranges);
+            Assertions.assertEquals(10, ranges.get(T0).getSize());
+
+            Assertions.assertEquals(ranges, service.fetchOffsetRanges(List.of(T0, T1)));
+            Assertions.assertEquals(Map.of(T1, 15L), service.fetchEndOffsets(List.of(T1)));
+
+            Mockito.verify(adminOperations, Mockito.times(2)).listOffsets(ArgumentMatchers.any());
+        } finally {
+            service.close();
+        }
+    }
+
+    @Test
+    public void testConcurrentLookupsAreCoalesced() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        KafkaAdminOperations adminOperations = Mockito.mock(KafkaAdminOperations.class);
+        Mockito.when(adminOperations.listOffsets(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            entered.countDown();
+            released.await(10, TimeUnit.SECONDS);
+            Map<TopicPartition, OffsetSpec> specs = invocation.getArgument(0);
+            return specs.keySet().stream().collect(Collectors.toMap(p -> p, p -> (long) p.partition()));
+        });
+
+        OffsetLookupService service = new OffsetLookupService(adminOperations, 0);
+        service.start();
+        try {
+            List<Thread> callers = new ArrayList<>();
+            Map<TopicPartition, Long> results = new ConcurrentHashMap<>();
+            Thread first = startCaller(service, new TopicPartition("topic", 0), results);
+            Assertions.assertTrue(entered.await(10, TimeUnit.SECONDS));
+            for (int partition = 1; partition <= 4; partition++) {
+                callers.add(startCaller(service, new TopicPartition("topic", partition), results));
+            }
+            for (Thread caller : callers) {
+                awaitWaiting(caller);
+            }
+            released.countDown();
+
+            first.join(TimeUnit.SECONDS.toMillis(10));
+            for (Thread caller : callers) {
+                caller.join(TimeUnit.SECONDS.toMillis(10));
+            }
+
+            Assertions.assertEquals(5, results.size());
+            results.forEach((partition, offset) -> Assertions.assertEquals(partition.partition(), offset.intValue()));
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<Map<TopicPartition, OffsetSpec>> specs = ArgumentCaptor.forClass(Map.class);
+            Mockito.verify(adminOperations, Mockito.times(2)).listOffsets(specs.capture());
+            Assertions.assertEquals(1, specs.getAllValues().get(0).size());
+            Assertions.assertEquals(4, specs.getAllValues().get(1).size());
+        } finally {
+            service.close();
+        }
+    }
+
+    private static Thread startCaller(
+            OffsetLookupService service,
+            TopicPartition partition,
+            Map<TopicPartition, Long> results) {
+        Thread thread = new Thread(() -> results.putAll(service.fetchEndOffsets(List.of(partition))));
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+}
@@ -0,0 +1,371 @@
+/*******************************************************************************
+ *  Copyright 2022 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.exec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+
+import com.epam.eco.commons.kafka.OffsetRange;
+import com.epam.eco.commons.kafka.helpers.BiDirectionalTopicRecordFetcher.FetchDirection;
+import com.epam.eco.commons.kafka.helpers.FilterClausePredicate;
+import com.epam.eco.commons.kafka.helpers.PartitionRecordFetchResult;
+import com.epam.eco.commons.kafka.helpers.RecordBiDirectionalFetcher;
+import com.epam.eco.commons.kafka.helpers.RecordFetchResult;
+import com.epam.eco.kafkamanager.TopicRecordFetchParams.DataFormat;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class ParallelTopicRecordFetcherTest {
+
+    private static final String TOPIC = "topic";
+    private static final int PARTITIONS = 6;
+    private static final long TIMEOUT_IN_MS = 1000;
+
+    private final Map<TopicPartition, List<ConsumerRecord<String, String>>> log = createLog();
+    private final TopicRecordConsumerPool pool = new TopicRecordConsumerPool(
+            (keyFormat, valueFormat) -> createConsumer(), 8, 60 * 1000);
+    private final ExecutorService workers = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void after() {
+        workers.shutdownNow();
+        pool.close();
+    }
+
+    @Test
+    public void testFetchByOffsetsGivesSameResultsAsSequentialFetch() throws Exception {
+        Map<TopicPartition, Long> smallest = new HashMap<>();
+        Map<TopicPartition, Long> largest = new HashMap<>();
+        log.forEach((partition, records) -> {
+            if (!records.isEmpty()) {
+                smallest.put(partition, records.get(0).offset());
+                largest.put(partition, records.get(records.size() - 1).offset());
+            }
+        });
+        smallest.put(new TopicPartition(TOPIC, 0), 100L); // beyond end of the partition
+
+        FilterClausePredicate<String, String> everyThird = r -> r.offset() % 3 == 0;
+        for (long limit : new long[] {5, 13, 1000}) {
+            assertSameResults(fetcher -> fetcher.fetchByOffsets(
+                    smallest, limit, null, TIMEOUT_IN_MS, FetchDirection.FORWARD));
+            assertSameResults(fetcher -> fetcher.fetchByOffsets(
+                    smallest, limit, everyThird, TIMEOUT_IN_MS, FetchDirection.FORWARD));
+            assertSameResults(fetcher -> fetcher.fetchByOffsets(
+                    largest, limit, null, TIMEOUT_IN_MS, FetchDirection.BACKWARD));
+        }
+        assertSameResults(fetcher -> fetcher.fetchByOffsets(
+                largest, 13, everyThird, TIMEOUT_IN_MS, FetchDirection.BACKWARD));
+    }
+
+    @Test
+    public void testFetchByTimestampsGivesSameResultsAsSequentialFetch() throws Exception {
+        Map<TopicPartition, Long> timestamps = log.keySet().stream().
+                collect(Collectors.toMap(partition -> partition, partition -> 1100L));
+
+        assertSameResults(fetcher -> fetcher.fetchByTimestamps(
+                timestamps, 20, null, TIMEOUT_IN_MS, FetchDirection.FORWARD));
+        assertSameResults(fetcher -> fetcher.fetchByTimestamps(
+                timestamps, 20, null, TIMEOUT_IN_MS, FetchDirection.BACKWARD));
+    }
+
+    @Test
+    public void testOffsetsBeforeLogStartAreMovedOntoIt() throws Exception {
+        Map<TopicPartition, Long> offsets = log.keySet().stream().
+                collect(Collectors.toMap(partition -> partition, partition -> 0L));
+        Map<TopicPartition, Long> offsetsAfterEnd = log.keySet().stream().
+                collect(Collectors.toMap(partition -> partition, partition -> 1000L));
+
+        for (long limit : new long[] {5, 1000}) {
+            assertSameResults(fetcher -> fetcher.fetchByOffsets(
+                    offsets, limit, null, TIMEOUT_IN_MS, FetchDirection.FORWARD));
+            assertSameResults(fetcher -> fetcher.fetchByOffsets(
+                    offsetsAfterEnd, limit, null, TIMEOUT_IN_MS, FetchDirection.BACKWARD));
+        }
+
+        RecordFetchResult<String, String> result = createFetcher(4).fetchByOffsets(
+                offsets, 1000, null, TIMEOUT_IN_MS, FetchDirection.FORWARD);
+        Assertions.assertEquals(log.keySet(), new HashSet<>(result.getPartitions()));
+        log.forEach((partition, records) -> Assertions.assertEquals(
+                records, result.getPerPartitionResult(partition).getRecords()));
+    }
+
+    @Test
+    public void testLimitIsSharedAmongWorkers() throws Exception {
+        Map<TopicPartition, Long> offsets = log.keySet().stream().
+                collect(Collectors.toMap(partition -> partition, partition -> (long)partition.partition()));
+
+        RecordFetchResult<String, String> result = createFetcher(4).fetchByOffsets(
+                offsets, 11, null, TIMEOUT_IN_MS, FetchDirection.FORWARD);
+
+        Assertions.assertEquals(11, result.count());
+        Assertions.assertEquals(
+                List.of(3, 2, 2, 2, 2),
+                result.getPerPartitionResults().stream().
+                        filter(partitionResult -> !partitionResult.getRecords().isEmpty()).
+                        map(partitionResult -> partitionResult.getRecords().size()).
+                        collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testFetchIsLimitedToOffsetBounds() throws Exception {
+        TopicPartition partition = new TopicPartition(TOPIC, 5);
+        ParallelTopicRecordFetcher<String, String> fetcher = new ParallelTopicRecordFetcher<>(
+                pool, workers, 4, DataFormat.STRING, DataFormat.STRING, new HashMap<>(),
+                Map.of(partition, OffsetRange.with(10, 19, true)));
+
+        RecordFetchResult<String, String> forward = fetcher.fetchByOffsets(
+                Map.of(partition, 5L), 1000, null, TIMEOUT_IN_MS, FetchDirection.FORWARD);
+        RecordFetchResult<String, String> backward = fetcher.fetchByOffsets(
+                Map.of(partition, 54L), 1000, null, TIMEOUT_IN_MS, FetchDirection.BACKWARD);
+
+        Assertions.assertEquals(10, forward.count());
+        Assertions.assertEquals(10L, forward.getRecords().get(0).offset());
+        Assertions.assertEquals(19L, forward.getRecords().get(9).offset());
+        Assertions.assertFalse(backward.isEmpty());
+        Assertions.assertTrue(backward.getRecords().stream().allMatch(record -> record.offset() >= 10 && record.offset() <= 19));
+    }
+
+    @Test
+    public void testFetchDoesNotWaitForBusyWorkers() throws Exception {
+        ExecutorService busyWorkers = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        busyWorkers.submit(() -> release.await(1, TimeUnit.MINUTES));
+        try {
+            Map<TopicPartition, Long> offsets = log.keySet().stream().
+                    collect(Collectors.toMap(partition -> partition, partition -> (long)partition.partition()));
+
+            RecordFetchResult<String, String> expected = createFetcher(1).fetchByOffsets(
+                    offsets, 1000, null, TIMEOUT_IN_MS, FetchDirection.FORWARD);
+            RecordFetchResult<String, String> result = new ParallelTopicRecordFetcher<String, String>(
+                    pool, busyWorkers, 4, DataFormat.STRING, DataFormat.STRING, new HashMap<>()).
+                    fetchByOffsets(offsets, 1000, null, TIMEOUT_IN_MS, FetchDirection.FORWARD);
+
+            Assertions.assertFalse(expected.isEmpty());
+            Assertions.assertEquals(expected.getRecords(), result.getRecords());
+        } finally {
+            release.countDown();
+            busyWorkers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPartitionsLeftAfterTimeoutAreReportedUnscanned() throws Exception {
+        TopicRecordConsumerPool slowPool = new TopicRecordConsumerPool(
+                (keyFormat, valueFormat) -> createConsumer(100), 8, 60 * 1000);
+        try {
+            Map<TopicPartition, Long> offsets = log.keySet().stream().
+                    collect(Collectors.toMap(partition -> partition, partition -> (long)partition.partition()));
+
+            RecordFetchResult<String, String> result = new ParallelTopicRecordFetcher<String, String>(
+                    slowPool, workers, 4, DataFormat.STRING, DataFormat.STRING, new HashMap<>()).
+                    fetchByOffsets(offsets, 1000, null, 50, FetchDirection.FORWARD);
+
+            Assertions.assertEquals(offsets.keySet(), new HashSet<>(result.getPartitions()));
+            Assertions.assertTrue(result.isEmpty());
+            result.getPerPartitionResults().forEach(partitionResult -> {
+                Assertions.assertEquals(0, partitionResult.getScannedOffsets().getSize());
+                Assertions.assertEquals(
+                        offsets.get(partitionResult.getPartition()),
+                        partitionResult.getScannedOffsets().getSmallest());
+            });
+        } finally {
+            slowPool.close();
+        }
+    }
+
+    private void assertSameResults(FetchCall call) {
+        RecordFetchResult<String, String> sequential = call.fetch(createFetcher(1));
+        RecordFetchResult<String, String> parallel = call.fetch(createFetcher(4));
+
+        Assertions.assertFalse(sequential.isEmpty());
+        Assertions.assertEquals(sequential.getPartitions(), parallel.getPartitions());
+        for (PartitionRecordFetchResult<String, String> expected : sequential.getPerPartitionResults()) {
+            PartitionRecordFetchResult<String, String> actual =
+                    parallel.getPerPartitionResult(expected.getPartition());
+            Assertions.assertEquals(expected.getRecords(), actual.getRecords());
+            Assertions.assertEquals(expected.getPartitionOffsets(), actual.getPartitionOffsets());
+            Assertions.assertEquals(expected.getScannedOffsets(), actual.getScannedOffsets());
+        }
+        Assertions.assertEquals(sequential.getRecords(), parallel.getRecords());
+    }
+
+    private ParallelTopicRecordFetcher<String, String> createFetcher(int parallelism) {
+        return new ParallelTopicRecordFetcher<>(
+                pool, workers, parallelism, DataFormat.STRING, DataFormat.STRING, new HashMap<>());
+    }
+
+    /**
+     * Partition N starts at offset N and holds 10 * N records, partition 0 is empty.
+     */
+    private static Map<TopicPartition, List<ConsumerRecord<String, String>>> createLog() {
+        Map<TopicPartition, List<ConsumerRecord<String, String>>> log = new HashMap<>();
+        for (int p = 0; p < PARTITIONS; p++) {
+            List<ConsumerRecord<String, String>> records = new ArrayList<>();
+            for (long offset = p; offset < p + 10L * p; offset++) {
+                ConsumerRecord<String, String> record = new ConsumerRecord<>(
+                        TOPIC, p, offset, "key-" + offset, "value-" + offset);
+                records.add(new ConsumerRecord<>(
+                        TOPIC, p, offset, 1000 + offset * 10, record.timestampType(),
+                        record.serializedKeySize(), record.serializedValueSize(),
+                        record.key(), record.value(), record.headers(), record.leaderEpoch()));
+            }
+            log.put(new TopicPartition(TOPIC, p), records);
+        }
+        return log;
+    }
+
+    private KafkaConsumer<?, ?> createConsumer() {
+        return createConsumer(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private KafkaConsumer<?, ?> createConsumer(long delayInMs) {
+        return Mockito.mock(
+                KafkaConsumer.class,
+                AdditionalAnswers.delegatesTo(new InMemoryConsumer(log, delayInMs)));
+    }
+
+    private interface FetchCall {
+        RecordFetchResult<String, String> fetch(RecordBiDirectionalFetcher<String, String> fetcher);
+    }
+
+    /**
+     * Consumer reading the in-memory log, a few records per partition per poll.
+     */
+    public static class InMemoryConsumer {
+
+        private static final int MAX_POLL_RECORDS_PER_PARTITION = 4;
+
+        private final Map<TopicPartition, List<ConsumerRecord<String, String>>> log;
+        private final long delayInMs;
+        private final Map<TopicPartition, Long> positions = new HashMap<>();
+
+        public InMemoryConsumer(Map<TopicPartition, List<ConsumerRecord<String, String>>> log) {
+            this(log, 0);
+        }
+
+        public InMemoryConsumer(
+                Map<TopicPartition, List<ConsumerRecord<String, String>>> log,
+                long delayInMs) {
+            this.log = log;
+            this.delayInMs = delayInMs;
+        }
+
+        public void assign(Collection<TopicPartition> partitions) {
+            positions.clear();
+            partitions.forEach(partition -> positions.put(partition, beginningOffset(partition)));
+        }
+
+        public Set<TopicPartition> assignment() {
+            return new HashSet<>(positions.keySet());
+        }
+
+        public void unsubscribe() {
+            positions.clear();
+        }
+
+        public void seek(TopicPartition partition, long offset) {
+            Validate.isTrue(positions.containsKey(partition), "Partition isn't assigned");
+            positions.put(partition, offset);
+        }
+
+        public long position(TopicPartition partition) {
+            return positions.get(partition);
+        }
+
+        public ConsumerRecords<String, String> poll(Duration timeout) {
+            delay();
+            Map<TopicPartition, List<ConsumerRecord<String, String>>> polled = new HashMap<>();
+            positions.forEach((partition, position) -> {
+                List<ConsumerRecord<String, String>> records = log.get(partition).stream().
+                        filter(record -> record.offset() >= position).
+                        limit(MAX_POLL_RECORDS_PER_PARTITION).
+                        collect(Collectors.toList());
+                if (!records.isEmpty()) {
+                    polled.put(partition, records);
+                    positions.put(partition, records.get(records.size() - 1).offset() + 1);
+                }
+            });
+            return new ConsumerRecords<>(polled);
+        }
+
+        public Map<TopicPartition, OffsetAndTimestamp> offsetsForTimes(Map<TopicPartition, Long> timestamps) {
+            Map<TopicPartition, OffsetAndTimestamp> offsets = new HashMap<>();
+            timestamps.forEach((partition, timestamp) -> offsets.put(
+                    partition,
+                    log.get(partition).stream().
+                            filter(record -> record.timestamp() >= timestamp).
+                            findFirst().
+                            map(record -> new OffsetAndTimestamp(record.offset(), record.timestamp())).
+                            orElse(null)));
+            return offsets;
+        }
+
+        public Map<TopicPartition, Long> beginningOffsets(Collection<TopicPartition> partitions) {
+            return partitions.stream().collect(Collectors.toMap(p -> p, this::beginningOffset));
+        }
+
+        public Map<TopicPartition, Long> endOffsets(Collection<TopicPartition> partitions) {
+            delay();
+            return partitions.stream().collect(Collectors.toMap(
+                    p -> p,
+                    p -> beginningOffset(p) + log.get(p).size()));
+        }
+
+        public void close(Duration timeout) {
+        }
+
+        private long beginningOffset(TopicPartition partition) {
+            return partition.partition();
+        }
+
+        private void delay() {
+            if (delayInMs > 0) {
+                try {
+                    Thread.sleep(delayInMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+    }
+
+}
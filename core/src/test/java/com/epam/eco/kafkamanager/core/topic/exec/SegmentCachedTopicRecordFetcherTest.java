@@ -0,0 +1,208 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.exec;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+
+import com.epam.eco.commons.kafka.OffsetRange;
+import com.epam.eco.commons.kafka.helpers.BiDirectionalTopicRecordFetcher.FetchDirection;
+import com.epam.eco.commons.kafka.helpers.RecordFetchResult;
+import com.epam.eco.kafkamanager.TopicRecordFetchParams.DataFormat;
+import com.epam.eco.kafkamanager.core.topic.exec.ParallelTopicRecordFetcherTest.InMemoryConsumer;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class SegmentCachedTopicRecordFetcherTest {
+
+    private static final String TOPIC = "topic";
+    private static final int PARTITIONS = 4;
+    private static final long TIMEOUT_IN_MS = 1000;
+
+    @TempDir
+    Path directory;
+
+    private final Map<TopicPartition, List<ConsumerRecord<byte[], byte[]>>> log = createLog();
+    private final List<KafkaConsumer<?, ?>> consumers = new ArrayList<>();
+    private final TopicRecordConsumerPool pool = new TopicRecordConsumerPool(
+            (keyFormat, valueFormat) -> createConsumer(), 8, 60 * 1000);
+    private final AtomicInteger deserializerConfigCount = new AtomicInteger();
+    private final TopicRecordDeserializerPool deserializerPool = new TopicRecordDeserializerPool(
+            (keyFormat, valueFormat) -> createDeserializerConfig(), 8);
+
+    @AfterEach
+    public void after() {
+        pool.close();
+        deserializerPool.close();
+    }
+
+    @Test
+    public void testRepeatedFetchesAreServedFromCache() throws Exception {
+        TopicRecordSegmentCache cache = new TopicRecordSegmentCache(directory, 1024 * 1024);
+        Map<TopicPartition, Long> offsets = log.keySet().stream().
+                collect(Collectors.toMap(partition -> partition, partition -> (long)partition.partition()));
+
+        RecordFetchResult<String, String> first = createFetcher(cache, null).fetchByOffsets(
+                offsets, 9, null, TIMEOUT_IN_MS, FetchDirection.FORWARD);
+        long polls = countPolls();
+        RecordFetchResult<String, String> second = createFetcher(cache, null).fetchByOffsets(
+                offsets, 9, null, TIMEOUT_IN_MS, FetchDirection.FORWARD);
+
+        Assertions.assertEquals(9, first.count());
+        Assertions.assertEquals(
+                List.of("value-1", "value-2", "value-3", "value-2", "value-3", "value-4", "value-3", "value-4", "value-5"),
+                first.getRecords().stream().map(ConsumerRecord::value).collect(Collectors.toList()));
+        Assertions.assertEquals(PARTITIONS, first.getPartitions().size());
+        Assertions.assertEquals(
+                OffsetRange.with(1, 3, true),
+                first.getPerPartitionResult(new TopicPartition(TOPIC, 1)).getScannedOffsets());
+        Assertions.assertEquals(
+                first.getRecords().stream().map(ConsumerRecord::offset).collect(Collectors.toList()),
+                second.getRecords().stream().map(ConsumerRecord::offset).collect(Collectors.toList()));
+        Assertions.assertTrue(polls > 0);
+        Assertions.assertEquals(polls, countPolls());
+        Assertions.assertEquals(3, cache.getSegmentCount());
+    }
+
+    @Test
+    public void testDeserializersAreReusedAcrossFetches() throws Exception {
+        TopicRecordSegmentCache cache = new TopicRecordSegmentCache(directory, 1024 * 1024);
+        TopicPartition partition = new TopicPartition(TOPIC, 3);
+
+        for (int i = 0; i < 3; i++) {
+            RecordFetchResult<String, String> result = createFetcher(cache, null).fetchByOffsets(
+                    Map.of(partition, 3L), 5, null, TIMEOUT_IN_MS, FetchDirection.FORWARD);
+            Assertions.assertEquals(5, result.count());
+        }
+
+        Assertions.assertEquals(1, deserializerConfigCount.get());
+        Assertions.assertEquals(1, deserializerPool.idleCount());
+    }
+
+    @Test
+    public void testBackwardFetchWithFilter() throws Exception {
+        TopicRecordSegmentCache cache = new TopicRecordSegmentCache(directory, 1024 * 1024);
+        TopicPartition partition = new TopicPartition(TOPIC, 3);
+
+        RecordFetchResult<String, String> result = createFetcher(cache, null).fetchByOffsets(
+                Map.of(partition, 32L), 6, record -> record.offset() % 2 == 0, TIMEOUT_IN_MS, FetchDirection.BACKWARD);
+
+        Assertions.assertEquals(
+                List.of(22L, 24L, 26L, 28L, 30L, 32L),
+                result.getRecords().stream().map(ConsumerRecord::offset).collect(Collectors.toList()));
+        Assertions.assertEquals(
+                OffsetRange.with(22, 32, true),
+                result.getPerPartitionResult(partition).getScannedOffsets());
+    }
+
+    @Test
+    public void testFetchIsLimitedToOffsetBounds() throws Exception {
+        TopicRecordSegmentCache cache = new TopicRecordSegmentCache(directory, 1024 * 1024);
+        TopicPartition partition = new TopicPartition(TOPIC, 3);
+
+        RecordFetchResult<String, String> result = createFetcher(
+                cache, Map.of(partition, OffsetRange.with(10, 14, true))).fetchByOffsets(
+                        Map.of(partition, 3L), 100, null, TIMEOUT_IN_MS, FetchDirection.FORWARD);
+
+        Assertions.assertEquals(
+                List.of(10L, 11L, 12L, 13L, 14L),
+                result.getRecords().stream().map(ConsumerRecord::offset).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testSegmentsOutOfLogAreInvalidated() throws Exception {
+        TopicRecordSegmentCache cache = new TopicRecordSegmentCache(directory, 1024 * 1024);
+        TopicPartition partition = new TopicPartition(TOPIC, 3);
+        cache.put(partition, 0, 2, new ArrayList<>());
+        cache.put(partition, 40, 50, new ArrayList<>());
+
+        createFetcher(cache, null).fetchByOffsets(
+                Map.of(partition, 3L), 1, null, TIMEOUT_IN_MS, FetchDirection.FORWARD);
+
+        Assertions.assertNull(cache.get(partition, 0));
+        Assertions.assertNull(cache.get(partition, 40));
+        Assertions.assertNotNull(cache.get(partition, 3));
+    }
+
+    private SegmentCachedTopicRecordFetcher<String, String> createFetcher(
+            TopicRecordSegmentCache cache,
+            Map<TopicPartition, OffsetRange> offsetBounds) {
+        return new SegmentCachedTopicRecordFetcher<>(
+                cache, pool, deserializerPool, DataFormat.STRING, DataFormat.STRING, offsetBounds);
+    }
+
+    private Map<String, Object> createDeserializerConfig() {
+        deserializerConfigCount.incrementAndGet();
+        Map<String, Object> consumerConfig = new HashMap<>();
+        consumerConfig.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerConfig.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        return consumerConfig;
+    }
+
+    private long countPolls() {
+        return consumers.stream().
+                flatMap(consumer -> Mockito.mockingDetails(consumer).getInvocations().stream()).
+                filter(invocation -> invocation.getMethod().getName().equals("poll")).
+                count();
+    }
+
+    /**
+     * Partition N starts at offset N and holds 10 * N records, partition 0 is empty.
+     */
+    private static Map<TopicPartition, List<ConsumerRecord<byte[], byte[]>>> createLog() {
+        Map<TopicPartition, List<ConsumerRecord<byte[], byte[]>>> log = new HashMap<>();
+        for (int p = 0; p < PARTITIONS; p++) {
+            List<ConsumerRecord<byte[], byte[]>> records = new ArrayList<>();
+            for (long offset = p; offset < p + 10L * p; offset++) {
+                records.add(new ConsumerRecord<>(
+                        TOPIC, p, offset,
+                        ("key-" + offset).getBytes(StandardCharsets.UTF_8),
+                        ("value-" + offset).getBytes(StandardCharsets.UTF_8)));
+            }
+            log.put(new TopicPartition(TOPIC, p), records);
+        }
+        return log;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private KafkaConsumer<?, ?> createConsumer() {
+        KafkaConsumer<?, ?> consumer = Mockito.mock(
+                KafkaConsumer.class,
+                AdditionalAnswers.delegatesTo(new InMemoryConsumer((Map)log)));
+        consumers.add(consumer);
+        return consumer;
+    }
+
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ *  Copyright 2022 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.exec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import com.epam.eco.kafkamanager.TopicRecordFetchParams.DataFormat;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class TopicRecordConsumerPoolTest {
+
+    private final List<KafkaConsumer<?, ?>> created = new ArrayList<>();
+
+    @Test
+    public void testConsumersAreReusedPerFormat() throws Exception {
+        TopicRecordConsumerPool pool = createPool(1, 60 * 1000);
+
+        KafkaConsumer<Object, Object> consumer = pool.borrow(DataFormat.STRING, DataFormat.AVRO);
+        pool.release(DataFormat.STRING, DataFormat.AVRO, consumer, true);
+        Mockito.verify(consumer).unsubscribe();
+
+        Assertions.assertSame(consumer, pool.borrow(DataFormat.STRING, DataFormat.AVRO));
+        Assertions.assertNotSame(consumer, pool.borrow(DataFormat.STRING, DataFormat.JSON_STRING));
+        Assertions.assertEquals(2, created.size());
+    }
+
+    @Test
+    public void testFailedAndExcessConsumersAreClosed() throws Exception {
+        TopicRecordConsumerPool pool = createPool(1, 60 * 1000);
+
+        KafkaConsumer<Object, Object> failed = pool.borrow(DataFormat.STRING, DataFormat.STRING);
+        pool.release(DataFormat.STRING, DataFormat.STRING, failed, false);
+        verifyClosed(failed);
+
+        KafkaConsumer<Object, Object> first = pool.borrow(DataFormat.STRING, DataFormat.STRING);
+        KafkaConsumer<Object, Object> second = pool.borrow(DataFormat.STRING, DataFormat.STRING);
+        pool.release(DataFormat.STRING, DataFormat.STRING, first, true);
+        pool.release(DataFormat.STRING, DataFormat.STRING, second, true);
+        verifyClosed(second);
+        Assertions.assertEquals(1, pool.idleCount());
+
+        pool.close();
+        verifyClosed(first);
+        Assertions.assertEquals(0, pool.idleCount());
+    }
+
+    @Test
+    public void testIdleConsumersAreEvicted() throws Exception {
+        TopicRecordConsumerPool pool = createPool(2, 1);
+
+        KafkaConsumer<Object, Object> consumer = pool.borrow(DataFormat.HEX_STRING, DataFormat.BYTE_ARRAY);
+        pool.release(DataFormat.HEX_STRING, DataFormat.BYTE_ARRAY, consumer, true);
+        Thread.sleep(10);
+        pool.evictIdle();
+
+        verifyClosed(consumer);
+        Assertions.assertEquals(0, pool.idleCount());
+    }
+
+    @Test
+    public void testBorrowedConsumersAreLimitedPerFormat() throws Exception {
+        TopicRecordConsumerPool pool = createPool(1, 60 * 1000, 2, 50);
+
+        KafkaConsumer<Object, Object> first = pool.borrow(DataFormat.STRING, DataFormat.STRING);
+        KafkaConsumer<Object, Object> second = pool.borrow(DataFormat.STRING, DataFormat.STRING);
+        Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> pool.borrow(DataFormat.STRING, DataFormat.STRING));
+        Assertions.assertNotNull(pool.borrow(DataFormat.STRING, DataFormat.JSON_STRING));
+
+        pool.release(DataFormat.STRING, DataFormat.STRING, second, false);
+        Assertions.assertNotNull(pool.borrow(DataFormat.STRING, DataFormat.STRING));
+        Assertions.assertEquals(4, created.size());
+        Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> pool.borrow(DataFormat.STRING, DataFormat.STRING));
+
+        pool.release(DataFormat.STRING, DataFormat.STRING, first, true);
+        Assertions.assertSame(first, pool.borrow(DataFormat.STRING, DataFormat.STRING));
+    }
+
+    @Test
+    public void testBorrowWaitsForReleasedConsumer() throws Exception {
+        TopicRecordConsumerPool pool = createPool(1, 60 * 1000, 1, 60 * 1000);
+
+        KafkaConsumer<Object, Object> consumer = pool.borrow(DataFormat.STRING, DataFormat.STRING);
+        CompletableFuture<KafkaConsumer<Object, Object>> waiting = CompletableFuture.supplyAsync(
+                () -> pool.borrow(DataFormat.STRING, DataFormat.STRING));
+        Thread.sleep(50);
+        Assertions.assertFalse(waiting.isDone());
+
+        pool.release(DataFormat.STRING, DataFormat.STRING, consumer, true);
+        Assertions.assertSame(consumer, waiting.get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, created.size());
+    }
+
+    private TopicRecordConsumerPool createPool(int maxIdlePerFormat, long idleTimeoutInMs) {
+        return createPool(maxIdlePerFormat, idleTimeoutInMs, Integer.MAX_VALUE, 0);
+    }
+
+    private TopicRecordConsumerPool createPool(
+            int maxIdlePerFormat,
+            long idleTimeoutInMs,
+            int maxPerFormat,
+            long borrowTimeoutInMs) {
+        return new TopicRecordConsumerPool(
+                (keyFormat, valueFormat) -> {
+                    KafkaConsumer<?, ?> consumer = Mockito.mock(KafkaConsumer.class);
+                    created.add(consumer);
+                    return consumer;
+                },
+                maxIdlePerFormat,
+                idleTimeoutInMs,
+                maxPerFormat,
+                borrowTimeoutInMs);
+    }
+
+    private static void verifyClosed(KafkaConsumer<?, ?> consumer) {
+        Mockito.verify(consumer).close(ArgumentMatchers.any(Duration.class));
+    }
+
+}
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.exec;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.epam.eco.kafkamanager.core.topic.exec.TopicRecordSegmentCache.Segment;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class TopicRecordSegmentCacheTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("topic", 1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRecordsAreReadAsStored() throws Exception {
+        TopicRecordSegmentCache cache = new TopicRecordSegmentCache(directory, 1024 * 1024);
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("header", bytes("header-value"));
+        List<ConsumerRecord<byte[], byte[]>> records = List.of(
+                record(10, bytes("key"), bytes("value"), headers),
+                record(12, null, bytes("value-12"), new RecordHeaders()),
+                record(13, bytes("key-13"), null, new RecordHeaders()));
+
+        cache.put(PARTITION, 10, 14, records);
+
+        Assertions.assertNull(cache.get(PARTITION, 9));
+        Assertions.assertNull(cache.get(PARTITION, 15));
+        Assertions.assertNull(cache.get(new TopicPartition("topic", 0), 10));
+        Segment segment = cache.get(PARTITION, 14);
+        Assertions.assertNotNull(segment);
+        Assertions.assertEquals(3, segment.getRecordCount());
+
+        List<ConsumerRecord<byte[], byte[]>> read = segment.read(11, 14);
+        Assertions.assertEquals(2, read.size());
+        Assertions.assertEquals(12, read.get(0).offset());
+        Assertions.assertNull(read.get(0).key());
+        Assertions.assertEquals("value-12", string(read.get(0).value()));
+        Assertions.assertEquals(13, read.get(1).offset());
+        Assertions.assertNull(read.get(1).value());
+
+        ConsumerRecord<byte[], byte[]> first = segment.read(10, 10).get(0);
+        Assertions.assertEquals(PARTITION.topic(), first.topic());
+        Assertions.assertEquals(PARTITION.partition(), first.partition());
+        Assertions.assertEquals(1010, first.timestamp());
+        Assertions.assertEquals(TimestampType.CREATE_TIME, first.timestampType());
+        Assertions.assertEquals("key", string(first.key()));
+        Assertions.assertEquals("value", string(first.value()));
+        Assertions.assertEquals("header-value", string(first.headers().lastHeader("header").value()));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedSegmentsAreEvicted() throws Exception {
+        int segmentSize = new TopicRecordSegmentCache(directory.resolve("probe"), 1024).
+                put(PARTITION, 0, 9, records(0, 9)).getSizeInBytes();
+        TopicRecordSegmentCache cache = new TopicRecordSegmentCache(directory.resolve("cache"), segmentSize * 2L);
+
+        cache.put(PARTITION, 0, 9, records(0, 9));
+        cache.put(PARTITION, 10, 19, records(10, 19));
+        Assertions.assertNotNull(cache.get(PARTITION, 5));
+        cache.put(PARTITION, 20, 29, records(20, 29));
+
+        Assertions.assertEquals(2, cache.getSegmentCount());
+        Assertions.assertEquals(segmentSize * 2L, cache.getSizeInBytes());
+        Assertions.assertNotNull(cache.get(PARTITION, 5));
+        Assertions.assertNull(cache.get(PARTITION, 15));
+        Assertions.assertNotNull(cache.get(PARTITION, 25));
+        Assertions.assertEquals(2, segmentFileCount(cache));
+    }
+
+    @Test
+    public void testOverlappedAndOutOfLogSegmentsAreDropped() throws Exception {
+        TopicRecordSegmentCache cache = new TopicRecordSegmentCache(directory, 1024 * 1024);
+        cache.put(PARTITION, 0, 9, records(0, 9));
+        cache.put(PARTITION, 10, 19, records(10, 19));
+        cache.put(PARTITION, 20, 29, records(20, 29));
+        cache.put(PARTITION, 15, 24, records(15, 24));
+
+        Assertions.assertEquals(2, cache.getSegmentCount());
+        Assertions.assertNull(cache.get(PARTITION, 12));
+        Assertions.assertEquals(15, cache.get(PARTITION, 20).getSmallestOffset());
+
+        cache.invalidate(PARTITION, 5, 100);
+
+        Assertions.assertEquals(1, cache.getSegmentCount());
+        Assertions.assertNull(cache.get(PARTITION, 5));
+        Assertions.assertNotNull(cache.get(PARTITION, 15));
+
+        cache.invalidate(PARTITION, 5, 20);
+
+        Assertions.assertEquals(0, cache.getSegmentCount());
+        Assertions.assertEquals(0, cache.getSizeInBytes());
+        Assertions.assertEquals(0, segmentFileCount(cache));
+    }
+
+    @Test
+    public void testAbandonedSegmentFilesAreDeletedOnConstruction() throws Exception {
+        TopicRecordSegmentCache open = new TopicRecordSegmentCache(directory, 1024 * 1024);
+        open.put(PARTITION, 0, 9, records(0, 9));
+        Path abandoned = Files.createDirectory(directory.resolve("segments-abandoned"));
+        Files.write(abandoned.resolve(PARTITION + "-0-1.segment"), bytes("stale"));
+
+        TopicRecordSegmentCache cache = new TopicRecordSegmentCache(directory, 1024 * 1024);
+        cache.put(PARTITION, 0, 9, records(0, 9));
+
+        Assertions.assertFalse(Files.exists(abandoned));
+        Assertions.assertNotEquals(open.getDirectory(), cache.getDirectory());
+        Assertions.assertEquals(1, segmentFileCount(open));
+        Assertions.assertEquals(1, segmentFileCount(cache));
+        Assertions.assertEquals(10, open.get(PARTITION, 5).read(0, 9).size());
+
+        open.close();
+
+        Assertions.assertFalse(Files.exists(open.getDirectory()));
+        Assertions.assertEquals(List.of(cache.getDirectory()), list(directory));
+    }
+
+    private static List<ConsumerRecord<byte[], byte[]>> records(long fromOffset, long toOffset) {
+        List<ConsumerRecord<byte[], byte[]>> records = new ArrayList<>();
+        for (long offset = fromOffset; offset <= toOffset; offset++) {
+            records.add(record(
+                    offset,
+                    bytes(String.format("key-%03d", offset)),
+                    bytes(String.format("value-%03d", offset)),
+                    new RecordHeaders()));
+        }
+        return records;
+    }
+
+    private static ConsumerRecord<byte[], byte[]> record(
+            long offset,
+            byte[] key,
+            byte[] value,
+            RecordHeaders headers) {
+        return new ConsumerRecord<>(
+                PARTITION.topic(), PARTITION.partition(), offset, 1000 + offset, TimestampType.CREATE_TIME,
+                key != null ? key.length : -1, value != null ? value.length : -1,
+                key, value, headers, Optional.empty());
+    }
+
+    private static long segmentFileCount(TopicRecordSegmentCache cache) throws Exception {
+        return list(cache.getDirectory()).stream().
+                filter(path -> path.getFileName().toString().endsWith(".segment")).
+                count();
+    }
+
+    private static List<Path> list(Path directory) throws Exception {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.collect(Collectors.toList());
+        }
+    }
+
+    private static byte[] bytes(String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
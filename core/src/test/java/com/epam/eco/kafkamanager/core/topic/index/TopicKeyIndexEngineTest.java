@@ -0,0 +1,184 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.index;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.epam.eco.kafkamanager.PartitionByKeyResolverImpl;
+import com.epam.eco.kafkamanager.TopicKeyLocation;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class TopicKeyIndexEngineTest {
+
+    private static final String TOPIC = "topic";
+    private static final int PARTITION = new PartitionByKeyResolverImpl().getPartitionByKey("key", 2);
+    private static final TopicPartition TOPIC_PARTITION = new TopicPartition(TOPIC, PARTITION);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testKeysAreLocatedAndIndexingIsResumed() throws Exception {
+        MockConsumer<byte[], byte[]> consumer = createConsumer(10);
+        TopicKeyIndexEngine engine = createEngine(consumer);
+
+        Assertions.assertTrue(engine.isIndexed(TOPIC));
+        Assertions.assertFalse(engine.isIndexed("other"));
+        Assertions.assertEquals(List.of(), engine.locate(TOPIC, "key"));
+
+        engine.refreshAssignment(consumer);
+        consumer.addRecord(record(3, "key"));
+        consumer.addRecord(record(4, null));
+        consumer.addRecord(record(5, "other-key"));
+        engine.index(consumer, consumer.poll(Duration.ZERO));
+
+        Assertions.assertEquals(
+                new TopicKeyLocation(TOPIC, "key", PARTITION, 3L, 1003L, 6, true),
+                locate(engine, PARTITION, "key"));
+        Assertions.assertNull(locate(engine, PARTITION, "missing-key").getOffset());
+
+        engine.checkpoint();
+        consumer = createConsumer(10);
+        engine = createEngine(consumer);
+        engine.refreshAssignment(consumer);
+
+        Assertions.assertEquals(6, consumer.position(TOPIC_PARTITION));
+        Assertions.assertEquals(
+                new TopicKeyLocation(TOPIC, "key", PARTITION, 3L, 1003L, 6, true),
+                locate(engine, PARTITION, "key"));
+    }
+
+    @Test
+    public void testKeysAreLocatedInAllPartitions() throws Exception {
+        int otherPartition = 1 - PARTITION;
+        MockConsumer<byte[], byte[]> consumer = createConsumer(10);
+        TopicKeyIndexEngine engine = createEngine(consumer);
+        engine.refreshAssignment(consumer);
+        consumer.addRecord(record(PARTITION, 3, "key"));
+        consumer.addRecord(record(otherPartition, 7, "key"));
+        engine.index(consumer, consumer.poll(Duration.ZERO));
+
+        List<TopicKeyLocation> locations = engine.locate(TOPIC, "key");
+
+        Assertions.assertEquals(2, locations.size());
+        Assertions.assertEquals(3L, locate(engine, PARTITION, "key").getOffset());
+        Assertions.assertEquals(7L, locate(engine, otherPartition, "key").getOffset());
+    }
+
+    @Test
+    public void testIndexAheadOfLogIsRebuilt() throws Exception {
+        MockConsumer<byte[], byte[]> consumer = createConsumer(10);
+        TopicKeyIndexEngine engine = createEngine(consumer);
+        engine.refreshAssignment(consumer);
+        consumer.addRecord(record(8, "key"));
+        engine.index(consumer, consumer.poll(Duration.ZERO));
+        engine.checkpoint();
+
+        consumer = createConsumer(2);
+        engine = createEngine(consumer);
+        engine.refreshAssignment(consumer);
+
+        Assertions.assertEquals(0, consumer.position(TOPIC_PARTITION));
+        Assertions.assertNull(locate(engine, PARTITION, "key").getOffset());
+    }
+
+    private static TopicKeyLocation locate(TopicKeyIndexEngine engine, int partition, String key) {
+        return engine.locate(TOPIC, key).stream().
+                filter(location -> location.getPartition() == partition).
+                findFirst().
+                orElseThrow();
+    }
+
+    private TopicKeyIndexEngine createEngine(MockConsumer<byte[], byte[]> consumer) {
+        return new TopicKeyIndexEngine(List.of(TOPIC), directory, 100, () -> consumer);
+    }
+
+    private static MockConsumer<byte[], byte[]> createConsumer(long endOffset) {
+        MockConsumer<byte[], byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.updatePartitions(TOPIC, List.of(
+                new PartitionInfo(TOPIC, 0, null, null, null),
+                new PartitionInfo(TOPIC, 1, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(
+                new TopicPartition(TOPIC, 0), 0L,
+                new TopicPartition(TOPIC, 1), 0L));
+        consumer.updateEndOffsets(Map.of(
+                new TopicPartition(TOPIC, 0), endOffset,
+                new TopicPartition(TOPIC, 1), endOffset));
+        return consumer;
+    }
+
+    private static ConsumerRecord<byte[], byte[]> record(long offset, String key) {
+        return record(PARTITION, offset, key);
+    }
+
+    private static ConsumerRecord<byte[], byte[]> record(int partition, long offset, String key) {
+        return new ConsumerRecord<>(
+                TOPIC,
+                partition,
+                offset,
+                1000 + offset,
+                TimestampType.CREATE_TIME,
+                0,
+                0,
+                key != null ? key.getBytes(StandardCharsets.UTF_8) : null,
+                new byte[0],
+                new RecordHeaders(),
+                Optional.empty());
+    }
+
+    @Test
+    public void testInvalidMaxKeysFailOnCreation() throws Exception {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new TopicKeyIndexEngine(
+                        List.of(TOPIC), directory, TopicKeyIndexFile.MAX_KEYS + 1, () -> createConsumer(10)));
+    }
+
+    @Test
+    public void testDirectoryIsLockedByRunningEngine() throws Exception {
+        TopicKeyIndexEngine engine = createEngine(createConsumer(10));
+        engine.start();
+        try {
+            TopicKeyIndexEngine other = createEngine(createConsumer(10));
+            Assertions.assertThrows(IllegalStateException.class, other::start);
+        } finally {
+            engine.close();
+        }
+
+        TopicKeyIndexEngine next = createEngine(createConsumer(10));
+        next.start();
+        next.close();
+    }
+
+}
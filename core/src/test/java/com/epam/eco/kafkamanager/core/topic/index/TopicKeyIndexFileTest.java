@@ -0,0 +1,143 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.index;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class TopicKeyIndexFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testLatestRecordOfKeyIsIndexed() throws Exception {
+        TopicKeyIndexFile file = new TopicKeyIndexFile(directory.resolve("topic-0.idx"), 100);
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(file.put(hash("key-" + i), i, 1000 + i));
+        }
+        Assertions.assertTrue(file.put(hash("key-7"), 150, 2000));
+        Assertions.assertTrue(file.put(hash("key-8"), 5, 500));
+
+        Assertions.assertEquals(100, file.getKeyCount());
+        Assertions.assertArrayEquals(new long[] {150, 2000}, file.get(hash("key-7")));
+        Assertions.assertArrayEquals(new long[] {8, 1008}, file.get(hash("key-8")));
+        Assertions.assertArrayEquals(new long[] {99, 1099}, file.get(hash("key-99")));
+        Assertions.assertNull(file.get(hash("key-100")));
+        Assertions.assertTrue(file.isComplete());
+    }
+
+    @Test
+    public void testKeysAreSkippedOnceIndexIsFull() throws Exception {
+        TopicKeyIndexFile file = new TopicKeyIndexFile(directory.resolve("topic-0.idx"), 2);
+
+        Assertions.assertTrue(file.put(hash("a"), 0, 0));
+        Assertions.assertTrue(file.put(hash("b"), 1, 0));
+        Assertions.assertFalse(file.put(hash("c"), 2, 0));
+        Assertions.assertTrue(file.put(hash("a"), 3, 0));
+
+        Assertions.assertNull(file.get(hash("c")));
+        Assertions.assertArrayEquals(new long[] {3, 0}, file.get(hash("a")));
+        Assertions.assertFalse(file.isComplete());
+
+        file.clear();
+
+        Assertions.assertEquals(0, file.getKeyCount());
+        Assertions.assertNull(file.get(hash("a")));
+        Assertions.assertTrue(file.isComplete());
+    }
+
+    @Test
+    public void testIndexIsRestoredFromLatestCheckpoint() throws Exception {
+        Path path = directory.resolve("topic-0.idx");
+        TopicKeyIndexFile file = new TopicKeyIndexFile(path, 10);
+        file.put(hash("a"), 5, 100);
+        file.setIndexedOffset(10);
+        file.checkpoint();
+        file.setIndexedOffset(20);
+        file.close();
+
+        file = new TopicKeyIndexFile(path, 10);
+
+        Assertions.assertEquals(20, file.getIndexedOffset());
+        Assertions.assertEquals(1, file.getKeyCount());
+        Assertions.assertArrayEquals(new long[] {5, 100}, file.get(hash("a")));
+    }
+
+    @Test
+    public void testTornCheckpointFallsBackToPreviousOne() throws Exception {
+        Path path = directory.resolve("topic-0.idx");
+        TopicKeyIndexFile file = new TopicKeyIndexFile(path, 10);
+        file.setIndexedOffset(10);
+        file.checkpoint();
+        file.setIndexedOffset(20);
+        file.close();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3}), 40);
+        }
+        file = new TopicKeyIndexFile(path, 10);
+
+        Assertions.assertEquals(10, file.getIndexedOffset());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3}), 8);
+        }
+        file = new TopicKeyIndexFile(path, 10);
+
+        Assertions.assertEquals(0, file.getIndexedOffset());
+    }
+
+    @Test
+    public void testIndexIsRebuiltIfSizeIsChanged() throws Exception {
+        Path path = directory.resolve("topic-0.idx");
+        TopicKeyIndexFile file = new TopicKeyIndexFile(path, 10);
+        file.put(hash("a"), 5, 100);
+        file.setIndexedOffset(10);
+        file.close();
+
+        file = new TopicKeyIndexFile(path, 1000);
+
+        Assertions.assertEquals(0, file.getIndexedOffset());
+        Assertions.assertEquals(0, file.getKeyCount());
+        Assertions.assertNull(file.get(hash("a")));
+    }
+
+    private static long hash(String key) {
+        return TopicKeyIndexFile.hash(key.getBytes());
+    }
+
+    @Test
+    public void testMaxKeysAreLimitedToMappableFileSize() throws Exception {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new TopicKeyIndexFile(directory.resolve("topic-0.idx"), TopicKeyIndexFile.MAX_KEYS + 1));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new TopicKeyIndexFile(directory.resolve("topic-0.idx"), 0));
+    }
+
+}
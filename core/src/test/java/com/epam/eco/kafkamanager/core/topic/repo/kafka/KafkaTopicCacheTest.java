@@ -0,0 +1,95 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.repo.kafka;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.Uuid;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.epam.eco.kafkamanager.KafkaAdminOperations;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class KafkaTopicCacheTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testOnlyNewRequestedAndRollingBatchOfTopicsAreDescribed() throws Exception {
+        Set<String> topicNames = new HashSet<>(names(0, 10));
+        KafkaAdminOperations adminOperations = Mockito.mock(KafkaAdminOperations.class);
+        Mockito.when(adminOperations.listTopicNames()).thenAnswer(invocation -> new HashSet<>(topicNames));
+        Mockito.when(adminOperations.describeTopics(Mockito.any())).thenAnswer(invocation ->
+                ((Collection<String>)invocation.getArgument(0)).stream()
+                        .collect(Collectors.toMap(Function.identity(), KafkaTopicCacheTest::description)));
+        Mockito.when(adminOperations.describeTopicConfigs(Mockito.any())).thenAnswer(invocation ->
+                ((Collection<String>)invocation.getArgument(0)).stream()
+                        .collect(Collectors.toMap(Function.identity(), name -> new Config(List.of()))));
+        KafkaTopicCache.CacheListener listener = Mockito.mock(KafkaTopicCache.CacheListener.class);
+        KafkaTopicCache cache = new KafkaTopicCache(adminOperations, 3_600_000, 3, 0, listener);
+
+        try {
+            cache.start();
+
+            Assertions.assertEquals(10, cache.size());
+            Mockito.verify(listener, Mockito.times(10)).onTopicUpdated(Mockito.any());
+
+            topicNames.remove("topic-9");
+            topicNames.add("topic-10");
+            cache.requestRefresh("topic-5");
+
+            Mockito.verify(listener, Mockito.timeout(10_000)).onTopicRemoved("topic-9");
+            ArgumentCaptor<Collection<String>> described = ArgumentCaptor.forClass(Collection.class);
+            Mockito.verify(adminOperations, Mockito.times(2)).describeTopics(described.capture());
+            Collection<String> refreshed = described.getAllValues().get(1);
+            Assertions.assertTrue(refreshed.contains("topic-5"));
+            Assertions.assertTrue(refreshed.contains("topic-10"));
+            Assertions.assertTrue(refreshed.size() <= 5);
+            Assertions.assertTrue(cache.contains("topic-10"));
+            Assertions.assertFalse(cache.contains("topic-9"));
+        } finally {
+            cache.close();
+        }
+    }
+
+    private static Set<String> names(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "topic-" + i).collect(Collectors.toSet());
+    }
+
+    private static TopicDescription description(String topicName) {
+        return new TopicDescription(
+                topicName,
+                false,
+                List.of(new TopicPartitionInfo(0, null, Collections.emptyList(), Collections.emptyList())),
+                Collections.emptySet(),
+                new Uuid(0, topicName.hashCode()));
+    }
+
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.repo.zk;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.epam.eco.kafkamanager.core.topic.repo.zk.ZkTopicCache.PartitionState;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class PartitionStateMapTest {
+
+    private static final String TOPIC = "topic";
+
+    @Test
+    public void testMapBehavesAsHashMap() throws Exception {
+        PartitionStateMap map = PartitionStateMap.empty(TOPIC);
+        Map<TopicPartition, PartitionState> expected = new HashMap<>();
+        for (int id : new int[] {5, 0, 31, 32, 1023, 1024, 40000, 7}) {
+            PartitionState state = new PartitionState(id, List.of(id));
+            map = map.with(partition(id), state);
+            expected.put(partition(id), state);
+        }
+        map = map.with(partition(7), null);
+        expected.remove(partition(7));
+        map = map.with(partition(8), null);
+
+        Assertions.assertEquals(expected, map);
+        Assertions.assertEquals(expected.size(), map.size());
+        Assertions.assertEquals(expected.keySet(), map.keySet());
+        Assertions.assertEquals(Integer.valueOf(40000), map.get(partition(40000)).leader);
+        Assertions.assertNull(map.get(partition(7)));
+        Assertions.assertNull(map.get(partition(40001)));
+        Assertions.assertNull(map.get(new TopicPartition("other", 5)));
+        Assertions.assertFalse(map.containsKey(partition(-1)));
+    }
+
+    @Test
+    public void testModificationsLeaveOriginIntact() throws Exception {
+        PartitionStateMap origin = PartitionStateMap.empty(TOPIC);
+        for (int id = 0; id < 5000; id++) {
+            origin = origin.with(partition(id), new PartitionState(1, List.of(1)));
+        }
+        PartitionState state = origin.get(partition(100));
+
+        PartitionStateMap updated = origin.with(partition(100), new PartitionState(2, List.of(2)));
+        PartitionStateMap removed = updated.with(partition(200), null);
+
+        Assertions.assertSame(state, origin.get(partition(100)));
+        Assertions.assertEquals(Integer.valueOf(2), updated.get(partition(100)).leader);
+        Assertions.assertEquals(5000, updated.size());
+        Assertions.assertEquals(4999, removed.size());
+        Assertions.assertTrue(updated.containsKey(partition(200)));
+        Assertions.assertSame(removed, removed.with(partition(200), null));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> removed.remove(partition(0)));
+        Assertions.assertThrows(
+                UnsupportedOperationException.class,
+                () -> removed.put(partition(0), new PartitionState(1, List.of(1))));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> removed.with(new TopicPartition("other", 0), null));
+    }
+
+    private static TopicPartition partition(int id) {
+        return new TopicPartition(TOPIC, id);
+    }
+
+}
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.core.topic.repo.zk;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
+import org.apache.curator.framework.recipes.cache.TreeCacheEvent.Type;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.epam.eco.kafkamanager.core.topic.repo.zk.ZkTopicCache.PartitionState;
+import com.epam.eco.kafkamanager.core.topic.repo.zk.ZkTopicCache.Topic;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class ZkTopicCacheTest {
+
+    private static final String TOPIC = "topic1";
+    private static final int PARTITIONS = 8;
+    private static final int EPOCHS = 2000;
+    private static final int READERS = 4;
+
+    @Test
+    public void testSnapshotsAreImmutable() throws Exception {
+        ZkTopicCache cache = createCache(new NoopCacheListener());
+        cache.handleTreeEvent(topicEvent(Type.NODE_ADDED));
+        cache.handleTreeEvent(stateEvent(Type.NODE_ADDED, 0, 1));
+
+        Topic snapshot = cache.getTopic(TOPIC);
+        Assertions.assertSame(snapshot, cache.getTopic(TOPIC));
+
+        cache.handleTreeEvent(stateEvent(Type.NODE_UPDATED, 0, 2));
+        cache.handleTreeEvent(stateEvent(Type.NODE_ADDED, 1, 2));
+
+        Assertions.assertEquals(1, snapshot.states.size());
+        Assertions.assertEquals(Integer.valueOf(1), snapshot.states.get(partition(0)).leader);
+        Assertions.assertThrows(
+                UnsupportedOperationException.class,
+                () -> snapshot.states.remove(partition(0)));
+
+        Topic current = cache.getTopic(TOPIC);
+        Assertions.assertNotSame(snapshot, current);
+        Assertions.assertSame(snapshot.partitions, current.partitions);
+        Assertions.assertEquals(2, current.states.size());
+        Assertions.assertEquals(Integer.valueOf(2), current.states.get(partition(0)).leader);
+
+        cache.handleTreeEvent(stateEvent(Type.NODE_REMOVED, 1, 2));
+        Assertions.assertFalse(cache.getTopic(TOPIC).states.containsKey(partition(1)));
+
+        cache.handleTreeEvent(topicEvent(Type.NODE_REMOVED));
+        Assertions.assertNull(cache.getTopic(TOPIC));
+        Assertions.assertEquals(2, current.states.size());
+    }
+
+    @Test
+    public void testConcurrentReadersSeeConsistentSnapshots() throws Exception {
+        List<PartitionState> firedStates = new CopyOnWriteArrayList<>();
+        ZkTopicCache cache = createCache(new NoopCacheListener() {
+            @Override
+            public void onPartitionStateUpdated(TopicPartition partition, PartitionState state) {
+                firedStates.add(state);
+            }
+        });
+        cache.handleTreeEvent(topicEvent(Type.NODE_ADDED));
+
+        AtomicBoolean done = new AtomicBoolean(false);
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        CountDownLatch readersStarted = new CountDownLatch(READERS);
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            Thread reader = new Thread(() -> {
+                readersStarted.countDown();
+                Map<TopicPartition, Integer> lastSeenLeaders = new HashMap<>();
+                try {
+                    while (!done.get()) {
+                        Topic topic = cache.getTopic(TOPIC);
+                        Assertions.assertEquals(PARTITIONS, topic.partitions.size());
+                        topic.states.forEach((partition, state) -> {
+                            Assertions.assertEquals(state.leader, state.isr.get(0));
+                            Integer lastSeenLeader = lastSeenLeaders.put(partition, state.leader);
+                            Assertions.assertTrue(
+                                    lastSeenLeader == null || lastSeenLeader <= state.leader,
+                                    "Snapshot went back in time");
+                        });
+                    }
+                } catch (Throwable t) {
+                    failures.add(t);
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        Assertions.assertTrue(readersStarted.await(10, TimeUnit.SECONDS));
+
+        for (int epoch = 0; epoch < EPOCHS; epoch++) {
+            for (int partition = 0; partition < PARTITIONS; partition++) {
+                cache.handleTreeEvent(
+                        stateEvent(epoch == 0 ? Type.NODE_ADDED : Type.NODE_UPDATED, partition, epoch));
+            }
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        Assertions.assertTrue(failures.isEmpty(), () -> "Readers failed: " + failures);
+        Assertions.assertEquals(EPOCHS * PARTITIONS, firedStates.size());
+        Topic topic = cache.getTopic(TOPIC);
+        Assertions.assertEquals(PARTITIONS, topic.states.size());
+        topic.states.values().forEach(
+                state -> Assertions.assertEquals(Integer.valueOf(EPOCHS - 1), state.leader));
+    }
+
+    @Test
+    public void testTopicCantAppearWhileCallingIfAbsent() throws Exception {
+        ZkTopicCache cache = createCache(new NoopCacheListener());
+        CountDownLatch calling = new CountDownLatch(1);
+        CountDownLatch applied = new CountDownLatch(1);
+
+        boolean appliedWhileCalling = cache.callIfTopicAbsentOrElseThrow(
+                TOPIC,
+                () -> {
+                    Thread writer = new Thread(() -> {
+                        cache.handleTreeEvent(topicEvent(Type.NODE_ADDED));
+                        applied.countDown();
+                    });
+                    writer.start();
+                    calling.countDown();
+                    return applied.await(500, TimeUnit.MILLISECONDS);
+                },
+                IllegalStateException::new);
+
+        Assertions.assertFalse(appliedWhileCalling);
+        Assertions.assertTrue(applied.await(10, TimeUnit.SECONDS));
+        Assertions.assertTrue(cache.contains(TOPIC));
+        Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> cache.callIfTopicAbsentOrElseThrow(TOPIC, () -> null, IllegalStateException::new));
+    }
+
+    private static ZkTopicCache createCache(ZkTopicCache.CacheListener listener) {
+        return new ZkTopicCache(Mockito.mock(CuratorFramework.class), listener);
+    }
+
+    private static TreeCacheEvent topicEvent(Type type) {
+        StringBuilder partitions = new StringBuilder();
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            if (partition > 0) {
+                partitions.append(',');
+            }
+            partitions.append('"').append(partition).append("\":[0,1,2]");
+        }
+        String data = "{\"version\":1,\"partitions\":{" + partitions + "}}";
+        return event(type, "/brokers/topics/" + TOPIC, data);
+    }
+
+    private static TreeCacheEvent stateEvent(Type type, int partition, int leader) {
+        String data = String.format(
+                "{\"version\":1,\"leader\":%d,\"isr\":[%d,%d]}", leader, leader, leader + 1);
+        return event(type, "/brokers/topics/" + TOPIC + "/partitions/" + partition + "/state", data);
+    }
+
+    private static TreeCacheEvent event(Type type, String path, String data) {
+        return new TreeCacheEvent(
+                type,
+                new ChildData(path, null, data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static TopicPartition partition(int partition) {
+        return new TopicPartition(TOPIC, partition);
+    }
+
+    private static class NoopCacheListener implements ZkTopicCache.CacheListener {
+        @Override
+        public void onTopicUpdated(Topic topic) {
+        }
+        @Override
+        public void onTopicRemoved(String topicName) {
+        }
+        @Override
+        public void onPartitionStateUpdated(TopicPartition partition, PartitionState state) {
+        }
+    }
+
+}
@@ -35,6 +35,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.epam.eco.kafkamanager.ConsumerGroupDeleteTopicParams;
 import com.epam.eco.kafkamanager.ConsumerGroupInfo;
+import com.epam.eco.kafkamanager.ConsumerGroupLag;
 import com.epam.eco.kafkamanager.ConsumerGroupMetadataDeleteParams;
 import com.epam.eco.kafkamanager.ConsumerGroupMetadataUpdateParams;
 import com.epam.eco.kafkamanager.ConsumerGroupSearchCriteria;
@@ -73,6 +74,16 @@ public class ConsumerGroupController {
         return kafkaManager.getConsumerGroup(groupName);
     }
 
+    @GetMapping("/{groupName}/lag")
+    public ConsumerGroupLag getConsumerGroupLag(@PathVariable("groupName") String groupName) {
+        return kafkaManager.getConsumerGroupLag(groupName);
+    }
+
+    @GetMapping("/lag/totals")
+    public Map<String, Long> getConsumerGroupTotalLags() {
+        return kafkaManager.getConsumerGroupTotalLags();
+    }
+
     @PutMapping("/{groupName}/metadata")
     public ConsumerGroupInfo putConsumerGroupMetadata(
             @PathVariable("groupName") String groupName,
@@ -41,6 +41,7 @@ import com.epam.eco.kafkamanager.ReplicationState;
 import com.epam.eco.kafkamanager.TopicConfigUpdateParams;
 import com.epam.eco.kafkamanager.TopicCreateParams;
 import com.epam.eco.kafkamanager.TopicInfo;
+import com.epam.eco.kafkamanager.TopicKeyLocation;
 import com.epam.eco.kafkamanager.TopicMetadataDeleteParams;
 import com.epam.eco.kafkamanager.TopicMetadataUpdateParams;
 import com.epam.eco.kafkamanager.TopicPartitionsCreateParams;
@@ -179,6 +180,18 @@ public class TopicController {
         return kafkaManager.getConsumerGroupsForTopic(topicName);
     }
 
+    @GetMapping("/{topicName}/consumer-group-names")
+    public List<String> getTopicConsumerGroupNames(@PathVariable("topicName") String topicName) {
+        return kafkaManager.getConsumerGroupNamesForTopic(topicName);
+    }
+
+    @GetMapping("/{topicName}/key-locations")
+    public List<TopicKeyLocation> getTopicKeyLocations(
+            @PathVariable("topicName") String topicName,
+            @RequestParam("key") String key) {
+        return kafkaManager.getTopicKeyLocations(topicName, key);
+    }
+
     @GetMapping("/{topicName}/transactions")
     public List<TransactionInfo> getTopicTransactions(@PathVariable("topicName") String topicName) {
         return kafkaManager.getTransactionsForTopic(topicName);
@@ -35,6 +35,7 @@ import com.epam.eco.kafkamanager.ui.LogoutListener;
 import com.epam.eco.kafkamanager.ui.config.producer.KafkaManagerByteArrayProducer;
 import com.epam.eco.kafkamanager.ui.topics.browser.KafkaRecordRepublisher;
 import com.epam.eco.kafkamanager.ui.topics.browser.KafkaRecordRepublisherImpl;
+import com.epam.eco.kafkamanager.ui.topics.browser.TopicRecordStreamer;
 
 /**
  * @author Andrei_Tytsik
@@ -95,5 +96,13 @@ public class KafkaManagerUiConfiguration implements WebMvcConfigurer {
         return new KafkaRecordRepublisherImpl(properties, kafkaManager, producer);
     }
 
+    @Bean
+    public TopicRecordStreamer topicRecordStreamer(
+            KafkaManagerUiProperties properties,
+            KafkaManager kafkaManager
+    ) {
+        return new TopicRecordStreamer(kafkaManager, properties.getTopicBrowser());
+    }
+
 
 }
@@ -33,6 +33,7 @@ public class TopicBrowser {
     private List<HeaderReplacement> copyRecordHeaderReplacements;
     private Set<String> replacementPatterns;
     private Boolean filterByKeyPartition = false;
+    private Boolean filterByTimestampRange = false;
     private String dateTimeFormat = "yyyy-MM-dd HH:mm:ss.SSS";
     private String dateFormat = "yyyy-MM-dd";
     private String timeFormat = "HH:mm:ss.SSS";
@@ -118,6 +119,14 @@ public class TopicBrowser {
         this.filterByKeyPartition = filterByKeyPartition;
     }
 
+    public Boolean isFilterByTimestampRange() {
+        return filterByTimestampRange;
+    }
+
+    public void setFilterByTimestampRange(Boolean filterByTimestampRange) {
+        this.filterByTimestampRange = filterByTimestampRange;
+    }
+
     public void setCacheThresholdInMb(Long cacheThresholdInMb) {
         this.cacheThresholdInMb = cacheThresholdInMb;
     }
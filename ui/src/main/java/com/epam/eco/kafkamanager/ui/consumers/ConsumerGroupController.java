@@ -118,7 +118,9 @@ public class ConsumerGroupController {
     public String group(@PathVariable("name") String groupName, Model model) {
         model.addAttribute(
                 ATTR_GROUP,
-                ConsumerGroupInfoWrapper.wrap(kafkaManager.getConsumerGroup(groupName)));
+                ConsumerGroupInfoWrapper.wrap(
+                        kafkaManager.getConsumerGroup(groupName),
+                        kafkaManager.getConsumerGroupLag(groupName)));
 
         String groupLagUdmName = UDMetricType.CONSUMER_GROUP_LAG.formatName(groupName);
         model.addAttribute(ATTR_GROUP_LAG_UDM_TYPE, UDMetricType.CONSUMER_GROUP_LAG);
@@ -15,6 +15,7 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager.ui.consumers;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +27,7 @@ import org.apache.kafka.common.TopicPartition;
 
 import com.epam.eco.kafkamanager.ConsumerGroupInfo;
 import com.epam.eco.kafkamanager.ConsumerGroupInfo.StorageType;
+import com.epam.eco.kafkamanager.ConsumerGroupLag;
 import com.epam.eco.kafkamanager.ConsumerGroupMemberInfo;
 import com.epam.eco.kafkamanager.Metadata;
 import com.epam.eco.kafkamanager.OffsetAndMetadataInfo;
@@ -38,19 +40,29 @@ import com.epam.eco.kafkamanager.ui.utils.CollapsedCollectionIterable;
 public class ConsumerGroupInfoWrapper {
 
     private final ConsumerGroupInfo groupInfo;
+    private final ConsumerGroupLag lag;
 
     private final Map<TopicPartition, Long> offsetRpms = new HashMap<>();
 
     public ConsumerGroupInfoWrapper(ConsumerGroupInfo groupInfo) {
+        this(groupInfo, null);
+    }
+
+    public ConsumerGroupInfoWrapper(ConsumerGroupInfo groupInfo, ConsumerGroupLag lag) {
         Validate.notNull(groupInfo, "Consumer group info is null");
 
         this.groupInfo = groupInfo;
+        this.lag = lag;
     }
 
     public static ConsumerGroupInfoWrapper wrap(ConsumerGroupInfo consumerGroupInfo) {
         return new ConsumerGroupInfoWrapper(consumerGroupInfo);
     }
 
+    public static ConsumerGroupInfoWrapper wrap(ConsumerGroupInfo consumerGroupInfo, ConsumerGroupLag lag) {
+        return new ConsumerGroupInfoWrapper(consumerGroupInfo, lag);
+    }
+
     public String getName() {
         return groupInfo.getName();
     }
@@ -103,6 +115,22 @@ public class ConsumerGroupInfoWrapper {
         return timeSeries != null ? timeSeries.currentRatePerMinute() : null;
     }
 
+    public boolean hasLag() {
+        return lag != null;
+    }
+
+    public Long getTotalLag() {
+        return lag != null ? lag.getTotalLag() : null;
+    }
+
+    public Long getLag(TopicPartition topicPartition) {
+        return lag != null ? lag.getPartitionLag(topicPartition) : null;
+    }
+
+    public LocalDateTime getLagCalculatedAt() {
+        return lag != null ? lag.getCalculatedAt() : null;
+    }
+
     public StorageType getStorageType() {
         return groupInfo.getStorageType();
     }
@@ -160,7 +160,7 @@ public class TopicInfoWrapper {
     }
 
     public int getConsumerGroupCount() {
-        return getConsumerGroups().size();
+        return kafkaManager.getConsumerGroupCountForTopic(topicInfo.getName());
     }
 
     public List<TransactionInfo> getTransactions() {
@@ -232,8 +232,7 @@ public class TopicInfoWrapper {
 
     public CollapsedCollectionIterable<String> getConsumerGroupNamesAsCollapsedCol(int size) {
         return new CollapsedCollectionIterable<>(
-                getConsumerGroups(),
-                ConsumerGroupInfo::getName,
+                kafkaManager.getConsumerGroupNamesForTopic(topicInfo.getName()),
                 size);
     }
 
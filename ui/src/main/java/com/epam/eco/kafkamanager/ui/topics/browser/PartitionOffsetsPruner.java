@@ -0,0 +1,236 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.ui.topics.browser;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.record.TimestampType;
+
+import com.epam.eco.commons.kafka.OffsetRange;
+import com.epam.eco.kafkamanager.FilterClause;
+import com.epam.eco.kafkamanager.KafkaAdminOperations;
+import com.epam.eco.kafkamanager.PartitionByKeyResolver;
+import com.epam.eco.kafkamanager.ui.config.TopicBrowser;
+import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationEnum;
+import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationUtils;
+import com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseTimestampPredicate;
+
+import static com.epam.eco.kafkamanager.ui.topics.browser.filter.FilterClauseCompositePredicate.KEY_ATTRIBUTE;
+import static com.epam.eco.kafkamanager.ui.topics.browser.filter.FilterClauseCompositePredicate.TIMESTAMP_ATTRIBUTE;
+
+/**
+ * Narrows partitions and offsets to browse using filter clauses that can be decided
+ * before reading any record:
+ * <ul>
+ * <li>key equals/in clauses leave only partitions the keys are hashed to;</li>
+ * <li>record timestamp between clauses are translated into offset bounds of each
+ * partition, partitions without records in the range are left out.</li>
+ * </ul>
+ * The range start is looked up as the earliest offset with the start timestamp or a
+ * later one, which is exact for any timestamp type. The range end is bounded only for
+ * topics with {@code LogAppendTime} timestamps: with {@code CreateTime} records come in
+ * any timestamp order, so records in the range may follow the first one past it, and
+ * the end is left open.
+ *
+ * @author Andrei_Tytsik
+ */
+public class PartitionOffsetsPruner {
+
+    private final KafkaAdminOperations adminOperations;
+    private final PartitionByKeyResolver partitionByKeyResolver;
+    private final boolean filterByKeyPartition;
+    private final boolean filterByTimestampRange;
+
+    public PartitionOffsetsPruner(
+            KafkaAdminOperations adminOperations,
+            PartitionByKeyResolver partitionByKeyResolver,
+            TopicBrowser topicBrowser) {
+        Validate.notNull(adminOperations, "Admin operations is null");
+        Validate.notNull(partitionByKeyResolver, "Partition by key resolver is null");
+        Validate.notNull(topicBrowser, "Topic browser config is null");
+
+        this.adminOperations = adminOperations;
+        this.partitionByKeyResolver = partitionByKeyResolver;
+        this.filterByKeyPartition = Boolean.TRUE.equals(topicBrowser.isFilterByKeyPartition());
+        this.filterByTimestampRange = Boolean.TRUE.equals(topicBrowser.isFilterByTimestampRange());
+    }
+
+    public PrunedOffsets prune(TopicBrowseParams browseParams, int partitionCount) {
+        Validate.notNull(browseParams, "Browse params is null");
+        Validate.isTrue(partitionCount > 0, "Partition count is invalid");
+
+        Map<String, List<FilterClause>> clauses = browseParams.getFilterClausesAsMap();
+        Map<Integer, OffsetRange> partitionOffsets = browseParams.getPartitionOffsets();
+
+        if (filterByKeyPartition) {
+            Set<Integer> keyPartitions = resolveKeyPartitions(
+                    clauses.getOrDefault(KEY_ATTRIBUTE, Collections.emptyList()),
+                    partitionCount);
+            if (keyPartitions != null) {
+                partitionOffsets = partitionOffsets.entrySet().stream()
+                        .filter(entry -> keyPartitions.contains(entry.getKey()))
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            }
+        }
+
+        Map<Integer, OffsetRange> offsetBounds = null;
+        if (filterByTimestampRange && !partitionOffsets.isEmpty()) {
+            Long[] range = resolveTimestampRange(
+                    clauses.getOrDefault(TIMESTAMP_ATTRIBUTE, Collections.emptyList()));
+            if (range != null) {
+                offsetBounds = resolveOffsetBounds(
+                        browseParams.getTopicName(), partitionOffsets.keySet(), range[0], range[1]);
+                partitionOffsets.keySet().retainAll(offsetBounds.keySet());
+            }
+        }
+
+        return new PrunedOffsets(partitionOffsets, offsetBounds);
+    }
+
+    /**
+     * @return partitions the keys of equals/in clauses are hashed to, intersected across
+     * clauses; {@code null} if there are no such clauses
+     */
+    private Set<Integer> resolveKeyPartitions(List<FilterClause> keyClauses, int partitionCount) {
+        Set<Integer> partitions = null;
+        for (FilterClause clause : keyClauses) {
+            Set<String> keys = switch (FilterOperationEnum.getOperationEnum(clause.getOperation())) {
+                case EQUALS -> Collections.singleton(clause.getValue());
+                case IN -> FilterOperationUtils.parseValueSet(clause.getValue());
+                default -> null;
+            };
+            if (keys == null) {
+                continue;
+            }
+            Set<Integer> clausePartitions = keys.stream()
+                    .map(key -> partitionByKeyResolver.getPartitionByKey(key, partitionCount))
+                    .collect(Collectors.toSet());
+            if (partitions == null) {
+                partitions = new HashSet<>(clausePartitions);
+            } else {
+                partitions.retainAll(clausePartitions);
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * @return inclusive range of between clauses intersected, either bound is {@code null}
+     * if the range is open on that side; {@code null} if there are no bounded clauses
+     */
+    private static Long[] resolveTimestampRange(List<FilterClause> timestampClauses) {
+        Long from = null;
+        Long to = null;
+        for (FilterClause clause : timestampClauses) {
+            if (FilterOperationEnum.getOperationEnum(clause.getOperation()) != FilterOperationEnum.BETWEEN) {
+                continue;
+            }
+            Long[] range = FilterClauseTimestampPredicate.parseRange(clause.getValue());
+            if (range[0] != null) {
+                from = from != null ? Math.max(from, range[0]) : range[0];
+            }
+            if (range[1] != null) {
+                to = to != null ? Math.min(to, range[1]) : range[1];
+            }
+        }
+        return from != null || to != null ? new Long[] {from, to} : null;
+    }
+
+    private Map<Integer, OffsetRange> resolveOffsetBounds(
+            String topicName,
+            Set<Integer> partitions,
+            Long from,
+            Long to) {
+        Map<TopicPartition, Long> startOffsets = listOffsets(
+                topicName, partitions,
+                from != null ? OffsetSpec.forTimestamp(from) : OffsetSpec.earliest());
+        boolean boundedEnd = to != null && to < Long.MAX_VALUE && isLogAppendTime(topicName);
+        Map<TopicPartition, Long> endOffsets = listOffsets(
+                topicName, partitions,
+                boundedEnd ? OffsetSpec.forTimestamp(to + 1) : OffsetSpec.latest());
+
+        Set<Integer> unboundedEnds = partitions.stream()
+                .filter(partition -> endOffsets.getOrDefault(new TopicPartition(topicName, partition), -1L) < 0)
+                .collect(Collectors.toSet());
+        if (!unboundedEnds.isEmpty()) {
+            endOffsets.putAll(listOffsets(topicName, unboundedEnds, OffsetSpec.latest()));
+        }
+
+        Map<Integer, OffsetRange> offsetBounds = new HashMap<>();
+        for (Integer partition : partitions) {
+            TopicPartition topicPartition = new TopicPartition(topicName, partition);
+            long start = startOffsets.getOrDefault(topicPartition, -1L);
+            long end = endOffsets.getOrDefault(topicPartition, -1L);
+            if (start < 0 || end <= start) {
+                continue;
+            }
+            offsetBounds.put(partition, OffsetRange.with(start, end - 1, true));
+        }
+        return offsetBounds;
+    }
+
+    private boolean isLogAppendTime(String topicName) {
+        ConfigEntry entry = adminOperations.describeTopicConfig(topicName)
+                .get(TopicConfig.MESSAGE_TIMESTAMP_TYPE_CONFIG);
+        return entry != null && TimestampType.LOG_APPEND_TIME.name.equals(entry.value());
+    }
+
+    private Map<TopicPartition, Long> listOffsets(String topicName, Set<Integer> partitions, OffsetSpec offsetSpec) {
+        return new HashMap<>(adminOperations.listOffsets(
+                partitions.stream().collect(Collectors.toMap(
+                        partition -> new TopicPartition(topicName, partition),
+                        partition -> offsetSpec))));
+    }
+
+    public static class PrunedOffsets {
+
+        private final Map<Integer, OffsetRange> partitionOffsets;
+        private final Map<Integer, OffsetRange> offsetBounds;
+
+        public PrunedOffsets(Map<Integer, OffsetRange> partitionOffsets, Map<Integer, OffsetRange> offsetBounds) {
+            this.partitionOffsets = partitionOffsets;
+            this.offsetBounds = offsetBounds;
+        }
+
+        /**
+         * @return offsets to browse, empty if no partition can contain matching records
+         */
+        public Map<Integer, OffsetRange> getPartitionOffsets() {
+            return partitionOffsets;
+        }
+
+        /**
+         * @return inclusive offset bounds of partitions to browse, {@code null} if the
+         * browsing isn't bounded
+         */
+        public Map<Integer, OffsetRange> getOffsetBounds() {
+            return offsetBounds;
+        }
+
+    }
+
+}
@@ -59,7 +59,7 @@ public class ToTabularRecordsConverter {
     }
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
-    private static Record toTabularRecord(
+    static Record toTabularRecord(
             ConsumerRecord<?, ?> consumerRecord,
             RecordValueTabulator<?> valueTabulator) {
         Map<String, Object> tabularValue =
@@ -80,7 +80,7 @@ public class ToTabularRecordsConverter {
                 valueTabulator.getSchema(consumerRecord));
     }
 
-    private static RecordValueTabulator<?> determineValueTabulator(
+    static RecordValueTabulator<?> determineValueTabulator(
             TopicBrowseParams browseParams,
             TopicBrowser topicBrowser) {
         DataFormat dataFormat = browseParams.getValueFormat();
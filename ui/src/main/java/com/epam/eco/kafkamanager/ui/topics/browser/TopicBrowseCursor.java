@@ -0,0 +1,212 @@
+/*******************************************************************************
+ *  Copyright 2022 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.ui.topics.browser;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import com.epam.eco.commons.kafka.OffsetRange;
+import com.epam.eco.commons.kafka.helpers.PartitionRecordFetchResult;
+import com.epam.eco.commons.kafka.helpers.RecordFetchResult;
+import com.epam.eco.kafkamanager.FetchMode;
+
+/**
+ * Per-partition offsets of the pages next to the browsed one: the next offset is the
+ * first one after the scanned records, the previous offset is the last one before them
+ * (missing if the page starts at the beginning of the partition).
+ *
+ * Travels with the browse params as {@code partition:previous:next} entries separated
+ * by commas, so a page carries the cursor to the neighbour pages.
+ *
+ * @author Andrei_Tytsik
+ */
+public final class TopicBrowseCursor {
+
+    private static final String ENTRY_SEPARATOR = ",";
+    private static final String OFFSET_SEPARATOR = ":";
+
+    private final Map<Integer, Long> nextOffsets;
+    private final Map<Integer, Long> previousOffsets;
+
+    public TopicBrowseCursor(Map<Integer, Long> nextOffsets, Map<Integer, Long> previousOffsets) {
+        Validate.notNull(nextOffsets, "Next offsets map is null");
+        Validate.notNull(previousOffsets, "Previous offsets map is null");
+        Validate.isTrue(
+                nextOffsets.keySet().containsAll(previousOffsets.keySet()),
+                "Previous offsets has partitions which next offsets hasn't");
+
+        this.nextOffsets = Collections.unmodifiableMap(new TreeMap<>(nextOffsets));
+        this.previousOffsets = Collections.unmodifiableMap(new TreeMap<>(previousOffsets));
+    }
+
+    public Map<Integer, Long> getNextOffsets() {
+        return nextOffsets;
+    }
+
+    public Map<Integer, Long> getPreviousOffsets() {
+        return previousOffsets;
+    }
+
+    /**
+     * @return offsets to fetch the next page from with {@link FetchMode#FETCH_RANGE},
+     * partitions having no records after the browsed page are left out
+     */
+    public Map<Integer, OffsetRange> getNextPageOffsets(Map<Integer, OffsetRange> partitionRanges) {
+        Validate.notNull(partitionRanges, "Partition ranges map is null");
+
+        Map<Integer, OffsetRange> pageOffsets = new TreeMap<>();
+        nextOffsets.forEach((partition, offset) -> {
+            OffsetRange range = partitionRanges.get(partition);
+            if (range == null || range.getSize() == 0) {
+                return;
+            }
+            long smallest = Math.max(offset, firstOffset(range));
+            if (smallest <= lastOffset(range)) {
+                pageOffsets.put(partition, OffsetRange.with(smallest, smallest, true));
+            }
+        });
+        return pageOffsets;
+    }
+
+    /**
+     * @return offsets to fetch the previous page from with {@link FetchMode#FETCH_BACKWARD},
+     * which reads back from the offset preceding the range, partitions having no records
+     * before the browsed page are left out
+     */
+    public Map<Integer, OffsetRange> getPreviousPageOffsets(Map<Integer, OffsetRange> partitionRanges) {
+        Validate.notNull(partitionRanges, "Partition ranges map is null");
+
+        Map<Integer, OffsetRange> pageOffsets = new TreeMap<>();
+        previousOffsets.forEach((partition, offset) -> {
+            OffsetRange range = partitionRanges.get(partition);
+            if (range == null || range.getSize() == 0) {
+                return;
+            }
+            long largest = Math.min(offset, lastOffset(range));
+            if (largest >= firstOffset(range)) {
+                pageOffsets.put(partition, OffsetRange.with(largest + 1, largest + 1, true));
+            }
+        });
+        return pageOffsets;
+    }
+
+    public String format() {
+        return nextOffsets.entrySet().stream().
+                map(entry -> entry.getKey() + OFFSET_SEPARATOR +
+                        Objects.toString(previousOffsets.get(entry.getKey()), "") + OFFSET_SEPARATOR +
+                        entry.getValue()).
+                collect(Collectors.joining(ENTRY_SEPARATOR));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        TopicBrowseCursor that = (TopicBrowseCursor) obj;
+        return
+                Objects.equals(this.nextOffsets, that.nextOffsets) &&
+                Objects.equals(this.previousOffsets, that.previousOffsets);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nextOffsets, previousOffsets);
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+
+    public static TopicBrowseCursor from(RecordFetchResult<?, ?> fetchResult) {
+        Validate.notNull(fetchResult, "Fetch result is null");
+
+        Map<Integer, Long> nextOffsets = new TreeMap<>();
+        Map<Integer, Long> previousOffsets = new TreeMap<>();
+        for (PartitionRecordFetchResult<?, ?> result : fetchResult.getPerPartitionResults()) {
+            int partition = result.getPartition().partition();
+            OffsetRange scanned = result.getScannedOffsets();
+
+            long next;
+            long previous;
+            if (scanned.getSize() > 0) {
+                next = lastOffset(scanned) + 1;
+                previous = firstOffset(scanned) - 1;
+            } else {
+                next = scanned.getSmallest();
+                previous = scanned.getSmallest() - 1;
+            }
+
+            nextOffsets.put(partition, next);
+            if (previous >= 0 && previous >= firstOffset(result.getPartitionOffsets())) {
+                previousOffsets.put(partition, previous);
+            }
+        }
+        return new TopicBrowseCursor(nextOffsets, previousOffsets);
+    }
+
+    public static TopicBrowseCursor parse(String value) {
+        Validate.notNull(value, "Cursor is null");
+
+        Map<Integer, Long> nextOffsets = new TreeMap<>();
+        Map<Integer, Long> previousOffsets = new TreeMap<>();
+        for (String entry : StringUtils.split(value, ENTRY_SEPARATOR)) {
+            String[] parts = StringUtils.splitPreserveAllTokens(entry.trim(), OFFSET_SEPARATOR);
+            Validate.isTrue(parts.length == 3, "Cursor entry '%s' is invalid", entry);
+            try {
+                int partition = Integer.parseInt(parts[0]);
+                Validate.isTrue(partition >= 0, "Cursor entry '%s' has negative partition", entry);
+                Validate.isTrue(
+                        !nextOffsets.containsKey(partition),
+                        "Cursor has duplicate partition %d", partition);
+
+                long next = Long.parseLong(parts[2]);
+                Validate.isTrue(next >= 0, "Cursor entry '%s' has negative next offset", entry);
+                nextOffsets.put(partition, next);
+
+                if (!parts[1].isEmpty()) {
+                    long previous = Long.parseLong(parts[1]);
+                    Validate.isTrue(
+                            previous >= 0 && previous < next,
+                            "Cursor entry '%s' has invalid previous offset", entry);
+                    previousOffsets.put(partition, previous);
+                }
+            } catch (NumberFormatException nfe) {
+                throw new IllegalArgumentException(String.format("Cursor entry '%s' is invalid", entry), nfe);
+            }
+        }
+        return new TopicBrowseCursor(nextOffsets, previousOffsets);
+    }
+
+    private static long firstOffset(OffsetRange range) {
+        return range.isSmallestInclusive() ? range.getSmallest() : range.getSmallest() + 1;
+    }
+
+    private static long lastOffset(OffsetRange range) {
+        return range.isLargestInclusive() ? range.getLargest() : range.getLargest() - 1;
+    }
+
+}
@@ -55,6 +55,9 @@ public class TopicBrowseParams extends HashMap<String, Object> {
     public static final String OFFSETS_TIMESTAMP = "offsetsTimestamp";
     public static final String TIMEOUT = "timeout";
     public static final String LIMIT = "limit";
+    public static final String PAGE_SIZE = "page-size";
+    public static final String CURSOR = "cursor";
+    public static final String KEY_LOOKUP = "key-lookup";
     public static final String PARTITION_MIN_OFFSET = "p_min_%d";
     public static final String PARTITION_MIN_INCLUSIVE_OFFSET = "p_min_inc_%d";
     public static final String PARTITION_MAX_OFFSET = "p_max_%d";
@@ -82,6 +85,10 @@ public class TopicBrowseParams extends HashMap<String, Object> {
         return getAsFetchMode(FETCH_MODE);
     }
 
+    public void setFetchMode(FetchMode fetchMode) {
+        put(FETCH_MODE, fetchMode);
+    }
+
     public Boolean getFullScreen() {
         Boolean fullScreen = getAsBoolean(FULL_SCREEN);
         return ! isNull(fullScreen) && fullScreen;
@@ -211,6 +218,40 @@ public class TopicBrowseParams extends HashMap<String, Object> {
         put(LIMIT, limit);
     }
 
+    public long getPageSize() {
+        Long pageSize = getAsLong(PAGE_SIZE);
+        return pageSize != null && pageSize > 0 ? pageSize : getLimit();
+    }
+
+    public void setPageSize(long pageSize) {
+        put(PAGE_SIZE, pageSize);
+    }
+
+    public boolean isKeyLookup() {
+        Boolean keyLookup = getAsBoolean(KEY_LOOKUP);
+        return keyLookup != null && keyLookup;
+    }
+
+    public void setKeyLookup(boolean keyLookup) {
+        put(KEY_LOOKUP, keyLookup);
+    }
+
+    public TopicBrowseCursor getCursor() {
+        Object cursor = get(CURSOR);
+        if (cursor instanceof TopicBrowseCursor) {
+            return (TopicBrowseCursor)cursor;
+        }
+        return cursor != null && !cursor.toString().isBlank() ? TopicBrowseCursor.parse(cursor.toString()) : null;
+    }
+
+    public void setCursor(TopicBrowseCursor cursor) {
+        if (cursor != null) {
+            put(CURSOR, cursor.format());
+        } else {
+            remove(CURSOR);
+        }
+    }
+
     public boolean isColumnEnabled(String column) {
         Boolean enabled = getAsBoolean(formatColumnEnabledKey(column));
         return enabled != null ? enabled : false;
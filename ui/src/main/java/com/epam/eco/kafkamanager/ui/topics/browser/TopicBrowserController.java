@@ -16,9 +16,11 @@
 package com.epam.eco.kafkamanager.ui.topics.browser;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiConsumer;
 
@@ -26,17 +28,20 @@ import java.util.stream.Collectors;
 
 import com.epam.eco.kafkamanager.Authorizer;
 import com.epam.eco.kafkamanager.EntityType;
+import com.epam.eco.kafkamanager.FetchMode;
 import com.epam.eco.kafkamanager.FilterClause;
 import com.epam.eco.kafkamanager.KafkaAdminOperations;
 import com.epam.eco.kafkamanager.KafkaManager;
 import com.epam.eco.kafkamanager.PartitionByKeyResolver;
+import com.epam.eco.kafkamanager.TopicKeyLocation;
 import com.epam.eco.kafkamanager.TopicRecordFetchParams;
 
 import org.apache.commons.collections4.list.TreeList;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.TopicPartition;
-import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -46,9 +51,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.epam.eco.commons.kafka.OffsetRange;
+import com.epam.eco.commons.kafka.helpers.FilterClausePredicate;
 import com.epam.eco.commons.kafka.helpers.PartitionRecordFetchResult;
 import com.epam.eco.commons.kafka.helpers.RecordFetchResult;
 import com.epam.eco.kafkamanager.TopicRecordFetchParams.DataFormat;
@@ -56,10 +63,12 @@ import com.epam.eco.kafkamanager.exec.TaskResult;
 import com.epam.eco.kafkamanager.ui.config.KafkaManagerUiProperties;
 import com.epam.eco.kafkamanager.ui.config.TopicBrowser;
 import com.epam.eco.kafkamanager.ui.topics.TopicController;
+import com.epam.eco.kafkamanager.ui.topics.browser.PartitionOffsetsPruner.PrunedOffsets;
 import com.epam.eco.kafkamanager.ui.topics.browser.filter.FilterClauseCompositePredicate;
 import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationEnum;
 import com.epam.eco.kafkamanager.utils.PrettyHtmlMapper;
 
+import static com.epam.eco.kafkamanager.ui.topics.browser.filter.FilterClauseCompositePredicate.TIMESTAMP_ATTRIBUTE;
 import static com.epam.eco.kafkamanager.ui.topics.browser.filter.FilterClauseCompositePredicate.TOMBSTONE_ATTRIBUTE;
 import static com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseAbstractKeyPredicate.*;
 
@@ -91,9 +100,11 @@ public class TopicBrowserController {
     public static final String ATTR_FILTER_CLAUSE = "filter-clause";
     public static final String ATTR_FILTER_OPERATIONS = "filterOperations";
     public static final String ATTR_WRITE_ALLOWED = "writeAllowed";
+    public static final String ATTR_FETCH_REQUESTED = "fetchRequested";
+    public static final String ATTR_CURSOR = "cursor";
 
     public static final String INITIAL_FILTER_ATTRIBUTE = "initialFilterColumns";
-    public static final Set<String> INITIAL_FILTER_COLUMNS = Set.of(TOMBSTONE_ATTRIBUTE,KEY_ATTRIBUTE);
+    public static final Set<String> INITIAL_FILTER_COLUMNS = Set.of(TOMBSTONE_ATTRIBUTE,KEY_ATTRIBUTE,TIMESTAMP_ATTRIBUTE);
     private static final long DEFAULT_FETCH_TIMEOUT = 30_000;
 
     @Autowired
@@ -114,6 +125,9 @@ public class TopicBrowserController {
     @Autowired
     private KafkaRecordRepublisher republisher;
 
+    @Autowired
+    private TopicRecordStreamer streamer;
+
 
     @PreAuthorize("@authorizer.isPermitted('TOPIC', #topicName, 'READ')")
     @RequestMapping(value=MAPPING, method=RequestMethod.GET)
@@ -121,18 +135,28 @@ public class TopicBrowserController {
             @PathVariable("name") String topicName,
             Model model) {
         TopicBrowseParams browseParams = (TopicBrowseParams) model.asMap().get(ATTR_BROWSE_PARAMS);
+        boolean fetchRequested = browseParams != null && Boolean.TRUE.equals(model.asMap().get(ATTR_FETCH_REQUESTED));
         if (browseParams==null) {
             browseParams = TopicBrowseParams.with(null);
             browseParams.setTopicName(topicName);
         }
 
         handleParamsRequest(browseParams, model::addAttribute);
+        if (fetchRequested) {
+            handleFetchRequest(browseParams, model::addAttribute);
+        }
         model.addAttribute(ATTR_SCHEMA_CATALOG_URL_TEMPLATE, properties.getSchemaCatalogTool());
         model.addAttribute(ATTR_WRITE_ALLOWED, authorizer.isPermitted(EntityType.TOPIC, topicName,
                                                                       Authorizer.Operation.WRITE));
         return VIEW;
     }
 
+    /**
+     * Passes only the browse params (offsets of the page to fetch, filters etc.) through
+     * the session to the redirected view, records are fetched when the page is rendered.
+     * So session holds no fetched records whatever the fetch limit is. Paging back and
+     * forth posts the cursor of the rendered page, so just one page is fetched.
+     */
     @PreAuthorize("@authorizer.isPermitted('TOPIC', #topicName, 'READ')")
     @RequestMapping(value=MAPPING, method=RequestMethod.POST)
     public String fetch(
@@ -142,12 +166,32 @@ public class TopicBrowserController {
         TopicBrowseParams browseParams = TopicBrowseParams.with(requestParams);
         browseParams.setTopicName(topicName);
 
-        handleParamsRequest(browseParams, redirectAttrs::addFlashAttribute);
-        handleFetchRequest(browseParams, redirectAttrs::addFlashAttribute);
+        redirectAttrs.addFlashAttribute(ATTR_BROWSE_PARAMS, browseParams);
+        redirectAttrs.addFlashAttribute(ATTR_FETCH_REQUESTED, Boolean.TRUE);
 
         return "redirect:" + buildBrowserUrl(topicName);
     }
 
+    @PreAuthorize("@authorizer.isPermitted('TOPIC', #topicName, 'READ')")
+    @RequestMapping(value=MAPPING + "/stream", method=RequestMethod.GET, produces=MediaType.TEXT_EVENT_STREAM_VALUE)
+    public @ResponseBody SseEmitter stream(
+            @PathVariable("name") String topicName,
+            @RequestParam Map<String, Object> requestParams) {
+        TopicBrowseParams browseParams = TopicBrowseParams.with(requestParams);
+        browseParams.setTopicName(topicName);
+
+        setDefaultDataFormatsIfMissing(browseParams);
+        populateMissingAndFixInvalidOffsets(fetchOffsetRanges(topicName), browseParams);
+        addTopicConfigParams(browseParams);
+
+        PrunedOffsets prunedOffsets = pruneOffsets(browseParams);
+        return streamer.stream(
+                browseParams,
+                prunedOffsets.getPartitionOffsets(),
+                getFetchTimeout(browseParams),
+                predicate -> toFetchParams(browseParams, prunedOffsets, predicate));
+    }
+
     @PreAuthorize("@authorizer.isPermitted('TOPIC', #topicName, 'WRITE')")
     @RequestMapping(value=MAPPING + "/republishRecord", method=RequestMethod.POST)
     public @ResponseBody ResponseEntity<String> republishRecord(
@@ -212,13 +256,24 @@ public class TopicBrowserController {
         browserParams.setKafkaTopicConfig(kafkaAdminOperations.describeTopicConfig(browserParams.getTopicName()));
     }
 
-    private void handleFetchRequest(TopicBrowseParams browseParams,
+    private void handleFetchRequest(TopicBrowseParams requestParams,
                                     BiConsumer<String, Object> modelAttributes) {
 
-        TopicRecordFetchParams<String,Object> fetchParams = toFetchParams(browseParams);
+        TopicBrowseParams browseParams = toPageParams(requestParams);
+        PrunedOffsets prunedOffsets = pruneOffsets(browseParams);
+
+        List<TopicKeyLocation> keyLocations = locateFilteredKey(browseParams, prunedOffsets);
 
-        TaskResult<RecordFetchResult<Object, Object>> taskResult = kafkaManager.getTopicRecordFetcherTaskExecutor().
-                executeDetailed(browseParams.getTopicName(), fetchParams);
+        TaskResult<RecordFetchResult<Object, Object>> taskResult;
+        if (prunedOffsets.getPartitionOffsets().isEmpty()) {
+            taskResult = TaskResult.of(RecordFetchResult::emptyResult);
+        } else if (keyLocations != null) {
+            taskResult = TaskResult.of(() -> fetchByKeyLocations(browseParams, prunedOffsets, keyLocations));
+        } else {
+            taskResult = kafkaManager.getTopicRecordFetcherTaskExecutor().executeDetailed(
+                    browseParams.getTopicName(),
+                    toFetchParams(browseParams, prunedOffsets, new FilterClauseCompositePredicate<>(browseParams)));
+        }
 
         RecordFetchResult<Object, Object> fetchResult = taskResult.getValue();
 
@@ -227,6 +282,7 @@ public class TopicBrowserController {
         List<String> columns = new TreeList<>();
         columns.add(KEY_ATTRIBUTE);
         columns.add(TOMBSTONE_ATTRIBUTE);
+        columns.add(TIMESTAMP_ATTRIBUTE);
         columns.addAll(tabularRecords.getHeaderFilterLabels());
         columns.addAll(tabularRecords.listColumnsAsString());
 
@@ -242,51 +298,226 @@ public class TopicBrowserController {
         modelAttributes.accept(ATTR_CURR_OFFSETS, getCurrentOffsetRange(fetchResult));
         modelAttributes.accept(ATTR_HAS_NEXT_OFFSETS, isNextOffsetRangeAvailable(fetchResult));
         modelAttributes.accept(ATTR_HAS_PREVIOUS_OFFSETS, isPreviousOffsetRangeAvailable(fetchResult));
+        modelAttributes.accept(ATTR_CURSOR, TopicBrowseCursor.from(fetchResult).format());
+    }
+
+    /**
+     * @return params to fetch the page next to or previous to the one the cursor was
+     * taken from, so only the page size records following (preceding) the cursor offsets
+     * are fetched; the request params as is if there is no cursor to page by
+     */
+    private TopicBrowseParams toPageParams(TopicBrowseParams requestParams) {
+        TopicBrowseCursor cursor = requestParams.getCursor();
+        FetchMode fetchMode = requestParams.getFetchMode();
+        if (cursor == null || (fetchMode != FetchMode.FETCH_FORWARD && fetchMode != FetchMode.FETCH_BACKWARD)) {
+            return requestParams;
+        }
+
+        Map<Integer, OffsetRange> partitionRanges = fetchOffsetRanges(requestParams.getTopicName());
+        Map<Integer, OffsetRange> pageOffsets = fetchMode == FetchMode.FETCH_FORWARD ?
+                cursor.getNextPageOffsets(partitionRanges) :
+                cursor.getPreviousPageOffsets(partitionRanges);
+
+        TopicBrowseParams pageParams = TopicBrowseParams.with(requestParams);
+        for (Integer partition : pageParams.getPartitionOffsets().keySet()) {
+            OffsetRange pageOffset = pageOffsets.get(partition);
+            if (pageOffset != null) {
+                pageParams.addPartitionOffset(partition, pageOffset);
+            } else {
+                pageParams.setPartitionEnabled(partition, false);
+            }
+        }
+        pageParams.setLimit(requestParams.getPageSize());
+        // neighbour pages are scanned, so they hold every record having the key
+        pageParams.setKeyLookup(false);
+        // fetch range starts right at the next offset, backward fetch ends right before the range
+        pageParams.setFetchMode(fetchMode == FetchMode.FETCH_FORWARD ? FetchMode.FETCH_RANGE : FetchMode.FETCH_BACKWARD);
+        return pageParams;
     }
 
-    private <K,V> TopicRecordFetchParams<K,V> toFetchParams(TopicBrowseParams browseParams) {
+    private <K,V> TopicRecordFetchParams<K,V> toFetchParams(
+            TopicBrowseParams browseParams,
+            PrunedOffsets prunedOffsets,
+            FilterClausePredicate<K,V> predicate) {
         return new TopicRecordFetchParams<>(
                 browseParams.getKeyFormat(),
                 browseParams.getValueFormat(),
-                getFetchedOffsets(browseParams),
+                prunedOffsets.getPartitionOffsets(),
                 browseParams.getLimit(),
-                browseParams.getTimeout() > 0 ? browseParams.getTimeout() : DEFAULT_FETCH_TIMEOUT,
+                getFetchTimeout(browseParams),
                 browseParams.getFetchMode(),
                 browseParams.getTimestamp(),
                 properties.getTopicBrowser().getUseCache(),
                 properties.getTopicBrowser().getCacheExpirationPeriodMin(),
-                new FilterClauseCompositePredicate<>(browseParams)
+                predicate,
+                prunedOffsets.getOffsetBounds()
         );
     }
 
-    private Map<Integer, OffsetRange> getFetchedOffsets(TopicBrowseParams browseParams) {
-        return properties.getTopicBrowser().isFilterByKeyPartition() && isItSearchByKeyEqualsClause(browseParams) ?
-                   getOffsetsFilteredOffsetsByKeyPartition(browseParams) :
-                   browseParams.getPartitionOffsets();
+    /**
+     * @return locations of the key of the single key equals clause in each partition to
+     * browse as looked up in the key index; {@code null} if key lookup isn't requested,
+     * the topic isn't indexed or the browse can't be served by the index, in which case
+     * partitions are scanned as usual
+     */
+    private List<TopicKeyLocation> locateFilteredKey(TopicBrowseParams browseParams, PrunedOffsets prunedOffsets) {
+        List<FilterClause> keyClauses = browseParams.getFilterClausesAsMap()
+                .getOrDefault(KEY_ATTRIBUTE, Collections.emptyList());
+        if (
+                !browseParams.isKeyLookup() ||
+                browseParams.getFetchMode() != FetchMode.FETCH_RANGE ||
+                prunedOffsets.getPartitionOffsets().isEmpty() ||
+                keyClauses.size() != 1 ||
+                FilterOperationEnum.getOperationEnum(keyClauses.get(0).getOperation()) != FilterOperationEnum.EQUALS ||
+                keyClauses.get(0).getValue() == null ||
+                browseParams.getKeyFormat() != DataFormat.STRING) {
+            return null;
+        }
+
+        Map<Integer, TopicKeyLocation> locations = kafkaManager.getTopicKeyLocations(
+                        browseParams.getTopicName(), keyClauses.get(0).getValue()).stream()
+                .collect(Collectors.toMap(TopicKeyLocation::getPartition, location -> location));
+        List<TopicKeyLocation> partitionLocations = new ArrayList<>();
+        for (Integer partition : prunedOffsets.getPartitionOffsets().keySet()) {
+            TopicKeyLocation location = locations.get(partition);
+            if (location == null || (location.getOffset() == null && !location.isComplete())) {
+                return null;
+            }
+            partitionLocations.add(location);
+        }
+        partitionLocations.sort(Comparator.comparingInt(TopicKeyLocation::getPartition));
+        return partitionLocations;
     }
 
-    @NotNull
-    private Map<Integer, OffsetRange> getOffsetsFilteredOffsetsByKeyPartition(TopicBrowseParams browseParams) {
-        return browseParams.getPartitionOffsets().entrySet().stream()
-                   .filter(entry -> entry.getKey().equals(getKeyPartition(browseParams)))
-                   .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    /**
+     * Fetches the latest indexed record having the key and records not indexed yet in
+     * the requested range of each partition, instead of scanning the partitions.
+     */
+    private RecordFetchResult<Object, Object> fetchByKeyLocations(
+            TopicBrowseParams browseParams,
+            PrunedOffsets prunedOffsets,
+            List<TopicKeyLocation> locations) {
+        Map<Integer, OffsetRange> partitionRanges = fetchOffsetRanges(browseParams.getTopicName());
+        RecordFetchResult.Builder<Object, Object> builder = RecordFetchResult.builder();
+        for (TopicKeyLocation location : locations) {
+            PartitionRecordFetchResult<Object, Object> result = fetchByKeyLocation(
+                    browseParams, prunedOffsets, location, partitionRanges.get(location.getPartition()));
+            if (result != null) {
+                builder.result(result);
+            }
+        }
+        return builder.build();
     }
 
-    private boolean isItSearchByKeyEqualsClause(TopicBrowseParams browseParams) {
-        Map<String,List<FilterClause>> clauses = browseParams.getFilterClausesAsMap();
-        return clauses.containsKey(KEY_ATTRIBUTE)
-                  && clauses.get(KEY_ATTRIBUTE).stream()
-                                 .anyMatch(clause->FilterOperationEnum.getOperationEnum(clause.getOperation())==FilterOperationEnum.EQUALS);
+    /**
+     * @return records of the partition at the indexed offset of the key and from the
+     * offset the partition is indexed up to, both within the requested range; {@code null}
+     * if there is nothing to fetch
+     */
+    private PartitionRecordFetchResult<Object, Object> fetchByKeyLocation(
+            TopicBrowseParams browseParams,
+            PrunedOffsets prunedOffsets,
+            TopicKeyLocation location,
+            OffsetRange partitionRange) {
+        int partition = location.getPartition();
+        OffsetRange requestedRange = prunedOffsets.getPartitionOffsets().get(partition);
+        if (
+                partitionRange == null || partitionRange.getSize() == 0 ||
+                requestedRange == null || requestedRange.getSize() == 0) {
+            return null;
+        }
+        long smallest = Math.max(
+                requestedRange.isSmallestInclusive() ? requestedRange.getSmallest() : requestedRange.getSmallest() + 1,
+                partitionRange.getSmallest());
+        long largest = Math.min(
+                requestedRange.isLargestInclusive() ? requestedRange.getLargest() : requestedRange.getLargest() - 1,
+                partitionRange.isLargestInclusive() ? partitionRange.getLargest() : partitionRange.getLargest() - 1);
+        if (smallest > largest) {
+            return null;
+        }
+        OffsetRange bound = prunedOffsets.getOffsetBounds() != null ?
+                prunedOffsets.getOffsetBounds().get(partition) :
+                null;
+
+        // the record may already be indexed while the indexed offset isn't moved past it yet
+        long tailSmallest = Math.max(location.getIndexedOffset(), smallest);
+        List<PartitionRecordFetchResult<Object, Object>> results = new ArrayList<>();
+        if (location.getOffset() != null && location.getOffset() >= smallest && location.getOffset() <= largest) {
+            results.add(fetchPartitionRange(
+                    browseParams, partition, location.getOffset(), location.getOffset(), 1, bound));
+            tailSmallest = Math.max(tailSmallest, location.getOffset() + 1);
+        }
+        results.add(fetchPartitionRange(
+                browseParams,
+                partition,
+                tailSmallest,
+                largest,
+                browseParams.getLimit(),
+                bound));
+        results.removeIf(Objects::isNull);
+        if (results.isEmpty()) {
+            return null;
+        }
+
+        List<ConsumerRecord<Object, Object>> records = new ArrayList<>();
+        long scannedSmallest = Long.MAX_VALUE;
+        long scannedLargest = -1;
+        for (PartitionRecordFetchResult<Object, Object> result : results) {
+            records.addAll(result.getRecords());
+            scannedSmallest = Math.min(scannedSmallest, result.getScannedOffsets().getSmallest());
+            scannedLargest = Math.max(scannedLargest, result.getScannedOffsets().getLargest());
+        }
+
+        return PartitionRecordFetchResult.<Object, Object>builder()
+                .partition(new TopicPartition(browseParams.getTopicName(), partition))
+                .addRecords(records)
+                .partitionOffsets(partitionRange)
+                .scannedOffsets(OffsetRange.with(scannedSmallest, scannedLargest, true))
+                .build();
+    }
+
+    /**
+     * @return result of fetching the range narrowed by the bound; {@code null} if nothing
+     * is left to fetch
+     */
+    private PartitionRecordFetchResult<Object, Object> fetchPartitionRange(
+            TopicBrowseParams browseParams,
+            int partition,
+            long smallest,
+            long largest,
+            long limit,
+            OffsetRange bound) {
+        long boundSmallest = bound != null ? Math.max(smallest, bound.getSmallest()) : smallest;
+        long boundLargest = bound != null ? Math.min(largest, bound.getLargest()) : largest;
+        if (boundSmallest > boundLargest) {
+            return null;
+        }
+        OffsetRange range = OffsetRange.with(boundSmallest, boundLargest, true);
+
+        RecordFetchResult<Object, Object> result = kafkaManager.getTopicRecordFetcherTaskExecutor().execute(
+                browseParams.getTopicName(),
+                new TopicRecordFetchParams<>(
+                        browseParams.getKeyFormat(),
+                        browseParams.getValueFormat(),
+                        Collections.singletonMap(partition, range),
+                        limit,
+                        getFetchTimeout(browseParams),
+                        FetchMode.FETCH_RANGE,
+                        browseParams.getTimestamp(),
+                        false,
+                        properties.getTopicBrowser().getCacheExpirationPeriodMin(),
+                        new FilterClauseCompositePredicate<>(browseParams),
+                        Collections.singletonMap(partition, range)));
+        return result.getPerPartitionResult(new TopicPartition(browseParams.getTopicName(), partition));
     }
 
-    private int getKeyPartition(TopicBrowseParams browseParams) {
-        Map<String,List<FilterClause>> clauses = browseParams.getFilterClausesAsMap();
-        FilterClause filterClause = clauses.get(KEY_ATTRIBUTE).stream()
-                .filter(clause->FilterOperationEnum.getOperationEnum(clause.getOperation())==FilterOperationEnum.EQUALS)
-                .findFirst()
-                .orElse(null);
-        return nonNull(filterClause) ?
-                   partitionByKeyResolver.getPartitionByKey(filterClause.getValue(),browseParams.getPartitionOffsets().size()) : 0;
+    private long getFetchTimeout(TopicBrowseParams browseParams) {
+        return browseParams.getTimeout() > 0 ? browseParams.getTimeout() : DEFAULT_FETCH_TIMEOUT;
+    }
+
+    private PrunedOffsets pruneOffsets(TopicBrowseParams browseParams) {
+        return new PartitionOffsetsPruner(kafkaAdminOperations, partitionByKeyResolver, properties.getTopicBrowser())
+                .prune(browseParams, kafkaManager.getTopic(browseParams.getTopicName()).getPartitionCount());
     }
 
     private Map<Integer, OffsetRange> fetchOffsetRanges(String topicName) {
@@ -356,9 +587,25 @@ public class TopicBrowserController {
     }
 
     private String buildFetchSummary(TaskResult<RecordFetchResult<Object, Object>> workerResult) {
-        return String.format(
+        String summary = String.format(
                 "%d record(s) fetched in %s",
                 workerResult.getValue().count(), workerResult.getElapsedFormattedAsHMS());
+        long unscanned = workerResult.getValue().getPerPartitionResults().stream().
+                filter(TopicBrowserController::isUnscanned).
+                count();
+        if (unscanned > 0) {
+            summary += String.format(", %d partition(s) not scanned before timeout", unscanned);
+        }
+        return summary;
+    }
+
+    /**
+     * @return {@code true} if the partition has records at the start offset, but the
+     * timeout ran out before any of them was scanned
+     */
+    private static boolean isUnscanned(PartitionRecordFetchResult<Object, Object> result) {
+        OffsetRange scanned = result.getScannedOffsets();
+        return scanned.getSize() == 0 && result.getPartitionOffsets().contains(scanned.getSmallest());
     }
 
     private void setDefaultDataFormatsIfMissing(TopicBrowseParams fetchRequestParams) {
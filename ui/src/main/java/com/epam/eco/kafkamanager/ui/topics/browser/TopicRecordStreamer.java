@@ -0,0 +1,243 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.ui.topics.browser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import jakarta.annotation.PreDestroy;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.epam.eco.commons.kafka.OffsetRange;
+import com.epam.eco.commons.kafka.helpers.FilterClausePredicate;
+import com.epam.eco.commons.kafka.helpers.RecordFetchResult;
+import com.epam.eco.kafkamanager.KafkaManager;
+import com.epam.eco.kafkamanager.TopicRecordFetchParams;
+import com.epam.eco.kafkamanager.exec.TaskResult;
+import com.epam.eco.kafkamanager.ui.config.TopicBrowser;
+import com.epam.eco.kafkamanager.ui.topics.browser.TabularRecords.Record;
+import com.epam.eco.kafkamanager.ui.topics.browser.filter.FilterClauseCompositePredicate;
+import com.epam.eco.kafkamanager.ui.topics.browser.filter.FilterClauseStreamingPredicate;
+import com.epam.eco.kafkamanager.ui.topics.browser.filter.FilterClauseStreamingPredicate.FetchProgress;
+
+/**
+ * Runs topic browser fetches in the background and streams their results as
+ * Server-Sent Events instead of rendering them once the whole fetch is done:
+ * <ul>
+ * <li>{@code row} - a matched record, sent as soon as it is polled;</li>
+ * <li>{@code progress} - records and bytes scanned, partitions finished;</li>
+ * <li>{@code done} - summary of the completed fetch;</li>
+ * <li>{@code error} - the fetch failed.</li>
+ * </ul>
+ * The fetch is cancelled once the client disconnects.
+ *
+ * @author Andrei_Tytsik
+ */
+public class TopicRecordStreamer implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopicRecordStreamer.class);
+
+    public static final String EVENT_ROW = "row";
+    public static final String EVENT_PROGRESS = "progress";
+    public static final String EVENT_DONE = "done";
+    public static final String EVENT_ERROR = "error";
+
+    private static final int MAX_CONCURRENT_STREAMS = 8;
+    private static final long EMITTER_TIMEOUT_MARGIN_MS = 30_000;
+
+    private final KafkaManager kafkaManager;
+    private final TopicBrowser topicBrowser;
+    private final ExecutorService executor = Executors.newFixedThreadPool(
+            MAX_CONCURRENT_STREAMS,
+            new BasicThreadFactory.Builder().
+                    namingPattern("topic-record-streamer-%d").
+                    daemon(true).
+                    build());
+
+    public TopicRecordStreamer(KafkaManager kafkaManager, TopicBrowser topicBrowser) {
+        Validate.notNull(kafkaManager, "Kafka manager is null");
+
+        this.kafkaManager = kafkaManager;
+        this.topicBrowser = topicBrowser;
+    }
+
+    /**
+     * @param fetchParamsFactory creates fetch params using the given predicate
+     */
+    public SseEmitter stream(
+            TopicBrowseParams browseParams,
+            Map<Integer, OffsetRange> partitionOffsets,
+            long timeoutInMs,
+            Function<FilterClausePredicate<Object, Object>, TopicRecordFetchParams<Object, Object>> fetchParamsFactory) {
+        Validate.notNull(browseParams, "Browse params is null");
+        Validate.notNull(partitionOffsets, "Partition offsets are null");
+        Validate.notNull(fetchParamsFactory, "Fetch params factory is null");
+
+        SseEmitter emitter = new SseEmitter(timeoutInMs + EMITTER_TIMEOUT_MARGIN_MS);
+        RecordSender sender = new RecordSender(browseParams, emitter);
+        FilterClauseStreamingPredicate<Object, Object> predicate = new FilterClauseStreamingPredicate<>(
+                new FilterClauseCompositePredicate<>(browseParams),
+                partitionOffsets,
+                browseParams.getFetchMode().getFetchDirection(),
+                sender);
+
+        emitter.onCompletion(predicate::cancel);
+        emitter.onTimeout(predicate::cancel);
+        emitter.onError(error -> predicate.cancel());
+
+        try {
+            // fetch is authorized against the user of the request, not the worker thread
+            executor.execute(DelegatingSecurityContextRunnable.create(
+                    () -> fetch(browseParams, partitionOffsets, fetchParamsFactory, predicate, sender),
+                    null));
+        } catch (RejectedExecutionException ree) {
+            sender.sendError("Too many topic browser streams are running");
+        }
+        return emitter;
+    }
+
+    private void fetch(
+            TopicBrowseParams browseParams,
+            Map<Integer, OffsetRange> partitionOffsets,
+            Function<FilterClausePredicate<Object, Object>, TopicRecordFetchParams<Object, Object>> fetchParamsFactory,
+            FilterClauseStreamingPredicate<Object, Object> predicate,
+            RecordSender sender) {
+        try {
+            TaskResult<RecordFetchResult<Object, Object>> taskResult = partitionOffsets.isEmpty() ?
+                    TaskResult.of(RecordFetchResult::emptyResult) :
+                    kafkaManager.getTopicRecordFetcherTaskExecutor().executeDetailed(
+                            browseParams.getTopicName(),
+                            fetchParamsFactory.apply(predicate));
+
+            RecordFetchResult<Object, Object> fetchResult = taskResult.getValue();
+            for (ConsumerRecord<Object, Object> record : fetchResult) {
+                sender.onMatch(record);
+            }
+            sender.sendDone(taskResult, predicate.getProgress());
+        } catch (CancellationException ce) {
+            LOGGER.debug("Streaming of topic '{}' is cancelled", browseParams.getTopicName());
+        } catch (Exception ex) {
+            LOGGER.warn(String.format("Streaming of topic '%s' failed", browseParams.getTopicName()), ex);
+            sender.sendError(ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Converts matched records into rows and sends them once each: records streamed
+     * while fetching are skipped when the final result is sent. Failure to send means
+     * the client is gone, it is thrown as {@link CancellationException} to abort the fetch.
+     */
+    private class RecordSender implements FilterClauseStreamingPredicate.Listener<Object, Object> {
+
+        private final TopicBrowseParams browseParams;
+        private final SseEmitter emitter;
+        private final RecordValueTabulator<?> valueTabulator;
+        private final Set<String> sentRecords = ConcurrentHashMap.newKeySet();
+
+        private RecordSender(TopicBrowseParams browseParams, SseEmitter emitter) {
+            this.browseParams = browseParams;
+            this.emitter = emitter;
+            this.valueTabulator = ToTabularRecordsConverter.determineValueTabulator(browseParams, topicBrowser);
+        }
+
+        @Override
+        public void onMatch(ConsumerRecord<Object, Object> record) {
+            if (!sentRecords.add(record.partition() + ":" + record.offset())) {
+                return;
+            }
+            Map<String, Object> row;
+            synchronized (this) {
+                row = toRow(ToTabularRecordsConverter.toTabularRecord(record, valueTabulator));
+            }
+            send(EVENT_ROW, row);
+        }
+
+        @Override
+        public void onProgress(FetchProgress progress) {
+            send(EVENT_PROGRESS, progress);
+        }
+
+        private void sendDone(TaskResult<RecordFetchResult<Object, Object>> taskResult, FetchProgress progress) {
+            Map<String, Object> done = new LinkedHashMap<>();
+            done.put("count", taskResult.getValue().count());
+            done.put("summary", String.format(
+                    "%d record(s) fetched in %s",
+                    taskResult.getValue().count(), taskResult.getElapsedFormattedAsHMS()));
+            done.put("progress", progress);
+            send(EVENT_DONE, done);
+            emitter.complete();
+        }
+
+        private void sendError(String message) {
+            try {
+                send(EVENT_ERROR, Map.of("message", String.valueOf(message)));
+                emitter.complete();
+            } catch (CancellationException ce) {
+                // client is gone, nothing to report to
+            }
+        }
+
+        private void send(String eventName, Object data) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(data, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException ex) {
+                throw new CancellationException("Client is disconnected");
+            }
+        }
+
+        private Map<String, Object> toRow(Record record) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("partition", record.getPartition());
+            row.put("offset", record.getOffset());
+            row.put("timestamp", record.getTimestampFormatted());
+            row.put("key", String.valueOf(record.getKey()));
+            row.put("size", record.getKeyValueSizeFormatted());
+            row.put("headers", record.getHeaders());
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String columnName : new TreeSet<>(record.getColumnNames())) {
+                values.put(columnName, record.getShort(columnName));
+            }
+            row.put("values", values);
+            return row;
+        }
+
+    }
+
+}
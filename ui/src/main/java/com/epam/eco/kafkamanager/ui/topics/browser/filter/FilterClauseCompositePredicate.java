@@ -15,6 +15,7 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager.ui.topics.browser.filter;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -33,6 +34,7 @@ import com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseJsonVal
 import com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseNoopPredicate;
 import com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseStringKeyPredicate;
 import com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseStringValuePredicate;
+import com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseTimestampPredicate;
 import com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseTombstonePredicate;
 
 import static com.epam.eco.kafkamanager.ui.topics.browser.TabularRecords.HEADER_PREFIX;
@@ -43,10 +45,13 @@ import static com.epam.eco.kafkamanager.ui.topics.browser.TabularRecords.HEADER_
 public class FilterClauseCompositePredicate<K, V> implements FilterClausePredicate<K, V> {
     public static final String KEY_ATTRIBUTE = "key";
     public static final String TOMBSTONE_ATTRIBUTE = "tombstones";
+    public static final String TIMESTAMP_ATTRIBUTE = "record timestamp";
     private final Predicate<ConsumerRecord<K, V>> keyPredicate;
     private final Predicate<ConsumerRecord<K, V>> valuePredicate;
     private final Predicate<ConsumerRecord<K, V>> headerPredicate;
     private final Predicate<ConsumerRecord<K, V>> tombstonePredicate;
+    private final Predicate<ConsumerRecord<K, V>> timestampPredicate;
+    private final List<Predicate<ConsumerRecord<K, V>>> pipeline;
 
     private enum KeyValueType {
         KEY, VALUE;
@@ -66,14 +71,51 @@ public class FilterClauseCompositePredicate<K, V> implements FilterClausePredica
         List<FilterClause> tombstoneClauses = extractTombstoneClauses(browseParams);
         tombstonePredicate = new FilterClauseTombstonePredicate<>(tombstoneClauses);
 
+        List<FilterClause> timestampClauses = extractTimestampClauses(browseParams);
+        timestampPredicate = new FilterClauseTimestampPredicate<>(timestampClauses);
+
+        pipeline = compilePipeline(timestampClauses, tombstoneClauses, headerClauses, keyClauses, valueClauses);
     }
 
     @Override
     public boolean test(ConsumerRecord<K, V> consumerRecord) {
-        return keyPredicate.test(consumerRecord)
-            && headerPredicate.test(consumerRecord)
-            && tombstonePredicate.test(consumerRecord)
-            && valuePredicate.test(consumerRecord);
+        for (Predicate<ConsumerRecord<K, V>> predicate : pipeline) {
+            if (!predicate.test(consumerRecord)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Orders predicates by cost of evaluation and leaves out the ones without clauses:
+     * timestamp, tombstone and header checks work on record metadata and raw bytes, key goes next,
+     * value is the most expensive one to stringify or traverse, so it is evaluated only
+     * for records passed the other checks.
+     */
+    private List<Predicate<ConsumerRecord<K, V>>> compilePipeline(
+            List<FilterClause> timestampClauses,
+            List<FilterClause> tombstoneClauses,
+            List<FilterClause> headerClauses,
+            List<FilterClause> keyClauses,
+            List<FilterClause> valueClauses) {
+        List<Predicate<ConsumerRecord<K, V>>> pipeline = new ArrayList<>();
+        if (!timestampClauses.isEmpty()) {
+            pipeline.add(timestampPredicate);
+        }
+        if (!tombstoneClauses.isEmpty()) {
+            pipeline.add(tombstonePredicate);
+        }
+        if (!headerClauses.isEmpty()) {
+            pipeline.add(headerPredicate);
+        }
+        if (!keyClauses.isEmpty()) {
+            pipeline.add(keyPredicate);
+        }
+        if (!valueClauses.isEmpty()) {
+            pipeline.add(valuePredicate);
+        }
+        return pipeline;
     }
 
     private Predicate<ConsumerRecord<K, V>> resolveKeyValuePredicate(KeyValueType keyValueType,
@@ -104,7 +146,8 @@ public class FilterClauseCompositePredicate<K, V> implements FilterClausePredica
         return browseParams.getFilterClausesAsMap().entrySet().stream()
                            .filter(clause -> (!KEY_ATTRIBUTE.equals(clause.getKey())
                                                && !clause.getKey().startsWith(HEADER_PREFIX)
-                                               && !TOMBSTONE_ATTRIBUTE.equals(clause.getKey())))
+                                               && !TOMBSTONE_ATTRIBUTE.equals(clause.getKey())
+                                               && !TIMESTAMP_ATTRIBUTE.equals(clause.getKey())))
                 .flatMap(entry -> entry.getValue().stream())
                 .toList();
     }
@@ -116,6 +159,13 @@ public class FilterClauseCompositePredicate<K, V> implements FilterClausePredica
                            .collect(Collectors.toList());
     }
 
+    private static List<FilterClause> extractTimestampClauses(TopicBrowseParams browseParams) {
+        return browseParams.getFilterClausesAsMap().entrySet().stream()
+                           .filter(clause -> TIMESTAMP_ATTRIBUTE.equals(clause.getKey()))
+                           .flatMap(entry -> entry.getValue().stream())
+                           .collect(Collectors.toList());
+    }
+
     private static List<FilterClause> extractHeaderClauses(TopicBrowseParams browseParams) {
         return browseParams.getFilterClausesAsMap().entrySet().stream()
                                                        .filter(entry -> entry.getKey().startsWith(HEADER_PREFIX))
@@ -142,4 +192,8 @@ public class FilterClauseCompositePredicate<K, V> implements FilterClausePredica
         return headerPredicate;
     }
 
+    public Predicate<ConsumerRecord<K, V>> getTimestampPredicate() {
+        return timestampPredicate;
+    }
+
 }
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.ui.topics.browser.filter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import com.epam.eco.commons.kafka.OffsetRange;
+import com.epam.eco.commons.kafka.helpers.BiDirectionalTopicRecordFetcher.FetchDirection;
+import com.epam.eco.commons.kafka.helpers.FilterClausePredicate;
+
+/**
+ * Decorates a predicate to observe the fetch it is applied to: every record the
+ * fetcher scans passes through the predicate, so matched records are handed to the
+ * listener as soon as they are polled, and scan progress is reported periodically.
+ * Once cancelled, the next scanned record aborts the fetch with
+ * {@link CancellationException}.
+ *
+ * <p>Predicate is called by fetch workers concurrently, the listener has to be
+ * thread-safe.
+ *
+ * @author Andrei_Tytsik
+ */
+public class FilterClauseStreamingPredicate<K, V> implements FilterClausePredicate<K, V> {
+
+    private static final long PROGRESS_INTERVAL_MS = 250;
+
+    private final FilterClausePredicate<K, V> predicate;
+    private final Map<Integer, OffsetRange> partitionOffsets;
+    private final FetchDirection direction;
+    private final Listener<K, V> listener;
+
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong matched = new AtomicLong();
+    private final Set<Integer> finishedPartitions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong lastReportedAt = new AtomicLong(System.currentTimeMillis());
+
+    private volatile boolean cancelled;
+
+    public FilterClauseStreamingPredicate(
+            FilterClausePredicate<K, V> predicate,
+            Map<Integer, OffsetRange> partitionOffsets,
+            FetchDirection direction,
+            Listener<K, V> listener) {
+        Validate.notNull(predicate, "Predicate is null");
+        Validate.notNull(partitionOffsets, "Partition offsets are null");
+        Validate.notNull(direction, "Fetch direction is null");
+        Validate.notNull(listener, "Listener is null");
+
+        this.predicate = predicate;
+        this.partitionOffsets = partitionOffsets;
+        this.direction = direction;
+        this.listener = listener;
+    }
+
+    @Override
+    public boolean test(ConsumerRecord<K, V> record) {
+        if (cancelled) {
+            throw new CancellationException("Fetch is cancelled");
+        }
+
+        scanned.incrementAndGet();
+        bytes.addAndGet(Math.max(record.serializedKeySize(), 0) + Math.max(record.serializedValueSize(), 0));
+        if (isLastOfPartition(record)) {
+            finishedPartitions.add(record.partition());
+        }
+
+        boolean matches = predicate.test(record);
+        if (matches) {
+            matched.incrementAndGet();
+            listener.onMatch(record);
+        }
+
+        long now = System.currentTimeMillis();
+        long reportedAt = lastReportedAt.get();
+        if (now - reportedAt >= PROGRESS_INTERVAL_MS && lastReportedAt.compareAndSet(reportedAt, now)) {
+            listener.onProgress(getProgress());
+        }
+        return matches;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public FetchProgress getProgress() {
+        return new FetchProgress(
+                scanned.get(),
+                bytes.get(),
+                matched.get(),
+                finishedPartitions.size(),
+                partitionOffsets.size());
+    }
+
+    private boolean isLastOfPartition(ConsumerRecord<K, V> record) {
+        OffsetRange range = partitionOffsets.get(record.partition());
+        if (range == null) {
+            return false;
+        }
+        return direction == FetchDirection.BACKWARD ?
+               record.offset() <= range.getSmallest() :
+               record.offset() >= range.getLargest();
+    }
+
+    public interface Listener<K, V> {
+        void onMatch(ConsumerRecord<K, V> record);
+        void onProgress(FetchProgress progress);
+    }
+
+    public static class FetchProgress {
+
+        private final long scanned;
+        private final long bytes;
+        private final long matched;
+        private final int partitionsFinished;
+        private final int partitionsTotal;
+
+        public FetchProgress(long scanned, long bytes, long matched, int partitionsFinished, int partitionsTotal) {
+            this.scanned = scanned;
+            this.bytes = bytes;
+            this.matched = matched;
+            this.partitionsFinished = partitionsFinished;
+            this.partitionsTotal = partitionsTotal;
+        }
+
+        public long getScanned() {
+            return scanned;
+        }
+        public long getBytes() {
+            return bytes;
+        }
+        public long getMatched() {
+            return matched;
+        }
+        public int getPartitionsFinished() {
+            return partitionsFinished;
+        }
+        public int getPartitionsTotal() {
+            return partitionsTotal;
+        }
+
+        @Override
+        public String toString() {
+            return
+                    "{scanned: " + scanned +
+                    ", bytes: " + bytes +
+                    ", matched: " + matched +
+                    ", partitionsFinished: " + partitionsFinished +
+                    ", partitionsTotal: " + partitionsTotal +
+                    "}";
+        }
+
+    }
+
+}
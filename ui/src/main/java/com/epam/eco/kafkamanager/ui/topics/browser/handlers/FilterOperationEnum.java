@@ -27,24 +27,35 @@ import com.epam.eco.kafkamanager.FilterOperation;
 
 public enum FilterOperationEnum {
 
-    EQUALS(new FilterOperation("equals", "equals", "Any string", true)),
-    CONTAINS(new FilterOperation("contains", "contains", "Any string", true)),
-    STARTS_WITH(new FilterOperation("startsWith", "starts with", "Any string", true)),
-    LIKE(new FilterOperation("like", "like", "%string%string%", true)),
-    NOT_EMPTY(new FilterOperation("notEmpty", "not empty", "Leave it blank", false)),
-    EXCLUDE(new FilterOperation("exclude", "exclude", "Leave it blank", false)),
-    ONLY(new FilterOperation("only", "only", "Leave it blank", false));
+    EQUALS(new FilterOperation("equals", "equals", "Any string", true), 2),
+    CONTAINS(new FilterOperation("contains", "contains", "Any string", true), 3),
+    STARTS_WITH(new FilterOperation("startsWith", "starts with", "Any string", true), 2),
+    LIKE(new FilterOperation("like", "like", "%string%string%", true), 4),
+    IN(new FilterOperation("in", "in", "string,string", true), 2),
+    BETWEEN(new FilterOperation("between", "between", "from,to", true), 2),
+    NOT_EMPTY(new FilterOperation("notEmpty", "not empty", "Leave it blank", false), 1),
+    EXCLUDE(new FilterOperation("exclude", "exclude", "Leave it blank", false), 0),
+    ONLY(new FilterOperation("only", "only", "Leave it blank", false), 0);
 
     private final FilterOperation operation;
+    private final int cost;
 
-    FilterOperationEnum(FilterOperation operation) {
+    FilterOperationEnum(FilterOperation operation, int cost) {
         this.operation = operation;
+        this.cost = cost;
     }
 
     public FilterOperation getOperation() {
         return operation;
     }
 
+    /**
+     * @return relative cost of the operation, used to evaluate cheaper clauses first
+     */
+    public int getCost() {
+        return cost;
+    }
+
     public static FilterOperationEnum getOperationEnum(FilterOperation filterOperation) {
         return Arrays.stream(FilterOperationEnum.values())
                      .filter(filterOperationEnum -> filterOperationEnum.getOperation().equals(filterOperation))
@@ -40,6 +40,8 @@ public abstract class FilterOperationHandler<T> {
             case CONTAINS -> contains(value);
             case STARTS_WITH -> startWith(value);
             case LIKE -> like(value);
+            case IN -> in(value);
+            case BETWEEN -> between(value);
             case NOT_EMPTY -> notEmpty(value);
             case EXCLUDE -> exclude(value);
             case ONLY -> only(value);
@@ -50,6 +52,8 @@ public abstract class FilterOperationHandler<T> {
     abstract boolean contains(T value);
     abstract boolean startWith(T value);
     abstract boolean like(T value);
+    abstract boolean in(T value);
+    abstract boolean between(T value);
     abstract boolean notEmpty(T value);
     protected boolean exclude(T value) {
         return !isNull(value);
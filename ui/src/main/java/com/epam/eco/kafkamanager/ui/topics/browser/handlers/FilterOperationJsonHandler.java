@@ -15,143 +15,171 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager.ui.topics.browser.handlers;
 
+import java.util.Set;
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.Validate;
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 
 import com.epam.eco.kafkamanager.FilterClause;
 
 import static java.util.Objects.isNull;
 
 /**
+ * Compares a field of JSON document with a value. Field path of the clause
+ * ({@code field.subField:value}) is compiled to {@link JsonPointer} once, documents
+ * might be given either as strings or as already parsed trees.
+ *
  * @author Mikhail_Vershkov
  */
 
 public class FilterOperationJsonHandler extends FilterOperationHandler<String> {
-    private final ObjectMapper mapper;
+    private final FilterOperationEnum operation;
+    private final JsonPointer fieldPointer;
+    private final String fieldValue;
+    private final BiPredicate<String,String> compareMethod;
+
     public FilterOperationJsonHandler(FilterClause clause) {
         super(clause);
-        mapper = new ObjectMapper();
+        Validate.isTrue(
+                clause.getValue() != null && clause.getValue().contains(KEY_VALUE_SEPARATOR),
+                "Clause value is not in 'field:value' format");
+
+        operation = FilterOperationEnum.getOperationEnum(clause.getOperation());
+        fieldPointer = compileFieldPointer(getFieldName(clause.getValue()));
+        fieldValue = getFieldValue(clause.getValue());
+        compareMethod = resolveCompareMethod(operation, fieldValue);
     }
     @Override
     boolean equalValues(String value) {
-        if(isNull(value)) {
-            return false;
-        }
-        try {
-            JsonNode node = mapper.readTree(value);
-            return compareValue(node,
-                                getFieldName(getClause().getValue()),
-                                getFieldValue(getClause().getValue()),
-                                String::equals);
-        } catch (JsonProcessingException e) {
-            return value.equals(getClause().getValue());
-        }
+        return compareDocument(value, document -> document.equals(getClause().getValue()));
     }
     @Override
     boolean contains(String value) {
-        if(isNull(value)) {
-            return false;
-        }
-        try {
-            JsonNode node = mapper.readTree(value);
-            return compareValue(node,
-                                getFieldName(getClause().getValue()),
-                                getFieldValue(getClause().getValue()),
-                                String::contains);
-        } catch (JsonProcessingException e) {
-            return value.contains(getClause().getValue());
-        }
+        return compareDocument(value, document -> document.contains(getClause().getValue()));
     }
     @Override
     boolean startWith(String value) {
-        if(isNull(value)) {
-            return false;
-        }
-        try {
-            JsonNode node = mapper.readTree(value);
-            return compareValue(node,
-                                getFieldName(getClause().getValue()),
-                                getFieldValue(getClause().getValue()),
-                                String::startsWith);
-        } catch (JsonProcessingException e) {
-            return value.startsWith(getClause().getValue());
-        }
+        return compareDocument(value, document -> document.startsWith(getClause().getValue()));
     }
 
     @Override
     boolean like(String value) {
-        if(isNull(value)) {
-            return false;
-        }
-        try {
-            JsonNode node = mapper.readTree(value);
-            return compareValue(node,
-                                getFieldName(getClause().getValue()),
-                                getFieldValue(getClause().getValue()),
-                                FilterOperationUtils::like);
-        } catch (JsonProcessingException e) {
-            return FilterOperationUtils.like(getClause().getValue(), value);
-        }
+        return compareDocument(value, document -> FilterOperationUtils.like(getClause().getValue(), document));
+    }
+
+    @Override
+    boolean in(String value) {
+        return compareDocument(value, document -> FilterOperationUtils.in(getClause().getValue(), document));
+    }
+
+    @Override
+    boolean between(String value) {
+        return compareDocument(value, document -> FilterOperationUtils.between(getClause().getValue(), document));
     }
 
     @Override
     boolean notEmpty(String value) {
+        return compareDocument(value, document -> FilterOperationUtils.like(getClause().getValue(), document));
+    }
+
+    /**
+     * Evaluates the clause against already parsed document.
+     */
+    public boolean compareNode(JsonNode node) {
+        Validate.notNull(node, "JSON node is null");
+        return switch (operation) {
+            case EXCLUDE -> true;
+            case ONLY -> false;
+            default -> compareValue(node, fieldPointer);
+        };
+    }
+
+    /**
+     * @return name of the top-level field the clause compares, {@code null} if the
+     * field is nested or the clause doesn't compare any field
+     */
+    public String getTopLevelFieldName() {
+        return compareMethod != null && fieldPointer.tail().matches() ? fieldPointer.getMatchingProperty() : null;
+    }
+
+    /**
+     * Compares text of the clause field, see {@link #getTopLevelFieldName()}.
+     */
+    public boolean compareFieldText(String text) {
+        Validate.validState(compareMethod != null, "Clause doesn't compare any field");
+        return compareMethod.test(text, fieldValue);
+    }
+
+    private boolean compareDocument(String value, Predicate<String> fallback) {
         if(isNull(value)) {
             return false;
         }
         try {
-            JsonNode node = mapper.readTree(value);
-            return compareValue(node,
-                                getFieldName(getClause().getValue()),
-                                getFieldValue(getClause().getValue()),
-                                (filterClause,testValue)->FilterOperationUtils.notEmpty(testValue));
+            return compareNode(FilterOperationUtils.JSON_MAPPER.readTree(value));
         } catch (JsonProcessingException e) {
-            return FilterOperationUtils.like(getClause().getValue(), value);
+            return fallback.test(value);
         }
     }
 
-    private String getFieldName(String value) {
+    private static String getFieldName(String value) {
        Validate.notNull(value);
        return value.substring(0,value.indexOf(KEY_VALUE_SEPARATOR)).trim();
     }
-    private String getFieldValue(String value) {
+    private static String getFieldValue(String value) {
         Validate.notNull(value);
         return value.substring(value.indexOf(KEY_VALUE_SEPARATOR)+1).trim();
     }
 
-    private boolean compareValue(JsonNode node,
-                                 String fieldName,
-                                 String testValue,
-                                 BiPredicate<String,String> compareMethod) {
+    private static JsonPointer compileFieldPointer(String fieldName) {
+        JsonPointer pointer = JsonPointer.empty();
+        for (String property : fieldName.split("\\" + PROPERTIES_SEPARATOR, -1)) {
+            pointer = pointer.appendProperty(property);
+        }
+        return pointer;
+    }
+
+    private static BiPredicate<String,String> resolveCompareMethod(FilterOperationEnum operation, String fieldValue) {
+        return switch (operation) {
+            case EQUALS -> String::equals;
+            case CONTAINS -> String::contains;
+            case STARTS_WITH -> String::startsWith;
+            case LIKE -> {
+                Pattern pattern = FilterOperationUtils.compileLike(fieldValue);
+                yield (nodeValue, testValue) -> FilterOperationUtils.like(pattern, nodeValue);
+            }
+            case IN -> {
+                Set<String> values = FilterOperationUtils.parseValueSet(fieldValue);
+                yield (nodeValue, testValue) -> values.contains(nodeValue);
+            }
+            case BETWEEN -> (nodeValue, testValue) -> FilterOperationUtils.between(testValue, nodeValue);
+            case NOT_EMPTY -> (nodeValue, testValue) -> FilterOperationUtils.notEmpty(testValue);
+            case EXCLUDE, ONLY -> null;
+        };
+    }
+
+    private boolean compareValue(JsonNode node, JsonPointer pointer) {
         if(node.isArray()) {
-            ArrayNode arrayNode = (ArrayNode) node;
-            for(JsonNode singleNode: arrayNode) {
-                boolean result = compareValue(singleNode, fieldName, testValue, compareMethod);
-                if(result) {
+            for(JsonNode singleNode: node) {
+                if(compareValue(singleNode, pointer)) {
                     return true;
                 }
             }
-        } else {
-            if(fieldName.contains(PROPERTIES_SEPARATOR)) {
-                String currentFieldName = fieldName.substring(0,fieldName.indexOf(PROPERTIES_SEPARATOR));
-                if(node.has(currentFieldName)) {
-                    String restFieldName = fieldName.substring(fieldName.indexOf(PROPERTIES_SEPARATOR) + 1);
-                    return compareValue(node.get(currentFieldName),restFieldName,testValue,compareMethod);
-                } else {
-                    return false;
-                }
-
-            } else {
-                return node.has(fieldName) && compareMethod.test(node.get(fieldName).asText(), testValue);
-            }
+            return false;
+        }
+        JsonNode fieldNode = node.get(pointer.getMatchingProperty());
+        if(fieldNode == null) {
+            return false;
         }
-        return false;
+        JsonPointer tail = pointer.tail();
+        return tail.matches() ?
+               compareMethod.test(fieldNode.asText(), fieldValue) :
+               compareValue(fieldNode, tail);
     }
 
 }
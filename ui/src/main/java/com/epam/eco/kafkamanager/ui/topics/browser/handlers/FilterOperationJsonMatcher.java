@@ -0,0 +1,131 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.ui.topics.browser.handlers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.Validate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import com.epam.eco.kafkamanager.FilterClause;
+
+/**
+ * Evaluates a list of {@code field:value} clauses against JSON documents, each
+ * document is parsed only once for all of the clauses.
+ *
+ * <p>When every clause compares a top-level field, document is scanned with a
+ * streaming parser instead: values of other fields are skipped without being
+ * materialized and scanning stops as soon as all the clauses are decided. Note
+ * that in this case malformed content after the last compared field isn't detected.
+ *
+ * @author Andrei_Tytsik
+ */
+public class FilterOperationJsonMatcher {
+
+    private final List<FilterOperationJsonHandler> handlers = new ArrayList<>();
+    private final Map<String, List<FilterOperationJsonHandler>> topLevelHandlers;
+
+    public FilterOperationJsonMatcher(List<FilterClause> clauses) {
+        Validate.notNull(clauses, "Collection of clauses is null");
+
+        clauses.forEach(clause -> handlers.add(new FilterOperationJsonHandler(clause)));
+        topLevelHandlers = groupByTopLevelField(handlers);
+    }
+
+    public boolean matches(String json) {
+        if (handlers.isEmpty()) {
+            return true;
+        }
+        if (topLevelHandlers != null) {
+            Boolean matched = matchTopLevelFields(json);
+            if (matched != null) {
+                return matched;
+            }
+        }
+        return matchTree(json);
+    }
+
+    private boolean matchTree(String json) {
+        JsonNode node = FilterOperationUtils.readJsonTree(json);
+        if (node == null) {
+            return false;
+        }
+        for (FilterOperationJsonHandler handler : handlers) {
+            if (!handler.compareNode(node)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return result of matching; {@code null} if document is not an object and
+     * has to be matched as a tree
+     */
+    private Boolean matchTopLevelFields(String json) {
+        try (JsonParser parser = FilterOperationUtils.JSON_MAPPER.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            Set<String> matchedFields = new HashSet<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                parser.nextToken();
+                List<FilterOperationJsonHandler> fieldHandlers = topLevelHandlers.get(fieldName);
+                if (fieldHandlers == null || !matchedFields.add(fieldName)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                JsonNode fieldNode = FilterOperationUtils.JSON_MAPPER.readTree(parser);
+                String text = fieldNode.asText();
+                for (FilterOperationJsonHandler handler : fieldHandlers) {
+                    if (!handler.compareFieldText(text)) {
+                        return false;
+                    }
+                }
+                if (matchedFields.size() == topLevelHandlers.size()) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static Map<String, List<FilterOperationJsonHandler>> groupByTopLevelField(
+            List<FilterOperationJsonHandler> handlers) {
+        Map<String, List<FilterOperationJsonHandler>> grouped = new HashMap<>();
+        for (FilterOperationJsonHandler handler : handlers) {
+            String fieldName = handler.getTopLevelFieldName();
+            if (fieldName == null) {
+                return null;
+            }
+            grouped.computeIfAbsent(fieldName, key -> new ArrayList<>()).add(handler);
+        }
+        return grouped;
+    }
+
+}
@@ -116,6 +116,34 @@ public class FilterOperationMapHandler extends FilterOperationHandler<Map<Object
         }
     }
 
+    @Override
+    boolean in(Map<Object, Object> value) {
+        if(isNull(value) || value.isEmpty()) {
+            return false;
+        }
+
+        if(propertyName.isEmpty()) {
+            return value.values().stream().anyMatch(
+                    fieldValue -> FilterOperationUtils.in(getClause().getValue(), fieldValue.toString()));
+        }
+
+        return FilterOperationUtils.in(getFilterPropertyValue(getClause()), getPropertyValue(value));
+    }
+
+    @Override
+    boolean between(Map<Object, Object> value) {
+        if(isNull(value) || value.isEmpty()) {
+            return false;
+        }
+
+        if(propertyName.isEmpty()) {
+            return value.values().stream().anyMatch(
+                    fieldValue -> FilterOperationUtils.between(getClause().getValue(), fieldValue.toString()));
+        }
+
+        return FilterOperationUtils.between(getFilterPropertyValue(getClause()), getPropertyValue(value));
+    }
+
     @Override
     boolean notEmpty(Map<Object, Object> value) {
         if(isNull(value) || value.isEmpty()) {
@@ -148,6 +176,11 @@ public class FilterOperationMapHandler extends FilterOperationHandler<Map<Object
         }
         return propertyName;
     }
+    private String getPropertyValue(Map<Object,Object> value) {
+        return areValuesUtf8(value) ?
+               value.getOrDefault(new Utf8(propertyName), new Utf8(DEFAULT_VALUE)).toString() :
+               value.getOrDefault(propertyName, DEFAULT_VALUE).toString();
+    }
     private boolean areValuesUtf8(Map<Object,Object> value) {
         if(value.isEmpty()) {
             return false;
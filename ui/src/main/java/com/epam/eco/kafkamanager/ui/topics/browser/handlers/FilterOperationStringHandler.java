@@ -46,6 +46,16 @@ public class FilterOperationStringHandler extends FilterOperationHandler<String>
         return nonNull(value) && FilterOperationUtils.like(getClause().getValue(), value);
     }
 
+    @Override
+    boolean in(String value) {
+        return nonNull(value) && FilterOperationUtils.in(getClause().getValue(), value.trim());
+    }
+
+    @Override
+    boolean between(String value) {
+        return nonNull(value) && FilterOperationUtils.between(getClause().getValue(), value.trim());
+    }
+
     @Override
     boolean notEmpty(String value) {
         return nonNull(value) && FilterOperationUtils.notEmpty(value);
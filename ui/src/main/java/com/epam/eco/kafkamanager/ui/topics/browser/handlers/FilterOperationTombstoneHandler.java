@@ -46,6 +46,16 @@ public class FilterOperationTombstoneHandler extends FilterOperationHandler<Obje
         return false;
     }
 
+    @Override
+    boolean in(Object value) {
+        return false;
+    }
+
+    @Override
+    boolean between(Object value) {
+        return false;
+    }
+
     @Override
     boolean notEmpty(Object value) {
         return false;
@@ -15,12 +15,23 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager.ui.topics.browser.handlers;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.epam.eco.kafkamanager.FilterClause;
@@ -36,13 +47,117 @@ public final class FilterOperationUtils {
 
     private static final String LIKE_SQL_STYLE = "%";
     private static final String LIKE_JAVA_STYLE = "(.)+";
+    private static final String VALUES_SEPARATOR = ",";
+
+    private static final int LIKE_PATTERN_CACHE_SIZE = 256;
+    private static final Map<String, Pattern> LIKE_PATTERNS = new ConcurrentHashMap<>();
+
+    static final ObjectMapper JSON_MAPPER = new ObjectMapper();
 
     public static boolean like(String regexp, String testString) {
+        return like(compileLike(regexp), testString);
+    }
+
+    public static boolean like(Pattern pattern, String testString) {
         if(isNull(testString) || testString.isEmpty()) {
             return false;
         }
-        return testString.matches(regexp.replace(LIKE_SQL_STYLE, LIKE_JAVA_STYLE));
+        return pattern.matcher(testString).matches();
+    }
+
+    /**
+     * Compiles {@code %string%string%} expression of the like operation, compiled patterns
+     * of recent expressions are cached.
+     */
+    public static Pattern compileLike(String regexp) {
+        Pattern pattern = LIKE_PATTERNS.get(regexp);
+        if (pattern == null) {
+            pattern = Pattern.compile(regexp.replace(LIKE_SQL_STYLE, LIKE_JAVA_STYLE));
+            if (LIKE_PATTERNS.size() >= LIKE_PATTERN_CACHE_SIZE) {
+                LIKE_PATTERNS.clear();
+            }
+            LIKE_PATTERNS.put(regexp, pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * @return clauses ordered by cost of their operations, order of equally expensive
+     * clauses is preserved
+     */
+    public static List<FilterClause> orderByCost(List<FilterClause> clauses) {
+        return clauses.stream()
+                .sorted(Comparator.comparingInt(FilterOperationUtils::costOf))
+                .toList();
+    }
+
+    private static int costOf(FilterClause clause) {
+        if (clause.getOperation() == null) {
+            return Integer.MAX_VALUE;
+        }
+        return Arrays.stream(FilterOperationEnum.values())
+                .filter(operation -> operation.getOperation().equals(clause.getOperation()))
+                .mapToInt(FilterOperationEnum::getCost)
+                .findFirst()
+                .orElse(Integer.MAX_VALUE);
+    }
+    /**
+     * @return whether the string is one of comma-separated values of the {@code value,value}
+     * expression of the in operation
+     */
+    public static boolean in(String values, String testString) {
+        if(isNull(testString)) {
+            return false;
+        }
+        return parseValueSet(values).contains(testString);
     }
+
+    /**
+     * @return comma-separated values of the expression, values are trimmed
+     */
+    public static Set<String> parseValueSet(String values) {
+        if(isNull(values)) {
+            return Collections.emptySet();
+        }
+        return Arrays.stream(values.split(VALUES_SEPARATOR))
+                .map(String::trim)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Evaluates {@code from,to} expression of the between operation, bounds are inclusive
+     * and either of them may be blank to leave the range open. Numbers are compared
+     * numerically, anything else lexicographically.
+     */
+    public static boolean between(String range, String testString) {
+        if(isNull(range) || !range.contains(VALUES_SEPARATOR) || isNull(testString) || testString.isEmpty()) {
+            return false;
+        }
+        String[] bounds = splitRange(range);
+        return
+                (bounds[0].isEmpty() || compareValues(bounds[0], testString) <= 0) &&
+                (bounds[1].isEmpty() || compareValues(testString, bounds[1]) <= 0);
+    }
+
+    /**
+     * @return trimmed {@code from} and {@code to} bounds of the between expression
+     */
+    public static String[] splitRange(String range) {
+        Validate.notNull(range, "Range is null");
+        int separatorIdx = range.indexOf(VALUES_SEPARATOR);
+        Validate.isTrue(separatorIdx >= 0, "Range '%s' doesn't match 'from,to' format", range);
+        return new String[] {
+                range.substring(0, separatorIdx).trim(),
+                range.substring(separatorIdx + 1).trim()};
+    }
+
+    private static int compareValues(String value1, String value2) {
+        if(NumberUtils.isCreatable(value1) && NumberUtils.isCreatable(value2)) {
+            return NumberUtils.createBigDecimal(value1).compareTo(NumberUtils.createBigDecimal(value2));
+        }
+        return value1.compareTo(value2);
+    }
+
     public static boolean notEmpty(String testString) {
         return !StringUtils.isEmpty(testString);
     }
@@ -59,12 +174,8 @@ public final class FilterOperationUtils {
                 Map<Object,Object> map = (Map<Object,Object>)value;
                 return new FilterOperationMapHandler(filterClause).compare(map);
             } else {
-                try {
-                    new ObjectMapper().readTree(value.toString());
-                    return new FilterOperationJsonHandler(filterClause).compare(value.toString());
-                } catch (JsonProcessingException e) {
-                    return false;
-                }
+                JsonNode node = readJsonTree(value.toString());
+                return node != null && new FilterOperationJsonHandler(filterClause).compareNode(node);
             }
         } else {
             return new FilterOperationStringHandler(filterClause).compare(value.toString());
@@ -72,6 +183,17 @@ public final class FilterOperationUtils {
 
     }
 
+    /**
+     * @return parsed JSON document, {@code null} if the string is not a valid JSON
+     */
+    public static JsonNode readJsonTree(String json) {
+        try {
+            return JSON_MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
     public static boolean executeHeaderOperation(FilterClause filterClause, Map<Object,Object> headersMap) {
         return new FilterOperationMapHandler(filterClause).compare(headersMap);
     }
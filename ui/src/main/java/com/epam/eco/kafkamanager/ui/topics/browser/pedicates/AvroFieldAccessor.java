@@ -0,0 +1,178 @@
+/*******************************************************************************
+ *  Copyright 2024 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.ui.topics.browser.pedicates;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+
+import com.epam.eco.kafkamanager.KafkaExtendedAvroDeserializer.GenericRecordWrapper;
+import com.epam.eco.kafkamanager.logicaltype.LogicalTypeSchemaConverter;
+import com.epam.eco.kafkamanager.ui.topics.browser.AvroRecordValuesExtractor;
+
+/**
+ * Accessor of a single (possibly nested) field of Avro records, addressed by a column
+ * of {@link AvroRecordValuesExtractor#getValuesAsFlattenedMap} form, e.g.
+ * {@code "address.city"}. The column is compiled into a chain of field positions once
+ * per writer schema, so reading the field doesn't require converting and flattening the
+ * whole record. Values are the ones the flattened map would contain.
+ *
+ * <p>Columns reaching into map fields, or records of a union branch other than the
+ * compiled one, can't be resolved this way, for those {@link #access} returns
+ * {@link #UNRESOLVED} and the caller has to fall back to the flattened map.
+ *
+ * @author Andrei_Tytsik
+ */
+class AvroFieldAccessor {
+
+    /**
+     * Returned when the record has no such column.
+     */
+    static final Object MISSING = new Object();
+    /**
+     * Returned when the column can't be resolved without flattening the record.
+     */
+    static final Object UNRESOLVED = new Object();
+
+    private static final Pattern SEPARATOR = Pattern.compile(Pattern.quote(AvroRecordValuesExtractor.SEPARATOR));
+
+    private final String[] path;
+    private final Map<Long, CompiledPath> compiledPaths = new ConcurrentHashMap<>();
+
+    AvroFieldAccessor(String column) {
+        this.path = column != null ? SEPARATOR.split(column, -1) : null;
+    }
+
+    Object access(GenericRecordWrapper wrapper) {
+        if (path == null) {
+            return MISSING;
+        }
+
+        GenericRecord record = wrapper.getValue();
+        CompiledPath compiledPath = compiledPaths.get(wrapper.getSchemaId());
+        if (compiledPath == null || compiledPath.schema != record.getSchema()) {
+            compiledPath = compile(record.getSchema());
+            compiledPaths.put(wrapper.getSchemaId(), compiledPath);
+        }
+        return compiledPath.access(record);
+    }
+
+    private CompiledPath compile(Schema schema) {
+        List<Step> steps = new ArrayList<>(path.length);
+        Schema current = schema;
+        for (int i = 0; i < path.length; i++) {
+            Schema.Field field = current.getField(path[i]);
+            if (field == null) {
+                return new CompiledPath(schema, null, MISSING);
+            }
+            if (containsType(field.schema(), Schema.Type.MAP)) {
+                return new CompiledPath(schema, null, UNRESOLVED);
+            }
+            Schema recordSchema = recordSchemaOf(field.schema());
+            steps.add(new Step(field, recordSchema));
+            if (recordSchema == null && i < path.length - 1) {
+                return new CompiledPath(schema, null, MISSING);
+            }
+            current = recordSchema;
+        }
+        return new CompiledPath(schema, steps.toArray(new Step[0]), null);
+    }
+
+    /**
+     * @return schema of record type or of the first record type of union, which is the
+     * one {@link LogicalTypeSchemaConverter} expands null values with
+     */
+    private static Schema recordSchemaOf(Schema schema) {
+        if (schema.getType() == Schema.Type.RECORD) {
+            return schema;
+        }
+        if (schema.isUnion()) {
+            return schema.getTypes().stream().
+                    filter(type -> type.getType() == Schema.Type.RECORD).
+                    findFirst().
+                    orElse(null);
+        }
+        return null;
+    }
+
+    private static boolean containsType(Schema schema, Schema.Type type) {
+        if (schema.isUnion()) {
+            return schema.getTypes().stream().anyMatch(branch -> branch.getType() == type);
+        }
+        return schema.getType() == type;
+    }
+
+    private static class Step {
+
+        private final Schema.Field field;
+        private final Schema recordSchema;
+
+        private Step(Schema.Field field, Schema recordSchema) {
+            this.field = field;
+            this.recordSchema = recordSchema;
+        }
+
+    }
+
+    private static class CompiledPath {
+
+        private final Schema schema;
+        private final Step[] steps;
+        private final Object constant;
+
+        private CompiledPath(Schema schema, Step[] steps, Object constant) {
+            this.schema = schema;
+            this.steps = steps;
+            this.constant = constant;
+        }
+
+        private Object access(GenericRecord record) {
+            if (constant != null) {
+                return constant;
+            }
+
+            GenericRecord current = record;
+            for (int i = 0; i < steps.length; i++) {
+                Step step = steps[i];
+                boolean last = i == steps.length - 1;
+                if (current == null) {
+                    // null records are expanded into null fields, but not any deeper
+                    return last ? null : MISSING;
+                }
+                if (last) {
+                    return step.recordSchema == null ?
+                           LogicalTypeSchemaConverter.convertFieldValue(current, step.field) :
+                           MISSING;
+                }
+
+                Object value = current.get(step.field.pos());
+                if (value != null &&
+                        (!(value instanceof GenericRecord nested) || nested.getSchema() != step.recordSchema)) {
+                    return UNRESOLVED;
+                }
+                current = (GenericRecord) value;
+            }
+            return MISSING;
+        }
+
+    }
+
+}
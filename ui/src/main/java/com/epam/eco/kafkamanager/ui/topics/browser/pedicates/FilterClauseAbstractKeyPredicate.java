@@ -21,6 +21,7 @@ import java.util.function.Predicate;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 
 import com.epam.eco.kafkamanager.FilterClause;
+import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationUtils;
 
 import static java.util.Objects.isNull;
 
@@ -36,7 +37,7 @@ public abstract class FilterClauseAbstractKeyPredicate<K, V> implements Predicat
     protected final List<FilterClause> clauses;
 
     public FilterClauseAbstractKeyPredicate(List<FilterClause> clauses) {
-        this.clauses = clauses;
+        this.clauses = FilterOperationUtils.orderByCost(clauses);
     }
 
     @Override
@@ -51,11 +52,15 @@ public abstract class FilterClauseAbstractKeyPredicate<K, V> implements Predicat
     }
 
     protected boolean processKeyClauses(ConsumerRecord<K, V> record) {
+        String key = null;
         for(FilterClause clause : clauses) {
             if(isNull(clause.getValue())) {
                 continue;
             }
-            if(!executeOperation(clause, getStringOfNullable(record))) {
+            if(key == null) {
+                key = getStringOfNullable(record);
+            }
+            if(!executeOperation(clause, key)) {
                 return false;
             }
         }
@@ -21,6 +21,7 @@ import java.util.function.Predicate;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 
 import com.epam.eco.kafkamanager.FilterClause;
+import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationUtils;
 
 import static java.util.Objects.isNull;
 
@@ -33,7 +34,7 @@ public abstract class FilterClauseAbstractValuePredicate<K, V> implements Predic
     protected final List<FilterClause> clauses;
 
     public FilterClauseAbstractValuePredicate(List<FilterClause> clauses) {
-        this.clauses = clauses;
+        this.clauses = FilterOperationUtils.orderByCost(clauses);
     }
 
     @Override
@@ -17,10 +17,12 @@ package com.epam.eco.kafkamanager.ui.topics.browser.pedicates;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 
 import com.epam.eco.kafkamanager.FilterClause;
+import com.epam.eco.kafkamanager.KafkaExtendedAvroDeserializer.GenericRecordWrapper;
 import com.epam.eco.kafkamanager.ui.topics.browser.AvroRecordValuesExtractor;
 import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationUtils;
 
@@ -32,9 +34,13 @@ import static com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperati
 
 public class FilterClauseAvroValuePredicate extends FilterClauseAbstractValuePredicate<String, Object> {
 
+    private final List<AvroFieldAccessor> accessors;
 
     public FilterClauseAvroValuePredicate(List<FilterClause> clauses) {
         super(clauses);
+        this.accessors = this.clauses.stream()
+                .map(clause -> new AvroFieldAccessor(clause.getColumn()))
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -42,6 +48,9 @@ public class FilterClauseAvroValuePredicate extends FilterClauseAbstractValuePre
         if (clauses.isEmpty()) {
             return true;
         }
+        if (record.value() instanceof GenericRecordWrapper wrapper) {
+            return processWrappedValueClauses(record, wrapper);
+        }
         Map<String, Object> mapOfValues = AvroRecordValuesExtractor.getValuesAsFlattenedMap(record);
         for (FilterClause filterClause : clauses) {
             if (mapOfValues != null && mapOfValues.containsKey(filterClause.getColumn())) {
@@ -56,6 +65,33 @@ public class FilterClauseAvroValuePredicate extends FilterClauseAbstractValuePre
         return true;
     }
 
+    /**
+     * Reads only the fields the clauses compare, flattens the record only if some column
+     * can't be resolved against the record's schema.
+     */
+    private boolean processWrappedValueClauses(ConsumerRecord<String,Object> record, GenericRecordWrapper wrapper) {
+        Map<String, Object> mapOfValues = null;
+        for (int i = 0; i < clauses.size(); i++) {
+            FilterClause filterClause = clauses.get(i);
+            Object value = accessors.get(i).access(wrapper);
+            if (value == AvroFieldAccessor.UNRESOLVED) {
+                if (mapOfValues == null) {
+                    mapOfValues = AvroRecordValuesExtractor.getValuesAsFlattenedMap(record);
+                }
+                if (!mapOfValues.containsKey(filterClause.getColumn())) {
+                    return false;
+                }
+                value = mapOfValues.get(filterClause.getColumn());
+            } else if (value == AvroFieldAccessor.MISSING) {
+                return false;
+            }
+            if (!executeAvroJsonOperation(filterClause, value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     boolean executeOperation(FilterClause clause, Object value) {
         return FilterOperationUtils.executeAvroJsonOperation(clause,value);
@@ -15,13 +15,16 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager.ui.topics.browser.pedicates;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 
 import com.epam.eco.kafkamanager.FilterClause;
+import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationJsonMatcher;
 import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationUtils;
 
+import static com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationHandler.KEY_VALUE_SEPARATOR;
 import static com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationUtils.executeAvroJsonOperation;
 import static java.util.Objects.isNull;
 
@@ -31,8 +34,21 @@ import static java.util.Objects.isNull;
 
 public class FilterClauseJsonValuePredicate extends FilterClauseAbstractValuePredicate<String,Object> {
 
+    private final List<FilterClause> plainClauses = new ArrayList<>();
+    private final FilterOperationJsonMatcher jsonMatcher;
+
     public FilterClauseJsonValuePredicate(List<FilterClause> clauses) {
         super(clauses);
+
+        List<FilterClause> jsonClauses = new ArrayList<>();
+        for (FilterClause clause : this.clauses) {
+            if (clause.getValue() != null && clause.getValue().contains(KEY_VALUE_SEPARATOR)) {
+                jsonClauses.add(clause);
+            } else {
+                plainClauses.add(clause);
+            }
+        }
+        jsonMatcher = new FilterOperationJsonMatcher(jsonClauses);
     }
 
     @Override
@@ -44,12 +60,12 @@ public class FilterClauseJsonValuePredicate extends FilterClauseAbstractValuePre
             return false;
         }
         String json = FilterOperationUtils.stringifyValue(record);
-        for (FilterClause filterClause : clauses) {
+        for (FilterClause filterClause : plainClauses) {
             if (!executeAvroJsonOperation(filterClause, json)) {
                 return false;
             }
         }
-        return true;
+        return jsonMatcher.matches(json);
     }
 
     @Override
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.ui.topics.browser.pedicates;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import com.epam.eco.kafkamanager.FilterClause;
+import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationEnum;
+import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationStringHandler;
+import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationUtils;
+
+/**
+ * Evaluates clauses of the record timestamp column. Bounds of the between operation
+ * are either epoch millis or ISO date-times, local date-times are taken in the system
+ * time zone the same way the browser displays timestamps. Other operations compare
+ * the epoch millis as is.
+ *
+ * @author Andrei_Tytsik
+ */
+public class FilterClauseTimestampPredicate<K, V> implements Predicate<ConsumerRecord<K, V>> {
+
+    protected final List<FilterOperationStringHandler> handlers;
+
+    public FilterClauseTimestampPredicate(List<FilterClause> clauses) {
+        this.handlers = clauses.stream()
+                .map(FilterClauseTimestampPredicate::normalizeClause)
+                .map(FilterOperationStringHandler::new)
+                .toList();
+    }
+
+    @Override
+    public boolean test(ConsumerRecord<K, V> record) {
+        if(handlers.isEmpty()) {
+            return true;
+        }
+        String timestamp = String.valueOf(record.timestamp());
+        for(FilterOperationStringHandler handler : handlers) {
+            if(!handler.compare(timestamp)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return inclusive {@code from} and {@code to} epoch millis of the between clause,
+     * either of them is {@code null} if the range is open on that side
+     */
+    public static Long[] parseRange(String range) {
+        String[] bounds = FilterOperationUtils.splitRange(range);
+        return new Long[] {parseTimestamp(bounds[0]), parseTimestamp(bounds[1])};
+    }
+
+    /**
+     * @return epoch millis of the timestamp, {@code null} if the value is blank
+     */
+    public static Long parseTimestamp(String value) {
+        if(StringUtils.isBlank(value)) {
+            return null;
+        }
+        String timestamp = value.trim();
+        if(StringUtils.isNumeric(timestamp)) {
+            return Long.parseLong(timestamp);
+        }
+        try {
+            return Instant.parse(timestamp).toEpochMilli();
+        } catch (DateTimeParseException ignored) {
+            // not an instant, try local date-time
+        }
+        try {
+            return LocalDateTime.parse(timestamp, DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                    .atZone(ZoneId.systemDefault())
+                    .toInstant()
+                    .toEpochMilli();
+        } catch (DateTimeParseException dtpe) {
+            throw new IllegalArgumentException(
+                    String.format("Timestamp '%s' is neither epoch millis nor ISO date-time", value), dtpe);
+        }
+    }
+
+    private static FilterClause normalizeClause(FilterClause clause) {
+        if(FilterOperationEnum.getOperationEnum(clause.getOperation()) != FilterOperationEnum.BETWEEN) {
+            return clause;
+        }
+        Long[] range = parseRange(clause.getValue());
+        return new FilterClause(
+                clause.getColumn(),
+                clause.getOperation(),
+                Objects.toString(range[0], "") + "," + Objects.toString(range[1], ""));
+    }
+
+}
@@ -21,8 +21,11 @@ import java.util.function.Predicate;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 
 import com.epam.eco.kafkamanager.FilterClause;
+import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationEnum;
 import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationUtils;
 
+import static com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationHandler.KEY_VALUE_SEPARATOR;
+
 /**
  * @author Mikhail_Vershkov
  */
@@ -45,12 +48,28 @@ public class FilterClauseTombstonePredicate<K, V> implements Predicate<ConsumerR
 
     private boolean processTombstoneClauses(ConsumerRecord<K, V> record) {
         for(FilterClause clause : clauses) {
-            if(!FilterOperationUtils.executeAvroJsonOperation(clause, record.value())) {
+            if(!executeTombstoneOperation(clause, record.value())) {
                 return false;
             }
         }
         return true;
     }
 
+    /**
+     * Decides plain exclude/only clauses by the value being {@code null}, without
+     * stringifying the value.
+     */
+    private static boolean executeTombstoneOperation(FilterClause clause, Object value) {
+        if(clause.getValue() != null && !clause.getValue().contains(KEY_VALUE_SEPARATOR)) {
+            if(FilterOperationEnum.EXCLUDE.getOperation().equals(clause.getOperation())) {
+                return value != null;
+            }
+            if(FilterOperationEnum.ONLY.getOperation().equals(clause.getOperation())) {
+                return value == null;
+            }
+        }
+        return FilterOperationUtils.executeAvroJsonOperation(clause, value);
+    }
+
 
 }
\ No newline at end of file
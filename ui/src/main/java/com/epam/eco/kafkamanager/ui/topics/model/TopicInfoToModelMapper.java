@@ -20,7 +20,6 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.function.Function;
 
-import com.epam.eco.kafkamanager.ConsumerGroupInfo;
 import com.epam.eco.kafkamanager.KafkaManager;
 import com.epam.eco.kafkamanager.TopicInfo;
 import com.epam.eco.kafkamanager.ui.config.DataCatalogUrlTemplate;
@@ -90,12 +89,8 @@ public class TopicInfoToModelMapper implements Function<TopicInfo, TopicRecordMo
             });
             model.setExternalTools(externalToolModels);
         }
-        List<ConsumerGroupInfo> consumerGroupInfos = kafkaManager.getConsumerGroupsForTopic(topicInfo.getName());
-        List<String> consumerGroups = new LinkedList<>();
-        if(nonNull(consumerGroupInfos) && !consumerGroupInfos.isEmpty()) {
-            consumerGroupInfos.forEach(consumerGroupInfo -> consumerGroups.add(consumerGroupInfo.getName()));
-        }
-        model.setConsumerGroups(consumerGroups);
+        List<String> consumerGroups = kafkaManager.getConsumerGroupNamesForTopic(topicInfo.getName());
+        model.setConsumerGroups(nonNull(consumerGroups) ? consumerGroups : new LinkedList<>());
 
         return model;
     }
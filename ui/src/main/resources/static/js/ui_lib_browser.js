@@ -116,4 +116,58 @@ function blink(elem) {
     elem.addClass("after-blinking");
     elem.addClass("blinked");
     elem.removeClass("inactive-partition");
-}
\ No newline at end of file
+}
+let recordStream = null;
+
+function streamRecords(streamUrl, formData) {
+    stopRecordStream();
+
+    const container = $('#streamContainer');
+    const rows = $('#streamTable tbody');
+    const summary = $('#stream-summary');
+    rows.empty();
+    summary.text('Waiting for the first record...');
+    $('#recordTableContainer').hide();
+    container.show();
+    $('#stream-stop-button').show();
+
+    recordStream = new EventSource(streamUrl + '?' + formData);
+    recordStream.addEventListener('row', function (event) {
+        const row = JSON.parse(event.data);
+        rows.append($('<tr/>').append(
+            $('<td/>').text(row.partition),
+            $('<td/>').text(row.offset),
+            $('<td/>').text(row.timestamp),
+            $('<td/>').text(row.key),
+            $('<td/>').text(row.size),
+            $('<td/>').text(JSON.stringify(row.values))));
+    });
+    recordStream.addEventListener('progress', function (event) {
+        summary.text(formatStreamProgress(JSON.parse(event.data)));
+    });
+    recordStream.addEventListener('done', function (event) {
+        const done = JSON.parse(event.data);
+        summary.text(done.summary + ', ' + formatStreamProgress(done.progress));
+        stopRecordStream();
+    });
+    recordStream.addEventListener('error', function (event) {
+        if (event.data) {
+            showInfo("error", "Error while fetching data", JSON.parse(event.data).message);
+        }
+        stopRecordStream();
+    });
+}
+
+function stopRecordStream() {
+    if (recordStream != null) {
+        recordStream.close();
+        recordStream = null;
+    }
+    $('#stream-stop-button').hide();
+}
+
+function formatStreamProgress(progress) {
+    return progress.matched + ' matched of ' + progress.scanned + ' record(s) scanned (' +
+        progress.bytes + ' bytes), ' +
+        progress.partitionsFinished + '/' + progress.partitionsTotal + ' partition(s) finished';
+}
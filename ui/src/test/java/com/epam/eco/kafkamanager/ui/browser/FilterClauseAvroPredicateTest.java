@@ -15,16 +15,24 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager.ui.browser;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import com.epam.eco.kafkamanager.FilterClause;
 import com.epam.eco.kafkamanager.KafkaExtendedAvroDeserializer.GenericRecordWrapper;
+import com.epam.eco.kafkamanager.ui.topics.browser.AvroRecordValuesExtractor;
 import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationEnum;
+import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationUtils;
 import com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseAvroKeyPredicate;
 import com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseAvroValuePredicate;
 
@@ -475,4 +483,71 @@ class FilterClauseAvroPredicateTest {
                 new ConsumerRecord<>(TOPIC_NAME, 0, 0L, KEY_VALUE, NULL_VALUE)));
     }
 
+    @Test
+    void testWrappedAvroFieldsAreFilteredSameAsFlattenedValues() {
+        Schema deepSchema = SchemaBuilder.record("deep").fields()
+                .nullableString("v", "null")
+                .endRecord();
+        Schema innerSchema = SchemaBuilder.record("inner").fields()
+                .nullableString("code", "null")
+                .name("deep").type(Schema.createUnion(Schema.create(Schema.Type.NULL), deepSchema)).noDefault()
+                .endRecord();
+        Schema schema = SchemaBuilder.record("outer").fields()
+                .nullableString("name", "null")
+                .name("created").type(LogicalTypes.timestampMillis().addToSchema(Schema.create(Schema.Type.LONG)))
+                .noDefault()
+                .name("inner").type(Schema.createUnion(Schema.create(Schema.Type.NULL), innerSchema)).noDefault()
+                .name("tags").type().map().values().stringType().mapDefault(Map.of())
+                .endRecord();
+
+        GenericRecord deep = new GenericData.Record(deepSchema);
+        deep.put("v", "deep-value");
+        GenericRecord innerWithDeep = new GenericData.Record(innerSchema);
+        innerWithDeep.put("code", "code-1");
+        innerWithDeep.put("deep", deep);
+        GenericRecord innerWithoutDeep = new GenericData.Record(innerSchema);
+        innerWithoutDeep.put("code", "code-2");
+
+        List<GenericRecord> records = new ArrayList<>();
+        for (GenericRecord inner : new GenericRecord[] {innerWithDeep, innerWithoutDeep, null}) {
+            GenericRecord record = new GenericData.Record(schema);
+            record.put("name", inner != null ? "named" : null);
+            record.put("created", 1_700_000_000_000L);
+            record.put("inner", inner);
+            record.put("tags", Map.of("color", "red"));
+            records.add(record);
+        }
+
+        List<String> columns = List.of(
+                "name", "created", "inner", "inner.code", "inner.deep", "inner.deep.v",
+                "inner.unknown", "tags", "tags.color", "unknown");
+        List<FilterClause> clauses = new ArrayList<>();
+        for (String column : columns) {
+            clauses.add(new FilterClause(column, FilterOperationEnum.ONLY.getOperation(), ""));
+            clauses.add(new FilterClause(column, FilterOperationEnum.EXCLUDE.getOperation(), ""));
+            clauses.add(new FilterClause(column, FilterOperationEnum.CONTAINS.getOperation(), "e"));
+            clauses.add(new FilterClause(column, FilterOperationEnum.EQUALS.getOperation(), "2023-11-14T22:13:20"));
+        }
+
+        for (GenericRecord record : records) {
+            ConsumerRecord<String, Object> consumerRecord =
+                    new ConsumerRecord<>(TOPIC_NAME, 0, 0L, KEY_VALUE, new GenericRecordWrapper(record, 1L));
+            Map<String, Object> flattened = AvroRecordValuesExtractor.getValuesAsFlattenedMap(consumerRecord);
+            for (FilterClause clause : clauses) {
+                boolean expected =
+                        flattened.containsKey(clause.getColumn()) &&
+                        FilterOperationUtils.executeAvroJsonOperation(clause, flattened.get(clause.getColumn()));
+                Assertions.assertEquals(
+                        expected,
+                        new FilterClauseAvroValuePredicate(List.of(clause)).test(consumerRecord),
+                        clause.getColumn() + " " + clause.getOperation() + " on " + record);
+            }
+        }
+
+        Assertions.assertTrue(new FilterClauseAvroValuePredicate(List.of(
+                new FilterClause("inner.deep.v", FilterOperationEnum.EQUALS.getOperation(), "deep-value"),
+                new FilterClause("tags.color", FilterOperationEnum.EQUALS.getOperation(), "red"))).
+                test(new ConsumerRecord<>(TOPIC_NAME, 0, 0L, KEY_VALUE, new GenericRecordWrapper(records.get(0), 1L))));
+    }
+
 }
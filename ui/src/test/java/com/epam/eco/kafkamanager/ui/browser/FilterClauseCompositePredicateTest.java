@@ -15,6 +15,7 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager.ui.browser;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -42,10 +43,12 @@ import com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseHeaderP
 import com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseStringKeyPredicate;
 import com.epam.eco.kafkamanager.ui.topics.browser.TopicBrowseParams;
 import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationEnum;
+import com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseTimestampPredicate;
 import com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseTombstonePredicate;
 
 import static com.epam.eco.kafkamanager.ui.browser.FilterPredicateUtils.FIELD_TOMBSTONES;
 import static com.epam.eco.kafkamanager.ui.topics.browser.TabularRecords.HEADER_PREFIX;
+import static com.epam.eco.kafkamanager.ui.topics.browser.filter.FilterClauseCompositePredicate.TIMESTAMP_ATTRIBUTE;
 import static com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseAbstractKeyPredicate.KEY_ATTRIBUTE;
 
 /**
@@ -139,4 +142,56 @@ public class FilterClauseCompositePredicateTest {
         Assertions.assertFalse(predicate.getTonbstonePredicate().test(new ConsumerRecord<>(TEST_TOPIC, 0, 0L, KEY_ATTRIBUTE, COLUMN_VALUE)));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testTimestampPredicate() throws JsonProcessingException {
+        long from = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+        TopicBrowseParams params = TopicBrowseParams.with(
+                Map.of(TopicBrowseParams.KEY_FORMAT, TopicRecordFetchParams.DataFormat.STRING.name(),
+                       TopicBrowseParams.VALUE_FORMAT, TopicRecordFetchParams.DataFormat.STRING.name(),
+                       TopicBrowseParams.FILTER_CLAUSE,
+                       MAPPER.writeValueAsString(
+                               List.of(
+                                       new FilterClause(TIMESTAMP_ATTRIBUTE,
+                                                        FilterOperationEnum.BETWEEN.getOperation(),
+                                                        "2024-01-01T00:00:00Z," + (from + 1000))))));
+        FilterClauseCompositePredicate<String, Object> compositePredicate = new FilterClauseCompositePredicate<>(params);
+
+        Assertions.assertInstanceOf(FilterClauseTimestampPredicate.class, compositePredicate.getTimestampPredicate());
+        Assertions.assertTrue(compositePredicate.test(timestampedRecord(from)));
+        Assertions.assertTrue(compositePredicate.test(timestampedRecord(from + 1000)));
+        Assertions.assertFalse(compositePredicate.test(timestampedRecord(from - 1)));
+        Assertions.assertFalse(compositePredicate.test(timestampedRecord(from + 1001)));
+    }
+
+    private static ConsumerRecord<String, Object> timestampedRecord(long timestamp) {
+        return new ConsumerRecord<>(TEST_TOPIC, 0, 0L, timestamp, TimestampType.CREATE_TIME, 1, 1,
+                                    KEY_VALUE, COLUMN_VALUE, new RecordHeaders(), Optional.empty());
+    }
+
+    @Test
+    public void testValueIsEvaluatedOnlyForMatchingKeys() throws JsonProcessingException {
+        TopicBrowseParams params = TopicBrowseParams.with(
+                Map.of(TopicBrowseParams.KEY_FORMAT, TopicRecordFetchParams.DataFormat.STRING.name(),
+                       TopicBrowseParams.VALUE_FORMAT, TopicRecordFetchParams.DataFormat.STRING.name(),
+                       TopicBrowseParams.FILTER_CLAUSE,
+                       MAPPER.writeValueAsString(
+                               List.of(
+                                       new FilterClause(COLUMN_NAME, FilterOperationEnum.LIKE.getOperation(), "%Value"),
+                                       new FilterClause(KEY_ATTRIBUTE, FilterOperationEnum.EQUALS.getOperation(), KEY_VALUE)))));
+        FilterClauseCompositePredicate<String, Object> compositePredicate = new FilterClauseCompositePredicate<>(params);
+        Object undecodableValue = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("Value must not be evaluated");
+            }
+        };
+
+        Assertions.assertFalse(compositePredicate.test(new ConsumerRecord<>(TEST_TOPIC, 0, 0L, WRONG_VALUE, undecodableValue)));
+        Assertions.assertTrue(compositePredicate.test(new ConsumerRecord<>(TEST_TOPIC, 0, 0L, KEY_VALUE, COLUMN_VALUE)));
+        Assertions.assertFalse(compositePredicate.test(new ConsumerRecord<>(TEST_TOPIC, 0, 0L, KEY_VALUE, WRONG_VALUE + "s")));
+        Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> compositePredicate.test(new ConsumerRecord<>(TEST_TOPIC, 0, 0L, KEY_VALUE, undecodableValue)));
+    }
+
+}
@@ -15,12 +15,16 @@
  *******************************************************************************/
 package com.epam.eco.kafkamanager.ui.browser;
 
+import java.util.List;
+
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import com.epam.eco.kafkamanager.FilterClause;
 import com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseJsonKeyPredicate;
 import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationEnum;
+import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationUtils;
 import com.epam.eco.kafkamanager.ui.topics.browser.pedicates.FilterClauseJsonValuePredicate;
 
 import static com.epam.eco.kafkamanager.ui.browser.FilterPredicateUtils.FIELD_NAME;
@@ -242,4 +246,65 @@ public class FilterClauseJsonPredicateTest {
 
     }
 
+    @Test
+    public void testJsonFieldLike() {
+        FilterClauseJsonValuePredicate filterClausePredicate =
+                getFilterClauseJsonValuePredicate(FIELD_NAME, FilterOperationEnum.LIKE, "testField:test%");
+        Assertions.assertTrue(filterClausePredicate.test(
+                new ConsumerRecord<>(TOPIC_NAME, 0, 0L, KEY_VALUE, TEST_JSON)));
+        Assertions.assertFalse(filterClausePredicate.test(
+                new ConsumerRecord<>(TOPIC_NAME, 0, 0L, KEY_VALUE, generateJson("otherValue"))));
+
+        filterClausePredicate =
+                getFilterClauseJsonValuePredicate(FIELD_NAME, FilterOperationEnum.LIKE, "innerField.innerField2:%Value2");
+        Assertions.assertTrue(filterClausePredicate.test(
+                new ConsumerRecord<>(TOPIC_NAME, 0, 0L, KEY_VALUE, TEST_JSON)));
+        Assertions.assertFalse(filterClausePredicate.test(
+                new ConsumerRecord<>(TOPIC_NAME, 0, 0L, KEY_VALUE, TEST_JSON_INCORRECT)));
+    }
+
+    @Test
+    public void testMultipleClausesAreMatchedSameAsSingleClauses() {
+        List<String> documents = List.of(
+                TEST_JSON,
+                TEST_JSON_INCORRECT,
+                "{\"testField\": \"testValue\", \"amount\": 1.50, \"flag\": null, \"innerField\": [{\"innerField2\": \"x\"}, {\"innerField2\": \"innerValue2\"}]}",
+                "{\"amount\": 7, \"testField\": \"testValue\", \"innerField\": {\"innerField2\": {\"deep\": 1}}}",
+                "{\"testField\": \"testValue\" \"amount\": 1.5, \"flag\": false}",
+                "[{\"testField\": \"testValue\", \"amount\": 1.5}, {\"testField\": \"other\"}]",
+                "\"testField:testValue\"",
+                "");
+        List<List<FilterClause>> clauseLists = List.of(
+                List.of(jsonClause(FilterOperationEnum.EQUALS, "testField:testValue"),
+                        jsonClause(FilterOperationEnum.STARTS_WITH, "amount:1.5")),
+                List.of(jsonClause(FilterOperationEnum.CONTAINS, "testField:Value"),
+                        jsonClause(FilterOperationEnum.EQUALS, "flag:null")),
+                List.of(jsonClause(FilterOperationEnum.EQUALS, "testField:testValue"),
+                        jsonClause(FilterOperationEnum.CONTAINS, "innerField.innerField2:Value2")),
+                List.of(jsonClause(FilterOperationEnum.NOT_EMPTY, "innerField:x"),
+                        jsonClause(FilterOperationEnum.EXCLUDE, "testField:x")),
+                List.of(jsonClause(FilterOperationEnum.CONTAINS, "test"),
+                        jsonClause(FilterOperationEnum.EQUALS, "amount:7")));
+
+        for (List<FilterClause> clauses : clauseLists) {
+            FilterClauseJsonValuePredicate predicate = new FilterClauseJsonValuePredicate(clauses);
+            for (String document : documents) {
+                boolean expected = clauses.stream().allMatch(
+                        clause -> FilterOperationUtils.executeAvroJsonOperation(clause, document));
+                Assertions.assertEquals(
+                        expected,
+                        predicate.test(new ConsumerRecord<>(TOPIC_NAME, 0, 0L, KEY_VALUE, document)),
+                        () -> clauses + " on " + document);
+            }
+        }
+
+        FilterClauseJsonValuePredicate predicate = new FilterClauseJsonValuePredicate(clauseLists.get(0));
+        Assertions.assertTrue(predicate.test(new ConsumerRecord<>(TOPIC_NAME, 0, 0L, KEY_VALUE, documents.get(2))));
+        Assertions.assertFalse(predicate.test(new ConsumerRecord<>(TOPIC_NAME, 0, 0L, KEY_VALUE, documents.get(3))));
+    }
+
+    private static FilterClause jsonClause(FilterOperationEnum operation, String value) {
+        return new FilterClause(FIELD_NAME, operation.getOperation(), value);
+    }
+
 }
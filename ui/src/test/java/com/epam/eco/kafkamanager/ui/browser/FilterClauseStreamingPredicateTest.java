@@ -0,0 +1,98 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.ui.browser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.epam.eco.commons.kafka.OffsetRange;
+import com.epam.eco.commons.kafka.helpers.BiDirectionalTopicRecordFetcher.FetchDirection;
+import com.epam.eco.kafkamanager.ui.topics.browser.filter.FilterClauseStreamingPredicate;
+import com.epam.eco.kafkamanager.ui.topics.browser.filter.FilterClauseStreamingPredicate.FetchProgress;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class FilterClauseStreamingPredicateTest {
+
+    private static final String TOPIC_NAME = "testTopic";
+
+    private final List<ConsumerRecord<String, String>> matches = new ArrayList<>();
+    private final FilterClauseStreamingPredicate.Listener<String, String> listener =
+            new FilterClauseStreamingPredicate.Listener<>() {
+                @Override
+                public void onMatch(ConsumerRecord<String, String> record) {
+                    matches.add(record);
+                }
+                @Override
+                public void onProgress(FetchProgress progress) {
+                }
+            };
+
+    @Test
+    public void testMatchesAreStreamedAndProgressIsCounted() {
+        FilterClauseStreamingPredicate<String, String> predicate = new FilterClauseStreamingPredicate<>(
+                record -> record.offset() % 2 == 0,
+                Map.of(0, OffsetRange.with(0, 3, true), 1, OffsetRange.with(0, 9, true)),
+                FetchDirection.FORWARD,
+                listener);
+
+        for (long offset = 0; offset <= 3; offset++) {
+            Assertions.assertEquals(offset % 2 == 0, predicate.test(record(0, offset)));
+        }
+        predicate.test(record(1, 0));
+
+        Assertions.assertEquals(List.of(0L, 2L, 0L), matches.stream().map(ConsumerRecord::offset).toList());
+        FetchProgress progress = predicate.getProgress();
+        Assertions.assertEquals(5, progress.getScanned());
+        Assertions.assertEquals(3, progress.getMatched());
+        Assertions.assertEquals(5 * "value".length(), progress.getBytes());
+        Assertions.assertEquals(1, progress.getPartitionsFinished());
+        Assertions.assertEquals(2, progress.getPartitionsTotal());
+    }
+
+    @Test
+    public void testCancelledFetchIsAborted() {
+        FilterClauseStreamingPredicate<String, String> predicate = new FilterClauseStreamingPredicate<>(
+                record -> true,
+                Map.of(0, OffsetRange.with(0, 9, true)),
+                FetchDirection.BACKWARD,
+                listener);
+
+        Assertions.assertTrue(predicate.test(record(0, 9)));
+        predicate.cancel();
+
+        Assertions.assertThrows(CancellationException.class, () -> predicate.test(record(0, 8)));
+        Assertions.assertEquals(1, matches.size());
+    }
+
+    private static ConsumerRecord<String, String> record(int partition, long offset) {
+        return new ConsumerRecord<>(
+                TOPIC_NAME, partition, offset, 0L, TimestampType.CREATE_TIME,
+                0, "value".length(), null, "value", new RecordHeaders(),
+                Optional.empty());
+    }
+
+}
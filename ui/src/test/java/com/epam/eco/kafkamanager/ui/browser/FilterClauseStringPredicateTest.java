@@ -79,6 +79,37 @@ public class FilterClauseStringPredicateTest {
                                    .test(new ConsumerRecord<>(TOPIC_NAME, 0, 0L, "testStartsWith", FIELD_VALUE_CORRECT)));
     }
 
+    @Test
+    public void testOrdinaryKeyIn() {
+
+        FilterClauseStringKeyPredicate filterClausePredicate =
+                getFilterClauseStringKeyPredicate(KEY_ATTRIBUTE, FilterOperationEnum.IN, KEY_VALUE_WRONG + ", " + KEY_VALUE);
+        Assertions.assertTrue(filterClausePredicate
+                                  .test(new ConsumerRecord<>(TOPIC_NAME, 0, 0L, KEY_VALUE, KEY_VALUE)));
+        Assertions.assertFalse(filterClausePredicate
+                                   .test(new ConsumerRecord<>(TOPIC_NAME, 0, 0L, KEY_VALUE + SUFFIX, KEY_VALUE)));
+    }
+
+    @Test
+    public void testOrdinaryKeyBetween() {
+
+        FilterClauseStringKeyPredicate filterClausePredicate =
+                getFilterClauseStringKeyPredicate(KEY_ATTRIBUTE, FilterOperationEnum.BETWEEN, "9,100");
+        Assertions.assertTrue(filterClausePredicate
+                                  .test(new ConsumerRecord<>(TOPIC_NAME, 0, 0L, "10", KEY_VALUE)));
+        Assertions.assertTrue(filterClausePredicate
+                                  .test(new ConsumerRecord<>(TOPIC_NAME, 0, 0L, "100", KEY_VALUE)));
+        Assertions.assertFalse(filterClausePredicate
+                                   .test(new ConsumerRecord<>(TOPIC_NAME, 0, 0L, "101", KEY_VALUE)));
+
+        filterClausePredicate =
+                getFilterClauseStringKeyPredicate(KEY_ATTRIBUTE, FilterOperationEnum.BETWEEN, "b,");
+        Assertions.assertTrue(filterClausePredicate
+                                  .test(new ConsumerRecord<>(TOPIC_NAME, 0, 0L, "c", KEY_VALUE)));
+        Assertions.assertFalse(filterClausePredicate
+                                   .test(new ConsumerRecord<>(TOPIC_NAME, 0, 0L, "a", KEY_VALUE)));
+    }
+
     @Test
     public void testStringOrdinaryFieldContains() {
 
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.ui.browser;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.epam.eco.commons.kafka.OffsetRange;
+import com.epam.eco.kafkamanager.FilterClause;
+import com.epam.eco.kafkamanager.KafkaAdminOperations;
+import com.epam.eco.kafkamanager.PartitionByKeyResolver;
+import com.epam.eco.kafkamanager.ui.config.TopicBrowser;
+import com.epam.eco.kafkamanager.ui.topics.browser.PartitionOffsetsPruner;
+import com.epam.eco.kafkamanager.ui.topics.browser.PartitionOffsetsPruner.PrunedOffsets;
+import com.epam.eco.kafkamanager.ui.topics.browser.TopicBrowseParams;
+import com.epam.eco.kafkamanager.ui.topics.browser.handlers.FilterOperationEnum;
+
+import static com.epam.eco.kafkamanager.ui.topics.browser.filter.FilterClauseCompositePredicate.KEY_ATTRIBUTE;
+import static com.epam.eco.kafkamanager.ui.topics.browser.filter.FilterClauseCompositePredicate.TIMESTAMP_ATTRIBUTE;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class PartitionOffsetsPrunerTest {
+
+    private static final String TOPIC_NAME = "testTopic";
+    private static final int PARTITION_COUNT = 4;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final KafkaAdminOperations adminOperations = Mockito.mock(KafkaAdminOperations.class);
+    private final PartitionByKeyResolver partitionByKeyResolver =
+            (key, partitionCount) -> Integer.parseInt(key.substring(key.length() - 1)) % partitionCount;
+
+    @Test
+    public void testPartitionsArePrunedByKeyInClause() throws JsonProcessingException {
+        PrunedOffsets pruned = createPruner(true, false).prune(
+                browseParams(
+                        new FilterClause(KEY_ATTRIBUTE, FilterOperationEnum.IN.getOperation(), "key1, key3")),
+                PARTITION_COUNT);
+
+        Assertions.assertEquals(List.of(1, 3), pruned.getPartitionOffsets().keySet().stream().sorted().toList());
+        Assertions.assertNull(pruned.getOffsetBounds());
+    }
+
+    @Test
+    public void testKeyPartitionsAreIntersectedAcrossClauses() throws JsonProcessingException {
+        PrunedOffsets pruned = createPruner(true, false).prune(
+                browseParams(
+                        new FilterClause(KEY_ATTRIBUTE, FilterOperationEnum.IN.getOperation(), "key1,key2"),
+                        new FilterClause(KEY_ATTRIBUTE, FilterOperationEnum.EQUALS.getOperation(), "key2")),
+                PARTITION_COUNT);
+
+        Assertions.assertEquals(List.of(2), List.copyOf(pruned.getPartitionOffsets().keySet()));
+    }
+
+    @Test
+    public void testPartitionsAreNotPrunedIfDisabled() throws JsonProcessingException {
+        PrunedOffsets pruned = createPruner(false, false).prune(
+                browseParams(
+                        new FilterClause(KEY_ATTRIBUTE, FilterOperationEnum.EQUALS.getOperation(), "key1"),
+                        new FilterClause(TIMESTAMP_ATTRIBUTE, FilterOperationEnum.BETWEEN.getOperation(), "100,200")),
+                PARTITION_COUNT);
+
+        Assertions.assertEquals(PARTITION_COUNT, pruned.getPartitionOffsets().size());
+        Assertions.assertNull(pruned.getOffsetBounds());
+        Mockito.verifyNoInteractions(adminOperations);
+    }
+
+    @Test
+    public void testOffsetsAreBoundedByTimestampRange() throws JsonProcessingException {
+        givenTimestampType(TimestampType.LOG_APPEND_TIME);
+        AtomicInteger calls = new AtomicInteger();
+        Mockito.when(adminOperations.listOffsets(Mockito.anyMap())).thenAnswer(invocation -> {
+            Map<TopicPartition, OffsetSpec> specs = invocation.getArgument(0);
+            boolean startOffsets = calls.getAndIncrement() == 0;
+            Map<TopicPartition, Long> offsets = new HashMap<>();
+            specs.forEach((partition, spec) -> offsets.put(
+                    partition, offsetOf(partition.partition(), spec, startOffsets)));
+            return offsets;
+        });
+
+        PrunedOffsets pruned = createPruner(false, true).prune(
+                browseParams(
+                        new FilterClause(TIMESTAMP_ATTRIBUTE, FilterOperationEnum.BETWEEN.getOperation(), "100,200")),
+                PARTITION_COUNT);
+
+        Assertions.assertEquals(List.of(0, 1, 3), pruned.getPartitionOffsets().keySet().stream().sorted().toList());
+        Assertions.assertEquals(OffsetRange.with(10, 19, true), pruned.getOffsetBounds().get(0));
+        Assertions.assertEquals(OffsetRange.with(10, 49, true), pruned.getOffsetBounds().get(1));
+        Assertions.assertEquals(OffsetRange.with(10, 19, true), pruned.getOffsetBounds().get(3));
+        Assertions.assertFalse(pruned.getOffsetBounds().containsKey(2));
+    }
+
+    @Test
+    public void testRangeEndIsOpenForCreateTime() throws JsonProcessingException {
+        givenTimestampType(TimestampType.CREATE_TIME);
+        AtomicInteger calls = new AtomicInteger();
+        Mockito.when(adminOperations.listOffsets(Mockito.anyMap())).thenAnswer(invocation -> {
+            Map<TopicPartition, OffsetSpec> specs = invocation.getArgument(0);
+            boolean startOffsets = calls.getAndIncrement() == 0;
+            Map<TopicPartition, Long> offsets = new HashMap<>();
+            specs.forEach((partition, spec) -> {
+                Assertions.assertTrue(startOffsets || spec instanceof OffsetSpec.LatestSpec);
+                offsets.put(partition, offsetOf(partition.partition(), spec, startOffsets));
+            });
+            return offsets;
+        });
+
+        PrunedOffsets pruned = createPruner(false, true).prune(
+                browseParams(
+                        new FilterClause(TIMESTAMP_ATTRIBUTE, FilterOperationEnum.BETWEEN.getOperation(), "100,200")),
+                PARTITION_COUNT);
+
+        Assertions.assertEquals(List.of(0, 1, 3), pruned.getPartitionOffsets().keySet().stream().sorted().toList());
+        Assertions.assertEquals(OffsetRange.with(10, 49, true), pruned.getOffsetBounds().get(0));
+        Assertions.assertEquals(OffsetRange.with(10, 49, true), pruned.getOffsetBounds().get(1));
+        Assertions.assertEquals(OffsetRange.with(10, 49, true), pruned.getOffsetBounds().get(3));
+    }
+
+    private void givenTimestampType(TimestampType timestampType) {
+        Mockito.when(adminOperations.describeTopicConfig(TOPIC_NAME)).thenReturn(new Config(List.of(
+                new ConfigEntry(TopicConfig.MESSAGE_TIMESTAMP_TYPE_CONFIG, timestampType.name))));
+    }
+
+    /**
+     * Partition 1 has no records after the range, partition 2 has no records in it.
+     */
+    private static long offsetOf(int partition, OffsetSpec spec, boolean startOffsets) {
+        if (spec instanceof OffsetSpec.LatestSpec) {
+            return 50;
+        }
+        if (startOffsets) {
+            return partition == 2 ? -1 : 10;
+        }
+        return partition == 1 || partition == 2 ? -1 : 20;
+    }
+
+    private PartitionOffsetsPruner createPruner(boolean filterByKeyPartition, boolean filterByTimestampRange) {
+        TopicBrowser topicBrowser = new TopicBrowser();
+        topicBrowser.setFilterByKeyPartition(filterByKeyPartition);
+        topicBrowser.setFilterByTimestampRange(filterByTimestampRange);
+        return new PartitionOffsetsPruner(adminOperations, partitionByKeyResolver, topicBrowser);
+    }
+
+    private static TopicBrowseParams browseParams(FilterClause ... clauses) throws JsonProcessingException {
+        TopicBrowseParams browseParams = TopicBrowseParams.with(
+                Map.of(TopicBrowseParams.FILTER_CLAUSE, MAPPER.writeValueAsString(List.of(clauses))));
+        browseParams.setTopicName(TOPIC_NAME);
+        for (int partition = 0; partition < PARTITION_COUNT; partition++) {
+            browseParams.addPartitionOffset(partition, OffsetRange.with(0, 49, true));
+        }
+        return browseParams;
+    }
+
+}
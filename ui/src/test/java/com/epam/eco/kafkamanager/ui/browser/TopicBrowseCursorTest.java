@@ -0,0 +1,155 @@
+/*******************************************************************************
+ *  Copyright 2022 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.ui.browser;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.epam.eco.commons.kafka.OffsetRange;
+import com.epam.eco.commons.kafka.helpers.PartitionRecordFetchResult;
+import com.epam.eco.commons.kafka.helpers.RecordFetchResult;
+import com.epam.eco.kafkamanager.FetchMode;
+import com.epam.eco.kafkamanager.ui.topics.browser.TopicBrowseCursor;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class TopicBrowseCursorTest {
+
+    private static final String TOPIC = "topic";
+
+    private static final Map<Integer, OffsetRange> PARTITION_RANGES = Map.of(
+            0, OffsetRange.with(0, 99, true),
+            1, OffsetRange.with(0, 4, true),
+            2, OffsetRange.with(5, 20, true));
+
+    @Test
+    public void testCursorIsBuiltFromScannedOffsets() throws Exception {
+        TopicBrowseCursor cursor = TopicBrowseCursor.from(result(
+                partitionResult(0, OffsetRange.with(10, 19, true)),
+                partitionResult(1, OffsetRange.with(0, 4, true)),
+                partitionResult(2, OffsetRange.with(7, false, 7, false))));
+
+        Assertions.assertEquals(Map.of(0, 20L, 1, 5L, 2, 7L), cursor.getNextOffsets());
+        Assertions.assertEquals(Map.of(0, 9L, 2, 6L), cursor.getPreviousOffsets());
+        Assertions.assertEquals("0:9:20,1::5,2:6:7", cursor.format());
+    }
+
+    @Test
+    public void testCursorIsFormattedAndParsedBack() throws Exception {
+        TopicBrowseCursor cursor = TopicBrowseCursor.from(result(
+                partitionResult(0, OffsetRange.with(10, 19, true)),
+                partitionResult(1, OffsetRange.with(0, 4, true)),
+                partitionResult(2, OffsetRange.with(7, false, 7, false))));
+
+        TopicBrowseCursor parsed = TopicBrowseCursor.parse(cursor.format());
+
+        Assertions.assertEquals(cursor, parsed);
+        Assertions.assertEquals(cursor.format(), parsed.format());
+        Assertions.assertEquals(
+                new TopicBrowseCursor(Collections.emptyMap(), Collections.emptyMap()),
+                TopicBrowseCursor.parse(""));
+    }
+
+    @Test
+    public void testPageOffsetsSkipPartitionsWithoutNeighbourRecords() throws Exception {
+        TopicBrowseCursor cursor = TopicBrowseCursor.parse("0:9:20,1::5,2:6:7");
+
+        Map<Integer, OffsetRange> nextPage = cursor.getNextPageOffsets(PARTITION_RANGES);
+        Assertions.assertEquals(
+                Map.of(0, OffsetRange.with(20, 20, true), 2, OffsetRange.with(7, 7, true)),
+                nextPage);
+        Assertions.assertEquals(20, FetchMode.FETCH_RANGE.getBaseOffset(20, 20));
+
+        Map<Integer, OffsetRange> previousPage = cursor.getPreviousPageOffsets(PARTITION_RANGES);
+        Assertions.assertEquals(
+                Map.of(0, OffsetRange.with(10, 10, true), 2, OffsetRange.with(7, 7, true)),
+                previousPage);
+        Assertions.assertEquals(9, FetchMode.FETCH_BACKWARD.getBaseOffset(10, 10));
+        Assertions.assertEquals(6, FetchMode.FETCH_BACKWARD.getBaseOffset(7, 7));
+    }
+
+    @Test
+    public void testPagingForwardAndBackReturnsToTheSamePage() throws Exception {
+        TopicBrowseCursor first = TopicBrowseCursor.from(result(
+                partitionResult(0, OffsetRange.with(10, 19, true))));
+
+        OffsetRange nextPage = first.getNextPageOffsets(PARTITION_RANGES).get(0);
+        long nextStart = FetchMode.FETCH_RANGE.getBaseOffset(nextPage.getSmallest(), nextPage.getLargest());
+        Assertions.assertEquals(20, nextStart);
+
+        // page of 10 records fetched forward from the next offset
+        TopicBrowseCursor second = TopicBrowseCursor.from(result(
+                partitionResult(0, OffsetRange.with(nextStart, nextStart + 9, true))));
+        Assertions.assertEquals(Long.valueOf(19), second.getPreviousOffsets().get(0));
+
+        OffsetRange previousPage = second.getPreviousPageOffsets(PARTITION_RANGES).get(0);
+        long previousEnd = FetchMode.FETCH_BACKWARD.getBaseOffset(
+                previousPage.getSmallest(), previousPage.getLargest());
+        Assertions.assertEquals(19, previousEnd);
+
+        // page of 10 records fetched backward from the previous offset
+        TopicBrowseCursor back = TopicBrowseCursor.from(result(
+                partitionResult(0, OffsetRange.with(previousEnd - 9, previousEnd, true))));
+        Assertions.assertEquals(first, back);
+        Assertions.assertEquals(first, TopicBrowseCursor.parse(back.format()));
+    }
+
+    @Test
+    public void testPagesAreClampedToPartitionRanges() throws Exception {
+        TopicBrowseCursor cursor = TopicBrowseCursor.parse("0:150:200,2:1:3");
+
+        Assertions.assertEquals(
+                Map.of(2, OffsetRange.with(5, 5, true)),
+                cursor.getNextPageOffsets(PARTITION_RANGES));
+        Assertions.assertEquals(
+                Map.of(0, OffsetRange.with(100, 100, true)),
+                cursor.getPreviousPageOffsets(PARTITION_RANGES));
+    }
+
+    @Test
+    public void testInvalidCursorIsRejected() throws Exception {
+        Assertions.assertThrows(NullPointerException.class, () -> TopicBrowseCursor.parse(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TopicBrowseCursor.parse("0:1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TopicBrowseCursor.parse("a:1:2"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TopicBrowseCursor.parse("-1::2"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TopicBrowseCursor.parse("0:5:3"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TopicBrowseCursor.parse("0::1,0::2"));
+    }
+
+    @SafeVarargs
+    private static RecordFetchResult<Object, Object> result(PartitionRecordFetchResult<Object, Object> ... results) {
+        RecordFetchResult.Builder<Object, Object> builder = RecordFetchResult.builder();
+        for (PartitionRecordFetchResult<Object, Object> result : results) {
+            builder.result(result);
+        }
+        return builder.build();
+    }
+
+    private static PartitionRecordFetchResult<Object, Object> partitionResult(int partition, OffsetRange scanned) {
+        return PartitionRecordFetchResult.<Object, Object>builder()
+                .partition(new TopicPartition(TOPIC, partition))
+                .addRecords(Collections.emptyList())
+                .partitionOffsets(PARTITION_RANGES.get(partition))
+                .scannedOffsets(scanned)
+                .build();
+    }
+
+}
@@ -24,6 +24,7 @@ import org.junit.jupiter.api.Test;
 
 import com.epam.eco.commons.kafka.OffsetRange;
 import com.epam.eco.kafkamanager.TopicRecordFetchParams.DataFormat;
+import com.epam.eco.kafkamanager.ui.topics.browser.TopicBrowseCursor;
 import com.epam.eco.kafkamanager.ui.topics.browser.TopicBrowseParams;
 
 /**
@@ -135,4 +136,40 @@ public class TopicBrowseParamsTest {
         Assertions.assertEquals(Arrays.asList("a","b"), params.listColumns());
     }
 
+    @Test
+    public void testPageSizeAndCursorAreSetAndGot() throws Exception {
+        TopicBrowseParams params = TopicBrowseParams.with(null);
+
+        Assertions.assertEquals(params.getLimit(), params.getPageSize());
+        Assertions.assertNull(params.getCursor());
+
+        params.setLimit(100);
+        params.setPageSize(20);
+        Assertions.assertEquals(20, params.getPageSize());
+
+        TopicBrowseCursor cursor = TopicBrowseCursor.parse("0:9:20,1::5");
+        params.setCursor(cursor);
+        Assertions.assertEquals(cursor, params.getCursor());
+
+        TopicBrowseParams posted = TopicBrowseParams.with(Collections.singletonMap(
+                TopicBrowseParams.CURSOR, params.get(TopicBrowseParams.CURSOR)));
+        Assertions.assertEquals(cursor, posted.getCursor());
+
+        params.setCursor(null);
+        Assertions.assertNull(params.getCursor());
+    }
+
+    @Test
+    public void testKeyLookupIsOffUnlessRequested() throws Exception {
+        Assertions.assertFalse(TopicBrowseParams.with(null).isKeyLookup());
+        Assertions.assertTrue(TopicBrowseParams.with(
+                Collections.singletonMap(TopicBrowseParams.KEY_LOOKUP, "true")).isKeyLookup());
+
+        TopicBrowseParams params = TopicBrowseParams.with(null);
+        params.setKeyLookup(true);
+        Assertions.assertTrue(params.isKeyLookup());
+        params.setKeyLookup(false);
+        Assertions.assertFalse(params.isKeyLookup());
+    }
+
 }
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ *  Copyright 2023 EPAM Systems
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License.  You may obtain a copy
+ *  of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ *******************************************************************************/
+package com.epam.eco.kafkamanager.ui.browser;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.epam.eco.commons.kafka.OffsetRange;
+import com.epam.eco.commons.kafka.helpers.RecordFetchResult;
+import com.epam.eco.kafkamanager.FetchMode;
+import com.epam.eco.kafkamanager.KafkaManager;
+import com.epam.eco.kafkamanager.TopicRecordFetcherTaskExecutor;
+import com.epam.eco.kafkamanager.TopicRecordFetchParams.DataFormat;
+import com.epam.eco.kafkamanager.exec.TaskResult;
+import com.epam.eco.kafkamanager.ui.topics.browser.TopicBrowseParams;
+import com.epam.eco.kafkamanager.ui.topics.browser.TopicRecordStreamer;
+
+/**
+ * @author Andrei_Tytsik
+ */
+public class TopicRecordStreamerTest {
+
+    @AfterEach
+    public void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testFetchRunsWithSecurityContextOfRequest() throws Exception {
+        Authentication authentication = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        AtomicReference<Authentication> fetchAuthentication = new AtomicReference<>();
+        CountDownLatch fetched = new CountDownLatch(1);
+        TopicRecordFetcherTaskExecutor<Object, Object> fetcher = Mockito.mock(TopicRecordFetcherTaskExecutor.class);
+        Mockito.when(fetcher.executeDetailed(Mockito.anyString(), Mockito.any())).thenAnswer(invocation -> {
+            fetchAuthentication.set(SecurityContextHolder.getContext().getAuthentication());
+            fetched.countDown();
+            return TaskResult.of(RecordFetchResult::emptyResult);
+        });
+        KafkaManager kafkaManager = Mockito.mock(KafkaManager.class);
+        Mockito.when(kafkaManager.getTopicRecordFetcherTaskExecutor()).thenReturn((TopicRecordFetcherTaskExecutor) fetcher);
+
+        TopicBrowseParams browseParams = TopicBrowseParams.with(null);
+        browseParams.setTopicName("topic");
+        browseParams.setKeyFormat(DataFormat.STRING);
+        browseParams.setValueFormat(DataFormat.STRING);
+        browseParams.setFetchMode(FetchMode.FETCH_RANGE);
+
+        try (TopicRecordStreamer streamer = new TopicRecordStreamer(kafkaManager, null)) {
+            streamer.stream(
+                    browseParams,
+                    Map.of(0, OffsetRange.with(0, 9, true)),
+                    1000,
+                    predicate -> null);
+
+            Assertions.assertTrue(fetched.await(10, TimeUnit.SECONDS));
+            Assertions.assertSame(authentication, fetchAuthentication.get());
+        }
+    }
+
+}